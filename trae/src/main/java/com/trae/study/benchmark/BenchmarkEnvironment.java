@@ -0,0 +1,80 @@
+package com.trae.study.benchmark;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 基准运行环境元数据：JVM、操作系统与 CPU 信息
+ *
+ * 说明：
+ * - 不同机器、不同 JVM 参数下的结果不可直接比较，对比时会提示环境差异；
+ * - CPU 型号在 Linux 上读取 /proc/cpuinfo，其他平台为 null；
+ * - 提交号读取环境变量 GIT_COMMIT（CI 中通常已设置），未设置时为 null。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BenchmarkEnvironment {
+    private String javaVersion;
+    private String vmName;
+    private String vmVersion;
+    private List<String> jvmArgs;
+    private String osName;
+    private String osArch;
+    private int availableProcessors;
+    private String cpuModel;
+    private long maxHeapBytes;
+    private String gitCommit;
+
+    /** 采集当前 JVM 的环境信息 */
+    public static BenchmarkEnvironment capture() {
+        return new BenchmarkEnvironment(
+                System.getProperty("java.version"),
+                System.getProperty("java.vm.name"),
+                System.getProperty("java.vm.version"),
+                new ArrayList<>(ManagementFactory.getRuntimeMXBean().getInputArguments()),
+                System.getProperty("os.name"),
+                System.getProperty("os.arch"),
+                Runtime.getRuntime().availableProcessors(),
+                readCpuModel(),
+                Runtime.getRuntime().maxMemory(),
+                System.getenv("GIT_COMMIT"));
+    }
+
+    /** 判断两次运行是否在可比较的环境中（同 JVM 版本、同 CPU 型号与核数） */
+    public boolean comparableWith(BenchmarkEnvironment other) {
+        return other != null
+                && Objects.equals(javaVersion, other.javaVersion)
+                && Objects.equals(cpuModel, other.cpuModel)
+                && availableProcessors == other.availableProcessors;
+    }
+
+    private static String readCpuModel() {
+        Path cpuInfo = Paths.get("/proc/cpuinfo");
+        if (!Files.isReadable(cpuInfo)) {
+            return null;
+        }
+        try {
+            for (String line : Files.readAllLines(cpuInfo, StandardCharsets.UTF_8)) {
+                if (line.startsWith("model name")) {
+                    int colon = line.indexOf(':');
+                    return colon < 0 ? null : line.substring(colon + 1).trim();
+                }
+            }
+        } catch (IOException ignored) {
+            // 读取失败不影响基准结果
+        }
+        return null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.trae.study.benchmark;
+
+import com.trae.study.dto.BenchmarkResultDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * 结果存储中的一行：一次运行（runId）中的一个基准结果及其运行环境
+ *
+ * 每行自带环境信息，单独截取任意一行也能还原上下文。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BenchmarkRecord {
+    /** 运行标识，例如版本号或 CI 构建号，对比时按 runId 分组 */
+    private String runId;
+    /** 记录时间（epoch 毫秒） */
+    private long timestamp;
+    /** 来源：JMH 或 StopWatch */
+    private String source;
+    private BenchmarkEnvironment environment;
+    private BenchmarkResultDTO result;
+
+    /**
+     * 用于跨运行匹配同一基准的键：名称 + 排序后的参数 + 线程数
+     */
+    public static String keyOf(BenchmarkResultDTO result) {
+        StringBuilder sb = new StringBuilder(Objects.toString(result.getTestName(), "?"));
+        Map<String, String> params = result.getParams();
+        if (params != null && !params.isEmpty()) {
+            sb.append(new TreeMap<>(params));
+        }
+        if (result.getThreads() != null) {
+            sb.append("@t").append(result.getThreads());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,240 @@
+package com.trae.study.benchmark;
+
+import com.trae.study.dto.BenchmarkResultDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * 基准回归门禁：对比两次运行，任一基准退化超过阈值时以非零退出码结束
+ *
+ * 判定规则：
+ * - 按 {@link BenchmarkRecord#keyOf} 匹配同一基准（名称 + 参数 + 线程数）；
+ * - 方向：thrpt 模式或单位形如 ops/xx 时越大越好，其余（avgt/sample/ss、ms、ns/op）越小越好；
+ * - 退化百分比 = 变差的幅度 / 基线得分，超过阈值且差值大于两次误差之和（误差未知时不做此判断）才算回归；
+ * - 只在一侧出现的基准标记为 NEW / MISSING，不影响退出码。
+ *
+ * 命令行：
+ * <pre>
+ * compare &lt;baseline.jsonl&gt; &lt;candidate.jsonl&gt; [--threshold=5] [--baseline-run=ID] [--candidate-run=ID]
+ * import-jmh &lt;jmh-result.json&gt; &lt;store.jsonl&gt; --run=ID
+ * </pre>
+ * 两个文件相同且未指定 runId 时，对比文件中的倒数第二次与最后一次运行；
+ * 否则默认取各自文件中最后一次运行。
+ * 退出码：0 通过，1 存在回归，2 参数错误。
+ */
+public final class BenchmarkRegressionGate {
+
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_REGRESSION = 1;
+    public static final int EXIT_USAGE = 2;
+
+    /** 对比状态 */
+    public enum Status { REGRESSED, IMPROVED, UNCHANGED, NEW, MISSING }
+
+    /**
+     * 单个基准的对比结果
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Comparison {
+        private String key;
+        private String unit;
+        private Double baselineScore;
+        private Double candidateScore;
+        /** 变差的百分比，负数表示变好 */
+        private double worsePercent;
+        /** 差值是否超出误差范围 */
+        private boolean significant;
+        private Status status;
+    }
+
+    private BenchmarkRegressionGate() {}
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out));
+    }
+
+    /**
+     * 命令行入口（便于测试，不直接调用 System.exit）
+     * @return 退出码
+     */
+    public static int run(String[] args, PrintStream out) {
+        if (args.length < 3) {
+            printUsage(out);
+            return EXIT_USAGE;
+        }
+        Map<String, String> options = new HashMap<>();
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            } else {
+                positional.add(arg);
+            }
+        }
+        try {
+            switch (positional.get(0)) {
+                case "compare":
+                    return compareCommand(positional, options, out);
+                case "import-jmh":
+                    return importCommand(positional, options, out);
+                default:
+                    printUsage(out);
+                    return EXIT_USAGE;
+            }
+        } catch (IllegalArgumentException e) {
+            out.println("参数错误: " + e.getMessage());
+            return EXIT_USAGE;
+        }
+    }
+
+    /**
+     * 对比两组记录
+     * @param thresholdPercent 退化阈值（百分比），例如 5 表示变差超过 5% 视为回归
+     */
+    public static List<Comparison> compare(List<BenchmarkRecord> baseline, List<BenchmarkRecord> candidate,
+                                           double thresholdPercent) {
+        Map<String, BenchmarkResultDTO> base = index(baseline);
+        Map<String, BenchmarkResultDTO> cand = index(candidate);
+        Set<String> keys = new TreeSet<>(base.keySet());
+        keys.addAll(cand.keySet());
+
+        List<Comparison> result = new ArrayList<>();
+        for (String key : keys) {
+            BenchmarkResultDTO b = base.get(key);
+            BenchmarkResultDTO c = cand.get(key);
+            if (b == null) {
+                result.add(new Comparison(key, unitOf(c), null, scoreOf(c), 0, false, Status.NEW));
+                continue;
+            }
+            if (c == null) {
+                result.add(new Comparison(key, unitOf(b), scoreOf(b), null, 0, false, Status.MISSING));
+                continue;
+            }
+            double bs = scoreOf(b);
+            double cs = scoreOf(c);
+            double worse = higherIsBetter(b) ? bs - cs : cs - bs;
+            double worsePercent = bs == 0 ? 0 : worse / Math.abs(bs) * 100;
+            boolean significant = b.getScoreError() == null || c.getScoreError() == null
+                    || Math.abs(cs - bs) > b.getScoreError() + c.getScoreError();
+            Status status;
+            if (significant && worsePercent > thresholdPercent) {
+                status = Status.REGRESSED;
+            } else if (significant && -worsePercent > thresholdPercent) {
+                status = Status.IMPROVED;
+            } else {
+                status = Status.UNCHANGED;
+            }
+            result.add(new Comparison(key, unitOf(b), bs, cs, worsePercent, significant, status));
+        }
+        return result;
+    }
+
+    private static int compareCommand(List<String> positional, Map<String, String> options, PrintStream out) {
+        if (positional.size() < 3) {
+            throw new IllegalArgumentException("compare 需要基线与候选两个文件");
+        }
+        BenchmarkResultStore baselineStore = new BenchmarkResultStore(Paths.get(positional.get(1)));
+        BenchmarkResultStore candidateStore = new BenchmarkResultStore(Paths.get(positional.get(2)));
+        double threshold = Double.parseDouble(options.getOrDefault("threshold", "5"));
+
+        List<String> baselineRuns = baselineStore.runIds();
+        List<String> candidateRuns = candidateStore.runIds();
+        if (baselineRuns.isEmpty() || candidateRuns.isEmpty()) {
+            throw new IllegalArgumentException("结果文件为空或不存在");
+        }
+        boolean sameFile = baselineStore.getFile().toAbsolutePath().normalize()
+                .equals(candidateStore.getFile().toAbsolutePath().normalize());
+        String candidateRun = options.getOrDefault("candidate-run", last(candidateRuns, 0));
+        String baselineRun = options.get("baseline-run");
+        if (baselineRun == null) {
+            if (sameFile && baselineRuns.size() < 2) {
+                throw new IllegalArgumentException("同一文件中至少需要两次运行");
+            }
+            baselineRun = sameFile ? last(baselineRuns, 1) : last(baselineRuns, 0);
+        }
+
+        List<BenchmarkRecord> baseline = baselineStore.readRun(baselineRun);
+        List<BenchmarkRecord> candidate = candidateStore.readRun(candidateRun);
+        if (baseline.isEmpty() || candidate.isEmpty()) {
+            throw new IllegalArgumentException("找不到运行: " + (baseline.isEmpty() ? baselineRun : candidateRun));
+        }
+        BenchmarkEnvironment be = baseline.get(0).getEnvironment();
+        BenchmarkEnvironment ce = candidate.get(0).getEnvironment();
+        out.printf("基线: %s  候选: %s  阈值: %.1f%%%n", baselineRun, candidateRun, threshold);
+        if (be != null && !be.comparableWith(ce)) {
+            out.println("警告: 两次运行的 JVM 版本或 CPU 不同，结果仅供参考");
+        }
+
+        List<Comparison> comparisons = compare(baseline, candidate, threshold);
+        int regressions = 0;
+        for (Comparison c : comparisons) {
+            out.printf("%-10s %-70s %14s %14s %9s %s%n", c.getStatus(), c.getKey(),
+                    format(c.getBaselineScore()), format(c.getCandidateScore()),
+                    c.getBaselineScore() == null || c.getCandidateScore() == null
+                            ? "" : String.format("%+.1f%%", c.getWorsePercent()),
+                    c.getUnit());
+            if (c.getStatus() == Status.REGRESSED) {
+                regressions++;
+            }
+        }
+        out.printf("共 %d 项，回归 %d 项%n", comparisons.size(), regressions);
+        return regressions > 0 ? EXIT_REGRESSION : EXIT_OK;
+    }
+
+    private static int importCommand(List<String> positional, Map<String, String> options, PrintStream out) {
+        if (positional.size() < 3 || !options.containsKey("run")) {
+            throw new IllegalArgumentException("import-jmh 需要 JMH 结果文件、存储文件与 --run");
+        }
+        Path jmhJson = Paths.get(positional.get(1));
+        List<BenchmarkRecord> records = BenchmarkResultStore.fromJmhJson(jmhJson, options.get("run"));
+        new BenchmarkResultStore(Paths.get(positional.get(2))).appendAll(records);
+        out.printf("已导入 %d 条 JMH 结果到 %s（run=%s）%n", records.size(), positional.get(2), options.get("run"));
+        return EXIT_OK;
+    }
+
+    private static Map<String, BenchmarkResultDTO> index(List<BenchmarkRecord> records) {
+        Map<String, BenchmarkResultDTO> map = new LinkedHashMap<>();
+        for (BenchmarkRecord record : records) {
+            map.put(BenchmarkRecord.keyOf(record.getResult()), record.getResult()); // 同键以后写入的为准
+        }
+        return map;
+    }
+
+    /** 主得分：有 score 用 score，否则使用 StopWatch 的毫秒耗时 */
+    static double scoreOf(BenchmarkResultDTO r) {
+        return r.getScore() != null ? r.getScore() : r.getExecutionTimeMs();
+    }
+
+    static String unitOf(BenchmarkResultDTO r) {
+        return r.getScoreUnit() != null ? r.getScoreUnit() : "ms";
+    }
+
+    static boolean higherIsBetter(BenchmarkResultDTO r) {
+        if ("thrpt".equals(r.getMode())) {
+            return true;
+        }
+        String unit = unitOf(r);
+        return unit.startsWith("ops/");
+    }
+
+    private static String last(List<String> list, int fromEnd) {
+        return list.get(list.size() - 1 - fromEnd);
+    }
+
+    private static String format(Double value) {
+        return value == null ? "-" : String.format("%.3f", value);
+    }
+
+    private static void printUsage(PrintStream out) {
+        out.println("用法:");
+        out.println("  compare <baseline.jsonl> <candidate.jsonl> [--threshold=5] [--baseline-run=ID] [--candidate-run=ID]");
+        out.println("  import-jmh <jmh-result.json> <store.jsonl> --run=ID");
+    }
+}
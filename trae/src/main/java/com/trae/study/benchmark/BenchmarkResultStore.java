@@ -0,0 +1,218 @@
+package com.trae.study.benchmark;
+
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import com.trae.study.dto.BenchmarkResultDTO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 基准结果存储：JSON Lines 文件，每行一个 {@link BenchmarkRecord}
+ *
+ * 说明：
+ * - 只追加不修改，多次运行写入同一文件，按 runId 区分；
+ * - StopWatch 结果通过 {@link #append(String, BenchmarkResultDTO)} 写入；
+ * - JMH 结果先以 -rf json 输出，再通过 {@link #fromJmhJson(Path, String)} 转换导入
+ *   （JMH 只在 test 范围可用，这里直接解析其 JSON 格式，不依赖 JMH 类）。
+ */
+public class BenchmarkResultStore {
+
+    public static final String SOURCE_JMH = "JMH";
+    public static final String SOURCE_STOPWATCH = "StopWatch";
+
+    private final Path file;
+    private BenchmarkEnvironment environment;
+
+    public BenchmarkResultStore(Path file) {
+        this.file = Objects.requireNonNull(file);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /** 追加一条 StopWatch 结果，环境信息取当前 JVM */
+    public void append(String runId, BenchmarkResultDTO result) {
+        append(new BenchmarkRecord(runId, System.currentTimeMillis(), SOURCE_STOPWATCH, currentEnvironment(), result));
+    }
+
+    public void append(BenchmarkRecord record) {
+        appendAll(Collections.singletonList(record));
+    }
+
+    /** 批量追加，一次写入文件 */
+    public synchronized void appendAll(List<BenchmarkRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (BenchmarkRecord record : records) {
+            sb.append(JSONUtil.toJsonStr(record)).append('\n');
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入基准结果失败: " + file, e);
+        }
+    }
+
+    /** 读取全部记录；文件不存在时返回空列表，空行忽略 */
+    public List<BenchmarkRecord> readAll() {
+        if (!Files.exists(file)) {
+            return new ArrayList<>();
+        }
+        try {
+            return Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                    .filter(line -> !line.trim().isEmpty())
+                    .map(line -> JSONUtil.toBean(line, BenchmarkRecord.class))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取基准结果失败: " + file, e);
+        }
+    }
+
+    /** 读取指定运行的记录 */
+    public List<BenchmarkRecord> readRun(String runId) {
+        return readAll().stream()
+                .filter(r -> Objects.equals(runId, r.getRunId()))
+                .collect(Collectors.toList());
+    }
+
+    /** 所有运行标识，按首次出现的顺序 */
+    public List<String> runIds() {
+        return readAll().stream()
+                .map(BenchmarkRecord::getRunId)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 将 JMH JSON 结果（-rf json）转换为记录
+     *
+     * 映射：benchmark → testName（类名.方法名），primaryMetric → score/scoreError/scoreUnit/percentiles，
+     * secondaryMetrics 全部放入 additionalMetrics；若启用了 GC profiler，
+     * ·gc.alloc.rate.norm 与 ·gc.alloc.rate 分别填入 allocBytesPerOp 与 allocRateMbPerSec，
+     * ·gc.count 与 ·gc.time 填入 gcCount 与 gcTimeMs。
+     */
+    public static List<BenchmarkRecord> fromJmhJson(Path jmhJson, String runId) {
+        String text;
+        try {
+            text = new String(Files.readAllBytes(jmhJson), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取 JMH 结果失败: " + jmhJson, e);
+        }
+        long now = System.currentTimeMillis();
+        BenchmarkEnvironment base = BenchmarkEnvironment.capture();
+        List<BenchmarkRecord> records = new ArrayList<>();
+        JSONArray array = JSONUtil.parseArray(text);
+        for (int i = 0; i < array.size(); i++) {
+            JSONObject item = array.getJSONObject(i);
+            records.add(new BenchmarkRecord(runId, now, SOURCE_JMH, jmhEnvironment(base, item), toResult(item)));
+        }
+        return records;
+    }
+
+    private static BenchmarkResultDTO toResult(JSONObject item) {
+        String benchmark = item.getStr("benchmark");
+        BenchmarkResultDTO result = new BenchmarkResultDTO();
+        result.setTestName(shortName(benchmark));
+        result.setDescription(benchmark);
+        result.setMode(item.getStr("mode"));
+        result.setThreads(item.getInt("threads"));
+
+        JSONObject params = item.getJSONObject("params");
+        if (params != null) {
+            Map<String, String> map = new TreeMap<>();
+            params.forEach((k, v) -> map.put(k, String.valueOf(v)));
+            result.setParams(map);
+        }
+
+        JSONObject primary = item.getJSONObject("primaryMetric");
+        result.setScore(toDouble(primary.get("score")));
+        result.setScoreError(toDouble(primary.get("scoreError")));
+        result.setScoreUnit(primary.getStr("scoreUnit"));
+        JSONObject percentiles = primary.getJSONObject("scorePercentiles");
+        if (percentiles != null) {
+            Map<String, Double> map = new LinkedHashMap<>();
+            percentiles.forEach((k, v) -> map.put(percentileKey(k), toDouble(v)));
+            result.setPercentiles(map);
+        }
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        JSONObject secondary = item.getJSONObject("secondaryMetrics");
+        if (secondary != null) {
+            for (String name : secondary.keySet()) {
+                Double score = toDouble(secondary.getJSONObject(name).get("score"));
+                metrics.put(name, score);
+                if (name.endsWith("gc.alloc.rate.norm")) {
+                    result.setAllocBytesPerOp(score);
+                } else if (name.endsWith("gc.alloc.rate")) {
+                    result.setAllocRateMbPerSec(score);
+                } else if (name.endsWith("gc.count") && score != null) {
+                    result.setGcCount(Math.round(score));
+                } else if (name.endsWith("gc.time") && score != null) {
+                    result.setGcTimeMs(Math.round(score));
+                }
+            }
+        }
+        result.setAdditionalMetrics(metrics);
+        return result;
+    }
+
+    private static BenchmarkEnvironment jmhEnvironment(BenchmarkEnvironment base, JSONObject item) {
+        JSONArray jvmArgs = item.getJSONArray("jvmArgs");
+        return new BenchmarkEnvironment(
+                item.getStr("jdkVersion", base.getJavaVersion()),
+                item.getStr("vmName", base.getVmName()),
+                item.getStr("vmVersion", base.getVmVersion()),
+                jvmArgs == null ? base.getJvmArgs() : jvmArgs.toList(String.class),
+                base.getOsName(),
+                base.getOsArch(),
+                base.getAvailableProcessors(),
+                base.getCpuModel(),
+                base.getMaxHeapBytes(),
+                base.getGitCommit());
+    }
+
+    /** com.example.benchmark.MapJmhBenchmark.getHit → MapJmhBenchmark.getHit */
+    static String shortName(String benchmark) {
+        int method = benchmark.lastIndexOf('.');
+        int cls = method > 0 ? benchmark.lastIndexOf('.', method - 1) : -1;
+        return benchmark.substring(cls + 1);
+    }
+
+    /** "50.0" → p50，"99.9" → p999，"99.99" → p9999，"100.0" → p100 */
+    static String percentileKey(String jmhKey) {
+        String digits = jmhKey.endsWith(".0") ? jmhKey.substring(0, jmhKey.length() - 2) : jmhKey;
+        return "p" + digits.replace(".", "");
+    }
+
+    /** JMH 在只有一次迭代时把误差写成字符串 "NaN"；NaN 无法写入 JSON，统一转为 null（未知） */
+    private static Double toDouble(Object value) {
+        if (value == null) {
+            return null;
+        }
+        double d = value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(value.toString());
+        return Double.isNaN(d) ? null : d;
+    }
+
+    private BenchmarkEnvironment currentEnvironment() {
+        if (environment == null) {
+            environment = BenchmarkEnvironment.capture();
+        }
+        return environment;
+    }
+}
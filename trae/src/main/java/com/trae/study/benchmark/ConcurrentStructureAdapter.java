@@ -0,0 +1,59 @@
+package com.trae.study.benchmark;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 扩展性扫描的被测结构适配器：把任意并发结构统一成"按 int 键读 / 写"
+ *
+ * 约定：
+ * - prepare 在每个线程数档位开始前调用一次，应重建结构并预填 keySpace 个键，保证各档位起点一致；
+ * - read / write 会被多个线程并发调用；read 的返回值由运行器消费，防止 JIT 消除读操作。
+ */
+public interface ConcurrentStructureAdapter {
+
+    /** 结构名称，用于报告与 CSV */
+    String name();
+
+    /** 重建并预填数据 */
+    void prepare(int keySpace);
+
+    Object read(int key);
+
+    void write(int key);
+
+    /**
+     * 以 Map 工厂创建适配器：读为 get，写为 put
+     * @param name 名称
+     * @param factory 每个档位创建一个新 Map，例如 ConcurrentHashMap::new
+     */
+    static ConcurrentStructureAdapter ofMap(String name, Supplier<? extends Map<Integer, Integer>> factory) {
+        return new ConcurrentStructureAdapter() {
+            private volatile Map<Integer, Integer> map;
+
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public void prepare(int keySpace) {
+                Map<Integer, Integer> fresh = factory.get();
+                for (int i = 0; i < keySpace; i++) {
+                    fresh.put(i, i);
+                }
+                map = fresh;
+            }
+
+            @Override
+            public Object read(int key) {
+                return map.get(key);
+            }
+
+            @Override
+            public void write(int key) {
+                map.put(key, key);
+            }
+        };
+    }
+}
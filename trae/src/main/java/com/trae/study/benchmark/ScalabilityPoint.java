@@ -0,0 +1,33 @@
+package com.trae.study.benchmark;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 扩展性扫描中一个线程数档位的结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScalabilityPoint {
+    private int threads;
+    /** 测量窗口内的总操作数 */
+    private long totalOps;
+    /** 测量窗口实际时长（纳秒） */
+    private long elapsedNanos;
+    /** 吞吐（ops/s） */
+    private double opsPerSec;
+    /** 相对单线程的加速比 */
+    private double speedup;
+    /** 并行效率 = speedup / threads */
+    private double efficiency;
+    /** Jain 公平性指数：(Σx)² / (n·Σx²)，1 表示各线程完成量完全相同，1/n 表示只有一个线程在推进 */
+    private double fairness;
+    /** 最慢线程与最快线程的操作数之比 */
+    private double minMaxRatio;
+    /** 各线程完成的操作数 */
+    private List<Long> perThreadOps;
+}
@@ -0,0 +1,134 @@
+package com.trae.study.benchmark;
+
+import com.trae.study.dto.BenchmarkResultDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 一个结构在一种读写比例下的扩展性扫描报告
+ *
+ * serialFraction 为按 Amdahl 定律 S(n) = 1 / (s + (1 - s) / n) 拟合出的串行比例 s：
+ * 越接近 0 扩展性越好；只有单线程档位时无法拟合，为 null。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScalabilityReport {
+
+    static final String CSV_HEADER = "structure,readPercent,threads,totalOps,opsPerSec,speedup,efficiency,"
+            + "fairness,minMaxRatio,serialFraction,amdahlSpeedup";
+
+    private String structure;
+    private int readPercent;
+    private int keySpace;
+    private List<ScalabilityPoint> points;
+    private Double serialFraction;
+
+    /** 按拟合出的串行比例预测 n 线程的加速比；无法拟合时返回 NaN */
+    public double predictedSpeedup(int threads) {
+        if (serialFraction == null) {
+            return Double.NaN;
+        }
+        return 1.0 / (serialFraction + (1 - serialFraction) / threads);
+    }
+
+    /** 含表头的 CSV，每个线程数档位一行 */
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder(CSV_HEADER).append('\n');
+        appendCsvRows(sb);
+        return sb.toString();
+    }
+
+    /** 多个报告合并为一个 CSV（同一表头），便于在同一张图中对比 */
+    public static String toCsv(Collection<ScalabilityReport> reports) {
+        StringBuilder sb = new StringBuilder(CSV_HEADER).append('\n');
+        for (ScalabilityReport report : reports) {
+            report.appendCsvRows(sb);
+        }
+        return sb.toString();
+    }
+
+    public static void writeCsv(Path file, Collection<ScalabilityReport> reports) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(file, toCsv(reports).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入 CSV 失败: " + file, e);
+        }
+    }
+
+    /**
+     * 转换为结果 DTO（每个档位一条，mode = thrpt，单位 ops/s），可直接写入 {@link BenchmarkResultStore}
+     * 并交给回归门禁比较
+     */
+    public List<BenchmarkResultDTO> toResults() {
+        List<BenchmarkResultDTO> results = new ArrayList<>();
+        for (ScalabilityPoint point : points) {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("加速比", point.getSpeedup());
+            metrics.put("并行效率", point.getEfficiency());
+            metrics.put("公平性指数", point.getFairness());
+            metrics.put("最慢/最快线程比", point.getMinMaxRatio());
+            if (serialFraction != null) {
+                metrics.put("Amdahl串行比例", serialFraction);
+            }
+            BenchmarkResultDTO dto = new BenchmarkResultDTO("Scalability." + structure, "扩展性扫描",
+                    point.getElapsedNanos() / 1_000_000, metrics);
+            dto.setMode("thrpt");
+            dto.setScore(point.getOpsPerSec());
+            dto.setScoreUnit("ops/s");
+            dto.setThreads(point.getThreads());
+            Map<String, String> params = new TreeMap<>();
+            params.put("readPercent", String.valueOf(readPercent));
+            params.put("keySpace", String.valueOf(keySpace));
+            dto.setParams(params);
+            results.add(dto);
+        }
+        return results;
+    }
+
+    private void appendCsvRows(StringBuilder sb) {
+        for (ScalabilityPoint p : points) {
+            sb.append(csvField(structure)).append(',')
+                    .append(readPercent).append(',')
+                    .append(p.getThreads()).append(',')
+                    .append(p.getTotalOps()).append(',')
+                    .append(format(p.getOpsPerSec())).append(',')
+                    .append(format(p.getSpeedup())).append(',')
+                    .append(format(p.getEfficiency())).append(',')
+                    .append(format(p.getFairness())).append(',')
+                    .append(format(p.getMinMaxRatio())).append(',')
+                    .append(serialFraction == null ? "" : format(serialFraction)).append(',')
+                    .append(serialFraction == null ? "" : format(predictedSpeedup(p.getThreads())))
+                    .append('\n');
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
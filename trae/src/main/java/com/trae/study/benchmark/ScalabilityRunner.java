@@ -0,0 +1,307 @@
+package com.trae.study.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 通用扩展性扫描：对任意并发结构按线程数档位测量吞吐，得到吞吐-线程数曲线
+ *
+ * 每个档位的流程：
+ * 1. adapter.prepare 重建结构并预填 keySpace 个键；
+ * 2. 所有线程同时起跑，先运行 warmup 时长（不计数），再运行 measure 时长；
+ * 3. 每个线程各自计数（无共享计数器，避免测量本身成为瓶颈），结束后汇总为吞吐、加速比与公平性。
+ * 全部档位完成后按 Amdahl 定律拟合串行比例。
+ *
+ * 说明：
+ * - 线程数默认为 1 到 CPU 核数之间的 2 的幂（含核数本身），超过核数的档位主要反映调度开销；
+ * - 键按线程本地的 xorshift 均匀生成，读写比例由 readPercent 决定；
+ * - 这是 StopWatch 级别的测量（无 fork、无 JIT 隔离），严谨对比请使用 CollectionsJmhSuite。
+ */
+@Slf4j
+public final class ScalabilityRunner {
+
+    /** 防止 JIT 消除读操作 */
+    private static volatile long sink;
+
+    private final int[] threadCounts;
+    private final int readPercent;
+    private final int keySpace;
+    private final long warmupMillis;
+    private final long measureMillis;
+
+    private ScalabilityRunner(Builder builder) {
+        this.threadCounts = builder.threadCounts != null ? builder.threadCounts : defaultThreadCounts();
+        this.readPercent = builder.readPercent;
+        this.keySpace = builder.keySpace;
+        this.warmupMillis = builder.warmupMillis;
+        this.measureMillis = builder.measureMillis;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private int[] threadCounts;
+        private int readPercent = 90;
+        private int keySpace = 10_000;
+        private long warmupMillis = 200;
+        private long measureMillis = 500;
+
+        /** 线程数档位（去重并升序），默认见 {@link #defaultThreadCounts()} */
+        public Builder threadCounts(int... threadCounts) {
+            SortedSet<Integer> set = new TreeSet<>();
+            for (int t : threadCounts) {
+                if (t <= 0) throw new IllegalArgumentException("线程数必须大于0: " + t);
+                set.add(t);
+            }
+            if (set.isEmpty()) throw new IllegalArgumentException("至少需要一个线程数档位");
+            this.threadCounts = set.stream().mapToInt(Integer::intValue).toArray();
+            return this;
+        }
+
+        /** 读操作占比 [0, 100]，其余为写 */
+        public Builder readPercent(int readPercent) {
+            if (readPercent < 0 || readPercent > 100) throw new IllegalArgumentException("readPercent 需在 [0, 100]");
+            this.readPercent = readPercent;
+            return this;
+        }
+
+        /** 键空间大小 */
+        public Builder keySpace(int keySpace) {
+            if (keySpace <= 0) throw new IllegalArgumentException("键空间必须大于0");
+            this.keySpace = keySpace;
+            return this;
+        }
+
+        public Builder warmup(long duration, TimeUnit unit) {
+            if (duration < 0) throw new IllegalArgumentException("预热时长不能为负");
+            this.warmupMillis = unit.toMillis(duration);
+            return this;
+        }
+
+        public Builder measure(long duration, TimeUnit unit) {
+            if (unit.toMillis(duration) <= 0) throw new IllegalArgumentException("测量时长必须大于0毫秒");
+            this.measureMillis = unit.toMillis(duration);
+            return this;
+        }
+
+        public ScalabilityRunner build() {
+            return new ScalabilityRunner(this);
+        }
+    }
+
+    /** 1 到 CPU 核数之间的 2 的幂，再加上核数本身 */
+    public static int[] defaultThreadCounts() {
+        SortedSet<Integer> counts = new TreeSet<>();
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int t = 1; t < cores; t <<= 1) {
+            counts.add(t);
+        }
+        counts.add(cores);
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 对一个结构执行完整扫描
+     */
+    public ScalabilityReport run(ConcurrentStructureAdapter adapter) {
+        List<ScalabilityPoint> points = new ArrayList<>();
+        if (warmupMillis > 0) {
+            // 首个档位之前整体预热一轮（结果丢弃）：否则基线在 JIT 完成前测得，偏低的基线会让加速比虚高
+            adapter.prepare(keySpace);
+            runPhase(adapter, threadCounts[0], new long[threadCounts[0]]);
+        }
+        for (int threads : threadCounts) {
+            adapter.prepare(keySpace);
+            long[] perThread = new long[threads];
+            long elapsed = runPhase(adapter, threads, perThread);
+            points.add(toPoint(threads, perThread, elapsed));
+        }
+        ScalabilityReport report = report(adapter.name(), readPercent, keySpace, points);
+        for (ScalabilityPoint point : points) {
+            log.info("[{}] {} 线程: {} ops/s, 加速比 {}, 公平性 {}", adapter.name(), point.getThreads(),
+                    String.format("%.0f", point.getOpsPerSec()), String.format("%.2f", point.getSpeedup()),
+                    String.format("%.3f", point.getFairness()));
+        }
+        return report;
+    }
+
+    /**
+     * 由各档位吞吐计算加速比、效率并拟合串行比例，与计时无关，可直接用合成的吞吐点验证
+     *
+     * 单线程基线取首个档位的单线程平均吞吐（没有 1 线程档位时即按最小档位估算）。
+     * @param points 按线程数升序、已填好 threads 与 opsPerSec 的档位，speedup / efficiency 原地写入
+     */
+    static ScalabilityReport report(String structure, int readPercent, int keySpace, List<ScalabilityPoint> points) {
+        double baseline = points.isEmpty() ? 0 : points.get(0).getOpsPerSec() / points.get(0).getThreads();
+        for (ScalabilityPoint point : points) {
+            point.setSpeedup(baseline == 0 ? 0 : point.getOpsPerSec() / baseline);
+            point.setEfficiency(point.getSpeedup() / point.getThreads());
+        }
+        return new ScalabilityReport(structure, readPercent, keySpace, points, fitSerialFraction(points));
+    }
+
+    /** 依次扫描多个结构，便于合并导出 CSV */
+    public List<ScalabilityReport> runAll(List<ConcurrentStructureAdapter> adapters) {
+        List<ScalabilityReport> reports = new ArrayList<>();
+        for (ConcurrentStructureAdapter adapter : adapters) {
+            reports.add(run(adapter));
+        }
+        return reports;
+    }
+
+    /**
+     * 按 Amdahl 定律拟合串行比例 s（最小二乘，过原点）
+     *
+     * 由 1/S(n) = s + (1 - s)/n 得 1/S(n) - 1/n = s·(1 - 1/n)，
+     * 令 x = 1 - 1/n、y = 1/S(n) - 1/n，则 s = Σxy / Σx²，结果截断到 [0, 1]。
+     * @return 串行比例；没有多线程档位或加速比无效时返回 null
+     */
+    public static Double fitSerialFraction(List<ScalabilityPoint> points) {
+        double sxy = 0;
+        double sxx = 0;
+        for (ScalabilityPoint p : points) {
+            if (p.getThreads() <= 1 || !(p.getSpeedup() > 0)) {
+                continue;
+            }
+            double x = 1 - 1.0 / p.getThreads();
+            double y = 1 / p.getSpeedup() - 1.0 / p.getThreads();
+            sxy += x * y;
+            sxx += x * x;
+        }
+        if (sxx == 0) {
+            return null;
+        }
+        return Math.max(0, Math.min(1, sxy / sxx));
+    }
+
+    /**
+     * Jain 公平性指数：(Σx)² / (n·Σx²)
+     */
+    static double jainFairness(long[] values) {
+        double sum = 0;
+        double sumSq = 0;
+        for (long v : values) {
+            sum += v;
+            sumSq += (double) v * v;
+        }
+        return sumSq == 0 ? 1.0 : sum * sum / (values.length * sumSq);
+    }
+
+    private static ScalabilityPoint toPoint(int threads, long[] perThread, long elapsedNanos) {
+        long total = 0;
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        List<Long> ops = new ArrayList<>(threads);
+        for (long v : perThread) {
+            total += v;
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+            ops.add(v);
+        }
+        ScalabilityPoint point = new ScalabilityPoint();
+        point.setThreads(threads);
+        point.setTotalOps(total);
+        point.setElapsedNanos(elapsedNanos);
+        point.setOpsPerSec(total * 1e9 / elapsedNanos);
+        point.setFairness(jainFairness(perThread));
+        point.setMinMaxRatio(max == 0 ? 1.0 : (double) min / max);
+        point.setPerThreadOps(ops);
+        return point;
+    }
+
+    /**
+     * 运行一个档位：预热 + 测量，返回测量窗口时长（纳秒），各线程操作数写入 perThread
+     */
+    private long runPhase(ConcurrentStructureAdapter adapter, int threads, long[] perThread) {
+        Phase phase = new Phase();
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            final int index = i;
+            Thread worker = new Thread(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                    perThread[index] = work(adapter, phase, 0x9E3779B97F4A7C15L * (index + 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "scalability-" + adapter.name() + "-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        try {
+            ready.await();
+            start.countDown();
+            if (warmupMillis > 0) {
+                Thread.sleep(warmupMillis);
+            }
+            phase.state = Phase.MEASURE;
+            long begin = System.nanoTime();
+            Thread.sleep(measureMillis);
+            phase.state = Phase.STOP;
+            long elapsed = System.nanoTime() - begin;
+            done.await();
+            return elapsed;
+        } catch (InterruptedException e) {
+            phase.state = Phase.STOP;
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("扩展性扫描被中断", e);
+        }
+    }
+
+    /** 单个工作线程：预热阶段不计数，测量阶段计数，停止信号后退出 */
+    private long work(ConcurrentStructureAdapter adapter, Phase phase, long seed) {
+        long x = seed;
+        long ops = 0;
+        long hash = 0;
+        boolean measuring = false;
+        while (true) {
+            // 每 64 次操作检查一次阶段，减少 volatile 读；预热与测量走同一条代码路径
+            if ((ops & 63) == 0) {
+                int state = phase.state;
+                if (state == Phase.STOP) {
+                    break;
+                }
+                if (!measuring && state == Phase.MEASURE) {
+                    measuring = true;
+                    ops = 0; // 之后仍按 64 对齐检查
+                }
+            }
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+            int key = (int) ((x >>> 33) % keySpace);
+            if ((int) ((x & 0x7FFFFFFFL) % 100) < readPercent) {
+                Object value = adapter.read(key);
+                hash += value == null ? 1 : value.hashCode();
+            } else {
+                adapter.write(key);
+            }
+            ops++;
+        }
+        sink += hash;
+        return measuring ? ops : 0;
+    }
+
+    private static final class Phase {
+        static final int WARMUP = 0;
+        static final int MEASURE = 1;
+        static final int STOP = 2;
+        volatile int state = WARMUP;
+    }
+}
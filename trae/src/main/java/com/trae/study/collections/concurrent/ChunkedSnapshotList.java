@@ -0,0 +1,445 @@
+package com.trae.study.collections.concurrent;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 分块快照列表：读不加锁、迭代永不抛 ConcurrentModificationException 的并发 List
+ *
+ * 与 CopyOnWriteArrayList 的对比：
+ * - CopyOnWriteArrayList：每次写都复制整个数组，写代价 O(n)；
+ * - ChunkedSnapshotList：数据切成若干不可变的小块（chunk），写操作只复制被修改的那一块，
+ *   外加一份块目录（长度约 n / CHUNK_CAPACITY），未改动的块在新旧快照之间共享。
+ *
+ * 并发语义：
+ * - 每次写（加锁串行化）生成一个新的不可变 {@link Snapshot}，epoch 加一，并通过 volatile 发布；
+ * - 读操作与迭代器只读取某一个快照，迭代期间看不到后续写入，也不会抛出 CME；
+ * - 迭代器不支持 remove（与 CopyOnWriteArrayList 一致），需要删除请使用 remove/removeIf。
+ *
+ * @param <E> 元素类型
+ */
+public class ChunkedSnapshotList<E> extends AbstractList<E> implements RandomAccess {
+
+    /** 单块最大元素数：超过后一分为二 */
+    static final int CHUNK_CAPACITY = 256;
+
+    private static final Object[][] EMPTY_CHUNKS = new Object[0][];
+    private static final int[] EMPTY_OFFSETS = new int[0];
+
+    /** 写锁：写操作串行化，读操作不加锁 */
+    private final transient ReentrantLock lock = new ReentrantLock();
+
+    /** 当前快照 */
+    private volatile Snapshot<E> current = new Snapshot<>(EMPTY_CHUNKS, EMPTY_OFFSETS, 0, 0L);
+
+    public ChunkedSnapshotList() {
+    }
+
+    public ChunkedSnapshotList(Collection<? extends E> initial) {
+        addAll(initial);
+    }
+
+    /**
+     * 不可变快照：chunks[i] 保存第 i 块的元素，offsets[i] 为该块首元素的全局下标。
+     *
+     * @param <E> 元素类型
+     */
+    public static final class Snapshot<E> extends AbstractList<E> implements RandomAccess {
+        private final Object[][] chunks;
+        private final int[] offsets;
+        private final int size;
+        private final long epoch;
+
+        Snapshot(Object[][] chunks, int[] offsets, int size, long epoch) {
+            this.chunks = chunks;
+            this.offsets = offsets;
+            this.size = size;
+            this.epoch = epoch;
+        }
+
+        /** 快照版本号：每次写操作递增 */
+        public long epoch() {
+            return epoch;
+        }
+
+        /** 块数量（用于观察结构共享情况） */
+        public int chunkCount() {
+            return chunks.length;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            Objects.checkIndex(index, size);
+            int c = chunkIndexOf(index);
+            return (E) chunks[c][index - offsets[c]];
+        }
+
+        /** 二分查找 index 所在的块 */
+        int chunkIndexOf(int index) {
+            int lo = 0;
+            int hi = offsets.length - 1;
+            while (lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+                if (offsets[mid] <= index) {
+                    lo = mid;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return lo;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new ChunkIterator<>(chunks);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEach(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            for (Object[] chunk : chunks) {
+                for (Object e : chunk) {
+                    action.accept((E) e);
+                }
+            }
+        }
+
+        @Override
+        public Object[] toArray() {
+            Object[] out = new Object[size];
+            int pos = 0;
+            for (Object[] chunk : chunks) {
+                System.arraycopy(chunk, 0, out, pos, chunk.length);
+                pos += chunk.length;
+            }
+            return out;
+        }
+    }
+
+    /** 按块顺序遍历的只读迭代器：缓存当前块数组，热路径只有一次数组下标比较 */
+    private static final class ChunkIterator<E> implements Iterator<E> {
+        private static final Object[] NO_CHUNK = new Object[0];
+        private final Object[][] chunks;
+        private Object[] current = NO_CHUNK;
+        private int nextChunk;
+        private int pos;
+
+        ChunkIterator(Object[][] chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pos < current.length || advance();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (pos >= current.length && !advance()) {
+                throw new NoSuchElementException();
+            }
+            return (E) current[pos++];
+        }
+
+        /** 切换到下一个非空块；块由写操作保证非空，这里仍做防御性跳过 */
+        private boolean advance() {
+            while (nextChunk < chunks.length) {
+                current = chunks[nextChunk++];
+                pos = 0;
+                if (current.length > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // ===================== 读操作：无锁，基于当前快照 =====================
+
+    /** 获取当前快照：之后的写入不会影响返回值 */
+    public Snapshot<E> snapshot() {
+        return current;
+    }
+
+    /** 当前版本号 */
+    public long epoch() {
+        return current.epoch;
+    }
+
+    @Override
+    public int size() {
+        return current.size;
+    }
+
+    @Override
+    public E get(int index) {
+        return current.get(index);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return current.iterator();
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        // 基于快照的只读列表迭代器
+        return Collections.unmodifiableList(current).listIterator(index);
+    }
+
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        // 返回快照上的视图，避免 AbstractList.SubList 依赖 modCount
+        return current.subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return current.spliterator();
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        current.forEach(action);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return current.toArray();
+    }
+
+    // ===================== 写操作：加锁，只复制被修改的块 =====================
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        lock.lock();
+        try {
+            Snapshot<E> s = current;
+            Objects.checkIndex(index, s.size);
+            int c = s.chunkIndexOf(index);
+            Object[] chunk = s.chunks[c].clone();
+            int local = index - s.offsets[c];
+            E old = (E) chunk[local];
+            chunk[local] = element;
+            Object[][] chunks = s.chunks.clone();
+            chunks[c] = chunk;
+            current = new Snapshot<>(chunks, s.offsets, s.size, s.epoch + 1);
+            return old;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean add(E element) {
+        lock.lock();
+        try {
+            // 在锁内读取 size，避免与并发删除竞争导致下标越界
+            add(current.size, element);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void add(int index, E element) {
+        lock.lock();
+        try {
+            Snapshot<E> s = current;
+            Objects.checkIndex(index, s.size + 1);
+            if (s.chunks.length == 0) {
+                current = new Snapshot<>(new Object[][]{{element}}, new int[]{0}, 1, s.epoch + 1);
+                return;
+            }
+            // 追加到末尾时落在最后一块
+            int c = index == s.size ? s.chunks.length - 1 : s.chunkIndexOf(index);
+            Object[] old = s.chunks[c];
+            int local = index - s.offsets[c];
+            Object[] grown = new Object[old.length + 1];
+            System.arraycopy(old, 0, grown, 0, local);
+            grown[local] = element;
+            System.arraycopy(old, local, grown, local + 1, old.length - local);
+
+            if (grown.length <= CHUNK_CAPACITY) {
+                Object[][] chunks = s.chunks.clone();
+                chunks[c] = grown;
+                current = new Snapshot<>(chunks, shiftOffsets(s.offsets, c + 1, 1), s.size + 1, s.epoch + 1);
+            } else {
+                // 块已满：一分为二，目录长度加一
+                int half = grown.length >>> 1;
+                Object[][] chunks = new Object[s.chunks.length + 1][];
+                int[] offsets = new int[s.offsets.length + 1];
+                System.arraycopy(s.chunks, 0, chunks, 0, c);
+                System.arraycopy(s.offsets, 0, offsets, 0, c + 1);
+                chunks[c] = Arrays.copyOfRange(grown, 0, half);
+                chunks[c + 1] = Arrays.copyOfRange(grown, half, grown.length);
+                offsets[c + 1] = s.offsets[c] + half;
+                System.arraycopy(s.chunks, c + 1, chunks, c + 2, s.chunks.length - c - 1);
+                for (int i = c + 1; i < s.offsets.length; i++) {
+                    offsets[i + 1] = s.offsets[i] + 1;
+                }
+                current = new Snapshot<>(chunks, offsets, s.size + 1, s.epoch + 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        lock.lock();
+        try {
+            Snapshot<E> s = current;
+            Objects.checkIndex(index, s.size);
+            int c = s.chunkIndexOf(index);
+            Object[] old = s.chunks[c];
+            int local = index - s.offsets[c];
+            E removed = (E) old[local];
+            if (old.length == 1) {
+                // 块被删空：从目录中移除
+                Object[][] chunks = new Object[s.chunks.length - 1][];
+                int[] offsets = new int[s.offsets.length - 1];
+                System.arraycopy(s.chunks, 0, chunks, 0, c);
+                System.arraycopy(s.chunks, c + 1, chunks, c, chunks.length - c);
+                System.arraycopy(s.offsets, 0, offsets, 0, c);
+                for (int i = c; i < offsets.length; i++) {
+                    offsets[i] = s.offsets[i + 1] - 1;
+                }
+                current = new Snapshot<>(chunks, offsets, s.size - 1, s.epoch + 1);
+            } else {
+                Object[] shrunk = new Object[old.length - 1];
+                System.arraycopy(old, 0, shrunk, 0, local);
+                System.arraycopy(old, local + 1, shrunk, local, old.length - local - 1);
+                Object[][] chunks = s.chunks.clone();
+                chunks[c] = shrunk;
+                current = new Snapshot<>(chunks, shiftOffsets(s.offsets, c + 1, -1), s.size - 1, s.epoch + 1);
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        lock.lock();
+        try {
+            int index = current.indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            remove(index);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        Object[] added = c.toArray();
+        if (added.length == 0) {
+            return false;
+        }
+        lock.lock();
+        try {
+            // 批量追加：只重建最后一块及新增块，一次发布
+            Snapshot<E> s = current;
+            Object[] tail = s.chunks.length == 0 ? new Object[0] : s.chunks[s.chunks.length - 1];
+            int keep = Math.max(0, s.chunks.length - 1);
+            int tailOffset = keep == 0 ? 0 : s.offsets[keep];
+            Object[] merged = new Object[tail.length + added.length];
+            System.arraycopy(tail, 0, merged, 0, tail.length);
+            System.arraycopy(added, 0, merged, tail.length, added.length);
+            current = rebuild(s, keep, tailOffset, merged, s.size + added.length);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        lock.lock();
+        try {
+            Snapshot<E> s = current;
+            List<E> kept = new ArrayList<>(s.size);
+            for (E e : s) {
+                if (!filter.test(e)) {
+                    kept.add(e);
+                }
+            }
+            if (kept.size() == s.size) {
+                return false;
+            }
+            current = rebuild(s, 0, 0, kept.toArray(), kept.size());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(e -> !c.contains(e));
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            current = new Snapshot<>(EMPTY_CHUNKS, EMPTY_OFFSETS, 0, current.epoch + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 复制 offsets，并将 from 之后的偏移量整体平移 delta */
+    private static int[] shiftOffsets(int[] offsets, int from, int delta) {
+        if (from >= offsets.length) {
+            return offsets; // 修改的是最后一块，目录偏移无需变化，可直接共享
+        }
+        int[] shifted = offsets.clone();
+        for (int i = from; i < shifted.length; i++) {
+            shifted[i] += delta;
+        }
+        return shifted;
+    }
+
+    /** 保留前 keep 块，其余元素（elements）按半满切块后拼接到末尾 */
+    private static <E> Snapshot<E> rebuild(Snapshot<E> s, int keep, int baseOffset, Object[] elements, int newSize) {
+        int step = CHUNK_CAPACITY / 2;
+        int extra = (elements.length + step - 1) / step;
+        Object[][] chunks = new Object[keep + extra][];
+        int[] offsets = new int[keep + extra];
+        System.arraycopy(s.chunks, 0, chunks, 0, keep);
+        System.arraycopy(s.offsets, 0, offsets, 0, keep);
+        for (int i = 0; i < extra; i++) {
+            int from = i * step;
+            chunks[keep + i] = Arrays.copyOfRange(elements, from, Math.min(elements.length, from + step));
+            offsets[keep + i] = baseOffset + from;
+        }
+        return new Snapshot<>(chunks, offsets, newSize, s.epoch + 1);
+    }
+}
@@ -0,0 +1,135 @@
+package com.trae.study.collections.concurrent;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 并发计数 Map：值为分段累加单元（LongAdder），热点键的递增可随核数线性扩展
+ *
+ * 与 ConcurrentHashMap&lt;K, Integer&gt;#merge(key, 1, Integer::sum) 的对比：
+ * - merge 每次递增都要装箱一个新的 Integer，并对该键所在的桶加 synchronized 锁，
+ *   热点键上的所有线程都在同一把桶锁上排队；
+ * - 本类只在键首次出现时写 Map（computeIfAbsent），之后的递增只做一次无锁 get + LongAdder#add，
+ *   LongAdder 内部按线程探针把竞争分散到多个 Cell 上，不分配对象、不加锁。
+ *
+ * 读取语义：sum/snapshot/topK 读到的是“某一时刻附近”的值，并发递增期间不保证原子快照
+ * （与 LongAdder#sum 一致）。
+ *
+ * @param <K> 键类型
+ */
+public class ConcurrentCounterMap<K> {
+
+    private final ConcurrentHashMap<K, LongAdder> counters;
+
+    public ConcurrentCounterMap() {
+        this.counters = new ConcurrentHashMap<>();
+    }
+
+    public ConcurrentCounterMap(int initialCapacity) {
+        this.counters = new ConcurrentHashMap<>(initialCapacity);
+    }
+
+    /**
+     * 计数快照中的一项
+     */
+    public static final class Entry<K> {
+        private final K key;
+        private final long count;
+
+        public Entry(K key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+
+        public K getKey() { return key; }
+        public long getCount() { return count; }
+
+        @Override
+        public String toString() { return key + "=" + count; }
+    }
+
+    /** 计数加一 */
+    public void increment(K key) {
+        cell(key).increment();
+    }
+
+    /** 计数加 delta（可为负数） */
+    public void add(K key, long delta) {
+        cell(key).add(delta);
+    }
+
+    /** 当前计数，不存在时返回 0 */
+    public long get(K key) {
+        LongAdder adder = counters.get(key);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    /**
+     * 读取并清零：适合按时间窗口上报的场景。
+     * 与并发递增之间不是原子的，清零期间的递增可能计入本次或下次（不会丢失）。
+     */
+    public long sumThenReset(K key) {
+        LongAdder adder = counters.get(key);
+        return adder == null ? 0L : adder.sumThenReset();
+    }
+
+    /** 删除计数器，返回删除前的计数 */
+    public long remove(K key) {
+        LongAdder adder = counters.remove(key);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    /** 键的数量 */
+    public int size() {
+        return counters.size();
+    }
+
+    /** 所有键计数之和 */
+    public long total() {
+        long total = 0;
+        for (LongAdder adder : counters.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    /** 当前计数快照 */
+    public Map<K, Long> snapshot() {
+        Map<K, Long> result = new HashMap<>(counters.size() * 4 / 3 + 1);
+        counters.forEach((key, adder) -> result.put(key, adder.sum()));
+        return result;
+    }
+
+    /**
+     * 计数最高的 k 个键（按计数降序）。
+     * 使用大小为 k 的小顶堆，时间 O(n log k)、额外空间 O(k)，不会复制整个 Map。
+     */
+    public List<Entry<K>> topK(int k) {
+        if (k <= 0) {
+            return Collections.emptyList();
+        }
+        PriorityQueue<Entry<K>> heap = new PriorityQueue<>(k, Comparator.comparingLong(Entry::getCount));
+        counters.forEach((key, adder) -> {
+            long count = adder.sum();
+            if (heap.size() < k) {
+                heap.offer(new Entry<>(key, count));
+            } else if (count > heap.peek().getCount()) {
+                heap.poll();
+                heap.offer(new Entry<>(key, count));
+            }
+        });
+        List<Entry<K>> result = new ArrayList<>(heap);
+        result.sort(Comparator.comparingLong(Entry<K>::getCount).reversed());
+        return result;
+    }
+
+    private LongAdder cell(K key) {
+        // 快速路径：键已存在时只做一次无锁读取，不进入 computeIfAbsent 的桶锁
+        LongAdder adder = counters.get(key);
+        if (adder == null) {
+            adder = counters.computeIfAbsent(key, k -> new LongAdder());
+        }
+        return adder;
+    }
+}
@@ -1,7 +1,12 @@
 package com.trae.study.collections.concurrent;
 
 import cn.hutool.core.util.ReflectUtil;
+import com.trae.study.benchmark.ConcurrentStructureAdapter;
+import com.trae.study.benchmark.ScalabilityPoint;
+import com.trae.study.benchmark.ScalabilityReport;
+import com.trae.study.benchmark.ScalabilityRunner;
 import com.trae.study.dto.BenchmarkResultDTO;
+import com.trae.study.util.ZipfianGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +17,7 @@ import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -364,6 +370,25 @@ public class ConcurrentHashMapDemo {
         log.info("所有冲突元素都能正确检索: {}", allFound);
     }
     
+    /** 多线程性能测试的最少档位：单核机器上默认档位只有 1，仍需覆盖真正的多线程竞争 */
+    private static final int[] MIN_MULTI_THREAD_COUNTS = {2, 4};
+    
+    /**
+     * 多线程性能测试的线程数档位：默认扫描档位中大于 1 的部分并上 {@link #MIN_MULTI_THREAD_COUNTS}，升序
+     */
+    static int[] multiThreadCounts() {
+        SortedSet<Integer> counts = new TreeSet<>();
+        for (int t : MIN_MULTI_THREAD_COUNTS) {
+            counts.add(t);
+        }
+        for (int t : ScalabilityRunner.defaultThreadCounts()) {
+            if (t > 1) {
+                counts.add(t);
+            }
+        }
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
     /**
      * 性能基准测试
      */
@@ -379,16 +404,25 @@ public class ConcurrentHashMapDemo {
         metrics.put("单线程操作/秒", singleThreadStats.getOperationsPerSecond());
         log.info("单线程性能: {} 操作/秒", singleThreadStats.getOperationsPerSecond());
         
-        // 2. 多线程性能测试
+        // 2. 多线程性能测试（线程数从 2 扫到 CPU 核数，至少包含 2、4 两档）
         log.info("\n2. 多线程性能测试");
-        int[] threadCounts = {2, 4, 8, 16};
-        for (int threadCount : threadCounts) {
+        for (int threadCount : multiThreadCounts()) {
             ConcurrencyStats stats = performConcurrencyTest(threadCount, 50000);
             metrics.put(threadCount + "线程操作/秒", stats.getOperationsPerSecond());
             log.info("{} 线程性能: {} 操作/秒，数据竞争: {}", 
                 threadCount, stats.getOperationsPerSecond(), stats.isHasDataRace());
         }
         
+        // 2.1 扩展性扫描：吞吐、公平性与 Amdahl 串行比例
+        log.info("\n2.1 扩展性扫描");
+        for (ScalabilityReport report : scalabilitySweep(90, 100)) {
+            if (report.getSerialFraction() != null) {
+                metrics.put("扩展性 " + report.getStructure() + " 串行比例", report.getSerialFraction());
+            }
+            ScalabilityPoint widest = report.getPoints().get(report.getPoints().size() - 1);
+            metrics.put("扩展性 " + report.getStructure() + " " + widest.getThreads() + "线程公平性", widest.getFairness());
+        }
+        
         // 3. 与 HashMap + synchronized 对比
         log.info("\n3. 与同步 HashMap 性能对比");
         long concurrentMapTime = measureConcurrentMapPerformance();
@@ -406,6 +440,10 @@ public class ConcurrentHashMapDemo {
         log.info("\n4. 内存使用分析");
         analyzeMemoryUsage(metrics);
         
+        // 5. Zipfian 热点计数：merge(Integer) vs ConcurrentCounterMap(LongAdder)
+        log.info("\n5. Zipfian 热点计数对比");
+        compareZipfianCounting(metrics);
+        
         long totalTime = System.currentTimeMillis() - startTime;
         metrics.put("总测试时间(ms)", totalTime);
         
@@ -416,6 +454,23 @@ public class ConcurrentHashMapDemo {
         );
     }
     
+    /**
+     * 扩展性扫描：ConcurrentHashMap 与同步 HashMap 在相同读写比例下的吞吐-线程数曲线
+     * 结果可用 {@link ScalabilityReport#writeCsv} 导出后作图。
+     * @param readPercent 读操作占比 [0, 100]
+     * @param measureMillis 每个线程数档位的测量时长（毫秒）
+     */
+    public List<ScalabilityReport> scalabilitySweep(int readPercent, long measureMillis) {
+        ScalabilityRunner runner = ScalabilityRunner.builder()
+                .readPercent(readPercent)
+                .warmup(measureMillis / 2, TimeUnit.MILLISECONDS)
+                .measure(measureMillis, TimeUnit.MILLISECONDS)
+                .build();
+        return runner.runAll(Arrays.asList(
+                ConcurrentStructureAdapter.ofMap("ConcurrentHashMap", ConcurrentHashMap::new),
+                ConcurrentStructureAdapter.ofMap("SynchronizedHashMap", () -> Collections.synchronizedMap(new HashMap<>()))));
+    }
+    
     /**
      * 执行并发性能测试
      */
@@ -481,6 +536,159 @@ public class ConcurrentHashMapDemo {
         );
     }
     
+    /**
+     * Zipfian 分布下的并发计数对比
+     * - merge：ConcurrentHashMap<String, Integer>#merge(key, 1, Integer::sum)，每次装箱并对热点桶加锁
+     * - counterMap：ConcurrentCounterMap#increment，热点键递增落在 LongAdder 的分段 Cell 上
+     */
+    private void compareZipfianCounting(Map<String, Object> metrics) {
+        int keyCount = 10_000;
+        int operationsPerThread = 200_000;
+        ZipfianGenerator zipf = new ZipfianGenerator(keyCount, 0.99);
+        String[] keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = "zipf_key_" + i;
+        }
+        // 预先抽样，计时区间内只包含 Map 操作
+        int[] samples = new int[operationsPerThread];
+        Random random = new Random(42);
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = zipf.next(random);
+        }
+        log.info("最热键访问占比: {}", String.format("%.2f%%", zipf.probability(0) * 100));
+
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        // 1 线程、半数核、全部核（去重，单核机器上至少对比 1 与 2 线程）
+        Set<Integer> threadCounts = new TreeSet<>(Arrays.asList(1, Math.max(2, maxThreads / 2), Math.max(2, maxThreads)));
+        for (int threadCount : threadCounts) {
+            ConcurrentHashMap<String, Integer> mergeMap = new ConcurrentHashMap<>();
+            long mergeOps = runCountingThreads(threadCount, samples,
+                index -> mergeMap.merge(keys[index], 1, Integer::sum));
+
+            ConcurrentCounterMap<String> counterMap = new ConcurrentCounterMap<>();
+            long counterOps = runCountingThreads(threadCount, samples,
+                index -> counterMap.increment(keys[index]));
+
+            long expected = (long) threadCount * operationsPerThread;
+            boolean correct = counterMap.total() == expected
+                && mergeMap.values().stream().mapToLong(Integer::longValue).sum() == expected;
+
+            metrics.put("Zipf merge " + threadCount + "线程操作/秒", mergeOps);
+            metrics.put("Zipf CounterMap " + threadCount + "线程操作/秒", counterOps);
+            log.info("{} 线程: merge {} 操作/秒, CounterMap {} 操作/秒, 计数正确: {}, Top3: {}",
+                threadCount, mergeOps, counterOps, correct, counterMap.topK(3));
+        }
+    }
+    
+    /**
+     * 倾斜读写基准：ConcurrentHashMap vs HotKeyShardedMap（关闭/开启热点复制）
+     *
+     * @param skew Zipf 偏斜参数，0 为均匀分布，越大越集中在少数热点键
+     * @param threadCount 线程数
+     * @param operationsPerThread 每线程操作数
+     * @param readPercent 读操作占比（0~100），其余为 put
+     */
+    public BenchmarkResultDTO benchmarkHotKeyAccess(double skew, int threadCount, int operationsPerThread, int readPercent) {
+        log.info("\n=== 倾斜访问基准: skew={}, 线程={}, 读占比={}% ===", skew, threadCount, readPercent);
+        long startTime = System.currentTimeMillis();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+
+        int keyCount = 10_000;
+        ZipfianGenerator zipf = new ZipfianGenerator(keyCount, skew);
+        String[] keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = "hot_key_" + i;
+        }
+        // 预先生成操作序列：非负数为读，按位取反为写
+        int[] samples = new int[operationsPerThread];
+        Random random = new Random(42);
+        for (int i = 0; i < samples.length; i++) {
+            int key = zipf.next(random);
+            samples[i] = random.nextInt(100) < readPercent ? key : ~key;
+        }
+
+        ConcurrentHashMap<String, Integer> chm = new ConcurrentHashMap<>();
+        HotKeyShardedMap<String, Integer> sharded = HotKeyShardedMap.builder().hotKeyCacheEnabled(false).build();
+        HotKeyShardedMap<String, Integer> hot = HotKeyShardedMap.builder().build();
+        for (int i = 0; i < keyCount; i++) {
+            chm.put(keys[i], i);
+            sharded.put(keys[i], i);
+            hot.put(keys[i], i);
+        }
+
+        long chmOps = runCountingThreads(threadCount, samples, op -> {
+            if (op >= 0) chm.get(keys[op]); else chm.put(keys[~op], op);
+        });
+        long shardedOps = runCountingThreads(threadCount, samples, op -> {
+            if (op >= 0) sharded.get(keys[op]); else sharded.put(keys[~op], op);
+        });
+        long hotOps = runCountingThreads(threadCount, samples, op -> {
+            if (op >= 0) hot.get(keys[op]); else hot.put(keys[~op], op);
+        });
+
+        metrics.put("最热键访问占比", zipf.probability(0));
+        metrics.put("ConcurrentHashMap操作/秒", chmOps);
+        metrics.put("ShardedMap(无热点复制)操作/秒", shardedOps);
+        metrics.put("HotKeyShardedMap操作/秒", hotOps);
+        metrics.put("热点键数", hot.hotKeys().size());
+        metrics.put("再平衡次数", hot.rebalanceCount());
+
+        List<HotKeyShardedMap.ShardMetrics> shardMetrics = hot.shardMetrics();
+        long reads = shardMetrics.stream().mapToLong(HotKeyShardedMap.ShardMetrics::getReads).sum();
+        long localHits = shardMetrics.stream().mapToLong(HotKeyShardedMap.ShardMetrics::getLocalCacheHits).sum();
+        metrics.put("本地缓存命中率", reads == 0 ? 0.0 : (double) localHits / reads);
+        metrics.put("CAS失败次数", shardMetrics.stream().mapToLong(HotKeyShardedMap.ShardMetrics::getCasFailures).sum());
+        metrics.put("锁等待次数", shardMetrics.stream().mapToLong(HotKeyShardedMap.ShardMetrics::getLockWaits).sum());
+        HotKeyShardedMap.ShardMetrics busiest = shardMetrics.stream()
+            .max(Comparator.comparingLong(m -> m.getReads() + m.getWrites())).orElse(null);
+        log.info("CHM {} 操作/秒, 分片 {} 操作/秒, 热点复制 {} 操作/秒, 热点键: {}, 最繁忙分片: {}",
+            chmOps, shardedOps, hotOps, hot.hotKeys().size(), busiest);
+
+        long totalTime = System.currentTimeMillis() - startTime;
+        return new BenchmarkResultDTO(
+            "HotKeyShardedMap 倾斜访问基准",
+            "skew=" + skew + ", threads=" + threadCount + ", read=" + readPercent + "%",
+            totalTime,
+            metrics
+        );
+    }
+    
+    /**
+     * 多线程按相同的键序列执行计数操作，返回总吞吐（操作/秒）
+     */
+    private long runCountingThreads(int threadCount, int[] samples, IntConsumer op) {
+        CountDownLatch ready = new CountDownLatch(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threadCount);
+        for (int t = 0; t < threadCount; t++) {
+            final int offset = t * 7919; // 各线程错开起点，避免完全同步访问同一键
+            new Thread(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                    for (int i = 0; i < samples.length; i++) {
+                        op.accept(samples[(i + offset) % samples.length]);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        try {
+            ready.await();
+            long begin = System.nanoTime();
+            start.countDown();
+            done.await();
+            long elapsedNs = Math.max(1, System.nanoTime() - begin);
+            return (long) threadCount * samples.length * 1_000_000_000L / elapsedNs;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0L;
+        }
+    }
+    
     /**
      * 测量 ConcurrentHashMap 性能
      */
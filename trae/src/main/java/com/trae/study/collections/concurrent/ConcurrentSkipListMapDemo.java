@@ -1,6 +1,10 @@
 package com.trae.study.collections.concurrent;
 
 import cn.hutool.core.util.RandomUtil;
+import com.trae.study.benchmark.ConcurrentStructureAdapter;
+import com.trae.study.benchmark.ScalabilityPoint;
+import com.trae.study.benchmark.ScalabilityReport;
+import com.trae.study.benchmark.ScalabilityRunner;
 import com.trae.study.dto.BenchmarkResultDTO;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -639,46 +643,27 @@ public class ConcurrentSkipListMapDemo {
     }
     
     /**
-     * 测量并发性能
+     * 测量并发性能：使用通用扩展性扫描，线程数从 1 扫到 CPU 核数（put / get 各半）
      */
     private void measureConcurrentPerformance(Map<String, Object> metrics) {
-        int[] threadCounts = {1, 2, 4, 8};
-        int operationsPerThread = 5000;
-        
-        for (int threadCount : threadCounts) {
-            ConcurrentSkipListMap<Integer, String> map = new ConcurrentSkipListMap<>();
-            CountDownLatch latch = new CountDownLatch(threadCount);
-            
-            long startTime = System.currentTimeMillis();
-            
-            for (int i = 0; i < threadCount; i++) {
-                final int threadId = i;
-                new Thread(() -> {
-                    try {
-                        for (int j = 0; j < operationsPerThread; j++) {
-                            int key = threadId * operationsPerThread + j;
-                            map.put(key, "value_" + key);
-                            map.get(key);
-                        }
-                    } finally {
-                        latch.countDown();
-                    }
-                }).start();
-            }
-            
-            try {
-                latch.await();
-                long endTime = System.currentTimeMillis();
-                long totalTime = endTime - startTime;
-                long totalOperations = (long) threadCount * operationsPerThread * 2; // put + get
-                long operationsPerSecond = totalOperations * 1000 / totalTime;
-                
-                metrics.put(threadCount + "线程操作/秒", operationsPerSecond);
-                log.info("{} 线程并发性能: {} 操作/秒", threadCount, operationsPerSecond);
-                
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+        ScalabilityRunner runner = ScalabilityRunner.builder()
+                .readPercent(50)
+                .keySpace(10_000)
+                .warmup(50, TimeUnit.MILLISECONDS)
+                .measure(100, TimeUnit.MILLISECONDS)
+                .build();
+        ScalabilityReport report = runner.run(
+                ConcurrentStructureAdapter.ofMap("ConcurrentSkipListMap", ConcurrentSkipListMap::new));
+        
+        for (ScalabilityPoint point : report.getPoints()) {
+            metrics.put(point.getThreads() + "线程操作/秒", (long) point.getOpsPerSec());
+            metrics.put(point.getThreads() + "线程公平性", point.getFairness());
+            log.info("{} 线程并发性能: {} 操作/秒，加速比 {}", point.getThreads(),
+                (long) point.getOpsPerSec(), String.format("%.2f", point.getSpeedup()));
+        }
+        if (report.getSerialFraction() != null) {
+            metrics.put("Amdahl串行比例", report.getSerialFraction());
+            log.info("Amdahl 拟合串行比例: {}", String.format("%.3f", report.getSerialFraction()));
         }
     }
     
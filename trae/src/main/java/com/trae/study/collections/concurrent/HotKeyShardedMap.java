@@ -0,0 +1,479 @@
+package com.trae.study.collections.concurrent;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * 热点键感知的分片 Map：面向 Zipfian 倾斜流量
+ *
+ * 结构：
+ * - 数据按哈希分到若干分片（每片一个 ConcurrentHashMap），每片独立统计竞争指标；
+ * - 访问频率采样：每 2^sampleShift 次访问随机采样 1 次，写入定长环形缓冲区（保留最近 rebalanceEverySamples 个样本），
+ *   采样路径只有一次数组写入，不分配对象；
+ * - 周期性再平衡：环形缓冲区每写满一轮，统计窗口内各键的占比，超过 hotShare 的键晋升为热点键，不再达标的降级；
+ * - 热点键的读取复制到每个线程的本地缓存：线程本地副本带版本号，版本一致时不触碰共享的分片；
+ * - 写入热点键时先写分片，再在热点条目的顺序锁（seqlock）内刷新值并递增版本，使所有线程副本失效。
+ *
+ * 一致性：
+ * - 写线程“先写分片、再检查热点表”，晋升线程“先发布热点条目、再读分片”，
+ *   二者都是 volatile/CAS 操作，按 JMM 的顺序一致性至少有一方能看到对方的写入，因此热点副本不会长期陈旧；
+ * - 读到的是线性化点附近的值，与 ConcurrentHashMap#get 的弱一致语义相同。
+ *
+ * 指标（按分片）：
+ * - reads/writes/hotReads/localCacheHits：只在被采样的访问上按采样权重累加（估算值），
+ *   避免每次访问都写共享计数器；sampleShift = 0 时为精确值；
+ * - casFailures：update() 乐观更新循环与热点条目 seqlock 获取中 CAS 失败的次数；
+ * - lockWaits：读写线程等待其他线程释放热点条目 seqlock 的自旋次数。
+ *
+ * 不允许 null 键与 null 值。
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ */
+@Slf4j
+public class HotKeyShardedMap<K, V> {
+
+    private final Shard<K, V>[] shards;
+    private final int shardMask;
+    private final int sampleMask;
+    private final int sampleWeight;
+    private final int maxHotKeys;
+    private final double hotShare;
+    private final boolean hotKeyCacheEnabled;
+
+    /** 当前热点表：不可变，再平衡时整体替换 */
+    private volatile Map<K, HotEntry<V>> hotKeys = Collections.emptyMap();
+    /** 最近的采样键（环形覆盖），由 sampleCursor 决定写入位置 */
+    private final AtomicReferenceArray<K> sampleRing;
+    private final AtomicLong sampleCursor = new AtomicLong();
+    private final AtomicBoolean rebalancing = new AtomicBoolean();
+    private final LongAdder rebalanceCount = new LongAdder();
+
+    /** 热点条目槽位分配：槽位用于线程本地缓存的数组下标 */
+    private final BitSet usedSlots = new BitSet();
+
+    private final ThreadLocal<LocalCache<V>> localCache;
+
+    /**
+     * 分片竞争指标快照
+     */
+    @Data
+    @AllArgsConstructor
+    public static class ShardMetrics {
+        private int shard;
+        private int size;
+        private long reads;
+        private long writes;
+        private long hotReads;
+        private long localCacheHits;
+        private long casFailures;
+        private long lockWaits;
+    }
+
+    /** 单个分片 */
+    private static final class Shard<K, V> {
+        final ConcurrentHashMap<K, V> map = new ConcurrentHashMap<>();
+        final LongAdder reads = new LongAdder();
+        final LongAdder writes = new LongAdder();
+        final LongAdder hotReads = new LongAdder();
+        final LongAdder localCacheHits = new LongAdder();
+        final LongAdder casFailures = new LongAdder();
+        final LongAdder lockWaits = new LongAdder();
+    }
+
+    /**
+     * 热点条目：version 为偶数表示稳定，奇数表示正在刷新（seqlock）
+     */
+    private static final class HotEntry<V> {
+        final int slot;
+        final AtomicLong version = new AtomicLong(1); // 创建时处于“加载中”状态
+        volatile V value;
+        /** 晋升时初值读取失败：版本永远停在奇数，读写线程不再等待，直接回到分片 */
+        volatile boolean invalid;
+
+        HotEntry(int slot) {
+            this.slot = slot;
+        }
+    }
+
+    /** 线程本地缓存：按热点条目槽位存放副本 */
+    private static final class LocalCache<V> {
+        final HotEntry<?>[] owners;
+        final long[] versions;
+        final Object[] values;
+
+        LocalCache(int capacity) {
+            owners = new HotEntry<?>[capacity];
+            versions = new long[capacity];
+            values = new Object[capacity];
+        }
+    }
+
+    public HotKeyShardedMap() {
+        this(builder());
+    }
+
+    @SuppressWarnings("unchecked")
+    private HotKeyShardedMap(Builder builder) {
+        int shardCount = Integer.highestOneBit(Math.max(1, builder.shardCount - 1) << 1);
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard<>();
+        }
+        this.shardMask = shardCount - 1;
+        this.sampleMask = (1 << builder.sampleShift) - 1;
+        this.sampleWeight = 1 << builder.sampleShift;
+        this.sampleRing = new AtomicReferenceArray<>(builder.rebalanceEverySamples);
+        this.maxHotKeys = builder.maxHotKeys;
+        this.hotShare = builder.hotShare;
+        this.hotKeyCacheEnabled = builder.hotKeyCacheEnabled;
+        int capacity = builder.maxHotKeys;
+        this.localCache = ThreadLocal.withInitial(() -> new LocalCache<>(capacity));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private int shardCount = 16;
+        private int sampleShift = 4;
+        private int rebalanceEverySamples = 4_096;
+        private int maxHotKeys = 32;
+        private double hotShare = 0.01;
+        private boolean hotKeyCacheEnabled = true;
+
+        /** 分片数（向上取整为 2 的幂） */
+        public Builder shardCount(int shardCount) {
+            if (shardCount <= 0) throw new IllegalArgumentException("分片数必须大于0");
+            this.shardCount = shardCount;
+            return this;
+        }
+
+        /** 采样率为 1 / 2^sampleShift，0 表示每次访问都采样 */
+        public Builder sampleShift(int sampleShift) {
+            if (sampleShift < 0 || sampleShift > 20) throw new IllegalArgumentException("sampleShift 需在 [0, 20]");
+            this.sampleShift = sampleShift;
+            return this;
+        }
+
+        /** 每累计多少个样本触发一次再平衡 */
+        public Builder rebalanceEverySamples(int samples) {
+            if (samples <= 0) throw new IllegalArgumentException("再平衡样本数必须大于0");
+            this.rebalanceEverySamples = samples;
+            return this;
+        }
+
+        /** 最多同时维护的热点键数 */
+        public Builder maxHotKeys(int maxHotKeys) {
+            if (maxHotKeys <= 0) throw new IllegalArgumentException("热点键数必须大于0");
+            this.maxHotKeys = maxHotKeys;
+            return this;
+        }
+
+        /** 采样占比达到该阈值的键视为热点，例如 0.01 表示 1% */
+        public Builder hotShare(double hotShare) {
+            if (!(hotShare > 0 && hotShare <= 1)) throw new IllegalArgumentException("hotShare 需在 (0, 1]");
+            this.hotShare = hotShare;
+            return this;
+        }
+
+        /** 是否启用热点键线程本地复制（关闭后仅分片 + 指标，便于基准对照） */
+        public Builder hotKeyCacheEnabled(boolean enabled) {
+            this.hotKeyCacheEnabled = enabled;
+            return this;
+        }
+
+        public <K, V> HotKeyShardedMap<K, V> build() {
+            return new HotKeyShardedMap<>(this);
+        }
+    }
+
+    // ===================== 读写操作 =====================
+
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        Shard<K, V> shard = shardFor(key);
+        boolean sampled = sample(key);
+        if (sampled) {
+            shard.reads.add(sampleWeight);
+        }
+        HotEntry<V> entry = hotKeyCacheEnabled ? hotKeys.get(key) : null;
+        if (entry != null) {
+            if (sampled) {
+                shard.hotReads.add(sampleWeight);
+            }
+            LocalCache<V> cache = localCache.get();
+            int slot = entry.slot;
+            while (true) {
+                long version = entry.version.get();
+                if (cache.owners[slot] == entry && cache.versions[slot] == version) {
+                    if (sampled) {
+                        shard.localCacheHits.add(sampleWeight);
+                    }
+                    return (V) cache.values[slot];
+                }
+                if ((version & 1) == 0) {
+                    V value = entry.value;
+                    if (entry.version.get() == version) {
+                        cache.owners[slot] = entry;
+                        cache.versions[slot] = version;
+                        cache.values[slot] = value;
+                        return value;
+                    }
+                } else if (entry.invalid) {
+                    break;
+                }
+                // 条目正在刷新：临界区只有一次分片读取，自旋等待以保证同一线程读到的值不回退
+                shard.lockWaits.increment();
+                Thread.onSpinWait();
+            }
+        }
+        return shard.map.get(key);
+    }
+
+    public V put(K key, V value) {
+        Objects.requireNonNull(value);
+        Shard<K, V> shard = shardFor(key);
+        if (sample(key)) {
+            shard.writes.add(sampleWeight);
+        }
+        V old = shard.map.put(key, value);
+        refreshIfHot(shard, key);
+        return old;
+    }
+
+    public V remove(K key) {
+        Shard<K, V> shard = shardFor(key);
+        if (sample(key)) {
+            shard.writes.add(sampleWeight);
+        }
+        V old = shard.map.remove(key);
+        refreshIfHot(shard, key);
+        return old;
+    }
+
+    /**
+     * 乐观更新：读取 → 计算 → CAS 替换，失败计入 casFailures 并重试。
+     * 与 ConcurrentHashMap#compute 不同，计算函数在桶锁之外执行，可能被调用多次，必须无副作用。
+     *
+     * @param key 键
+     * @param updater 入参为旧值（不存在时为 null），返回新值（不可为 null）
+     * @return 新值
+     */
+    public V update(K key, UnaryOperator<V> updater) {
+        Shard<K, V> shard = shardFor(key);
+        if (sample(key)) {
+            shard.writes.add(sampleWeight);
+        }
+        while (true) {
+            V old = shard.map.get(key);
+            V updated = Objects.requireNonNull(updater.apply(old), "更新结果不能为 null");
+            boolean success = old == null
+                    ? shard.map.putIfAbsent(key, updated) == null
+                    : shard.map.replace(key, old, updated);
+            if (success) {
+                refreshIfHot(shard, key);
+                return updated;
+            }
+            shard.casFailures.increment();
+        }
+    }
+
+    public int size() {
+        long total = 0;
+        for (Shard<K, V> shard : shards) {
+            total += shard.map.size();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
+    // ===================== 热点识别 =====================
+
+    /** 当前热点键（无序） */
+    public Set<K> hotKeys() {
+        return hotKeys.keySet();
+    }
+
+    /** 已执行的再平衡次数 */
+    public long rebalanceCount() {
+        return rebalanceCount.sum();
+    }
+
+    /** 各分片竞争指标快照 */
+    public List<ShardMetrics> shardMetrics() {
+        List<ShardMetrics> result = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            Shard<K, V> s = shards[i];
+            result.add(new ShardMetrics(i, s.map.size(), s.reads.sum(), s.writes.sum(), s.hotReads.sum(),
+                    s.localCacheHits.sum(), s.casFailures.sum(), s.lockWaits.sum()));
+        }
+        return result;
+    }
+
+    /**
+     * 立即根据采样窗口重新计算热点键（通常由采样自动触发，也可手动调用）。
+     */
+    public void rebalance() {
+        if (!rebalancing.compareAndSet(false, true)) {
+            return; // 已有线程在执行
+        }
+        try {
+            Map<K, int[]> counts = new HashMap<>();
+            int total = 0;
+            for (int i = 0; i < sampleRing.length(); i++) {
+                K key = sampleRing.get(i);
+                if (key != null) {
+                    counts.computeIfAbsent(key, k -> new int[1])[0]++;
+                    total++;
+                }
+            }
+            if (total == 0) {
+                return;
+            }
+            int minCount = (int) Math.ceil(total * hotShare);
+            List<Map.Entry<K, int[]>> candidates = new ArrayList<>();
+            for (Map.Entry<K, int[]> e : counts.entrySet()) {
+                if (e.getValue()[0] >= minCount) {
+                    candidates.add(e);
+                }
+            }
+            candidates.sort((a, b) -> Integer.compare(b.getValue()[0], a.getValue()[0]));
+
+            Map<K, HotEntry<V>> old = hotKeys;
+            Map<K, HotEntry<V>> next = new HashMap<>();
+            List<K> promoted = new ArrayList<>();
+            for (Map.Entry<K, int[]> candidate : candidates.subList(0, Math.min(maxHotKeys, candidates.size()))) {
+                HotEntry<V> existing = old.get(candidate.getKey());
+                if (existing != null) {
+                    next.put(candidate.getKey(), existing);
+                } else {
+                    promoted.add(candidate.getKey());
+                }
+            }
+            // 回收降级条目的槽位，再为新晋升的键分配槽位
+            for (Map.Entry<K, HotEntry<V>> e : old.entrySet()) {
+                if (!next.containsKey(e.getKey())) {
+                    usedSlots.clear(e.getValue().slot);
+                }
+            }
+            for (K key : promoted) {
+                int slot = usedSlots.nextClearBit(0);
+                usedSlots.set(slot);
+                next.put(key, new HotEntry<>(slot));
+            }
+            // 先发布（新条目处于加载中），再从分片读取初值
+            hotKeys = Collections.unmodifiableMap(next);
+            RuntimeException failure = null;
+            Set<K> ready = new HashSet<>();
+            try {
+                for (K key : promoted) {
+                    HotEntry<V> entry = next.get(key);
+                    try {
+                        entry.value = shardFor(key).map.get(key);
+                    } catch (RuntimeException e) {
+                        if (failure == null) {
+                            failure = e;
+                        } else {
+                            failure.addSuppressed(e);
+                        }
+                        continue;
+                    }
+                    entry.version.incrementAndGet(); // 1 -> 2：加载完成
+                    ready.add(key);
+                }
+            } finally {
+                // 初值读取失败（或未来得及读取）的条目保持奇数版本并标记失效，
+                // 已拿到该条目的读写线程据此回到分片，不会读到 null 初值；同时撤销晋升并回收槽位
+                Map<K, HotEntry<V>> loaded = null;
+                for (K key : promoted) {
+                    if (!ready.contains(key)) {
+                        next.get(key).invalid = true;
+                        if (loaded == null) {
+                            loaded = new HashMap<>(next);
+                        }
+                        usedSlots.clear(loaded.remove(key).slot);
+                    }
+                }
+                if (loaded != null) {
+                    hotKeys = Collections.unmodifiableMap(loaded);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            rebalanceCount.increment();
+        } finally {
+            rebalancing.set(false);
+        }
+    }
+
+    /** 按采样率记录访问频率，返回本次访问是否被采样 */
+    private boolean sample(K key) {
+        if ((ThreadLocalRandom.current().nextInt() & sampleMask) != 0) {
+            return false;
+        }
+        if (hotKeyCacheEnabled) {
+            int length = sampleRing.length();
+            long n = sampleCursor.getAndIncrement();
+            sampleRing.lazySet((int) (n % length), key);
+            if ((n + 1) % length == 0) {
+                // 每写满一轮再平衡一次；在调用方的读写路径上执行，失败只记录日志，不影响本次读写
+                try {
+                    rebalance();
+                } catch (RuntimeException e) {
+                    log.warn("热点键再平衡失败: {}", e.toString());
+                }
+            }
+        }
+        return true;
+    }
+
+    /** 写入后若为热点键，则在 seqlock 内用分片中的最新值刷新热点条目 */
+    private void refreshIfHot(Shard<K, V> shard, K key) {
+        HotEntry<V> entry = hotKeyCacheEnabled ? hotKeys.get(key) : null;
+        if (entry == null) {
+            return;
+        }
+        AtomicLong version = entry.version;
+        while (true) {
+            long v = version.get();
+            if ((v & 1) != 0) {
+                if (entry.invalid) {
+                    return; // 晋升已撤销，值只在分片中
+                }
+                shard.lockWaits.increment();
+                Thread.onSpinWait();
+                continue;
+            }
+            if (version.compareAndSet(v, v + 1)) {
+                break;
+            }
+            shard.casFailures.increment();
+        }
+        try {
+            entry.value = shard.map.get(key);
+        } finally {
+            version.incrementAndGet();
+        }
+    }
+
+    private Shard<K, V> shardFor(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return shards[(h * 0x9E3779B9) >>> 16 & shardMask];
+    }
+}
@@ -1,5 +1,7 @@
 package com.trae.study.collections.deque;
 
+import com.trae.study.util.AllocationSampler;
+
 import java.util.*;
 
 /**
@@ -13,12 +15,22 @@ public class ArrayDequeDemo {
     public static class DequeBenchmarkDTO {
         private final long arrayDequeNs;
         private final long linkedListNs;
+        /** 分配字节数，JVM 不支持统计时为 -1 */
+        private final long arrayDequeAllocBytes;
+        private final long linkedListAllocBytes;
         public DequeBenchmarkDTO(long arrayDequeNs, long linkedListNs) {
+            this(arrayDequeNs, linkedListNs, -1, -1);
+        }
+        public DequeBenchmarkDTO(long arrayDequeNs, long linkedListNs, long arrayDequeAllocBytes, long linkedListAllocBytes) {
             this.arrayDequeNs = arrayDequeNs;
             this.linkedListNs = linkedListNs;
+            this.arrayDequeAllocBytes = arrayDequeAllocBytes;
+            this.linkedListAllocBytes = linkedListAllocBytes;
         }
         public long getArrayDequeNs() { return arrayDequeNs; }
         public long getLinkedListNs() { return linkedListNs; }
+        public long getArrayDequeAllocBytes() { return arrayDequeAllocBytes; }
+        public long getLinkedListAllocBytes() { return linkedListAllocBytes; }
     }
 
     /** 基本双端操作顺序演示 */
@@ -54,18 +66,23 @@ public class ArrayDequeDemo {
         return out; // 先进先出
     }
 
-    /** 与 LinkedList 作为 Deque 的简单性能对比（微基准） */
+    /** 与 LinkedList 作为 Deque 的简单性能对比（微基准），同时记录两者的分配字节数 */
     public DequeBenchmarkDTO benchmarkSimple(int n) {
         int times = n;
         Deque<Integer> arrayDeque = new ArrayDeque<>();
         Deque<Integer> linkedList = new LinkedList<>();
+        AllocationSampler arrayAlloc = AllocationSampler.start();
         long t1 = System.nanoTime();
         for (int i = 0; i < times; i++) arrayDeque.addLast(i);
         while (!arrayDeque.isEmpty()) arrayDeque.removeFirst();
         long t2 = System.nanoTime();
+        long arrayBytes = arrayAlloc.stop().getAllocatedBytes();
+        AllocationSampler linkedAlloc = AllocationSampler.start();
+        long t3 = System.nanoTime();
         for (int i = 0; i < times; i++) linkedList.addLast(i);
         while (!linkedList.isEmpty()) linkedList.removeFirst();
-        long t3 = System.nanoTime();
-        return new DequeBenchmarkDTO(t2 - t1, t3 - t2);
+        long t4 = System.nanoTime();
+        long linkedBytes = linkedAlloc.stop().getAllocatedBytes();
+        return new DequeBenchmarkDTO(t2 - t1, t4 - t3, arrayBytes, linkedBytes);
     }
 }
\ No newline at end of file
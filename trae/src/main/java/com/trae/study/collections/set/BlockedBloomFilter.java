@@ -0,0 +1,84 @@
+package com.trae.study.collections.set;
+
+/**
+ * 分块布隆过滤器（Blocked Bloom Filter）
+ *
+ * 说明：
+ * - 普通布隆过滤器的 k 个比特散落在整个位图中，一次查询最多 k 次缓存未命中；
+ * - 分块布隆过滤器先用哈希高位选出一个 512 bit（8 个 long，恰好一条缓存行）的块，
+ *   再在块内设置 k 个比特，一次查询只会触碰一条缓存行；
+ * - 输入是已经充分混淆过的 64 位指纹（见 {@link Fingerprints}），不再重复哈希；
+ * - 只支持添加，不支持删除：删除元素后对应比特仍保留，只会让误判率略升高，不会产生漏判。
+ */
+public final class BlockedBloomFilter {
+
+    /** 每块 8 个 long = 512 bit */
+    private static final int LONGS_PER_BLOCK = 8;
+
+    private final long[] bits;
+    private final int blockMask;
+    private final int hashCount;
+
+    /**
+     * @param expectedElements 预期元素数
+     * @param bitsPerElement 每个元素分配的比特数（10 bit 约 1% 误判率）
+     */
+    public BlockedBloomFilter(long expectedElements, int bitsPerElement) {
+        if (expectedElements <= 0 || bitsPerElement <= 0) {
+            throw new IllegalArgumentException("预期元素数与每元素比特数必须大于0");
+        }
+        long totalBits = Math.max(512L, expectedElements * bitsPerElement);
+        long blocks = Long.highestOneBit((totalBits + 511) / 512);
+        if (blocks < (totalBits + 511) / 512) {
+            blocks <<= 1;
+        }
+        if (blocks * LONGS_PER_BLOCK > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("布隆过滤器过大: " + totalBits + " bits");
+        }
+        this.bits = new long[(int) (blocks * LONGS_PER_BLOCK)];
+        this.blockMask = (int) blocks - 1;
+        // 最优 k ≈ ln2 * bitsPerElement，分块后略偏小更稳
+        this.hashCount = Math.max(1, Math.min(16, (int) Math.round(bitsPerElement * 0.69)));
+    }
+
+    /** 写入一个 64 位指纹 */
+    public void add(long fingerprint) {
+        int base = blockBase(fingerprint);
+        // 双重哈希：第 i 个比特位置 = h1 + i * h2（均限制在块内 512 bit）
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 17) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (h1 + i * h2) & 511;
+            bits[base + (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /** 可能包含返回 true；返回 false 时一定不包含 */
+    public boolean mightContain(long fingerprint) {
+        int base = blockBase(fingerprint);
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 17) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (h1 + i * h2) & 511;
+            if ((bits[base + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 清空所有比特 */
+    public void clear() {
+        java.util.Arrays.fill(bits, 0L);
+    }
+
+    /** 位图占用字节数 */
+    public long memoryBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+
+    private int blockBase(long fingerprint) {
+        // 使用高 32 位选块，与块内位置使用的低位相互独立
+        return ((int) (fingerprint >>> 32) & blockMask) * LONGS_PER_BLOCK;
+    }
+}
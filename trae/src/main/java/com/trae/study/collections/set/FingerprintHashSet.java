@@ -0,0 +1,295 @@
+package com.trae.study.collections.set;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * 紧凑指纹哈希集合：面向“海量元素去重 / 成员判断”场景的 HashSet 替代品
+ *
+ * 与 HashSet 的内存对比（64 位 JVM、压缩指针）：
+ * - HashSet：每个元素一个 HashMap.Node（32 字节）+ 桶数组引用（约 4~8 字节）+ 共享的 PRESENT 值，
+ *   不含元素本身约 40~48 字节/元素；
+ * - FINGERPRINT 模式：只在开放寻址的 long[] 中保存 64 位指纹，约 8 / 负载因子 ≈ 10.7 字节/元素，
+ *   元素本身可以在插入后被回收；代价是无法遍历，且存在约 n²/2^65 的极小误判概率；
+ * - EXACT 模式：额外保存元素引用（4 字节/槽）用于 equals 校验，结果与 HashSet 完全一致。
+ *
+ * 实现要点：
+ * - 线性探测 + 删除时反向移位（backward shift），不使用墓碑，长期增删不退化；
+ * - 指纹值 0 表示空槽，真实指纹为 0 时映射为 1；
+ * - 可选分块布隆过滤器“前门”：contains 先查布隆过滤器，负查询大多数在一条缓存行内返回。
+ *
+ * 非线程安全，不允许 null 元素。
+ *
+ * @param <E> 元素类型
+ */
+public final class FingerprintHashSet<E> {
+
+    /** 存储模式 */
+    public enum Mode {
+        /** 仅保存指纹：内存最小，极小概率误判 */
+        FINGERPRINT,
+        /** 指纹 + 元素：指纹相同再用 equals 校验，结果精确 */
+        EXACT
+    }
+
+    /** 数组最大容量（2 的幂） */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final Mode mode;
+    private final float loadFactor;
+    private final ToLongFunction<? super E> hasher;
+    private final BlockedBloomFilter bloom;
+
+    private long[] table;
+    private Object[] elements;
+    private int mask;
+    private int size;
+    private int threshold;
+
+    private FingerprintHashSet(Builder<E> builder) {
+        this.mode = builder.mode;
+        this.loadFactor = builder.loadFactor;
+        this.hasher = builder.hasher;
+        this.bloom = builder.bloomBitsPerElement > 0
+                ? new BlockedBloomFilter(builder.expectedSize, builder.bloomBitsPerElement)
+                : null;
+        allocate(tableSizeFor((long) Math.ceil(builder.expectedSize / (double) loadFactor)));
+    }
+
+    public static <E> Builder<E> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * 构建器：expectedSize 用于预分配，避免 2 亿级数据反复扩容
+     */
+    public static final class Builder<E> {
+        private Mode mode = Mode.FINGERPRINT;
+        private float loadFactor = 0.75f;
+        private long expectedSize = 16;
+        private int bloomBitsPerElement;
+        private ToLongFunction<? super E> hasher = Fingerprints::ofObject;
+
+        public Builder<E> mode(Mode mode) {
+            this.mode = Objects.requireNonNull(mode);
+            return this;
+        }
+
+        /** 负载因子，范围 (0.1, 0.95]；线性探测在 0.8 以上探测长度迅速变长 */
+        public Builder<E> loadFactor(float loadFactor) {
+            if (!(loadFactor > 0.1f && loadFactor <= 0.95f)) {
+                throw new IllegalArgumentException("负载因子需在 (0.1, 0.95] 之间: " + loadFactor);
+            }
+            this.loadFactor = loadFactor;
+            return this;
+        }
+
+        public Builder<E> expectedSize(long expectedSize) {
+            if (expectedSize <= 0) {
+                throw new IllegalArgumentException("预期大小必须大于0");
+            }
+            this.expectedSize = expectedSize;
+            return this;
+        }
+
+        /** 启用布隆过滤器前门，0 表示不启用 */
+        public Builder<E> bloomBitsPerElement(int bits) {
+            if (bits < 0) {
+                throw new IllegalArgumentException("每元素比特数不能为负数");
+            }
+            this.bloomBitsPerElement = bits;
+            return this;
+        }
+
+        /** 自定义 64 位指纹函数（默认 {@link Fingerprints#ofObject}） */
+        public Builder<E> hasher(ToLongFunction<? super E> hasher) {
+            this.hasher = Objects.requireNonNull(hasher);
+            return this;
+        }
+
+        public FingerprintHashSet<E> build() {
+            return new FingerprintHashSet<>(this);
+        }
+    }
+
+    /**
+     * 添加元素
+     * @return 集合中原先不存在该元素时返回 true
+     */
+    public boolean add(E e) {
+        long fp = fingerprint(e);
+        int i = (int) fp & mask;
+        long slot;
+        while ((slot = table[i]) != 0) {
+            if (slot == fp && (elements == null || e.equals(elements[i]))) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        table[i] = fp;
+        if (elements != null) {
+            elements[i] = e;
+        }
+        if (bloom != null) {
+            bloom.add(fp);
+        }
+        if (++size > threshold) {
+            resize();
+        }
+        return true;
+    }
+
+    /** 判断是否包含元素（FINGERPRINT 模式下存在极小误判概率） */
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object o) {
+        long fp = fingerprint((E) o);
+        if (bloom != null && !bloom.mightContain(fp)) {
+            return false;
+        }
+        return indexOf(fp, o) >= 0;
+    }
+
+    /** 删除元素；布隆过滤器中的比特不会清除 */
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object o) {
+        long fp = fingerprint((E) o);
+        int i = indexOf(fp, o);
+        if (i < 0) {
+            return false;
+        }
+        deleteAt(i);
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0L);
+        if (elements != null) {
+            Arrays.fill(elements, null);
+        }
+        if (bloom != null) {
+            bloom.clear();
+        }
+        size = 0;
+    }
+
+    /**
+     * 结构本身占用的字节数（不含元素对象）。
+     * 元素引用按压缩指针 4 字节估算；关闭压缩指针（堆大于 32GB）时为 8 字节。
+     */
+    public long memoryBytes() {
+        long bytes = (long) table.length * Long.BYTES;
+        if (elements != null) {
+            bytes += (long) elements.length * 4;
+        }
+        if (bloom != null) {
+            bytes += bloom.memoryBytes();
+        }
+        return bytes;
+    }
+
+    /** 每个元素平均占用的结构字节数 */
+    public double bytesPerElement() {
+        return size == 0 ? 0.0 : (double) memoryBytes() / size;
+    }
+
+    /** 当前槽位数 */
+    public int capacity() {
+        return table.length;
+    }
+
+    private long fingerprint(E e) {
+        long fp = hasher.applyAsLong(Objects.requireNonNull(e, "不支持 null 元素"));
+        return fp == 0 ? 1 : fp;
+    }
+
+    private int indexOf(long fp, Object o) {
+        int i = (int) fp & mask;
+        long slot;
+        while ((slot = table[i]) != 0) {
+            if (slot == fp && (elements == null || o.equals(elements[i]))) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /** 反向移位删除：把后续“可以前移”的槽位依次前移，保持探测链连续 */
+    private void deleteAt(int hole) {
+        int i = hole;
+        int j = hole;
+        while (true) {
+            j = (j + 1) & mask;
+            long fp = table[j];
+            if (fp == 0) {
+                break;
+            }
+            int home = (int) fp & mask;
+            // home 不在 (i, j] 的环形区间内，说明 j 处元素可以前移到 i
+            boolean movable = i <= j ? (home <= i || home > j) : (home <= i && home > j);
+            if (movable) {
+                table[i] = fp;
+                if (elements != null) {
+                    elements[i] = elements[j];
+                }
+                i = j;
+            }
+        }
+        table[i] = 0;
+        if (elements != null) {
+            elements[i] = null;
+        }
+    }
+
+    private void resize() {
+        long[] oldTable = table;
+        Object[] oldElements = elements;
+        if (oldTable.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("FingerprintHashSet 已达到最大容量: " + MAX_CAPACITY);
+        }
+        allocate(oldTable.length << 1);
+        // 指纹本身决定槽位，重新散列无需再次计算哈希
+        for (int k = 0; k < oldTable.length; k++) {
+            long fp = oldTable[k];
+            if (fp != 0) {
+                int i = (int) fp & mask;
+                while (table[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = fp;
+                if (elements != null) {
+                    elements[i] = oldElements[k];
+                }
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        elements = mode == Mode.EXACT ? new Object[capacity] : null;
+        mask = capacity - 1;
+        threshold = capacity == MAX_CAPACITY ? MAX_CAPACITY - 1 : (int) (capacity * (double) loadFactor);
+    }
+
+    private static int tableSizeFor(long n) {
+        if (n >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        int cap = Integer.highestOneBit((int) Math.max(n, 16));
+        return cap < n ? cap << 1 : cap;
+    }
+}
@@ -0,0 +1,59 @@
+package com.trae.study.collections.set;
+
+/**
+ * 64 位指纹函数
+ *
+ * 说明：
+ * - String.hashCode 只有 32 位，2 亿个元素时生日碰撞几乎必然发生，不能直接作为指纹；
+ * - 这里对字符序列逐字符做 FNV-1a 64 位累加，再用 MurmurHash3 的 fmix64 做最终混淆，
+ *   保证高低位都分布均匀（开放寻址表用低位定位，布隆过滤器用高位选块）；
+ * - 2 亿个元素在 64 位空间中的期望碰撞对数约为 n² / 2^65 ≈ 0.001，指纹模式下可忽略，
+ *   需要严格正确时使用 EXACT 模式做 equals 校验。
+ */
+public final class Fingerprints {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Fingerprints() {}
+
+    /** 字符序列的 64 位指纹 */
+    public static long of(CharSequence s) {
+        long h = FNV_OFFSET;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            h ^= s.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return mix(h ^ s.length());
+    }
+
+    /** long 值的 64 位指纹（双射，不会产生额外碰撞） */
+    public static long of(long value) {
+        return mix(value);
+    }
+
+    /**
+     * 通用对象的指纹：字符序列与整数类型使用专用实现，其余对象退化为 hashCode 混淆。
+     * 注意：退化路径只有 32 位熵，大规模数据请自行提供 64 位哈希函数或使用 EXACT 模式；
+     * 数值相同的 Integer 与 Long 指纹相同，混合类型时同样应使用 EXACT 模式。
+     */
+    public static long ofObject(Object o) {
+        if (o instanceof CharSequence) {
+            return of((CharSequence) o);
+        }
+        if (o instanceof Long || o instanceof Integer || o instanceof Short || o instanceof Byte) {
+            return of(((Number) o).longValue());
+        }
+        return mix(o.hashCode());
+    }
+
+    /** MurmurHash3 fmix64 */
+    public static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
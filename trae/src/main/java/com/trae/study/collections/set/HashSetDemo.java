@@ -9,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.lang.reflect.Field;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -21,6 +22,7 @@ import java.util.stream.IntStream;
  * 3. 哈希冲突处理和性能特性
  * 4. 与其他 Set 实现的对比
  * 5. 性能基准测试
+ * 6. 海量去重场景下与 FingerprintHashSet（紧凑指纹集合）的内存/吞吐对比
  * 
  * @author Trae
  * @since 2024-01-20
@@ -94,6 +96,28 @@ public class HashSetDemo {
         }
     }
 
+    /**
+     * 紧凑集合对比结果：每种实现一行
+     */
+    @Data
+    @AllArgsConstructor
+    public static class CompactSetStats {
+        private String implementation;
+        private int dataSize;
+        private double bytesPerElement; // 不含元素对象本身
+        private double addOpsPerSec;
+        private double hitOpsPerSec;    // 命中查询
+        private double missOpsPerSec;   // 未命中查询
+        private int hits;               // 命中查询中返回 true 的次数（应等于查询数）
+        private int falsePositives;     // 未命中查询中返回 true 的次数
+
+        @Override
+        public String toString() {
+            return String.format("%s: %.1f bytes/元素, add %.0f ops/s, 命中 %.0f ops/s, 未命中 %.0f ops/s, 误判 %d",
+                implementation, bytesPerElement, addOpsPerSec, hitOpsPerSec, missOpsPerSec, falsePositives);
+        }
+    }
+
     public static void main(String[] args) {
         HashSetDemo demo = new HashSetDemo();
         
@@ -116,6 +140,9 @@ public class HashSetDemo {
         
         // 6. 综合演示
         demo.comprehensiveDemo();
+
+        // 7. 紧凑指纹集合对比
+        demo.benchmarkCompactSets(1_000_000).forEach(stat -> log.info(stat.toString()));
     }
     
     /**
@@ -400,6 +427,87 @@ public class HashSetDemo {
         benchmarkInitialCapacity();
     }
     
+    /**
+     * 海量字符串 ID 去重场景：HashSet vs FingerprintHashSet（指纹 / 精确 / 指纹+布隆前门）
+     * - 字符串在计时前统一创建，bytes/元素只统计集合结构本身；
+     * - HashSet 的内存通过 GC 前后已用堆差值估算，紧凑集合使用 memoryBytes() 精确计算。
+     *
+     * @param dataSize 元素数量
+     * @return 每种实现一行统计
+     */
+    public List<CompactSetStats> benchmarkCompactSets(int dataSize) {
+        log.info("\n=== 紧凑指纹集合 vs HashSet ({} 个字符串 ID) ===", dataSize);
+
+        List<String> ids = new ArrayList<>(dataSize);
+        List<String> absent = new ArrayList<>(dataSize);
+        for (int i = 0; i < dataSize; i++) {
+            ids.add("id-" + i);
+            absent.add("absent-" + i);
+        }
+        // 打乱顺序：顺序 ID 的 hashCode 连续，会让 HashSet 的桶访问呈现不真实的局部性
+        Collections.shuffle(ids, new Random(42));
+        Collections.shuffle(absent, new Random(43));
+
+        List<CompactSetStats> results = new ArrayList<>();
+
+        // HashSet：通过堆占用差值估算结构开销
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        Set<String> hashSet = new HashSet<>();
+        long addNs = timeNs(() -> ids.forEach(hashSet::add));
+        System.gc();
+        long hashSetBytes = Math.max(0, runtime.totalMemory() - runtime.freeMemory() - before);
+        results.add(measureQueries("HashSet", dataSize, (double) hashSetBytes / dataSize, addNs,
+            hashSet::contains, ids, absent));
+
+        results.add(measureCompact("Fingerprint", FingerprintHashSet.<String>builder()
+            .expectedSize(dataSize).hasher(Fingerprints::of).build(), ids, absent));
+        results.add(measureCompact("Exact", FingerprintHashSet.<String>builder()
+            .expectedSize(dataSize).hasher(Fingerprints::of)
+            .mode(FingerprintHashSet.Mode.EXACT).build(), ids, absent));
+        results.add(measureCompact("Fingerprint+Bloom", FingerprintHashSet.<String>builder()
+            .expectedSize(dataSize).hasher(Fingerprints::of).bloomBitsPerElement(10).build(), ids, absent));
+
+        results.forEach(stat -> log.info(stat.toString()));
+        return results;
+    }
+
+    private CompactSetStats measureCompact(String name, FingerprintHashSet<String> set,
+                                           List<String> ids, List<String> absent) {
+        long addNs = timeNs(() -> ids.forEach(set::add));
+        return measureQueries(name, ids.size(), set.bytesPerElement(), addNs, set::contains, ids, absent);
+    }
+
+    private CompactSetStats measureQueries(String name, int dataSize, double bytesPerElement, long addNs,
+                                           Predicate<String> contains,
+                                           List<String> ids, List<String> absent) {
+        int[] counts = new int[2];
+        long hitNs = timeNs(() -> {
+            for (String id : ids) {
+                if (contains.test(id)) counts[0]++;
+            }
+        });
+        long missNs = timeNs(() -> {
+            for (String id : absent) {
+                if (contains.test(id)) counts[1]++;
+            }
+        });
+        return new CompactSetStats(name, dataSize, bytesPerElement,
+            opsPerSec(dataSize, addNs), opsPerSec(ids.size(), hitNs), opsPerSec(absent.size(), missNs),
+            counts[0], counts[1]);
+    }
+
+    private static long timeNs(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        return System.nanoTime() - start;
+    }
+
+    private static double opsPerSec(int ops, long ns) {
+        return ops * 1_000_000_000.0 / Math.max(ns, 1);
+    }
+
     /**
      * 测试负载因子对性能的影响
      */
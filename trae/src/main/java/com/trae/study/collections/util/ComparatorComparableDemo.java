@@ -74,6 +74,84 @@ public class ComparatorComparableDemo {
         public List<String> getElements() { return elements; }
     }
 
+    /**
+     * 示例实体：Student，用于多键排序基准（班级升序、分数降序、姓名升序、学号升序）
+     */
+    public static class Student {
+        private final long id;
+        private final String name;
+        private final int grade;
+        private final double score;
+        public Student(long id, String name, int grade, double score) {
+            this.id = id; this.name = name; this.grade = grade; this.score = score;
+        }
+        public long getId() { return id; }
+        public String getName() { return name; }
+        public int getGrade() { return grade; }
+        public double getScore() { return score; }
+        @Override
+        public String toString() { return "Student{" + id + "," + name + "," + grade + "," + score + '}'; }
+    }
+
+    /** 多键排序基准结果 DTO（单位：纳秒） */
+    public static class SortBenchmarkDTO {
+        private final int size;
+        private final long lambdaChainNs;
+        private final long compiledNs;
+        private final boolean sameOrder;
+        public SortBenchmarkDTO(int size, long lambdaChainNs, long compiledNs, boolean sameOrder) {
+            this.size = size; this.lambdaChainNs = lambdaChainNs;
+            this.compiledNs = compiledNs; this.sameOrder = sameOrder;
+        }
+        public int getSize() { return size; }
+        public long getLambdaChainNs() { return lambdaChainNs; }
+        public long getCompiledNs() { return compiledNs; }
+        public boolean isSameOrder() { return sameOrder; }
+    }
+
+    /** JDK 链式写法：grade 升序 → score 降序 → name 升序（null 在后）→ id 升序 */
+    public static final Comparator<Student> STUDENT_LAMBDA_CHAIN = Comparator
+        .comparing(Student::getGrade)
+        .thenComparing(Student::getScore, Comparator.reverseOrder())
+        .thenComparing(Student::getName, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(Student::getId);
+
+    /** 与 STUDENT_LAMBDA_CHAIN 语义相同的预编译比较器：基本类型键不装箱、每个键节点独立特化 */
+    public static final Comparator<Student> STUDENT_COMPILED = CompiledComparator.<Student>builder()
+        .comparingInt(Student::getGrade)
+        .comparingDouble(Student::getScore).descending()
+        .comparing(Student::getName).nullsLast()
+        .comparingLong(Student::getId)
+        .build();
+
+    /** 生成可复现的 Student 数据（少量 name 为 null，用于覆盖空值分支） */
+    public static Student[] generateStudents(int n, long seed) {
+        Random random = new Random(seed);
+        Student[] students = new Student[n];
+        for (int i = 0; i < n; i++) {
+            String name = random.nextInt(100) == 0 ? null : "s" + random.nextInt(n);
+            // 分数保留一位小数，制造较多并列以走到后续键
+            double score = random.nextInt(1000) / 10.0;
+            students[i] = new Student(i, name, random.nextInt(12) + 1, score);
+        }
+        return students;
+    }
+
+    /** 对比 JDK 链式比较器与预编译比较器的排序耗时（各自对同一份数据的拷贝排序） */
+    public SortBenchmarkDTO benchmarkCompiledComparator(int n) {
+        Student[] source = generateStudents(n, 42L);
+        Student[] byLambda = source.clone();
+        Student[] byCompiled = source.clone();
+        long t1 = System.nanoTime();
+        Arrays.sort(byLambda, STUDENT_LAMBDA_CHAIN);
+        long t2 = System.nanoTime();
+        Arrays.sort(byCompiled, STUDENT_COMPILED);
+        long t3 = System.nanoTime();
+        // 两种比较器都是全序（id 唯一），结果应逐元素一致
+        boolean sameOrder = Arrays.equals(byLambda, byCompiled);
+        return new SortBenchmarkDTO(n, t2 - t1, t3 - t2, sameOrder);
+    }
+
     /** 使用 Comparable 的自然顺序排序 Person */
     public List<Person> demonstrateComparableNaturalOrder(List<Person> input) {
         List<Person> list = new ArrayList<>(input); // 防御性拷贝
@@ -0,0 +1,358 @@
+package com.trae.study.collections.util;
+
+import com.trae.study.util.ClassSpecializer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 预编译的多键比较器构建器
+ *
+ * 与 Comparator.comparing(...).thenComparing(...) 的区别：
+ * - 基本类型键（int/long/double）直接比较，不装箱；
+ * - 每个键只有一层节点（JDK 的链式写法每个 thenComparing 会多包一层 lambda）；
+ * - build() 会借助 {@link ClassSpecializer} 为每个键节点复制出独立的类，
+ *   节点内部的 extractor 调用点只见过一种 lambda，保持 monomorphic，便于 JIT 内联；
+ * - 空值策略内建：对象键可声明 nullsFirst / nullsLast，且空值位置不受 descending 影响。
+ *
+ * 用法示例：
+ * <pre>
+ * Comparator&lt;Student&gt; cmp = CompiledComparator.&lt;Student&gt;builder()
+ *     .comparingInt(Student::getGrade)
+ *     .comparingDouble(Student::getScore).descending()
+ *     .comparing(Student::getName).nullsLast()
+ *     .build();
+ * </pre>
+ *
+ * 注意：build() 每个键会创建一个 ClassLoader 与一个类，适合“构建一次、反复使用”的场景
+ * （如 static final 常量）；临时比较器请使用 buildShared()。
+ */
+public final class CompiledComparator {
+
+    /** 对象键的空值处理策略 */
+    public enum NullOrder {
+        /** 不允许空值，遇到 null 抛出 NullPointerException（与 naturalOrder 一致） */
+        REJECT,
+        /** 空值排在最前 */
+        FIRST,
+        /** 空值排在最后 */
+        LAST
+    }
+
+    private CompiledComparator() {}
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /** 键类型 */
+    private enum KeyKind { INT, LONG, DOUBLE, COMPARABLE, OBJECT }
+
+    /** 单个排序键的描述 */
+    private static final class KeySpec {
+        private final KeyKind kind;
+        private final Object extractor;
+        private final Comparator<?> keyComparator;
+        private boolean descending;
+        private NullOrder nullOrder = NullOrder.REJECT;
+
+        KeySpec(KeyKind kind, Object extractor, Comparator<?> keyComparator) {
+            this.kind = kind;
+            this.extractor = extractor;
+            this.keyComparator = keyComparator;
+        }
+    }
+
+    /**
+     * 构建器：按添加顺序依次比较各键，descending()/nullsFirst()/nullsLast() 作用于最近添加的键。
+     */
+    public static final class Builder<T> {
+        private final List<KeySpec> keys = new ArrayList<>();
+
+        public Builder<T> comparingInt(ToIntFunction<? super T> extractor) {
+            return addKey(new KeySpec(KeyKind.INT, Objects.requireNonNull(extractor), null));
+        }
+
+        public Builder<T> comparingLong(ToLongFunction<? super T> extractor) {
+            return addKey(new KeySpec(KeyKind.LONG, Objects.requireNonNull(extractor), null));
+        }
+
+        public Builder<T> comparingDouble(ToDoubleFunction<? super T> extractor) {
+            return addKey(new KeySpec(KeyKind.DOUBLE, Objects.requireNonNull(extractor), null));
+        }
+
+        /** 按键的自然顺序比较 */
+        public <U extends Comparable<? super U>> Builder<T> comparing(Function<? super T, ? extends U> extractor) {
+            return addKey(new KeySpec(KeyKind.COMPARABLE, Objects.requireNonNull(extractor), null));
+        }
+
+        /** 按自定义比较器比较键 */
+        public <U> Builder<T> comparing(Function<? super T, ? extends U> extractor,
+                                        Comparator<? super U> keyComparator) {
+            return addKey(new KeySpec(KeyKind.OBJECT, Objects.requireNonNull(extractor),
+                    Objects.requireNonNull(keyComparator)));
+        }
+
+        /** 最近添加的键改为降序 */
+        public Builder<T> descending() {
+            lastKey().descending = true;
+            return this;
+        }
+
+        /** 最近添加的对象键：空值排在最前 */
+        public Builder<T> nullsFirst() {
+            return nullOrder(NullOrder.FIRST);
+        }
+
+        /** 最近添加的对象键：空值排在最后 */
+        public Builder<T> nullsLast() {
+            return nullOrder(NullOrder.LAST);
+        }
+
+        private Builder<T> nullOrder(NullOrder order) {
+            KeySpec key = lastKey();
+            if (key.kind != KeyKind.COMPARABLE && key.kind != KeyKind.OBJECT) {
+                throw new IllegalStateException("基本类型键不存在空值，无需指定空值策略");
+            }
+            key.nullOrder = order;
+            return this;
+        }
+
+        /** 构建特化比较器：每个键节点拥有独立的类 */
+        public Comparator<T> build() {
+            return assemble(true);
+        }
+
+        /** 构建共享实现的比较器：不生成新类，适合短生命周期的比较器 */
+        public Comparator<T> buildShared() {
+            return assemble(false);
+        }
+
+        private Builder<T> addKey(KeySpec spec) {
+            keys.add(spec);
+            return this;
+        }
+
+        private KeySpec lastKey() {
+            if (keys.isEmpty()) {
+                throw new IllegalStateException("请先添加排序键");
+            }
+            return keys.get(keys.size() - 1);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Comparator<T> assemble(boolean specialize) {
+            if (keys.isEmpty()) {
+                throw new IllegalStateException("至少需要一个排序键");
+            }
+            // 从最后一个键向前拼接，next 为 null 表示链尾
+            Comparator<T> next = null;
+            for (int i = keys.size() - 1; i >= 0; i--) {
+                next = (Comparator<T>) newNode(keys.get(i), next, specialize);
+            }
+            return next;
+        }
+
+        private static Comparator<?> newNode(KeySpec key, Comparator<?> next, boolean specialize) {
+            Class<?> template;
+            Class<?>[] types;
+            Object[] args;
+            switch (key.kind) {
+                case INT:
+                    template = IntKeyNode.class;
+                    types = new Class<?>[]{ToIntFunction.class, boolean.class, Comparator.class};
+                    args = new Object[]{key.extractor, key.descending, next};
+                    break;
+                case LONG:
+                    template = LongKeyNode.class;
+                    types = new Class<?>[]{ToLongFunction.class, boolean.class, Comparator.class};
+                    args = new Object[]{key.extractor, key.descending, next};
+                    break;
+                case DOUBLE:
+                    template = DoubleKeyNode.class;
+                    types = new Class<?>[]{ToDoubleFunction.class, boolean.class, Comparator.class};
+                    args = new Object[]{key.extractor, key.descending, next};
+                    break;
+                case COMPARABLE:
+                    template = ComparableKeyNode.class;
+                    types = new Class<?>[]{Function.class, boolean.class, int.class, Comparator.class};
+                    args = new Object[]{key.extractor, key.descending, nullSign(key.nullOrder), next};
+                    break;
+                default:
+                    template = ObjectKeyNode.class;
+                    types = new Class<?>[]{Function.class, Comparator.class, boolean.class, int.class, Comparator.class};
+                    args = new Object[]{key.extractor, key.keyComparator, key.descending, nullSign(key.nullOrder), next};
+                    break;
+            }
+            if (specialize) {
+                return (Comparator<?>) ClassSpecializer.newSpecializedInstance(template, types, args);
+            }
+            try {
+                return (Comparator<?>) template.getConstructor(types).newInstance(args);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("比较器节点构造失败", e);
+            }
+        }
+
+        /** 空值策略编码：0 拒绝、-1 空值在前、1 空值在后（对应 null 与非 null 比较的结果） */
+        private static int nullSign(NullOrder order) {
+            switch (order) {
+                case FIRST:
+                    return -1;
+                case LAST:
+                    return 1;
+                default:
+                    return 0;
+            }
+        }
+    }
+
+    // ===================== 节点模板 =====================
+    // 以下类会被 ClassSpecializer 复制，因此必须是 public、只引用 public 类型，且不访问外部类私有成员。
+
+    /** int 键节点 */
+    public static final class IntKeyNode<T> implements Comparator<T> {
+        private final ToIntFunction<? super T> extractor;
+        private final boolean descending;
+        private final Comparator<? super T> next;
+
+        public IntKeyNode(ToIntFunction<? super T> extractor, boolean descending, Comparator<? super T> next) {
+            this.extractor = extractor;
+            this.descending = descending;
+            this.next = next;
+        }
+
+        @Override
+        public int compare(T a, T b) {
+            int x = extractor.applyAsInt(a);
+            int y = extractor.applyAsInt(b);
+            if (x != y) {
+                return (x < y) != descending ? -1 : 1;
+            }
+            return next == null ? 0 : next.compare(a, b);
+        }
+    }
+
+    /** long 键节点 */
+    public static final class LongKeyNode<T> implements Comparator<T> {
+        private final ToLongFunction<? super T> extractor;
+        private final boolean descending;
+        private final Comparator<? super T> next;
+
+        public LongKeyNode(ToLongFunction<? super T> extractor, boolean descending, Comparator<? super T> next) {
+            this.extractor = extractor;
+            this.descending = descending;
+            this.next = next;
+        }
+
+        @Override
+        public int compare(T a, T b) {
+            long x = extractor.applyAsLong(a);
+            long y = extractor.applyAsLong(b);
+            if (x != y) {
+                return (x < y) != descending ? -1 : 1;
+            }
+            return next == null ? 0 : next.compare(a, b);
+        }
+    }
+
+    /** double 键节点：语义与 Double.compare 一致（-0.0 小于 0.0，NaN 最大） */
+    public static final class DoubleKeyNode<T> implements Comparator<T> {
+        private final ToDoubleFunction<? super T> extractor;
+        private final boolean descending;
+        private final Comparator<? super T> next;
+
+        public DoubleKeyNode(ToDoubleFunction<? super T> extractor, boolean descending, Comparator<? super T> next) {
+            this.extractor = extractor;
+            this.descending = descending;
+            this.next = next;
+        }
+
+        @Override
+        public int compare(T a, T b) {
+            double x = extractor.applyAsDouble(a);
+            double y = extractor.applyAsDouble(b);
+            int c = Double.compare(x, y);
+            if (c != 0) {
+                return descending ? -c : c;
+            }
+            return next == null ? 0 : next.compare(a, b);
+        }
+    }
+
+    /** 自然顺序对象键节点 */
+    public static final class ComparableKeyNode<T> implements Comparator<T> {
+        private final Function<? super T, ? extends Comparable<Object>> extractor;
+        private final boolean descending;
+        private final int nullSign;
+        private final Comparator<? super T> next;
+
+        public ComparableKeyNode(Function<? super T, ? extends Comparable<Object>> extractor, boolean descending,
+                                 int nullSign, Comparator<? super T> next) {
+            this.extractor = extractor;
+            this.descending = descending;
+            this.nullSign = nullSign;
+            this.next = next;
+        }
+
+        @Override
+        public int compare(T a, T b) {
+            Comparable<Object> x = extractor.apply(a);
+            Comparable<Object> y = extractor.apply(b);
+            int c;
+            if (x == null || y == null) {
+                if (nullSign == 0) {
+                    throw new NullPointerException("排序键为 null，且未指定 nullsFirst/nullsLast");
+                }
+                c = x == y ? 0 : (x == null ? nullSign : -nullSign);
+            } else {
+                c = descending ? y.compareTo(x) : x.compareTo(y);
+            }
+            if (c != 0) {
+                return c;
+            }
+            return next == null ? 0 : next.compare(a, b);
+        }
+    }
+
+    /** 自定义比较器对象键节点 */
+    public static final class ObjectKeyNode<T, U> implements Comparator<T> {
+        private final Function<? super T, ? extends U> extractor;
+        private final Comparator<? super U> keyComparator;
+        private final boolean descending;
+        private final int nullSign;
+        private final Comparator<? super T> next;
+
+        public ObjectKeyNode(Function<? super T, ? extends U> extractor, Comparator<? super U> keyComparator,
+                             boolean descending, int nullSign, Comparator<? super T> next) {
+            this.extractor = extractor;
+            this.keyComparator = keyComparator;
+            this.descending = descending;
+            this.nullSign = nullSign;
+            this.next = next;
+        }
+
+        @Override
+        public int compare(T a, T b) {
+            U x = extractor.apply(a);
+            U y = extractor.apply(b);
+            int c;
+            if (nullSign != 0 && (x == null || y == null)) {
+                c = x == y ? 0 : (x == null ? nullSign : -nullSign);
+            } else {
+                // 未指定空值策略时由 keyComparator 自行决定如何处理 null
+                c = descending ? keyComparator.compare(y, x) : keyComparator.compare(x, y);
+            }
+            if (c != 0) {
+                return c;
+            }
+            return next == null ? 0 : next.compare(a, b);
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.trae.study.collections.util;
 
+import com.trae.study.collections.concurrent.ChunkedSnapshotList;
+
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Iterator/Iterable 的 fail-fast 机制演示
  *
  * 通过 modCount 变化导致迭代时结构性修改抛出 ConcurrentModificationException。
+ * 对照：ChunkedSnapshotList 基于快照迭代，写线程并发修改时读线程不会抛出异常。
  */
 public class IteratorFailFastDemo {
 
@@ -40,4 +44,62 @@ public class IteratorFailFastDemo {
         }
         return list; // 保留奇数
     }
-}
\ No newline at end of file
+
+    /** 快照迭代结果 DTO */
+    public static class SnapshotIterationDTO {
+        private final int iterations;
+        private final long writes;
+        private final boolean threw;
+        private final boolean snapshotsConsistent;
+        public SnapshotIterationDTO(int iterations, long writes, boolean threw, boolean snapshotsConsistent) {
+            this.iterations = iterations; this.writes = writes;
+            this.threw = threw; this.snapshotsConsistent = snapshotsConsistent;
+        }
+        public int getIterations() { return iterations; }
+        public long getWrites() { return writes; }
+        public boolean isThrew() { return threw; }
+        /** 每次遍历得到的元素个数都等于该快照的 size */
+        public boolean isSnapshotsConsistent() { return snapshotsConsistent; }
+    }
+
+    /** 写线程持续 add/set/remove，读线程反复遍历 ChunkedSnapshotList：不会触发 fail-fast */
+    public SnapshotIterationDTO demonstrateSnapshotIteration(int initialSize, int iterations) {
+        ChunkedSnapshotList<Integer> list = new ChunkedSnapshotList<>();
+        for (int i = 0; i < initialSize; i++) list.add(i);
+        AtomicBoolean running = new AtomicBoolean(true);
+        long[] writes = new long[1];
+        Thread writer = new Thread(() -> {
+            Random random = new Random(1);
+            while (running.get()) {
+                int size = list.size();
+                switch (random.nextInt(3)) {
+                    case 0: list.add(random.nextInt(size + 1), -1); break;
+                    case 1: if (size > 1) list.remove(random.nextInt(size)); break;
+                    default: if (size > 0) list.set(random.nextInt(size), -2);
+                }
+                writes[0]++;
+            }
+        });
+        writer.start();
+        boolean threw = false;
+        boolean consistent = true;
+        try {
+            for (int k = 0; k < iterations; k++) {
+                ChunkedSnapshotList.Snapshot<Integer> snapshot = list.snapshot();
+                int count = 0;
+                for (Integer ignored : snapshot) count++;
+                consistent &= count == snapshot.size();
+            }
+        } catch (ConcurrentModificationException e) {
+            threw = true;
+        } finally {
+            running.set(false);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return new SnapshotIterationDTO(iterations, writes[0], threw, consistent);
+    }
+}
@@ -28,6 +28,31 @@ public class BenchmarkResultDTO {
     /** 额外指标（键为指标名，值为指标值），例如：各阶段耗时、数据量等 */
     private Map<String, Object> additionalMetrics;
 
+    // ===== 以下为结构化指标（可选），JMH 导入或持久化对比时填充 =====
+
+    /** 基准模式：thrpt / avgt / sample / ss（StopWatch 结果视为 ss） */
+    private String mode;
+    /** 主指标得分 */
+    private Double score;
+    /** 得分误差（JMH 99.9% 置信区间半宽） */
+    private Double scoreError;
+    /** 得分单位，例如 ops/us、ns/op、ms */
+    private String scoreUnit;
+    /** 线程数 */
+    private Integer threads;
+    /** 基准参数（JMH @Param），参与结果匹配 */
+    private Map<String, String> params;
+    /** 分位数，键为 p50 / p90 / p99 / p999 等 */
+    private Map<String, Double> percentiles;
+    /** 每次操作分配的字节数 */
+    private Double allocBytesPerOp;
+    /** 分配速率（MB/s） */
+    private Double allocRateMbPerSec;
+    /** 测试期间的 GC 次数 */
+    private Long gcCount;
+    /** 测试期间的 GC 累计耗时（毫秒） */
+    private Long gcTimeMs;
+
     /**
      * 兼容已有代码的三参构造：有的地方未提供 description
      * @param testName 测试名称
@@ -39,4 +64,18 @@ public class BenchmarkResultDTO {
         this.executionTimeMs = executionTimeMs;
         this.additionalMetrics = additionalMetrics;
     }
+
+    /**
+     * 兼容已有代码的四参构造（新增结构化指标之前的全参构造）
+     * @param testName 测试名称
+     * @param description 描述信息
+     * @param executionTimeMs 执行耗时（毫秒）
+     * @param additionalMetrics 额外指标
+     */
+    public BenchmarkResultDTO(String testName, String description, long executionTimeMs, Map<String, Object> additionalMetrics) {
+        this.testName = testName;
+        this.description = description;
+        this.executionTimeMs = executionTimeMs;
+        this.additionalMetrics = additionalMetrics;
+    }
 }
\ No newline at end of file
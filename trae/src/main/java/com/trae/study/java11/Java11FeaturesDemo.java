@@ -2,23 +2,39 @@ package com.trae.study.java11;
 
 import cn.hutool.core.util.StrUtil;
 import com.trae.study.dto.BenchmarkResultDTO;
+import com.trae.study.java11.http.HttpLoadClient;
+import com.trae.study.java11.http.LoadReport;
+import com.trae.study.java11.http.StandInServer;
+import com.trae.study.java11.http.StreamingBodyHandlers;
+import com.trae.study.java11.io.DirectBufferedWriter;
+import com.trae.study.java11.io.MappedLineReader;
+import com.trae.study.java11.io.Utf8ChunkDecoder;
+import com.trae.study.java11.string.Latin1Strings;
+import com.trae.study.util.AllocationSampler;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -93,10 +109,10 @@ public class Java11FeaturesDemo {
                 .GET()
                 .build();
             
-            long startTime = System.currentTimeMillis();
+            long startTime = System.nanoTime();
             HttpResponse<String> getResponse = client.send(getRequest, 
                 HttpResponse.BodyHandlers.ofString());
-            long responseTime = System.currentTimeMillis() - startTime;
+            long responseTime = (System.nanoTime() - startTime) / 1_000_000;
             
             System.out.println("状态码: " + getResponse.statusCode());
             System.out.println("响应时间: " + responseTime + "ms");
@@ -114,10 +130,10 @@ public class Java11FeaturesDemo {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
                 .build();
             
-            startTime = System.currentTimeMillis();
+            startTime = System.nanoTime();
             HttpResponse<String> postResponse = client.send(postRequest, 
                 HttpResponse.BodyHandlers.ofString());
-            responseTime = System.currentTimeMillis() - startTime;
+            responseTime = (System.nanoTime() - startTime) / 1_000_000;
             
             System.out.println("状态码: " + postResponse.statusCode());
             System.out.println("响应时间: " + responseTime + "ms");
@@ -138,6 +154,37 @@ public class Java11FeaturesDemo {
         }
     }
     
+    /**
+     * 演示基于 sendAsync 的负载测试：本地替身服务器 + 开环恒定速率 + 延迟直方图，不依赖外部网络
+     */
+    public void demonstrateHttpLoadClient() {
+        System.out.println("\n=== HttpClient 负载测试演示 ===");
+        
+        try (StandInServer server = StandInServer.builder()
+                .messageWall()
+                .blog()
+                .serviceTime(Duration.ofMillis(2))
+                .start();
+             HttpLoadClient client = HttpLoadClient.builder().maxInFlight(16).build()) {
+            HttpRequest messages = HttpRequest.newBuilder(server.uri("/message")).build();
+            HttpRequest articles = HttpRequest.newBuilder(server.uri("/art/listbypage?pindex=1&psize=10")).build();
+            long[] sequence = {0};
+            // 留言墙与博客列表交替请求（发送线程单线程调用请求工厂）
+            Supplier<HttpRequest> mixed = () -> (sequence[0]++ & 1) == 0 ? messages : articles;
+            
+            client.warmUp(mixed, 50);
+            LoadReport report = client.runOpenLoop("留言墙 + 博客列表", 200, Duration.ofSeconds(1), mixed,
+                    StreamingBodyHandlers.discarding());
+            System.out.println(report);
+            System.out.printf("p99 响应时间: %.2f ms, p99 服务时间: %.2f ms%n",
+                    report.getResponseTime().valueAtPercentile(99) / 1e6,
+                    report.getServiceTime().valueAtPercentile(99) / 1e6);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("负载测试被中断");
+        }
+    }
+    
     /**
      * 演示 String 新方法
      * Java 11 为 String 类添加了多个实用方法
@@ -184,6 +231,26 @@ public class Java11FeaturesDemo {
         // 5. 实际应用示例
         System.out.println("\n5. 实际应用示例:");
         demonstrateStringMethodsInPractice();
+        
+        // 6. 字节级快速路径：输入以 byte[] 到达时，不创建中间 String
+        System.out.println("\n6. Latin1Strings 字节级快速路径:");
+        demonstrateLatin1Strings();
+    }
+    
+    /**
+     * Latin1Strings 演示：在表单请求体的字节上判空、去空白、按行切分，只为保留的字段创建 String
+     */
+    private void demonstrateLatin1Strings() {
+        byte[] body = "  alice@example.com  \r\n   \r\n\tbob@example.com\n  \n".getBytes(StandardCharsets.US_ASCII);
+        List<String> fields = new ArrayList<>();
+        int lines = Latin1Strings.forEachLine(body, 0, body.length, (bytes, start, end) -> {
+            if (!Latin1Strings.isBlank(bytes, start, end)) {
+                fields.add(Latin1Strings.strip(bytes, start, end));
+            }
+        });
+        System.out.println("Latin1Strings lines=" + lines + ", fields=" + fields);
+        System.out.println("ascii=" + Latin1Strings.isAscii(body, 0, body.length)
+                + ", indexOf('@')=" + Latin1Strings.indexOf(body, 0, body.length, (byte) '@'));
     }
     
     /**
@@ -271,6 +338,10 @@ public class Java11FeaturesDemo {
             System.out.println("\n3. 性能对比:");
             demonstrateFilesPerformance();
             
+            // 4. 大文件流式读写：不把整个文件放进 String
+            System.out.println("\n4. 流式读写（MappedLineReader / DirectBufferedWriter）:");
+            demonstrateStreamingIO();
+            
             // 清理临时文件
             Files.deleteIfExists(tempFile);
             Files.deleteIfExists(utf8File);
@@ -280,6 +351,36 @@ public class Java11FeaturesDemo {
         }
     }
     
+    /**
+     * 流式读写演示：逐行写出、内存映射逐行读取、跨窗口分块解码
+     */
+    private void demonstrateStreamingIO() throws IOException {
+        Path file = Files.createTempFile("java11-streaming", ".csv");
+        try {
+            try (DirectBufferedWriter writer = DirectBufferedWriter.open(file)) {
+                for (int i = 1; i <= 1000; i++) {
+                    writer.write("order-").write(String.valueOf(i)).write(",").writeLine(i % 10 == 0 ? "退款" : "paid");
+                }
+                System.out.println("DirectBufferedWriter bytes=" + writer.bytesWritten());
+            }
+            
+            long[] stats = new long[2]; // ASCII 行数, 非 ASCII 行数
+            long lines;
+            try (MappedLineReader reader = MappedLineReader.open(file)) {
+                // LineView 是复用的零拷贝视图，只在回调内有效
+                lines = reader.forEachLine(line -> stats[line.isAscii() ? 0 : 1]++);
+            }
+            System.out.println("MappedLineReader lines=" + lines + ", ascii=" + stats[0] + ", nonAscii=" + stats[1]);
+            
+            // 4 字节窗口会把 3 字节的中文切开，解码结果仍与 Files.readString 一致
+            StringBuilder decoded = new StringBuilder();
+            Utf8ChunkDecoder.decodeFile(file, 4, decoded::append);
+            System.out.println("Utf8ChunkDecoder window=4 matches readString: " + decoded.toString().equals(Files.readString(file)));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+    
     /**
      * Files 操作性能对比
      */
@@ -605,6 +706,13 @@ public class Java11FeaturesDemo {
         System.out.printf("String 方法测试: %.2f ms%n", (Double) metrics.get("String方法测试耗时(ms)"));
         System.out.printf("Files IO 测试: %.2f ms%n", (Double) metrics.get("Files IO测试耗时(ms)"));
         System.out.printf("Optional 测试: %.2f ms%n", (Double) metrics.get("Optional测试耗时(ms)"));
+        if (metrics.containsKey("流式IO测试文件大小(MB)")) {
+            System.out.printf("%.1f MB 文件读取吞吐: Files.readString %.0f MB/s（峰值堆 +%.1f MB），"
+                            + "MappedLineReader %.0f MB/s（峰值堆 +%.1f MB）%n",
+                    (Double) metrics.get("流式IO测试文件大小(MB)"),
+                    (Double) metrics.get("Files.readString吞吐(MB/s)"), (Double) metrics.get("Files.readString峰值堆增量(MB)"),
+                    (Double) metrics.get("MappedLineReader吞吐(MB/s)"), (Double) metrics.get("MappedLineReader峰值堆增量(MB)"));
+        }
         
         return result;
     }
@@ -697,11 +805,141 @@ public class Java11FeaturesDemo {
             metrics.put("Files测试迭代次数", iterations);
             metrics.put("Java11 Files相对传统倍数", (double) java11Time / traditionalTime);
             
+            testStreamingIOPerformance(metrics);
         } catch (IOException e) {
             metrics.put("Files测试错误", e.getMessage());
         }
     }
     
+    /** 流式 IO 对比使用的文件大小 */
+    private static final int STREAMING_TEST_BYTES = 16 << 20;
+    
+    /**
+     * 大文件流式 IO 与 Files 便捷方法对比：吞吐量（MB/s）、峰值堆增量与分配量（MB）
+     * Files.readString / writeString 需要把整个文件放进一个 String（外加一份 byte[]），
+     * 峰值堆随文件大小线性增长；MappedLineReader / Utf8ChunkDecoder / DirectBufferedWriter 的堆占用是常数。
+     */
+    private void testStreamingIOPerformance(Map<String, Object> metrics) throws IOException {
+        Path file = Files.createTempFile("streaming-io", ".txt");
+        try {
+            // 写入：Files.writeString 需要先拼出完整字符串，DirectBufferedWriter 逐行写出
+            long[] written = new long[1];
+            IoMeasurement filesWrite = measureIO(() -> {
+                StringBuilder content = new StringBuilder(STREAMING_TEST_BYTES);
+                for (int i = 0; content.length() < STREAMING_TEST_BYTES; i++) {
+                    appendSampleLine(content, i);
+                }
+                Files.writeString(file, content);
+                written[0] = Files.size(file);
+            });
+            ByteBuffer writeBuffer = ByteBuffer.allocateDirect(DirectBufferedWriter.DEFAULT_BUFFER_BYTES);
+            IoMeasurement directWrite = measureIO(() -> {
+                StringBuilder line = new StringBuilder(128);
+                try (DirectBufferedWriter writer = DirectBufferedWriter.open(file, writeBuffer)) {
+                    for (int i = 0; writer.bytesWritten() < written[0]; i++) {
+                        line.setLength(0);
+                        appendSampleLine(line, i);
+                        writer.write(line);
+                    }
+                }
+            });
+            
+            // 读取：Files.readString 后按行遍历，与两种流式读取比较（都统计字符数，保证读到了每一行）
+            long bytes = Files.size(file);
+            AtomicLong chars = new AtomicLong();
+            IoMeasurement filesRead = measureIO(() -> {
+                String content = Files.readString(file);
+                chars.set(content.lines().mapToLong(String::length).sum());
+            });
+            long expectedChars = chars.get();
+            IoMeasurement mappedRead = measureIO(() -> {
+                chars.set(0);
+                try (MappedLineReader reader = MappedLineReader.open(file)) {
+                    reader.forEachLine(line -> chars.addAndGet(line.length()));
+                }
+            });
+            boolean mappedConsistent = chars.get() == expectedChars;
+            IoMeasurement chunkRead = measureIO(() ->
+                    Utf8ChunkDecoder.decodeFile(file, Utf8ChunkDecoder.DEFAULT_WINDOW_BYTES, buffer -> { }));
+            
+            metrics.put("流式IO测试文件大小(MB)", bytes / (1024.0 * 1024));
+            filesWrite.putTo(metrics, "Files.writeString", bytes);
+            directWrite.putTo(metrics, "DirectBufferedWriter", bytes);
+            filesRead.putTo(metrics, "Files.readString", bytes);
+            mappedRead.putTo(metrics, "MappedLineReader", bytes);
+            chunkRead.putTo(metrics, "Utf8ChunkDecoder", bytes);
+            metrics.put("MappedLineReader结果一致", mappedConsistent);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+    
+    /** 生成一行测试数据：大部分为 ASCII，每 8 行一行中文 */
+    private static void appendSampleLine(StringBuilder out, int i) {
+        out.append(i).append(',');
+        if ((i & 7) == 0) {
+            out.append("流式读写测试数据，包含多字节字符");
+        } else {
+            out.append("streaming io sample payload for large ingest files");
+        }
+        out.append(',').append(i * 31L).append('\n');
+    }
+    
+    /** 可能抛出 IOException 的任务 */
+    private interface IoTask {
+        void run() throws IOException;
+    }
+    
+    /** 一次 IO 测量结果 */
+    private static final class IoMeasurement {
+        final long nanos;
+        final long peakHeapBytes;
+        final long allocatedBytes;
+        
+        IoMeasurement(long nanos, long peakHeapBytes, long allocatedBytes) {
+            this.nanos = nanos;
+            this.peakHeapBytes = peakHeapBytes;
+            this.allocatedBytes = allocatedBytes;
+        }
+        
+        void putTo(Map<String, Object> metrics, String name, long bytes) {
+            metrics.put(name + "吞吐(MB/s)", bytes / (1024.0 * 1024) / (nanos / 1e9));
+            metrics.put(name + "峰值堆增量(MB)", peakHeapBytes / (1024.0 * 1024));
+            if (allocatedBytes >= 0) {
+                metrics.put(name + "分配(MB)", allocatedBytes / (1024.0 * 1024));
+            }
+        }
+    }
+    
+    /**
+     * 执行任务并测量耗时、峰值堆增量与分配量
+     * 峰值堆：先 GC 并重置各堆内存池的峰值，结束后把各池峰值相加减去起始占用（各池峰值不一定同时出现，结果偏大）
+     */
+    private static IoMeasurement measureIO(IoTask task) throws IOException {
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                heapPools.add(pool);
+            }
+        }
+        System.gc();
+        long before = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            pool.resetPeakUsage();
+            before += pool.getUsage().getUsed();
+        }
+        AllocationSampler sampler = AllocationSampler.start();
+        long start = System.nanoTime();
+        task.run();
+        long nanos = System.nanoTime() - start;
+        long allocated = sampler.stop().getAllocatedBytes();
+        long peak = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        return new IoMeasurement(nanos, Math.max(0, peak - before), allocated);
+    }
+    
     /**
      * Optional 性能测试
      */
@@ -741,6 +979,7 @@ public class Java11FeaturesDemo {
         System.out.println("=".repeat(50));
         
         demonstrateHttpClient();
+        demonstrateHttpLoadClient();
         demonstrateStringMethods();
         demonstrateFilesIO();
         demonstrateOptionalIsEmpty();
@@ -0,0 +1,249 @@
+package com.trae.study.java11.http;
+
+import com.trae.study.util.NanoTimer;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * 基于 java.net.http.HttpClient#sendAsync 的负载生成客户端
+ *
+ * 两种压测模式：
+ * - {@link #runOpenLoop}：开环、恒定到达率。第 i 个请求的计划发送时刻固定为 start + i / rate，
+ *   与前面的请求是否返回无关；延迟从计划时刻算起，因此服务端变慢导致的客户端排队会如实计入（避免 coordinated omission）；
+ * - {@link #runClosedLoop}：闭环，最多 maxInFlight 个请求在途，一个返回再发下一个，测的是最大吞吐量。
+ *
+ * 说明：
+ * - maxInFlight 是并发上限（信号量），达到上限时发送线程阻塞等待，等待时间计入开环模式的响应时间；
+ * - 延迟记录到 {@link NanoTimer}（回调线程各自写线程本地计数，不加锁），结束后合并为直方图；
+ * - 响应体建议使用 {@link StreamingBodyHandlers} 中的处理器，不把响应体缓冲成字符串；
+ * - HttpClient 在一个客户端实例内复用连接（HTTP/1.1 keep-alive），压测前可先 warmUp 建立连接。
+ *
+ * 用法示例：
+ * <pre>
+ * try (StandInServer server = StandInServer.builder().messageWall().start();
+ *      HttpLoadClient client = HttpLoadClient.builder().maxInFlight(32).build()) {
+ *     HttpRequest get = HttpRequest.newBuilder(server.uri("/message")).build();
+ *     LoadReport report = client.runOpenLoop("留言墙", 500, Duration.ofSeconds(10), () -&gt; get,
+ *             StreamingBodyHandlers.discarding());
+ *     System.out.println(report);
+ * }
+ * </pre>
+ */
+public final class HttpLoadClient implements AutoCloseable {
+
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+
+    private HttpLoadClient(Builder builder) {
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(builder.threads, r -> {
+            Thread t = new Thread(r, "http-load-client-" + sequence.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(builder.version)
+                .connectTimeout(builder.connectTimeout)
+                .executor(executor)
+                .build();
+        this.maxInFlight = builder.maxInFlight;
+        this.requestTimeout = builder.requestTimeout;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private int maxInFlight = 64;
+        private int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration requestTimeout = Duration.ofSeconds(30);
+        private HttpClient.Version version = HttpClient.Version.HTTP_1_1;
+
+        private Builder() {
+        }
+
+        /** 同时在途的最大请求数 */
+        public Builder maxInFlight(int maxInFlight) {
+            if (maxInFlight <= 0) {
+                throw new IllegalArgumentException("maxInFlight 必须大于0: " + maxInFlight);
+            }
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /** HttpClient 回调与 I/O 使用的线程数 */
+        public Builder threads(int threads) {
+            if (threads <= 0) {
+                throw new IllegalArgumentException("线程数必须大于0: " + threads);
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = requirePositive(connectTimeout, "connectTimeout");
+            return this;
+        }
+
+        /** 发送结束后等待在途请求全部返回的最长时间（单个请求的超时请在 HttpRequest 上设置） */
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requirePositive(requestTimeout, "requestTimeout");
+            return this;
+        }
+
+        /** HTTP 版本，本地明文服务默认 HTTP/1.1（HTTP/2 需要 TLS 或 h2c 升级） */
+        public Builder version(HttpClient.Version version) {
+            this.version = Objects.requireNonNull(version, "version");
+            return this;
+        }
+
+        public HttpLoadClient build() {
+            return new HttpLoadClient(this);
+        }
+
+        private static Duration requirePositive(Duration duration, String name) {
+            if (duration == null || duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException(name + " 必须大于0: " + duration);
+            }
+            return duration;
+        }
+    }
+
+    /**
+     * 预热：顺序发送若干请求，建立连接并让 JIT 编译客户端路径，结果不计入统计
+     */
+    public void warmUp(Supplier<HttpRequest> requests, int count) throws InterruptedException {
+        runClosedLoop("warm-up", count, requests, StreamingBodyHandlers.discarding());
+    }
+
+    /**
+     * 开环压测：按恒定到达率发送，延迟从计划发送时刻算起
+     * @param name 名称
+     * @param ratePerSecond 到达率（请求/秒）
+     * @param duration 发送时长，请求总数 = rate × duration
+     * @param requests 请求工厂，每次发送调用一次（可以在不同接口之间轮换）
+     * @param bodyHandler 响应体处理器
+     */
+    public LoadReport runOpenLoop(String name, double ratePerSecond, Duration duration,
+                                  Supplier<HttpRequest> requests, HttpResponse.BodyHandler<?> bodyHandler)
+            throws InterruptedException {
+        if (!(ratePerSecond > 0)) {
+            throw new IllegalArgumentException("到达率必须大于0: " + ratePerSecond);
+        }
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration 必须大于0: " + duration);
+        }
+        double intervalNanos = 1e9 / ratePerSecond;
+        long total = Math.max(1, (long) (duration.toNanos() / intervalNanos));
+        return run(name, ratePerSecond, total, intervalNanos, requests, bodyHandler);
+    }
+
+    /**
+     * 闭环压测：在途请求达到 maxInFlight 后，返回一个再发送一个
+     * @param total 请求总数
+     */
+    public LoadReport runClosedLoop(String name, long total, Supplier<HttpRequest> requests,
+                                    HttpResponse.BodyHandler<?> bodyHandler) throws InterruptedException {
+        if (total <= 0) {
+            throw new IllegalArgumentException("请求总数必须大于0: " + total);
+        }
+        return run(name, 0, total, 0, requests, bodyHandler);
+    }
+
+    private LoadReport run(String name, double rate, long total, double intervalNanos,
+                           Supplier<HttpRequest> requests, HttpResponse.BodyHandler<?> bodyHandler)
+            throws InterruptedException {
+        Objects.requireNonNull(requests, "requests");
+        Objects.requireNonNull(bodyHandler, "bodyHandler");
+        NanoTimer responseTime = new NanoTimer(name + ".response");
+        NanoTimer serviceTime = new NanoTimer(name + ".service");
+        LongAdder completed = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder non2xx = new LongAdder();
+        Semaphore permits = new Semaphore(maxInFlight);
+
+        boolean openLoop = intervalNanos > 0;
+        long start = System.nanoTime();
+        long sent = 0;
+        for (; sent < total; sent++) {
+            // 开环：计划时刻只由序号决定；闭环：计划时刻即拿到许可后的发送时刻
+            long intended = openLoop ? start + (long) (sent * intervalNanos) : 0;
+            if (openLoop) {
+                parkUntil(intended);
+            }
+            permits.acquire();
+            long sendAt = System.nanoTime();
+            long scheduled = openLoop ? intended : sendAt;
+            try {
+                client.sendAsync(requests.get(), bodyHandler).whenComplete((response, error) -> {
+                    long now = System.nanoTime();
+                    responseTime.record(now - scheduled);
+                    serviceTime.record(now - sendAt);
+                    if (error != null) {
+                        failed.increment();
+                    } else {
+                        completed.increment();
+                        if (response.statusCode() / 100 != 2) {
+                            non2xx.increment();
+                        }
+                    }
+                    permits.release();
+                });
+            } catch (RuntimeException e) {
+                permits.release(); // 请求构造失败，没有在途请求
+                throw e;
+            }
+        }
+        // 等待在途请求结束，避免回调在生成报告后继续写计时器；
+        // 发送阶段抛出的异常直接向上传播，不等待在途请求，以免等待超时掩盖原始异常
+        if (!permits.tryAcquire(maxInFlight, requestTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            throw new IllegalStateException("等待在途请求超时: " + requestTimeout);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new LoadReport(name, rate, sent, completed.sum(), failed.sum(), non2xx.sum(), elapsed,
+                responseTime.snapshot(), serviceTime.snapshot());
+    }
+
+    private static void parkUntil(long deadline) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /** 底层 HttpClient，可用于发送单个校验请求 */
+    public HttpClient getClient() {
+        return client;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
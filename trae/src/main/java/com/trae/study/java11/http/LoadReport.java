@@ -0,0 +1,74 @@
+package com.trae.study.java11.http;
+
+import com.trae.study.dto.BenchmarkResultDTO;
+import com.trae.study.util.LatencyHistogram;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link HttpLoadClient} 一次压测的结果（延迟单位均为纳秒）
+ *
+ * responseTime 与 serviceTime 的区别：
+ * - responseTime：从"计划发送时刻"到收完响应，包含在客户端排队等待并发许可的时间，即用户实际感受到的延迟；
+ * - serviceTime：从实际调用 sendAsync 到收完响应。
+ * 闭环压测（以及大多数"发完一个再发下一个"的压测工具）只能测到 serviceTime：服务端变慢时发送也随之变慢，
+ * 排队时间被悄悄省略（coordinated omission）。两者差距越大，说明目标越接近饱和。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadReport {
+    /** 压测名称 */
+    private String name;
+    /** 目标到达率（请求/秒），闭环压测为 0 */
+    private double targetRate;
+    /** 已发送的请求数 */
+    private long sent;
+    /** 收到响应（任意状态码）的请求数 */
+    private long completed;
+    /** 连接失败、超时等异常的请求数 */
+    private long failed;
+    /** 状态码不是 2xx 的响应数 */
+    private long non2xx;
+    /** 从第一个计划发送时刻到最后一个请求结束的耗时 */
+    private long elapsedNanos;
+    /** 响应时间（含客户端排队） */
+    private LatencyHistogram responseTime;
+    /** 服务时间（不含客户端排队） */
+    private LatencyHistogram serviceTime;
+
+    /** 实际吞吐量（完成的请求/秒） */
+    public double achievedRate() {
+        return elapsedNanos <= 0 ? 0.0 : completed * 1e9 / elapsedNanos;
+    }
+
+    /** 转换为基准结果，score 为平均响应时间，percentiles 为响应时间分位数 */
+    public BenchmarkResultDTO toBenchmarkResult() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("目标速率(req/s)", targetRate);
+        metrics.put("实际速率(req/s)", String.format("%.1f", achievedRate()));
+        metrics.put("发送数", sent);
+        metrics.put("完成数", completed);
+        metrics.put("失败数", failed);
+        metrics.put("非2xx数", non2xx);
+        metrics.put("服务时间p50(ns)", serviceTime.valueAtPercentile(50));
+        metrics.put("服务时间p99(ns)", serviceTime.valueAtPercentile(99));
+        metrics.put("响应时间最大值(ns)", responseTime.max());
+        BenchmarkResultDTO result = new BenchmarkResultDTO(name, "HTTP 负载测试", elapsedNanos / 1_000_000, metrics);
+        result.setMode("sample");
+        result.setScore(responseTime.mean());
+        result.setScoreUnit("ns/op");
+        result.setPercentiles(responseTime.percentiles());
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: sent=%d, completed=%d, failed=%d, non2xx=%d, rate=%.1f/s%n  response(ns): %s%n  service(ns):  %s",
+                name, sent, completed, failed, non2xx, achievedRate(), responseTime, serviceTime);
+    }
+}
@@ -0,0 +1,267 @@
+package com.trae.study.java11.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地替身服务器：基于 JDK 自带的 com.sun.net.httpserver，为负载测试提供离线、可重复的目标
+ *
+ * 说明：
+ * - 每个路由返回固定的状态码与响应体（启动时编码为字节数组，处理请求时不再分配字符串）；
+ * - serviceTime 为每个请求附加的固定处理耗时，用于模拟数据库访问等下游开销；
+ * - 内置留言墙（message_wall 的 /message）与博客（mycnblog-ssm 的 /art/*）的替身路由，
+ *   响应体格式与原项目一致，可在没有 MySQL、Tomcat 的环境下压测客户端；
+ * - 未注册的路径返回 404，路径存在但方法不匹配返回 405；
+ * - HttpServer 把响应头与响应体分两次写出，默认开启的 Nagle 算法会与客户端的延迟 ACK 相互等待，
+ *   低并发时每个请求多出约 40ms。类加载时设置 sun.net.httpserver.nodelay=true（已显式设置时不覆盖），
+ *   该属性在 JVM 内第一次创建 HttpServer 时读取，之后再设置无效。
+ *
+ * 用法示例：
+ * <pre>
+ * try (StandInServer server = StandInServer.builder().messageWall().blog().start()) {
+ *     URI uri = server.uri("/message");
+ *     ...
+ * }
+ * </pre>
+ */
+public final class StandInServer implements AutoCloseable {
+
+    static {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong requestCount = new AtomicLong();
+
+    private StandInServer(Builder builder) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), builder.port), builder.backlog);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(builder.threads, r -> {
+            Thread t = new Thread(r, "stand-in-server-" + sequence.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        long serviceNanos = builder.serviceTime.toNanos();
+        for (Map.Entry<String, Map<String, Route>> entry : builder.routes.entrySet()) {
+            Map<String, Route> byMethod = entry.getValue();
+            server.createContext(entry.getKey(), exchange -> handle(exchange, byMethod, serviceNanos));
+        }
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        /** 路径 -&gt; (方法 -&gt; 路由)，路径精确匹配 */
+        private final Map<String, Map<String, Route>> routes = new HashMap<>();
+        private int port;
+        private int threads = 4;
+        private int backlog = 1024;
+        private Duration serviceTime = Duration.ZERO;
+
+        private Builder() {
+        }
+
+        /** 监听端口，0 表示由系统分配空闲端口（默认） */
+        public Builder port(int port) {
+            if (port < 0 || port > 65535) {
+                throw new IllegalArgumentException("端口需在 [0, 65535]: " + port);
+            }
+            this.port = port;
+            return this;
+        }
+
+        /** 处理请求的线程数 */
+        public Builder threads(int threads) {
+            if (threads <= 0) {
+                throw new IllegalArgumentException("线程数必须大于0: " + threads);
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        /** 连接队列长度 */
+        public Builder backlog(int backlog) {
+            if (backlog <= 0) {
+                throw new IllegalArgumentException("backlog 必须大于0: " + backlog);
+            }
+            this.backlog = backlog;
+            return this;
+        }
+
+        /** 每个请求附加的处理耗时 */
+        public Builder serviceTime(Duration serviceTime) {
+            if (serviceTime == null || serviceTime.isNegative()) {
+                throw new IllegalArgumentException("serviceTime 不能为负数: " + serviceTime);
+            }
+            this.serviceTime = serviceTime;
+            return this;
+        }
+
+        /** 注册路由：method + path 返回固定的状态码与响应体 */
+        public Builder route(String method, String path, int status, String contentType, String body) {
+            if (method == null || method.isEmpty()) {
+                throw new IllegalArgumentException("method 不能为空");
+            }
+            if (path == null || !path.startsWith("/")) {
+                throw new IllegalArgumentException("path 必须以 / 开头: " + path);
+            }
+            if (status < 100 || status > 599) {
+                throw new IllegalArgumentException("状态码需在 [100, 599]: " + status);
+            }
+            byte[] bytes = body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+            Route route = new Route(status, contentType, bytes);
+            if (routes.computeIfAbsent(path, p -> new HashMap<>()).putIfAbsent(method.toUpperCase(), route) != null) {
+                throw new IllegalArgumentException("路由重复: " + method + " " + path);
+            }
+            return this;
+        }
+
+        /** 留言墙替身：GET /message 返回留言 JSON 数组，POST /message 返回空 200 */
+        public Builder messageWall() {
+            StringBuilder json = new StringBuilder("[");
+            for (int i = 0; i < 20; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append("{\"from\":\"user").append(i).append("\",\"to\":\"user").append(i + 1)
+                        .append("\",\"message\":\"hello from message wall #").append(i).append("\"}");
+            }
+            json.append(']');
+            route("GET", "/message", 200, "application/json;charset=utf8", json.toString());
+            return route("POST", "/message", 200, null, null);
+        }
+
+        /** 博客替身：/art/detail、/art/listbypage、/art/incr-rcount，响应为 AjaxResult 格式 */
+        public Builder blog() {
+            String article = "{\"id\":1,\"title\":\"Java 11 HttpClient\",\"content\":\""
+                    + "x".repeat(2048) + "\",\"uid\":1,\"rcount\":42}";
+            StringBuilder page = new StringBuilder("{\"code\":200,\"msg\":\"\",\"data\":{\"list\":[");
+            for (int i = 0; i < 10; i++) {
+                if (i > 0) {
+                    page.append(',');
+                }
+                page.append("{\"id\":").append(i + 1).append(",\"title\":\"article ").append(i + 1)
+                        .append("\",\"content\":\"").append("y".repeat(200)).append("\"}");
+            }
+            page.append("],\"size\":10}}");
+            route("POST", "/art/detail", 200, "application/json", "{\"code\":200,\"msg\":\"\",\"data\":" + article + "}");
+            route("GET", "/art/detail", 200, "application/json", "{\"code\":200,\"msg\":\"\",\"data\":" + article + "}");
+            route("GET", "/art/listbypage", 200, "application/json", page.toString());
+            return route("POST", "/art/incr-rcount", 200, "application/json", "{\"code\":200,\"msg\":\"\",\"data\":1}");
+        }
+
+        /** 启动服务器 */
+        public StandInServer start() {
+            if (routes.isEmpty()) {
+                throw new IllegalStateException("至少需要注册一个路由");
+            }
+            try {
+                return new StandInServer(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException("替身服务器启动失败", e);
+            }
+        }
+    }
+
+    /** 实际监听的端口 */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /** 本服务器上某个路径的完整地址，例如 uri("/message?id=1") */
+    public URI uri(String pathAndQuery) {
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + getPort() + pathAndQuery);
+    }
+
+    /** 已处理的请求数（含 404 / 405） */
+    public long requestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(HttpExchange exchange, Map<String, Route> byMethod, long serviceNanos) throws IOException {
+        requestCount.incrementAndGet();
+        try (InputStream in = exchange.getRequestBody()) {
+            in.transferTo(OutputStream.nullOutputStream()); // 读完请求体，连接才能复用
+        }
+        if (!exchange.getRequestURI().getPath().equals(exchange.getHttpContext().getPath())) {
+            send(exchange, 404, null, new byte[0]);
+            return;
+        }
+        Route route = byMethod.get(exchange.getRequestMethod());
+        if (route == null) {
+            send(exchange, 405, null, new byte[0]);
+            return;
+        }
+        if (serviceNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(serviceNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        send(exchange, route.status, route.contentType, route.body);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        // 长度为 0 时必须传 -1，否则 HttpServer 会使用分块编码
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            exchange.getResponseBody().write(body);
+        }
+        exchange.close();
+    }
+
+    /** 固定响应 */
+    private static final class Route {
+        final int status;
+        final String contentType;
+        final byte[] body;
+
+        Route(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+    }
+}
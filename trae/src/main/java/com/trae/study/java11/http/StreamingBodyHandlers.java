@@ -0,0 +1,89 @@
+package com.trae.study.java11.http;
+
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.zip.CRC32;
+
+/**
+ * 流式响应体处理器：边接收边处理 ByteBuffer，不把响应体拼成 String / byte[]
+ *
+ * BodyHandlers.ofString() 会把整个响应体缓冲后再解码，压测时每个请求都产生一份响应体大小的垃圾，
+ * 分配与 GC 会反过来拉高客户端自己测到的延迟。压测只关心"收完了没有"或"内容对不对"时：
+ * - {@link #discarding()}：直接丢弃（JDK 的 BodyHandlers.discarding()）；
+ * - {@link #counting()}：只统计字节数；
+ * - {@link #checksum()}：计算 CRC32，用于校验响应内容是否符合预期。
+ */
+public final class StreamingBodyHandlers {
+
+    private StreamingBodyHandlers() {
+    }
+
+    public static HttpResponse.BodyHandler<Void> discarding() {
+        return HttpResponse.BodyHandlers.discarding();
+    }
+
+    /** 响应体字节数 */
+    public static HttpResponse.BodyHandler<Long> counting() {
+        return info -> HttpResponse.BodySubscribers.fromSubscriber(new DigestingSubscriber(false),
+                DigestingSubscriber::bytes);
+    }
+
+    /** 响应体的 CRC32 */
+    public static HttpResponse.BodyHandler<Long> checksum() {
+        return info -> HttpResponse.BodySubscribers.fromSubscriber(new DigestingSubscriber(true),
+                DigestingSubscriber::checksum);
+    }
+
+    /** 与 {@link #checksum()} 结果一致的 CRC32，用于计算期望值 */
+    public static long checksumOf(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body, 0, body.length);
+        return crc.getValue();
+    }
+
+    /**
+     * 逐块消费响应体：请求全部数据（HttpClient 内部按块回压），收到的 ByteBuffer 处理完即释放
+     */
+    private static final class DigestingSubscriber implements Flow.Subscriber<List<ByteBuffer>> {
+        private final CRC32 crc;
+        private long bytes;
+
+        DigestingSubscriber(boolean checksum) {
+            this.crc = checksum ? new CRC32() : null;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            for (ByteBuffer buffer : buffers) {
+                bytes += buffer.remaining();
+                if (crc != null) {
+                    crc.update(buffer);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            // 异常由 HttpClient 通过 CompletableFuture 传递给调用方
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        long bytes() {
+            return bytes;
+        }
+
+        long checksum() {
+            return crc.getValue();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.trae.study.java11.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 使用可复用直接缓冲区的 UTF-8 写入器
+ *
+ * 与 Files.writeString 的区别：
+ * - writeString 先把整个字符串编码成一个 byte[]（大小约等于文件大小），再写出；
+ *   这里边编码边写入固定大小的直接缓冲区，满了就 FileChannel.write，堆上不产生与文件大小相关的分配；
+ * - 直接缓冲区写入 FileChannel 时不需要再复制到 JDK 内部的临时直接缓冲区（堆缓冲区需要）；
+ * - 缓冲区可以由调用方传入，多个文件依次写入时复用同一块内存（直接缓冲区分配和回收都比较昂贵）。
+ *
+ * 说明：
+ * - 字符按 UTF-8 手工编码，ASCII 走单字节快速路径；不成对的代理字符写为 '?'（与 String#getBytes 一致）；
+ * - close() 会 flush 并关闭文件，但不释放调用方传入的缓冲区；非线程安全。
+ *
+ * 用法示例：
+ * <pre>
+ * ByteBuffer buffer = ByteBuffer.allocateDirect(1 &lt;&lt; 20);
+ * try (DirectBufferedWriter writer = DirectBufferedWriter.open(path, buffer)) {
+ *     for (Record r : records) {
+ *         writer.write(r.getId()).write(",").writeLine(r.getName());
+ *     }
+ * }
+ * </pre>
+ */
+public final class DirectBufferedWriter implements Closeable, Flushable {
+
+    /** 默认缓冲区大小 */
+    public static final int DEFAULT_BUFFER_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long bytesWritten;
+    /** 上一次 write 以高代理结尾时暂存，等待下一次 write 的低代理 */
+    private char pendingHighSurrogate;
+
+    private DirectBufferedWriter(FileChannel channel, ByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /** 创建或截断文件，使用新分配的 1MB 直接缓冲区 */
+    public static DirectBufferedWriter open(Path file) throws IOException {
+        return open(file, ByteBuffer.allocateDirect(DEFAULT_BUFFER_BYTES));
+    }
+
+    /**
+     * 创建或截断文件
+     * @param buffer 复用的缓冲区（建议为直接缓冲区），至少 4 字节，写入前会被 clear
+     */
+    public static DirectBufferedWriter open(Path file, ByteBuffer buffer) throws IOException {
+        if (buffer == null || buffer.capacity() < 4) {
+            throw new IllegalArgumentException("缓冲区至少需要 4 字节");
+        }
+        if (buffer.isReadOnly()) {
+            throw new IllegalArgumentException("缓冲区不能是只读的");
+        }
+        buffer.clear();
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        return new DirectBufferedWriter(channel, buffer);
+    }
+
+    public DirectBufferedWriter write(CharSequence text) throws IOException {
+        return write(text, 0, text.length());
+    }
+
+    /** 写入 text[start, end) */
+    public DirectBufferedWriter write(CharSequence text, int start, int end) throws IOException {
+        if (start < 0 || end > text.length() || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + text.length());
+        }
+        ByteBuffer buf = buffer;
+        int i = start;
+        if (pendingHighSurrogate != 0 && i < end) {
+            char low = text.charAt(i);
+            if (Character.isLowSurrogate(low)) {
+                i++;
+            }
+            writeCodePoint(Character.isLowSurrogate(low)
+                    ? Character.toCodePoint(pendingHighSurrogate, low) : '?');
+            pendingHighSurrogate = 0;
+        }
+        while (i < end) {
+            // ASCII 快速路径：只检查一次剩余空间
+            int asciiEnd = Math.min(end, i + buf.remaining());
+            while (i < asciiEnd) {
+                char c = text.charAt(i);
+                if (c >= 0x80) {
+                    break;
+                }
+                buf.put((byte) c);
+                i++;
+            }
+            if (i == end) {
+                break;
+            }
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                drain(); // 缓冲区满
+                continue;
+            }
+            i++;
+            if (Character.isHighSurrogate(c)) {
+                if (i == end) {
+                    pendingHighSurrogate = c;
+                    break;
+                }
+                char low = text.charAt(i);
+                if (Character.isLowSurrogate(low)) {
+                    i++;
+                    writeCodePoint(Character.toCodePoint(c, low));
+                } else {
+                    writeCodePoint('?');
+                }
+            } else {
+                writeCodePoint(Character.isLowSurrogate(c) ? '?' : c);
+            }
+        }
+        return this;
+    }
+
+    /** 写入一行（末尾追加 \n） */
+    public DirectBufferedWriter writeLine(CharSequence text) throws IOException {
+        return write(text).newLine();
+    }
+
+    public DirectBufferedWriter newLine() throws IOException {
+        write("\n");
+        return this;
+    }
+
+    /** 写入原始字节 */
+    public DirectBufferedWriter write(byte[] bytes) throws IOException {
+        return write(ByteBuffer.wrap(bytes));
+    }
+
+    /** 写入原始字节，src 会被完全消费 */
+    public DirectBufferedWriter write(ByteBuffer src) throws IOException {
+        flushPendingSurrogate();
+        while (src.hasRemaining()) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int n = Math.min(buffer.remaining(), src.remaining());
+            ByteBuffer part = src.duplicate();
+            part.limit(part.position() + n);
+            buffer.put(part);
+            src.position(src.position() + n);
+        }
+        return this;
+    }
+
+    /** 已写入的字节数（含仍在缓冲区中的部分） */
+    public long bytesWritten() {
+        return bytesWritten + buffer.position();
+    }
+
+    /** 把缓冲区内容写入文件（不调用 force，不保证落盘） */
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushPendingSurrogate();
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeCodePoint(int cp) throws IOException {
+        if (buffer.remaining() < 4) {
+            drain();
+        }
+        if (cp < 0x80) {
+            buffer.put((byte) cp);
+        } else if (cp < 0x800) {
+            buffer.put((byte) (0xC0 | (cp >> 6)));
+            buffer.put((byte) (0x80 | (cp & 0x3F)));
+        } else if (cp < 0x10000) {
+            buffer.put((byte) (0xE0 | (cp >> 12)));
+            buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (cp & 0x3F)));
+        } else {
+            buffer.put((byte) (0xF0 | (cp >> 18)));
+            buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+            buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (cp & 0x3F)));
+        }
+    }
+
+    private void flushPendingSurrogate() throws IOException {
+        if (pendingHighSurrogate != 0) {
+            pendingHighSurrogate = 0;
+            writeCodePoint('?');
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
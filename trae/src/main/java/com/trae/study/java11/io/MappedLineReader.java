@@ -0,0 +1,231 @@
+package com.trae.study.java11.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * 基于内存映射的按行读取器：适合 GB 级 UTF-8 文本，堆内存占用与文件大小无关
+ *
+ * 说明：
+ * - 文件按窗口（默认 256MB）依次映射，下一个窗口从上一个窗口中最后一个不完整行的开头开始，
+ *   因此行不会被窗口切开，文件大小也不受 MappedByteBuffer 2GB 的限制；单行超过窗口大小时抛出 IllegalStateException；
+ * - 行分隔与 BufferedReader#readLine 一致：\n、\r\n、单独的 \r 都算换行，末尾没有换行的最后一行也会返回；
+ * - 回调拿到的 {@link LineView} 是复用的 CharSequence 视图：纯 ASCII 行直接读映射内存，不复制、不解码；
+ *   含多字节字符的行在第一次访问字符时解码到复用的 CharBuffer。视图只在回调内有效，需要保留请调用 toString()；
+ * - 非法 UTF-8 字节替换为 U+FFFD；非线程安全。
+ *
+ * 用法示例：
+ * <pre>
+ * try (MappedLineReader reader = MappedLineReader.open(path)) {
+ *     long lines = reader.forEachLine(line -&gt; {
+ *         if (line.length() &gt; 0 &amp;&amp; line.charAt(0) == '#') { ... }
+ *     });
+ * }
+ * </pre>
+ */
+public final class MappedLineReader implements Closeable {
+
+    /** 默认映射窗口大小 */
+    public static final int DEFAULT_WINDOW_BYTES = 256 << 20;
+
+    private final FileChannel channel;
+    private final int windowBytes;
+    private final LineView view = new LineView();
+
+    private MappedLineReader(FileChannel channel, int windowBytes) {
+        this.channel = channel;
+        this.windowBytes = windowBytes;
+    }
+
+    public static MappedLineReader open(Path file) throws IOException {
+        return open(file, DEFAULT_WINDOW_BYTES);
+    }
+
+    /**
+     * @param file 文件
+     * @param windowBytes 映射窗口大小，也是单行的最大字节数
+     */
+    public static MappedLineReader open(Path file, int windowBytes) throws IOException {
+        if (windowBytes <= 0) {
+            throw new IllegalArgumentException("windowBytes 必须大于0: " + windowBytes);
+        }
+        return new MappedLineReader(FileChannel.open(file, StandardOpenOption.READ), windowBytes);
+    }
+
+    /**
+     * 从文件开头依次回调每一行
+     * @param action 行回调，参数为复用的视图
+     * @return 行数
+     */
+    public long forEachLine(Consumer<? super LineView> action) throws IOException {
+        long size = channel.size();
+        long windowStart = 0;
+        long lineNumber = 0;
+        boolean skipLf = false;
+        while (windowStart < size) {
+            long length = Math.min(windowBytes, size - windowStart);
+            boolean lastWindow = windowStart + length >= size;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+            int limit = (int) length;
+            int lineStart = 0;
+            int i = 0;
+            if (skipLf && window.get(0) == '\n') {
+                lineStart = i = 1; // 上一个窗口以 \r 结尾，与这里的 \n 合起来是一个换行
+            }
+            skipLf = false;
+            int highBits = 0;
+            for (; i < limit; i++) {
+                byte b = window.get(i);
+                if (b == '\n' || b == '\r') {
+                    view.reset(window, lineStart, i - lineStart, highBits >= 0, ++lineNumber);
+                    action.accept(view);
+                    if (b == '\r') {
+                        if (i + 1 < limit) {
+                            if (window.get(i + 1) == '\n') {
+                                i++;
+                            }
+                        } else {
+                            skipLf = true;
+                        }
+                    }
+                    lineStart = i + 1;
+                    highBits = 0;
+                } else {
+                    highBits |= b; // 出现过负数字节（>= 0x80）时符号位为 1
+                }
+            }
+            if (lineStart < limit) {
+                if (lastWindow) {
+                    view.reset(window, lineStart, limit - lineStart, highBits >= 0, ++lineNumber);
+                    action.accept(view);
+                } else if (lineStart == 0) {
+                    throw new IllegalStateException("单行超过映射窗口大小 " + windowBytes
+                            + " 字节，起始偏移 " + windowStart);
+                }
+            }
+            windowStart += lineStart < limit && !lastWindow ? lineStart : length;
+        }
+        view.reset(null, 0, 0, true, 0);
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 一行文本的只读视图（不含换行符）
+     */
+    public static final class LineView implements CharSequence {
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private ByteBuffer window;
+        /** window 的副本，解码时调整 position / limit，每个窗口只创建一次 */
+        private ByteBuffer source;
+        private int offset;
+        private int byteLength;
+        private boolean ascii;
+        private long lineNumber;
+        /** 非 ASCII 行的解码结果，按需扩容并复用 */
+        private CharBuffer decoded = CharBuffer.allocate(256);
+        private boolean decodedValid;
+
+        LineView() {
+        }
+
+        void reset(ByteBuffer window, int offset, int byteLength, boolean ascii, long lineNumber) {
+            if (window != this.window) {
+                this.window = window;
+                this.source = window == null ? null : window.duplicate();
+            }
+            this.offset = offset;
+            this.byteLength = byteLength;
+            this.ascii = ascii;
+            this.lineNumber = lineNumber;
+            this.decodedValid = false;
+        }
+
+        /** 行号，从 1 开始 */
+        public long lineNumber() {
+            return lineNumber;
+        }
+
+        /** 该行的 UTF-8 字节数 */
+        public int byteLength() {
+            return byteLength;
+        }
+
+        /** 是否为纯 ASCII（此时 length() 等于 byteLength()，字符访问不需要解码） */
+        public boolean isAscii() {
+            return ascii;
+        }
+
+        /** 该行原始字节的只读切片（共享映射内存，只在回调内有效） */
+        public ByteBuffer bytes() {
+            ByteBuffer dup = window.duplicate();
+            dup.limit(offset + byteLength).position(offset);
+            return dup.slice().asReadOnlyBuffer();
+        }
+
+        @Override
+        public int length() {
+            return ascii ? byteLength : decoded().remaining();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (ascii) {
+                if (index < 0 || index >= byteLength) {
+                    throw new IndexOutOfBoundsException("index " + index + ", length " + byteLength);
+                }
+                return (char) window.get(offset + index);
+            }
+            return decoded().get(index);
+        }
+
+        /** 返回独立的 String（会复制），可以在回调之外使用 */
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            if (ascii) {
+                byte[] bytes = new byte[byteLength];
+                bytes().get(bytes);
+                return new String(bytes, StandardCharsets.ISO_8859_1);
+            }
+            return decoded().toString();
+        }
+
+        private CharBuffer decoded() {
+            if (!decodedValid) {
+                // UTF-8 每个字节至多产生一个 UTF-16 单元（4 字节序列产生代理对）
+                if (decoded.capacity() < byteLength) {
+                    decoded = CharBuffer.allocate(Math.max(byteLength, decoded.capacity() * 2));
+                }
+                decoded.clear();
+                decoder.reset();
+                source.limit(offset + byteLength).position(offset);
+                decoder.decode(source, decoded, true);
+                decoder.flush(decoded);
+                decoded.flip();
+                decodedValid = true;
+            }
+            return decoded;
+        }
+    }
+}
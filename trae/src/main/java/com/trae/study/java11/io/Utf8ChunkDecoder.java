@@ -0,0 +1,197 @@
+package com.trae.study.java11.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * 分块 UTF-8 解码器：输入按任意边界切开的字节块，输出连续的字符，内存占用固定
+ *
+ * 说明：
+ * - 一个多字节字符（中文 3 字节、emoji 4 字节）可能被块边界切开，尾部不完整的字节暂存在 carry 中，
+ *   与下一块的开头拼起来再解码，因此可以直接喂 FileChannel 的映射窗口或读缓冲；
+ * - 解码结果写入复用的 CharBuffer 后交给 sink，sink 只能在回调内使用该缓冲（需要保留请自行复制）；
+ * - 非法字节序列默认替换为 U+FFFD（与 new String(bytes, UTF_8) 一致），也可以选择报错；
+ * - 非线程安全，一个解码器对应一个输入流。
+ *
+ * 用法示例：
+ * <pre>
+ * Utf8ChunkDecoder decoder = new Utf8ChunkDecoder(8192, false);
+ * while (读到下一块 chunk) {
+ *     decoder.decode(chunk, false, chars -&gt; process(chars));
+ * }
+ * decoder.decode(ByteBuffer.allocate(0), true, chars -&gt; process(chars));
+ * </pre>
+ */
+public final class Utf8ChunkDecoder {
+
+    public static final int DEFAULT_CHAR_BUFFER = 8192;
+    /** 映射窗口默认大小 */
+    public static final int DEFAULT_WINDOW_BYTES = 64 << 20;
+
+    private final CharsetDecoder decoder;
+    private final CharBuffer out;
+    /** 被块边界切开的字符的前几个字节（UTF-8 最长 4 字节） */
+    private final ByteBuffer carry = ByteBuffer.allocate(4);
+    private long charCount;
+
+    public Utf8ChunkDecoder() {
+        this(DEFAULT_CHAR_BUFFER, false);
+    }
+
+    /**
+     * @param charBufferSize 输出缓冲的字符数，每次回调最多交出这么多字符
+     * @param strict true 时遇到非法字节序列抛出 CharacterCodingException，false 时替换为 U+FFFD
+     */
+    public Utf8ChunkDecoder(int charBufferSize, boolean strict) {
+        if (charBufferSize < 2) {
+            throw new IllegalArgumentException("charBufferSize 至少为 2（容纳一个代理对）: " + charBufferSize);
+        }
+        CodingErrorAction action = strict ? CodingErrorAction.REPORT : CodingErrorAction.REPLACE;
+        this.decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(action)
+                .onUnmappableCharacter(action);
+        this.out = CharBuffer.allocate(charBufferSize);
+    }
+
+    /**
+     * 解码一块字节；chunk 会被完全消费
+     * @param chunk 输入块，从 position 到 limit
+     * @param endOfInput 是否为最后一块（之后解码器被重置，可以处理下一个输入）
+     * @param sink 接收解码结果，CharBuffer 已 flip，只在回调内有效
+     */
+    public void decode(ByteBuffer chunk, boolean endOfInput, Consumer<? super CharBuffer> sink)
+            throws CharacterCodingException {
+        if (carry.position() > 0) {
+            completeCarry(chunk, endOfInput, sink);
+        }
+        decodeLoop(chunk, endOfInput && carry.position() == 0, sink);
+        if (chunk.hasRemaining()) {
+            // 尾部不完整的字符，留到下一块
+            carry.put(chunk);
+        }
+        if (endOfInput) {
+            if (carry.position() > 0) {
+                carry.flip();
+                decodeLoop(carry, true, sink);
+                carry.clear();
+            }
+            while (decoder.flush(out).isOverflow()) {
+                drain(sink);
+            }
+            drain(sink);
+            decoder.reset();
+        }
+    }
+
+    /** 已输出的字符总数（UTF-16 单元） */
+    public long charCount() {
+        return charCount;
+    }
+
+    /** 丢弃暂存的字节并重置状态 */
+    public void reset() {
+        decoder.reset();
+        carry.clear();
+        out.clear();
+        charCount = 0;
+    }
+
+    /**
+     * 按映射窗口流式解码整个文件，窗口边界可以落在多字节字符中间
+     * @param file 文件
+     * @param windowBytes 每个映射窗口的字节数
+     * @param sink 接收解码结果，只在回调内有效
+     * @return 字符总数
+     */
+    public static long decodeFile(Path file, int windowBytes, Consumer<? super CharBuffer> sink) throws IOException {
+        if (windowBytes <= 0) {
+            throw new IllegalArgumentException("windowBytes 必须大于0: " + windowBytes);
+        }
+        Utf8ChunkDecoder decoder = new Utf8ChunkDecoder();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(windowBytes, size - position);
+                ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                position += length;
+                decoder.decode(window, position >= size, sink);
+            }
+            if (size == 0) {
+                decoder.decode(ByteBuffer.allocate(0), true, sink);
+            }
+        }
+        return decoder.charCount();
+    }
+
+    /** 从 chunk 取出补全 carry 所需的字节，单独解码这个字符 */
+    private void completeCarry(ByteBuffer chunk, boolean endOfInput, Consumer<? super CharBuffer> sink)
+            throws CharacterCodingException {
+        int expected = sequenceLength(carry.get(0));
+        while (carry.position() < expected && chunk.hasRemaining()) {
+            byte b = chunk.get(chunk.position());
+            if ((b & 0xC0) != 0x80) {
+                break; // 不是续字节：carry 本身就是非法序列，交给解码器按规则处理
+            }
+            carry.put(chunk.get());
+        }
+        if (carry.position() < expected && !chunk.hasRemaining() && !endOfInput) {
+            return; // 块太小，继续等下一块
+        }
+        carry.flip();
+        decodeLoop(carry, false, sink);
+        ByteBuffer rest = carry.slice();
+        carry.clear();
+        if (rest.hasRemaining()) {
+            // 非法的前导字节：按非结束输入无法再消费，作为最后的输入让解码器替换或报错
+            decodeLoop(rest, true, sink);
+            decoder.reset();
+        }
+    }
+
+    private void decodeLoop(ByteBuffer in, boolean endOfInput, Consumer<? super CharBuffer> sink)
+            throws CharacterCodingException {
+        while (true) {
+            CoderResult result = decoder.decode(in, out, endOfInput);
+            if (result.isOverflow()) {
+                drain(sink);
+            } else if (result.isUnderflow()) {
+                return;
+            } else {
+                result.throwException();
+            }
+        }
+    }
+
+    private void drain(Consumer<? super CharBuffer> sink) {
+        if (out.position() == 0) {
+            return;
+        }
+        out.flip();
+        charCount += out.remaining();
+        sink.accept(out);
+        out.clear();
+    }
+
+    /** 由前导字节推算 UTF-8 序列长度，非法前导字节按 1 处理 */
+    static int sequenceLength(byte lead) {
+        int b = lead & 0xFF;
+        if (b < 0xC0) {
+            return 1;
+        }
+        if (b < 0xE0) {
+            return 2;
+        }
+        return b < 0xF0 ? 3 : 4;
+    }
+}
@@ -0,0 +1,230 @@
+package com.trae.study.java11.string;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Latin-1 / ASCII 字节数组上的字符串工具：isBlank、strip、lines、indexOf 直接在 byte[] 上完成，不创建中间 String
+ *
+ * 适用场景：表单字段、请求行、CSV 等以字节形式到达、且大多为 ASCII 的输入。
+ * 先在字节上判空、去空白、切分，只为真正需要的片段创建 String（{@link #toString(byte[], int, int)}）。
+ *
+ * 说明：
+ * - 空白字符与 String#strip / isBlank 一致（Character.isWhitespace）：Latin-1 范围内为 \t \n \u000B \f \r、
+ *   0x1C~0x1F 与空格，全部 &lt;= 0x20；0x85、0xA0 不算空白；
+ * - 行分隔与 String#lines 一致：\n、\r、\r\n，末尾的空行不计；
+ * - isBlank / isAscii / indexOf / 行切分使用 SWAR（SIMD within a register）：通过 VarHandle 一次读取 8 个字节为 long，
+ *   用位运算同时判断 8 个字节，找到命中后由 numberOfTrailingZeros 定位（按小端读取，低位字节即低地址）；
+ * - 字节按 Latin-1 解释；UTF-8 输入只要是纯 ASCII（{@link #isAscii}）结果就与按 UTF-8 解码后的 String 一致，
+ *   多字节字符的字节都 &gt;= 0x80，不会被误判为空白或分隔符，因此切分结果同样正确。
+ *
+ * 用法示例：
+ * <pre>
+ * int start = Latin1Strings.stripStart(body, from, to);
+ * int end = Latin1Strings.stripEnd(body, start, to);
+ * if (start == end) { 字段为空 } else { String value = Latin1Strings.toString(body, start, end); }
+ * </pre>
+ */
+public final class Latin1Strings {
+
+    private Latin1Strings() {}
+
+    /** 按小端读取 long，与平台字节序无关 */
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+    private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+    /** 加上后 (b &amp; 0x7F) &gt; 0x20 的字节最高位变为 1 */
+    private static final long ABOVE_SPACE = 0x5F5F5F5F5F5F5F5FL;
+    private static final long LF_WORD = ONES * '\n';
+    private static final long CR_WORD = ONES * '\r';
+    private static final long SPACES = ONES * ' ';
+
+    /** 第 i 位为 1 表示字节 i 是空白（0 ~ 0x20） */
+    private static final long WHITESPACE_MASK = 0x1_F000_3E00L;
+
+    /** 行回调：[start, end) 为一行的字节范围（不含换行符） */
+    @FunctionalInterface
+    public interface LineConsumer {
+        void accept(byte[] bytes, int start, int end);
+    }
+
+    /** Latin-1 字节是否为空白 */
+    public static boolean isWhitespace(byte b) {
+        int v = b & 0xFF;
+        return v <= 0x20 && ((WHITESPACE_MASK >>> v) & 1) != 0;
+    }
+
+    public static boolean isBlank(byte[] bytes) {
+        return isBlank(bytes, 0, bytes.length);
+    }
+
+    /** [from, to) 是否为空或全部为空白，等价于 toString(bytes, from, to).isBlank() */
+    public static boolean isBlank(byte[] bytes, int from, int to) {
+        Objects.checkFromToIndex(from, to, bytes.length);
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long word = (long) LONGS.get(bytes, i);
+            // 任意字节 > 0x20（含 >= 0x80）即不是空白
+            if (((((word & LOW7) + ABOVE_SPACE) | word) & HIGHS) != 0) {
+                return false;
+            }
+            if (word == SPACES) {
+                continue; // 最常见的情况：8 个空格
+            }
+            for (int k = 0; k < Long.BYTES; k++) {
+                if (((WHITESPACE_MASK >>> ((word >>> (k << 3)) & 0xFF)) & 1) == 0) {
+                    return false; // 0x00 ~ 0x08、0x0E ~ 0x1B 等控制字符
+                }
+            }
+        }
+        for (; i < to; i++) {
+            if (!isWhitespace(bytes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 第一个非空白字节的下标，全部为空白时返回 to（对应 String#stripLeading） */
+    public static int stripStart(byte[] bytes, int from, int to) {
+        Objects.checkFromToIndex(from, to, bytes.length);
+        while (from < to && isWhitespace(bytes[from])) {
+            from++;
+        }
+        return from;
+    }
+
+    /** 最后一个非空白字节的下标 + 1，全部为空白时返回 from（对应 String#stripTrailing） */
+    public static int stripEnd(byte[] bytes, int from, int to) {
+        Objects.checkFromToIndex(from, to, bytes.length);
+        while (to > from && isWhitespace(bytes[to - 1])) {
+            to--;
+        }
+        return to;
+    }
+
+    /** 去掉首尾空白后创建 String，等价于 toString(bytes, from, to).strip()，但只复制保留的部分 */
+    public static String strip(byte[] bytes, int from, int to) {
+        int start = stripStart(bytes, from, to);
+        return toString(bytes, start, stripEnd(bytes, start, to));
+    }
+
+    /** 按 Latin-1 创建 String（紧凑字符串下只复制一次，不需要解码） */
+    public static String toString(byte[] bytes, int from, int to) {
+        Objects.checkFromToIndex(from, to, bytes.length);
+        return from == to ? "" : new String(bytes, from, to - from, StandardCharsets.ISO_8859_1);
+    }
+
+    /** [from, to) 是否全部为 ASCII（&lt; 0x80） */
+    public static boolean isAscii(byte[] bytes, int from, int to) {
+        Objects.checkFromToIndex(from, to, bytes.length);
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            if (((long) LONGS.get(bytes, i) & HIGHS) != 0) {
+                return false;
+            }
+        }
+        for (; i < to; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** target 在 [from, to) 中第一次出现的下标，不存在返回 -1 */
+    public static int indexOf(byte[] bytes, int from, int to, byte target) {
+        Objects.checkFromToIndex(from, to, bytes.length);
+        long pattern = ONES * (target & 0xFF);
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long matches = zeroBytes((long) LONGS.get(bytes, i) ^ pattern);
+            if (matches != 0) {
+                return i + (Long.numberOfTrailingZeros(matches) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            if (bytes[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** 下一个 \n 或 \r 的下标，不存在返回 -1 */
+    public static int indexOfLineBreak(byte[] bytes, int from, int to) {
+        Objects.checkFromToIndex(from, to, bytes.length);
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long word = (long) LONGS.get(bytes, i);
+            long matches = zeroBytes(word ^ LF_WORD) | zeroBytes(word ^ CR_WORD);
+            if (matches != 0) {
+                return i + (Long.numberOfTrailingZeros(matches) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            byte b = bytes[i];
+            if (b == '\n' || b == '\r') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 按行切分 [from, to)，语义与 String#lines 一致
+     * @return 行数
+     */
+    public static int forEachLine(byte[] bytes, int from, int to, LineConsumer action) {
+        Objects.checkFromToIndex(from, to, bytes.length);
+        Objects.requireNonNull(action, "action");
+        int count = 0;
+        int start = from;
+        while (start < to) {
+            int br = indexOfLineBreak(bytes, start, to);
+            if (br < 0) {
+                action.accept(bytes, start, to);
+                return count + 1;
+            }
+            action.accept(bytes, start, br);
+            count++;
+            start = br + 1;
+            if (bytes[br] == '\r' && start < to && bytes[start] == '\n') {
+                start++;
+            }
+        }
+        return count;
+    }
+
+    /** 行数，等价于 String#lines().count() */
+    public static int lineCount(byte[] bytes, int from, int to) {
+        Objects.checkFromToIndex(from, to, bytes.length);
+        int count = 0;
+        int start = from;
+        while (start < to) {
+            int br = indexOfLineBreak(bytes, start, to);
+            count++;
+            if (br < 0) {
+                break;
+            }
+            start = br + 1;
+            if (bytes[br] == '\r' && start < to && bytes[start] == '\n') {
+                start++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 值为 0 的字节最高位置 1。借位只会向高位传播，所以最低的置位一定是真正的 0 字节，
+     * 配合 numberOfTrailingZeros 可以精确定位第一个命中（更高位可能有误报，这里不使用）。
+     */
+    private static long zeroBytes(long x) {
+        return (x - ONES) & ~x & HIGHS;
+    }
+}
@@ -1,6 +1,7 @@
 package com.trae.study.java8;
 
 import com.trae.study.dto.BenchmarkResultDTO;
+import com.trae.study.java8.lambda.RuleChain;
 import com.trae.study.util.StopWatchUtil;
 
 import java.util.*;
@@ -181,6 +182,32 @@ public class LambdaDemo {
         System.out.println("-5 不是正数: " + isNotPositive.test(-5));
     }
     
+    /**
+     * 演示规则链：RuleChain 与 Predicate.and 语义相同，但 build() 为每个节点生成独立的类，
+     * 规则引擎中大量规则链共存时，节点内部的调用点仍保持 monomorphic
+     */
+    public void demonstrateRuleChain() {
+        System.out.println("\n=== 规则链（RuleChain）===");
+        
+        Predicate<Integer> isPositive = n -> n > 0;
+        Predicate<Integer> isEven = n -> n % 2 == 0;
+        Predicate<Integer> isSmall = n -> n < 100;
+        
+        // 等价于 isPositive.and(isEven.negate()).and(isSmall.or(n -> n % 1000 == 1))
+        Predicate<Integer> rules = RuleChain.<Integer>builder()
+            .require(isPositive)
+            .reject(isEven)
+            .anyOf(isSmall, n -> n % 1000 == 1)
+            .build();
+        
+        List<Integer> candidates = Arrays.asList(-3, 4, 7, 99, 150, 1001);
+        List<Integer> matched = candidates.stream().filter(rules).collect(Collectors.toList());
+        System.out.println("候选值: " + candidates);
+        System.out.println("规则链匹配: " + matched);
+        System.out.println("节点类: " + rules.getClass().getName() + "（加载器: "
+            + rules.getClass().getClassLoader().getClass().getSimpleName() + "）");
+    }
+    
     /**
      * 自定义函数式接口演示
      */
@@ -275,6 +302,7 @@ public class LambdaDemo {
         demonstrateMethodReferences();
         demonstrateLambdaWithCollections();
         demonstrateFunctionComposition();
+        demonstrateRuleChain();
         demonstrateCustomFunctionalInterface();
         
         BenchmarkResultDTO result = benchmarkLambdaPerformance();
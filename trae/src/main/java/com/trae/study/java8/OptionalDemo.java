@@ -2,6 +2,9 @@ package com.trae.study.java8;
 
 import cn.hutool.core.util.StrUtil;
 import com.trae.study.dto.BenchmarkResultDTO;
+import com.trae.study.java8.optional.Maybe;
+import com.trae.study.java8.optional.MaybeInt;
+import com.trae.study.java8.optional.MaybeLong;
 import com.trae.study.util.StopWatchUtil;
 
 import java.util.*;
@@ -405,6 +408,31 @@ public class OptionalDemo {
         return "来自 " + source + " 的默认值";
     }
     
+    /**
+     * 演示不分配的 Maybe 工具：null 即为空的静态方法，以及 MaybeInt / MaybeLong 基本类型特化
+     */
+    public void demonstrateMaybe() {
+        System.out.println("\n=== Maybe（不分配的 Optional 风格）演示 ===");
+
+        // 1. 引用：Optional 链的每一步都会创建新的 Optional，Maybe 直接传递可空引用
+        User alice = new User("Alice", "alice@example.com", 25, new Address("北京", "朝阳区", "100000"));
+        User bob = new User("Bob", "bob@example.com", null);
+        String name = Maybe.orElse(Maybe.map(Maybe.filter(alice, u -> u.getAge() != null), User::getName), "匿名");
+        System.out.println("Maybe.filter + map: " + name);
+        String city = Maybe.orElse(Maybe.map(Maybe.fromOptional(bob.getAddress()), Address::getCity), "未知");
+        System.out.println("无地址用户的城市: " + city);
+
+        // 2. MaybeInt：Integer 字段拆箱后编码在 long 里，后续 map / filter 不装箱
+        long age = MaybeInt.ofNullable(alice.getAge());
+        long nextYear = MaybeInt.filter(MaybeInt.map(age, a -> a + 1), a -> a >= 18);
+        System.out.println("明年年龄: " + MaybeInt.toString(nextYear));
+        System.out.println("Bob 的年龄: " + MaybeInt.orElse(MaybeInt.ofNullable(bob.getAge()), -1));
+
+        // 3. MaybeLong：以 Long.MIN_VALUE 为空值哨兵
+        long zip = Maybe.mapToLong(Maybe.fromOptional(alice.getAddress()), a -> Long.parseLong(a.getZipCode()));
+        System.out.println("邮编: " + MaybeLong.toString(zip) + " -> " + MaybeLong.toOptional(zip));
+    }
+
     /**
      * Optional 性能基准测试
      */
@@ -456,9 +484,23 @@ public class OptionalDemo {
                 return count;
             });
             
+            // 4. Maybe 静态方法（不创建 Optional）
+            long maybeTime = StopWatchUtil.measureTime(() -> {
+                int count = 0;
+                for (int i = 0; i < iterations; i++) {
+                    for (String data : testData) {
+                        if (Maybe.isPresent(processWithMaybe(data))) {
+                            count++;
+                        }
+                    }
+                }
+                return count;
+            });
+
             System.out.println("传统null检查耗时: " + traditionalTime + "ms");
             System.out.println("Optional方式耗时: " + optionalTime + "ms");
             System.out.println("Optional函数式耗时: " + functionalTime + "ms");
+            System.out.println("Maybe方式耗时: " + maybeTime + "ms");
             System.out.println("Optional相对传统方式倍数: " + String.format("%.2f", (double) optionalTime / traditionalTime));
             System.out.println("函数式相对传统方式倍数: " + String.format("%.2f", (double) functionalTime / traditionalTime));
             
@@ -466,10 +508,12 @@ public class OptionalDemo {
             metrics.put("传统null检查耗时(ms)", traditionalTime);
             metrics.put("Optional方式耗时(ms)", optionalTime);
             metrics.put("Optional函数式耗时(ms)", functionalTime);
+            metrics.put("Maybe方式耗时(ms)", maybeTime);
             metrics.put("迭代次数", iterations);
             metrics.put("测试数据量", testData.size());
             metrics.put("Optional相对传统倍数", String.format("%.2f", (double) optionalTime / traditionalTime));
             metrics.put("函数式相对传统倍数", String.format("%.2f", (double) functionalTime / traditionalTime));
+            metrics.put("Maybe相对传统倍数", String.format("%.2f", (double) maybeTime / traditionalTime));
             
             return metrics;
         });
@@ -494,6 +538,13 @@ public class OptionalDemo {
             .map(String::toUpperCase);
     }
     
+    /**
+     * Maybe 方式处理，与 processWithOptional 语义相同
+     */
+    private String processWithMaybe(String input) {
+        return Maybe.map(Maybe.filter(input, s -> !s.trim().isEmpty()), String::toUpperCase);
+    }
+    
     /**
      * 模拟根据 ID 查找用户
      */
@@ -576,6 +627,7 @@ public class OptionalDemo {
         demonstrateConditionalOperations();
         demonstrateOptionalWithCollections();
         demonstrateBestPractices();
+        demonstrateMaybe();
         
         // 性能测试
         BenchmarkResultDTO result = benchmarkOptionalPerformance();
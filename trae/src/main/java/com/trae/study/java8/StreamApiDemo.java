@@ -1,9 +1,16 @@
 package com.trae.study.java8;
 
 import com.trae.study.dto.BenchmarkResultDTO;
+import com.trae.study.java8.stream.GroupAggregator;
+import com.trae.study.java8.stream.GroupResult;
+import com.trae.study.java8.stream.IntPipeline;
+import com.trae.study.java8.stream.ParallelStreamRunner;
+import com.trae.study.util.AllocationSampler;
 import com.trae.study.util.StopWatchUtil;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.*;
 import java.math.BigDecimal;
@@ -342,8 +349,63 @@ public class StreamApiDemo {
         // 并行流的线程安全问题演示
         System.out.println("\n并行流线程信息:");
         Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8).parallelStream()
-              .forEach(n -> System.out.println("处理 " + n + " 的线程: " + 
+              .forEach(n -> System.out.println("处理 " + n + " 的线程: " +
                                               Thread.currentThread().getName()));
+
+        // 专用线程池：重量级查询不再占用公共池
+        System.out.println("\n专用 ForkJoinPool 中的并行流:");
+        try (ParallelStreamRunner reports = ParallelStreamRunner.builder()
+                .name("report").parallelism(2).minSplit(50_000).build()) {
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            long isolatedTime = StopWatchUtil.measureTask("专用池并行流求和", () -> {
+                return reports.query(largeList, s -> s
+                        .peek(n -> threads.add(Thread.currentThread().getName()))
+                        .filter(n -> n % 2 == 0)
+                        .mapToLong(n -> n * n)
+                        .sum());
+            });
+            System.out.println("专用池耗时: " + isolatedTime + "ms, 参与线程: " + new TreeSet<>(threads));
+
+            // 公共池被重量级查询占满时，轻量查询的耗时对比
+            int[] light = IntStream.range(0, 200_000).toArray();
+            long sharedLatency = lightQueryLatencyUnderLoad(light, heavy ->
+                    heavy.parallelStream().mapToDouble(n -> Math.sqrt(n) * Math.log(n + 1)).sum(), largeList);
+            long isolatedLatency = lightQueryLatencyUnderLoad(light, heavy ->
+                    reports.query(heavy, s -> s.mapToDouble(n -> Math.sqrt(n) * Math.log(n + 1)).sum()), largeList);
+            System.out.println("重量级查询在公共池时，轻量查询耗时: " + sharedLatency + "ms");
+            System.out.println("重量级查询在专用池时，轻量查询耗时: " + isolatedLatency + "ms");
+        }
+    }
+
+    /**
+     * 后台线程反复执行重量级查询，同时在公共池上执行一次轻量并行查询，返回轻量查询耗时（毫秒）
+     */
+    private long lightQueryLatencyUnderLoad(int[] light, Function<List<Integer>, Double> heavyQuery,
+                                            List<Integer> heavyData) {
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread background = new Thread(() -> {
+            while (running.get()) {
+                heavyQuery.apply(heavyData);
+            }
+        }, "heavy-report");
+        background.setDaemon(true);
+        background.start();
+        try {
+            Thread.sleep(50); // 让重量级查询先占住线程
+            return StopWatchUtil.measureTask("负载下的轻量查询", () -> {
+                return IntStream.of(light).parallel().filter(n -> (n & 1) == 0).asLongStream().sum();
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } finally {
+            running.set(false);
+            try {
+                background.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
     }
     
     /**
@@ -396,10 +458,29 @@ public class StreamApiDemo {
                 System.out.println("    " + gender + ": " + studentList.size() + "人");
             });
         });
+
+        // 5. 单次遍历的分组聚合：每个专业一个固定大小的累加器，不构建 Map<K, List<T>>
+        GroupAggregator<Student, String> byMajor = GroupAggregator.<Student, String>groupingBy(Student::getMajor)
+            .stats("分数", Student::getScore)
+            .distinct("姓名", Student::getName)
+            .percentiles("分数", Student::getScore)
+            .build();
+        Map<String, GroupResult> report = students.parallelStream().collect(byMajor.toCollector());
+        System.out.println("单次遍历分组聚合（专业）:");
+        new TreeMap<>(report).forEach((major, group) -> {
+            DoubleSummaryStatistics stats = group.stats("分数");
+            System.out.println("  " + major + ": 人数=" + group.getCount()
+                + ", 平均分=" + String.format("%.2f", stats.getAverage())
+                + ", 最高分=" + stats.getMax()
+                + ", 不同姓名≈" + group.distinct("姓名")
+                + ", 中位数≈" + String.format("%.2f", group.percentile("分数", 0.5)));
+        });
     }
     
     /**
      * Stream 性能基准测试
+     * 对比传统循环、Stream、并行 Stream 与融合的 IntPipeline 四种方式，
+     * 除耗时外，记录各方式的分配字节数（并行流需统计所有线程）以及整个测试期间的 GC 次数与耗时。
      */
     public BenchmarkResultDTO benchmarkStreamPerformance() {
         System.out.println("\n=== Stream 性能基准测试 ===");
@@ -407,8 +488,10 @@ public class StreamApiDemo {
         List<Integer> data = IntStream.range(1, 1000000)
                                     .boxed()
                                     .collect(Collectors.toList());
+        AllocationSampler total = AllocationSampler.start(AllocationSampler.Scope.ALL_THREADS);
         
         // 传统 for 循环
+        AllocationSampler traditionalAlloc = AllocationSampler.start(AllocationSampler.Scope.ALL_THREADS);
         long traditionalTime = StopWatchUtil.measureTask("传统for循环", () -> {
             List<Integer> result = new ArrayList<>();
             for (Integer num : data) {
@@ -418,8 +501,10 @@ public class StreamApiDemo {
             }
             return result.size();
         });
+        long traditionalBytes = traditionalAlloc.stop().getAllocatedBytes();
         
         // Stream API
+        AllocationSampler streamAlloc = AllocationSampler.start(AllocationSampler.Scope.ALL_THREADS);
         long streamTime = StopWatchUtil.measureTask("Stream API", () -> {
             return data.stream()
                       .filter(n -> n % 2 == 0)
@@ -428,8 +513,10 @@ public class StreamApiDemo {
                       .collect(Collectors.toList())
                       .size();
         });
+        long streamBytes = streamAlloc.stop().getAllocatedBytes();
         
         // 并行 Stream
+        AllocationSampler parallelAlloc = AllocationSampler.start(AllocationSampler.Scope.ALL_THREADS);
         long parallelStreamTime = StopWatchUtil.measureTask("并行Stream", () -> {
             return data.parallelStream()
                       .filter(n -> n % 2 == 0)
@@ -438,19 +525,41 @@ public class StreamApiDemo {
                       .collect(Collectors.toList())
                       .size();
         });
+        long parallelBytes = parallelAlloc.stop().getAllocatedBytes();
+        
+        // IntPipeline：int[] 数据源 + 融合的 filter/map 内核，全程不装箱（数组转换不计入耗时）
+        int[] primitiveData = data.stream().mapToInt(Integer::intValue).toArray();
+        IntPipeline pipeline = IntPipeline.of(primitiveData)
+                .filter(n -> n % 2 == 0)
+                .filter(n -> n > 100)
+                .map(n -> n * n);
+        AllocationSampler pipelineAlloc = AllocationSampler.start(AllocationSampler.Scope.ALL_THREADS);
+        long pipelineTime = StopWatchUtil.measureTask("IntPipeline", () -> pipeline.toArray().length);
+        long pipelineBytes = pipelineAlloc.stop().getAllocatedBytes();
+        AllocationSampler.Usage usage = total.stop();
+        
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("传统for循环耗时(ms)", traditionalTime);
+        metrics.put("Stream API耗时(ms)", streamTime);
+        metrics.put("并行Stream耗时(ms)", parallelStreamTime);
+        metrics.put("IntPipeline耗时(ms)", pipelineTime);
+        metrics.put("数据量", data.size());
+        metrics.put("Stream相对传统循环倍数", String.format("%.2f", (double)streamTime / traditionalTime));
+        metrics.put("并行Stream相对传统循环倍数", String.format("%.2f", (double)parallelStreamTime / traditionalTime));
+        metrics.put("IntPipeline相对传统循环倍数", String.format("%.2f", (double)pipelineTime / traditionalTime));
+        metrics.put("传统for循环分配(B/元素)", traditionalBytes < 0 ? null : (double) traditionalBytes / data.size());
+        metrics.put("Stream API分配(B/元素)", streamBytes < 0 ? null : (double) streamBytes / data.size());
+        metrics.put("并行Stream分配(B/元素)", parallelBytes < 0 ? null : (double) parallelBytes / data.size());
+        metrics.put("IntPipeline分配(B/元素)", pipelineBytes < 0 ? null : (double) pipelineBytes / data.size());
         
         return BenchmarkResultDTO.builder()
                 .testName("Stream API 性能对比")
-                .description("传统循环 vs Stream API vs 并行Stream")
+                .description("传统循环 vs Stream API vs 并行Stream vs IntPipeline")
                 .executionTimeMs(streamTime)
-                .additionalMetrics(Map.of(
-                    "传统for循环耗时(ms)", traditionalTime,
-                    "Stream API耗时(ms)", streamTime,
-                    "并行Stream耗时(ms)", parallelStreamTime,
-                    "数据量", data.size(),
-                    "Stream相对传统循环倍数", String.format("%.2f", (double)streamTime / traditionalTime),
-                    "并行Stream相对传统循环倍数", String.format("%.2f", (double)parallelStreamTime / traditionalTime)
-                ))
+                .additionalMetrics(metrics)
+                .allocBytesPerOp(usage.bytesPerOp(4L * data.size()))
+                .gcCount(usage.getGcCount())
+                .gcTimeMs(usage.getGcTimeMs())
                 .build();
     }
     
@@ -0,0 +1,181 @@
+package com.trae.study.java8.lambda;
+
+import com.trae.study.util.ClassSpecializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * 规则链构建器：把多条规则组合为一个 Predicate，并为每个节点生成独立的类
+ *
+ * 与 p1.and(p2).and(p3) 的区别：
+ * - Predicate.and 返回的 lambda 在 JDK 中只有一个类，其中的 test 调用点被系统中所有 and 组合共享，
+ *   规则引擎里几十条规则链一跑，这个调用点就见过几十种 lambda，变成 megamorphic，只能走虚调用；
+ * - build() 借助 {@link ClassSpecializer} 为每个节点复制出独立的类，节点里的 rule / next 调用点只见过
+ *   "自己那一条链"上的一种类型，保持 monomorphic，JIT 可以把整条链内联成一段直线代码；
+ * - 每个节点只有一层（and 的嵌套写法每次组合多包一层 lambda），require / reject / anyOf 都不额外创建 lambda。
+ *
+ * 用法示例：
+ * <pre>
+ * Predicate&lt;Order&gt; vip = RuleChain.&lt;Order&gt;builder()
+ *     .require(o -&gt; o.getAmount() &gt;= 1000)
+ *     .reject(Order::isRefunded)
+ *     .anyOf(o -&gt; o.getLevel() &gt;= 3, Order::isEmployee)
+ *     .build();
+ * </pre>
+ *
+ * 注意：build() 每个节点会创建一个 ClassLoader 与一个类，适合"构建一次、反复使用"的热点规则链
+ * （如启动时加载的规则集）；临时组合的规则请使用 buildShared()。
+ */
+public final class RuleChain {
+
+    private RuleChain() {}
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /** 单个 AND 节点的描述：anyOf 时 alternatives 有多个元素 */
+    private static final class RuleSpec {
+        private final List<Predicate<?>> alternatives;
+        private final boolean expected;
+
+        RuleSpec(List<Predicate<?>> alternatives, boolean expected) {
+            this.alternatives = alternatives;
+            this.expected = expected;
+        }
+    }
+
+    /**
+     * 构建器：按添加顺序依次求值，任一节点不满足即短路返回 false。
+     */
+    public static final class Builder<T> {
+        private final List<RuleSpec> rules = new ArrayList<>();
+
+        /** 必须满足的规则 */
+        public Builder<T> require(Predicate<? super T> rule) {
+            return addRule(List.of(Objects.requireNonNull(rule)), true);
+        }
+
+        /** 必须不满足的规则（相当于 require(rule.negate())，但不额外包一层 lambda） */
+        public Builder<T> reject(Predicate<? super T> rule) {
+            return addRule(List.of(Objects.requireNonNull(rule)), false);
+        }
+
+        /** 至少满足其中一条规则，按顺序求值并短路 */
+        @SafeVarargs
+        public final Builder<T> anyOf(Predicate<? super T>... alternatives) {
+            if (alternatives == null || alternatives.length == 0) {
+                throw new IllegalArgumentException("anyOf 至少需要一条规则");
+            }
+            List<Predicate<?>> list = new ArrayList<>(alternatives.length);
+            for (Predicate<? super T> alternative : alternatives) {
+                list.add(Objects.requireNonNull(alternative));
+            }
+            return addRule(list, true);
+        }
+
+        /** 构建特化规则链：每个节点拥有独立的类 */
+        public Predicate<T> build() {
+            return assemble(true);
+        }
+
+        /** 构建共享实现的规则链：不生成新类，适合短生命周期的规则 */
+        public Predicate<T> buildShared() {
+            return assemble(false);
+        }
+
+        /** 已添加的 AND 节点数 */
+        public int size() {
+            return rules.size();
+        }
+
+        private Builder<T> addRule(List<Predicate<?>> alternatives, boolean expected) {
+            rules.add(new RuleSpec(alternatives, expected));
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Predicate<T> assemble(boolean specialize) {
+            if (rules.isEmpty()) {
+                throw new IllegalStateException("至少需要一条规则");
+            }
+            // 从最后一个节点向前拼接，next 为 null 表示链尾
+            Predicate<?> next = null;
+            for (int i = rules.size() - 1; i >= 0; i--) {
+                RuleSpec spec = rules.get(i);
+                Predicate<?> rule = spec.alternatives.size() == 1
+                        ? spec.alternatives.get(0)
+                        : anyOfNode(spec.alternatives, specialize);
+                next = newNode(AndNode.class, new Class<?>[]{Predicate.class, boolean.class, Predicate.class},
+                        new Object[]{rule, spec.expected, next}, specialize);
+            }
+            return (Predicate<T>) next;
+        }
+
+        private static Predicate<?> anyOfNode(List<Predicate<?>> alternatives, boolean specialize) {
+            Predicate<?> next = null;
+            for (int i = alternatives.size() - 1; i >= 0; i--) {
+                next = newNode(OrNode.class, new Class<?>[]{Predicate.class, Predicate.class},
+                        new Object[]{alternatives.get(i), next}, specialize);
+            }
+            return next;
+        }
+
+        private static Predicate<?> newNode(Class<?> template, Class<?>[] types, Object[] args, boolean specialize) {
+            if (specialize) {
+                return (Predicate<?>) ClassSpecializer.newSpecializedInstance(template, types, args);
+            }
+            try {
+                return (Predicate<?>) template.getConstructor(types).newInstance(args);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("规则节点构造失败", e);
+            }
+        }
+    }
+
+    // ===================== 节点模板 =====================
+    // 以下类会被 ClassSpecializer 复制，因此必须是 public、只引用 public 类型，且不访问外部类私有成员。
+
+    /** AND 节点：rule 的结果等于 expected 时继续求值 next */
+    public static final class AndNode<T> implements Predicate<T> {
+        private final Predicate<? super T> rule;
+        private final boolean expected;
+        private final Predicate<? super T> next;
+
+        public AndNode(Predicate<? super T> rule, boolean expected, Predicate<? super T> next) {
+            this.rule = rule;
+            this.expected = expected;
+            this.next = next;
+        }
+
+        @Override
+        public boolean test(T t) {
+            if (rule.test(t) != expected) {
+                return false;
+            }
+            return next == null || next.test(t);
+        }
+    }
+
+    /** OR 节点：rule 不满足时继续求值 next */
+    public static final class OrNode<T> implements Predicate<T> {
+        private final Predicate<? super T> rule;
+        private final Predicate<? super T> next;
+
+        public OrNode(Predicate<? super T> rule, Predicate<? super T> next) {
+            this.rule = rule;
+            this.next = next;
+        }
+
+        @Override
+        public boolean test(T t) {
+            if (rule.test(t)) {
+                return true;
+            }
+            return next != null && next.test(t);
+        }
+    }
+}
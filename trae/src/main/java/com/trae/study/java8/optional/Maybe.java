@@ -0,0 +1,109 @@
+package com.trae.study.java8.optional;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 以"可空引用"表示的 Optional：null 即为空，其余即为有值，全部操作都是静态方法
+ *
+ * Optional 的每一步 map / filter / flatMap 都会创建一个新的 Optional 对象，是否能消除取决于逃逸分析
+ * （调用链被内联且对象不逃逸时才能标量替换）。本类不引入包装对象，有值路径上：
+ * - 不分配：值本身在各步之间直接传递；传入的 lambda 若不捕获变量，JVM 会复用同一个实例；
+ * - 方法体都很短（一个判空加一次调用），远低于 JIT 的内联阈值，关闭逃逸分析时也不会退化。
+ *
+ * 代价是写法从链式变为嵌套，建议在热点的 DTO 映射代码中使用，业务代码仍优先使用 Optional 的可读性：
+ * <pre>
+ * // Optional.ofNullable(user).map(User::getAddress).map(Address::getCity).orElse("未知")
+ * String city = Maybe.orElse(Maybe.map(Maybe.map(user, User::getAddress), Address::getCity), "未知");
+ * </pre>
+ *
+ * 与 Optional 的差异：map 的函数返回 null 时结果为空（与 Optional.map 一致），
+ * flatMap 的函数直接返回可空引用；无法表示"有值且值为 null"。
+ */
+public final class Maybe {
+
+    private Maybe() {
+    }
+
+    public static boolean isPresent(Object value) {
+        return value != null;
+    }
+
+    public static boolean isEmpty(Object value) {
+        return value == null;
+    }
+
+    /** 有值时映射，空值或映射结果为 null 时返回 null */
+    public static <T, R> R map(T value, Function<? super T, ? extends R> mapper) {
+        return value == null ? null : mapper.apply(value);
+    }
+
+    /** 与 map 相同，mapper 本身返回可空引用，语义上对应 Optional.flatMap */
+    public static <T, R> R flatMap(T value, Function<? super T, ? extends R> mapper) {
+        return value == null ? null : mapper.apply(value);
+    }
+
+    /** 有值且满足条件时保留，否则返回 null */
+    public static <T> T filter(T value, Predicate<? super T> predicate) {
+        return value != null && predicate.test(value) ? value : null;
+    }
+
+    public static <T> T orElse(T value, T other) {
+        return value != null ? value : other;
+    }
+
+    /** 空值时才调用 supplier */
+    public static <T> T orElseGet(T value, Supplier<? extends T> supplier) {
+        return value != null ? value : supplier.get();
+    }
+
+    public static <T, X extends Throwable> T orElseThrow(T value, Supplier<? extends X> exceptionSupplier) throws X {
+        if (value == null) {
+            throw exceptionSupplier.get();
+        }
+        return value;
+    }
+
+    /** 空值时返回另一个可空引用，对应 Optional.or */
+    public static <T> T or(T value, Supplier<? extends T> supplier) {
+        return value != null ? value : supplier.get();
+    }
+
+    public static <T> void ifPresent(T value, Consumer<? super T> action) {
+        if (value != null) {
+            action.accept(value);
+        }
+    }
+
+    public static <T> void ifPresentOrElse(T value, Consumer<? super T> action, Runnable emptyAction) {
+        if (value != null) {
+            action.accept(value);
+        } else {
+            emptyAction.run();
+        }
+    }
+
+    /** 映射为 {@link MaybeInt}，不装箱 */
+    public static <T> long mapToInt(T value, ToIntFunction<? super T> mapper) {
+        return value == null ? MaybeInt.EMPTY : MaybeInt.of(mapper.applyAsInt(value));
+    }
+
+    /** 映射为 {@link MaybeLong}，不装箱；映射结果为 Long.MIN_VALUE 时视为空 */
+    public static <T> long mapToLong(T value, ToLongFunction<? super T> mapper) {
+        return value == null ? MaybeLong.EMPTY : mapper.applyAsLong(value);
+    }
+
+    public static <T> Optional<T> toOptional(T value) {
+        return Optional.ofNullable(value);
+    }
+
+    /** 从 Optional 转换，optional 本身为 null 时视为空 */
+    public static <T> T fromOptional(Optional<T> optional) {
+        return optional == null ? null : optional.orElse(null);
+    }
+}
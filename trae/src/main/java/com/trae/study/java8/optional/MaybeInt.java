@@ -0,0 +1,122 @@
+package com.trae.study.java8.optional;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * 不分配的 OptionalInt：把"是否有值 + int 值"编码在一个 long 里，全部操作都是静态方法
+ *
+ * 编码：第 32 位为有值标记，低 32 位为值，{@link #EMPTY} = 0。任意 int（包括 0 和负数）都可以表示，
+ * 编码后的 long 可以放进局部变量、字段和数组，传递时不装箱、不分配。
+ * OptionalInt 没有 map / filter，Optional&lt;Integer&gt; 的每一步都要装箱并创建新 Optional，本类两者都不需要：
+ * <pre>
+ * long age = MaybeInt.ofNullable(dto.getAge());          // Integer -&gt; MaybeInt
+ * long next = MaybeInt.filter(MaybeInt.map(age, a -&gt; a + 1), a -&gt; a &gt;= 18);
+ * int result = MaybeInt.orElse(next, -1);
+ * </pre>
+ *
+ * 注意：编码值只能由本类的方法产生和解释，不要对它做算术运算，也不要与普通 long 混用。
+ */
+public final class MaybeInt {
+
+    /** 空值 */
+    public static final long EMPTY = 0L;
+
+    private static final long PRESENT = 1L << 32;
+    private static final long VALUE_MASK = 0xFFFF_FFFFL;
+
+    private MaybeInt() {
+    }
+
+    public static long of(int value) {
+        return PRESENT | (value & VALUE_MASK);
+    }
+
+    /** null 为空，其余拆箱后编码 */
+    public static long ofNullable(Integer value) {
+        return value == null ? EMPTY : of(value);
+    }
+
+    public static boolean isPresent(long maybe) {
+        return (maybe & PRESENT) != 0;
+    }
+
+    public static boolean isEmpty(long maybe) {
+        return (maybe & PRESENT) == 0;
+    }
+
+    /**
+     * 取值
+     * @throws NoSuchElementException 为空时
+     */
+    public static int get(long maybe) {
+        if (isEmpty(maybe)) {
+            throw new NoSuchElementException("MaybeInt 为空");
+        }
+        return (int) maybe;
+    }
+
+    public static long map(long maybe, IntUnaryOperator mapper) {
+        return isPresent(maybe) ? of(mapper.applyAsInt((int) maybe)) : EMPTY;
+    }
+
+    /** mapper 返回另一个 MaybeInt 编码值 */
+    public static long flatMap(long maybe, IntToLongFunction mapper) {
+        return isPresent(maybe) ? mapper.applyAsLong((int) maybe) : EMPTY;
+    }
+
+    public static long filter(long maybe, IntPredicate predicate) {
+        return isPresent(maybe) && predicate.test((int) maybe) ? maybe : EMPTY;
+    }
+
+    public static int orElse(long maybe, int other) {
+        return isPresent(maybe) ? (int) maybe : other;
+    }
+
+    public static int orElseGet(long maybe, IntSupplier supplier) {
+        return isPresent(maybe) ? (int) maybe : supplier.getAsInt();
+    }
+
+    public static <X extends Throwable> int orElseThrow(long maybe, Supplier<? extends X> exceptionSupplier) throws X {
+        if (isEmpty(maybe)) {
+            throw exceptionSupplier.get();
+        }
+        return (int) maybe;
+    }
+
+    public static void ifPresent(long maybe, IntConsumer action) {
+        if (isPresent(maybe)) {
+            action.accept((int) maybe);
+        }
+    }
+
+    /** 映射为可空引用（见 {@link Maybe}） */
+    public static <R> R mapToObj(long maybe, IntFunction<? extends R> mapper) {
+        return isPresent(maybe) ? mapper.apply((int) maybe) : null;
+    }
+
+    /** 映射为 {@link MaybeLong}；映射结果为 Long.MIN_VALUE 时视为空 */
+    public static long mapToLong(long maybe, IntToLongFunction mapper) {
+        return isPresent(maybe) ? mapper.applyAsLong((int) maybe) : MaybeLong.EMPTY;
+    }
+
+    public static OptionalInt toOptional(long maybe) {
+        return isPresent(maybe) ? OptionalInt.of((int) maybe) : OptionalInt.empty();
+    }
+
+    public static long fromOptional(OptionalInt optional) {
+        return optional.isPresent() ? of(optional.getAsInt()) : EMPTY;
+    }
+
+    /** 调试用：MaybeInt[42] 或 MaybeInt.empty */
+    public static String toString(long maybe) {
+        return isPresent(maybe) ? "MaybeInt[" + (int) maybe + "]" : "MaybeInt.empty";
+    }
+}
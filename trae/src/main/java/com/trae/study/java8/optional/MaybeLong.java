@@ -0,0 +1,119 @@
+package com.trae.study.java8.optional;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * 不分配的 OptionalLong：以 Long.MIN_VALUE 作为空值哨兵，其余 long 即为有值，全部操作都是静态方法
+ *
+ * 与 {@link MaybeInt} 不同，64 位值没有多余的位可以存放标记，因此牺牲 Long.MIN_VALUE 这一个值
+ * （与 IntPipeline 中内核的 REJECT 哨兵相同的取舍）：
+ * - {@link #of(long)} 传入 Long.MIN_VALUE 会抛出 IllegalArgumentException；
+ * - map 的结果恰好为 Long.MIN_VALUE 时视为空。
+ * ID、时间戳、金额（分）等业务字段不会取到该值，适合 DTO 映射。
+ */
+public final class MaybeLong {
+
+    /** 空值哨兵 */
+    public static final long EMPTY = Long.MIN_VALUE;
+
+    private MaybeLong() {
+    }
+
+    public static long of(long value) {
+        if (value == EMPTY) {
+            throw new IllegalArgumentException("Long.MIN_VALUE 是 MaybeLong 的空值哨兵，不能作为值");
+        }
+        return value;
+    }
+
+    /** null 为空，其余拆箱 */
+    public static long ofNullable(Long value) {
+        return value == null ? EMPTY : of(value);
+    }
+
+    public static boolean isPresent(long maybe) {
+        return maybe != EMPTY;
+    }
+
+    public static boolean isEmpty(long maybe) {
+        return maybe == EMPTY;
+    }
+
+    /**
+     * 取值
+     * @throws NoSuchElementException 为空时
+     */
+    public static long get(long maybe) {
+        if (maybe == EMPTY) {
+            throw new NoSuchElementException("MaybeLong 为空");
+        }
+        return maybe;
+    }
+
+    /** 有值时映射；映射结果为 Long.MIN_VALUE 时视为空 */
+    public static long map(long maybe, LongUnaryOperator mapper) {
+        return maybe != EMPTY ? mapper.applyAsLong(maybe) : EMPTY;
+    }
+
+    /** mapper 返回另一个 MaybeLong（可以返回 {@link #EMPTY}） */
+    public static long flatMap(long maybe, LongUnaryOperator mapper) {
+        return maybe != EMPTY ? mapper.applyAsLong(maybe) : EMPTY;
+    }
+
+    public static long filter(long maybe, LongPredicate predicate) {
+        return maybe != EMPTY && predicate.test(maybe) ? maybe : EMPTY;
+    }
+
+    public static long orElse(long maybe, long other) {
+        return maybe != EMPTY ? maybe : other;
+    }
+
+    public static long orElseGet(long maybe, LongSupplier supplier) {
+        return maybe != EMPTY ? maybe : supplier.getAsLong();
+    }
+
+    public static <X extends Throwable> long orElseThrow(long maybe, Supplier<? extends X> exceptionSupplier) throws X {
+        if (maybe == EMPTY) {
+            throw exceptionSupplier.get();
+        }
+        return maybe;
+    }
+
+    public static void ifPresent(long maybe, LongConsumer action) {
+        if (maybe != EMPTY) {
+            action.accept(maybe);
+        }
+    }
+
+    /** 映射为可空引用（见 {@link Maybe}） */
+    public static <R> R mapToObj(long maybe, LongFunction<? extends R> mapper) {
+        return maybe != EMPTY ? mapper.apply(maybe) : null;
+    }
+
+    /** 映射为 {@link MaybeInt} */
+    public static long mapToInt(long maybe, LongToIntFunction mapper) {
+        return maybe != EMPTY ? MaybeInt.of(mapper.applyAsInt(maybe)) : MaybeInt.EMPTY;
+    }
+
+    public static OptionalLong toOptional(long maybe) {
+        return maybe != EMPTY ? OptionalLong.of(maybe) : OptionalLong.empty();
+    }
+
+    /** OptionalLong 中的 Long.MIN_VALUE 无法表示，会抛出 IllegalArgumentException */
+    public static long fromOptional(OptionalLong optional) {
+        return optional.isPresent() ? of(optional.getAsLong()) : EMPTY;
+    }
+
+    /** 调试用：MaybeLong[42] 或 MaybeLong.empty */
+    public static String toString(long maybe) {
+        return maybe != EMPTY ? "MaybeLong[" + maybe + "]" : "MaybeLong.empty";
+    }
+}
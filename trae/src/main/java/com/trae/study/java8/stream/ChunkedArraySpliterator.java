@@ -0,0 +1,183 @@
+package com.trae.study.java8.stream;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * 按块切分的数组 / 随机访问列表 Spliterator
+ *
+ * 与 Arrays.spliterator / ArrayList.spliterator 的区别：
+ * - 切分点对齐到 chunkSize 的整数倍（相对当前起点），剩余不足两个块时不再切分，
+ *   叶子任务至少处理一个完整块，不会像默认实现那样一路切到很小的区间、让任务调度开销盖过计算本身；
+ * - 每次切分都是精确的，两半都报告 SIZED | SUBSIZED，下游 toArray / collect 可以预分配并直接写入目标位置。
+ *
+ * 列表版本要求实现 RandomAccess，大小在创建时确定，遍历期间不要对列表做结构性修改。
+ */
+public class ChunkedArraySpliterator<T> implements Spliterator<T> {
+
+    private final List<T> list;
+    private final int chunkSize;
+    private int index;
+    private final int fence;
+
+    /** 以数组为数据源（不复制） */
+    public ChunkedArraySpliterator(T[] array, int chunkSize) {
+        this(Arrays.asList(array), 0, array.length, chunkSize);
+    }
+
+    /** 以随机访问列表为数据源（不复制） */
+    public ChunkedArraySpliterator(List<T> list, int chunkSize) {
+        this(requireRandomAccess(list), 0, list.size(), chunkSize);
+    }
+
+    ChunkedArraySpliterator(List<T> list, int origin, int fence, int chunkSize) {
+        this.list = list;
+        this.index = origin;
+        this.fence = fence;
+        this.chunkSize = requirePositive(chunkSize);
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        long mid = splitPoint(index, fence, chunkSize);
+        if (mid < 0) {
+            return null;
+        }
+        Spliterator<T> prefix = new ChunkedArraySpliterator<>(list, index, (int) mid, chunkSize);
+        index = (int) mid;
+        return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(list.get(index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        int i = index;
+        int hi = fence;
+        index = hi;
+        for (; i < hi; i++) {
+            action.accept(list.get(i));
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * int[] 版本，全程不装箱
+     */
+    public static final class OfInt implements Spliterator.OfInt {
+
+        private final int[] array;
+        private final int chunkSize;
+        private int index;
+        private final int fence;
+
+        public OfInt(int[] array, int chunkSize) {
+            this(array, 0, array.length, chunkSize);
+        }
+
+        public OfInt(int[] array, int from, int to, int chunkSize) {
+            if (from < 0 || to > array.length || from > to) {
+                throw new IllegalArgumentException("区间越界: [" + from + ", " + to + "), 数组长度 " + array.length);
+            }
+            this.array = array;
+            this.index = from;
+            this.fence = to;
+            this.chunkSize = requirePositive(chunkSize);
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            long mid = splitPoint(index, fence, chunkSize);
+            if (mid < 0) {
+                return null;
+            }
+            Spliterator.OfInt prefix = new ChunkedArraySpliterator.OfInt(array, index, (int) mid, chunkSize);
+            index = (int) mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            Objects.requireNonNull(action);
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(array[index++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            Objects.requireNonNull(action);
+            int[] a = array;
+            int i = index;
+            int hi = fence;
+            index = hi;
+            for (; i < hi; i++) {
+                action.accept(a[i]);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
+    /**
+     * 块对齐的切分点：剩余不足两个块时返回 -1，否则取最靠近中间的块边界
+     */
+    static long splitPoint(long lo, long hi, int chunkSize) {
+        long chunks = (hi - lo) / chunkSize;
+        if (chunks < 2) {
+            return -1;
+        }
+        return lo + (chunks >>> 1) * chunkSize;
+    }
+
+    static int requirePositive(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize 必须大于0: " + chunkSize);
+        }
+        return chunkSize;
+    }
+
+    private static <T> List<T> requireRandomAccess(List<T> list) {
+        if (!(list instanceof RandomAccess)) {
+            throw new IllegalArgumentException("列表需要支持随机访问: " + list.getClass().getName());
+        }
+        return list;
+    }
+}
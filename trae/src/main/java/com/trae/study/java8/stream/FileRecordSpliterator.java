@@ -0,0 +1,239 @@
+package com.trae.study.java8.stream;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * 定长记录文件的 Spliterator
+ *
+ * 记录数 = 文件长度 / recordSize，切分按记录下标进行（对齐到 chunkSize 条记录），因此大小是精确的，
+ * 两半都报告 SIZED | SUBSIZED。相比 Files.lines（大小未知，只能按缓冲批次退化切分），
+ * 并行流可以一开始就把文件均匀地分给各个工作线程。
+ *
+ * 说明：
+ * - 每个子 Spliterator 使用 FileChannel 的定位读 read(ByteBuffer, position) 读取自己的区间，
+ *   不共享文件指针，多个工作线程可以并发读取同一个通道；
+ * - 读取以缓冲区为单位（约 64KB），decoder 从缓冲区当前位置解码一条记录，之后位置总是前进 recordSize 字节；
+ * - 文件长度在创建时确定，末尾不足一条记录的字节被忽略；遍历期间文件被截断会抛出 UncheckedIOException；
+ * - 已开始遍历（缓冲区中还有未消费的记录）后 trySplit 返回 null；
+ * - 不负责关闭通道，由创建者在流关闭时关闭（参见 ParallelStreamRunner#records）。
+ */
+public class FileRecordSpliterator<T> implements Spliterator<T> {
+
+    /** 单个叶子的读缓冲大小 */
+    static final int BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private final int recordSize;
+    private final int chunkSize;
+    private final ByteOrder order;
+    private final Function<ByteBuffer, ? extends T> decoder;
+    private long index;
+    private final long fence;
+    private ByteBuffer buffer;
+
+    /**
+     * @param channel 只读通道
+     * @param recordSize 每条记录的字节数
+     * @param chunkSize 最小切分粒度（记录数）
+     * @param order 字节序，DataOutputStream 写出的文件为 BIG_ENDIAN
+     * @param decoder 从缓冲区当前位置解码一条记录
+     */
+    public FileRecordSpliterator(FileChannel channel, int recordSize, int chunkSize, ByteOrder order,
+                                 Function<ByteBuffer, ? extends T> decoder) throws IOException {
+        this(channel, requireRecordSize(recordSize), chunkSize, order, decoder, 0, channel.size() / recordSize);
+    }
+
+    private FileRecordSpliterator(FileChannel channel, int recordSize, int chunkSize, ByteOrder order,
+                                  Function<ByteBuffer, ? extends T> decoder, long origin, long fence) {
+        this.channel = channel;
+        this.recordSize = recordSize;
+        this.chunkSize = ChunkedArraySpliterator.requirePositive(chunkSize);
+        this.order = Objects.requireNonNull(order);
+        this.decoder = Objects.requireNonNull(decoder);
+        this.index = origin;
+        this.fence = fence;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (buffer != null && buffer.hasRemaining()) {
+            return null;
+        }
+        long mid = ChunkedArraySpliterator.splitPoint(index, fence, chunkSize);
+        if (mid < 0) {
+            return null;
+        }
+        Spliterator<T> prefix = new FileRecordSpliterator<>(channel, recordSize, chunkSize, order, decoder,
+                index, mid);
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        if (index >= fence) {
+            return false;
+        }
+        if (buffer == null || !buffer.hasRemaining()) {
+            buffer = fill(channel, buffer, index, fence, recordSize, order);
+        }
+        action.accept(decode());
+        index++;
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        while (index < fence) {
+            if (buffer == null || !buffer.hasRemaining()) {
+                buffer = fill(channel, buffer, index, fence, recordSize, order);
+            }
+            while (buffer.hasRemaining()) {
+                action.accept(decode());
+                index++;
+            }
+        }
+    }
+
+    private T decode() {
+        int start = buffer.position();
+        T value = decoder.apply(buffer);
+        buffer.position(start + recordSize);
+        return value;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+
+    /**
+     * 4 字节 int 记录文件的版本，全程不装箱
+     */
+    public static final class OfInt implements Spliterator.OfInt {
+
+        private final FileChannel channel;
+        private final int chunkSize;
+        private final ByteOrder order;
+        private long index;
+        private final long fence;
+        private ByteBuffer buffer;
+
+        public OfInt(FileChannel channel, int chunkSize, ByteOrder order) throws IOException {
+            this(channel, chunkSize, order, 0, channel.size() / Integer.BYTES);
+        }
+
+        private OfInt(FileChannel channel, int chunkSize, ByteOrder order, long origin, long fence) {
+            this.channel = channel;
+            this.chunkSize = ChunkedArraySpliterator.requirePositive(chunkSize);
+            this.order = Objects.requireNonNull(order);
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            if (buffer != null && buffer.hasRemaining()) {
+                return null;
+            }
+            long mid = ChunkedArraySpliterator.splitPoint(index, fence, chunkSize);
+            if (mid < 0) {
+                return null;
+            }
+            Spliterator.OfInt prefix = new FileRecordSpliterator.OfInt(channel, chunkSize, order, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            Objects.requireNonNull(action);
+            if (index >= fence) {
+                return false;
+            }
+            if (buffer == null || !buffer.hasRemaining()) {
+                buffer = fill(channel, buffer, index, fence, Integer.BYTES, order);
+            }
+            action.accept(buffer.getInt());
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            Objects.requireNonNull(action);
+            while (index < fence) {
+                if (buffer == null || !buffer.hasRemaining()) {
+                    buffer = fill(channel, buffer, index, fence, Integer.BYTES, order);
+                }
+                ByteBuffer b = buffer;
+                long consumed = b.remaining() / Integer.BYTES;
+                while (b.hasRemaining()) {
+                    action.accept(b.getInt());
+                }
+                index += consumed;
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
+    /**
+     * 从记录 index 开始读满一个缓冲区（不超过 fence），返回已 flip、可直接读取的缓冲区
+     */
+    static ByteBuffer fill(FileChannel channel, ByteBuffer buffer, long index, long fence,
+                           int recordSize, ByteOrder order) {
+        int records = (int) Math.min(fence - index, Math.max(1, BUFFER_BYTES / recordSize));
+        int bytes = records * recordSize;
+        if (buffer == null || buffer.capacity() < bytes) {
+            buffer = ByteBuffer.allocate(bytes).order(order);
+        }
+        buffer.clear().limit(bytes);
+        long position = index * recordSize;
+        try {
+            while (buffer.hasRemaining()) {
+                int n = channel.read(buffer, position);
+                if (n < 0) {
+                    throw new EOFException("文件在读取期间被截断，位置 " + position);
+                }
+                position += n;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static int requireRecordSize(int recordSize) {
+        if (recordSize <= 0) {
+            throw new IllegalArgumentException("recordSize 必须大于0: " + recordSize);
+        }
+        return recordSize;
+    }
+}
@@ -0,0 +1,286 @@
+package com.trae.study.java8.stream;
+
+import com.trae.study.util.HyperLogLog;
+import com.trae.study.util.TDigest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * 单次遍历的分组聚合：每个分组一个固定大小的累加器，元素到达即聚合，不保留元素本身
+ *
+ * groupingBy(key, toList()) 之后再逐组计算，会先构建 Map&lt;K, List&lt;T&gt;&gt;，内存与行数成正比；
+ * 本类在一次遍历中同时计算多个指标，内存只与分组数成正比：
+ * - count：分组元素个数；
+ * - stats：数值字段的 count / sum / min / max / average（DoubleSummaryStatistics，带补偿求和）；
+ * - distinct：HyperLogLog 估计的不同值个数，每组 2^p 字节（默认 p = 12，4KB，标准误差约 1.6%）；
+ * - percentiles：t-digest 估计的任意分位数，每组不超过约 20KB（默认 δ = 100），数据少时按需增长。
+ *
+ * 并行流：
+ * - {@link #toCollector()}：每个叶子任务一张局部 Map，combiner 逐组合并累加器（HLL 取寄存器最大值，t-digest 合并质心），
+ *   分组数较多、热点不集中时首选；
+ * - {@link #toConcurrentCollector()}：所有线程写同一个 ConcurrentHashMap，每组累加器加锁更新（与 groupingByConcurrent 相同），
+ *   省去合并开销，但少数热点分组会产生锁竞争。
+ *
+ * 用法示例：
+ * <pre>
+ * GroupAggregator&lt;Order, String&gt; byRegion = GroupAggregator.&lt;Order, String&gt;groupingBy(Order::getRegion)
+ *     .stats("amount", Order::getAmount)
+ *     .distinctLong("customers", Order::getCustomerId)
+ *     .percentiles("amount", Order::getAmount)
+ *     .build();
+ * Map&lt;String, GroupResult&gt; report = orders.parallelStream().collect(byRegion.toCollector());
+ * double p99 = report.get("华东").percentile("amount", 0.99);
+ * </pre>
+ */
+public final class GroupAggregator<T, K> {
+
+    public static final int DEFAULT_HLL_PRECISION = 12;
+
+    private final Function<? super T, ? extends K> classifier;
+    private final List<String> statNames;
+    private final List<ToDoubleFunction<? super T>> statFunctions;
+    private final List<String> distinctNames;
+    private final List<DistinctField<T>> distinctFields;
+    private final List<String> percentileNames;
+    private final List<ToDoubleFunction<? super T>> percentileFunctions;
+    private final int hllPrecision;
+    private final double compression;
+
+    private GroupAggregator(Builder<T, K> builder) {
+        this.classifier = builder.classifier;
+        this.statNames = new ArrayList<>(builder.stats.keySet());
+        this.statFunctions = new ArrayList<>(builder.stats.values());
+        this.distinctNames = new ArrayList<>(builder.distinct.keySet());
+        this.distinctFields = new ArrayList<>(builder.distinct.values());
+        this.percentileNames = new ArrayList<>(builder.percentiles.keySet());
+        this.percentileFunctions = new ArrayList<>(builder.percentiles.values());
+        this.hllPrecision = builder.hllPrecision;
+        this.compression = builder.compression;
+    }
+
+    /**
+     * @param classifier 分组键，不能返回 null
+     */
+    public static <T, K> Builder<T, K> groupingBy(Function<? super T, ? extends K> classifier) {
+        return new Builder<>(Objects.requireNonNull(classifier));
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder<T, K> {
+        private final Function<? super T, ? extends K> classifier;
+        private final Map<String, ToDoubleFunction<? super T>> stats = new LinkedHashMap<>();
+        private final Map<String, DistinctField<T>> distinct = new LinkedHashMap<>();
+        private final Map<String, ToDoubleFunction<? super T>> percentiles = new LinkedHashMap<>();
+        private int hllPrecision = DEFAULT_HLL_PRECISION;
+        private double compression = TDigest.DEFAULT_COMPRESSION;
+
+        private Builder(Function<? super T, ? extends K> classifier) {
+            this.classifier = classifier;
+        }
+
+        /** 数值字段的 count / sum / min / max / average */
+        public Builder<T, K> stats(String name, ToDoubleFunction<? super T> field) {
+            put(stats, name, field);
+            return this;
+        }
+
+        /** 近似去重计数（HyperLogLog），field 返回 null 的元素不计入 */
+        public Builder<T, K> distinct(String name, Function<? super T, ?> field) {
+            Objects.requireNonNull(field, "field");
+            put(distinct, name, (sketch, element) -> sketch.add(field.apply(element)));
+            return this;
+        }
+
+        /** 近似去重计数（HyperLogLog），long 字段不装箱 */
+        public Builder<T, K> distinctLong(String name, ToLongFunction<? super T> field) {
+            Objects.requireNonNull(field, "field");
+            put(distinct, name, (sketch, element) -> sketch.add(field.applyAsLong(element)));
+            return this;
+        }
+
+        /** 分位数（t-digest），field 返回 NaN 的元素不计入 */
+        public Builder<T, K> percentiles(String name, ToDoubleFunction<? super T> field) {
+            put(percentiles, name, field);
+            return this;
+        }
+
+        /** HyperLogLog 精度 p，每组每个 distinct 指标占 2^p 字节 */
+        public Builder<T, K> hllPrecision(int precision) {
+            if (precision < HyperLogLog.MIN_PRECISION || precision > HyperLogLog.MAX_PRECISION) {
+                throw new IllegalArgumentException("precision 需在 [" + HyperLogLog.MIN_PRECISION + ", "
+                        + HyperLogLog.MAX_PRECISION + "]: " + precision);
+            }
+            this.hllPrecision = precision;
+            return this;
+        }
+
+        /** t-digest 压缩参数 δ，越大越精确、占用越多 */
+        public Builder<T, K> compression(double compression) {
+            if (!(compression >= 10 && compression <= 10_000)) {
+                throw new IllegalArgumentException("compression 需在 [10, 10000]: " + compression);
+            }
+            this.compression = compression;
+            return this;
+        }
+
+        public GroupAggregator<T, K> build() {
+            return new GroupAggregator<>(this);
+        }
+
+        private static <F> void put(Map<String, F> target, String name, F field) {
+            if (name == null || name.isEmpty()) throw new IllegalArgumentException("指标名称不能为空");
+            Objects.requireNonNull(field, "field");
+            if (target.putIfAbsent(name, field) != null) {
+                throw new IllegalArgumentException("指标名称重复: " + name);
+            }
+        }
+    }
+
+    // ===================== Collector =====================
+
+    /**
+     * 分组聚合收集器：并行时每个叶子任务一张局部 Map，由 combiner 合并
+     */
+    public Collector<T, ?, Map<K, GroupResult>> toCollector() {
+        Supplier<Map<K, Accumulator>> supplier = HashMap::new;
+        Function<K, Accumulator> factory = k -> new Accumulator(); // 提到外面，避免每个元素创建一个捕获 lambda
+        BiConsumer<Map<K, Accumulator>, T> accumulator = (map, element) ->
+                map.computeIfAbsent(keyOf(element), factory).add(element);
+        BinaryOperator<Map<K, Accumulator>> combiner = (left, right) -> {
+            right.forEach((key, acc) -> left.merge(key, acc, Accumulator::merge));
+            return left;
+        };
+        return Collector.of(supplier, accumulator, combiner, this::finish, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * 并发分组聚合收集器：所有线程写同一个 ConcurrentHashMap，每组累加器加锁更新
+     */
+    public Collector<T, ?, Map<K, GroupResult>> toConcurrentCollector() {
+        Supplier<ConcurrentHashMap<K, Accumulator>> supplier = ConcurrentHashMap::new;
+        Function<K, Accumulator> factory = k -> new Accumulator();
+        BiConsumer<ConcurrentHashMap<K, Accumulator>, T> accumulator = (map, element) -> {
+            K key = keyOf(element);
+            Accumulator acc = map.get(key);
+            if (acc == null) {
+                acc = map.computeIfAbsent(key, factory);
+            }
+            synchronized (acc) {
+                acc.add(element);
+            }
+        };
+        // 并发归约不会调用 combiner，这里只为满足 Collector 约定（例如顺序流或自定义的归约实现）
+        BinaryOperator<ConcurrentHashMap<K, Accumulator>> combiner = (left, right) -> {
+            right.forEach((key, acc) -> left.merge(key, acc, Accumulator::merge));
+            return left;
+        };
+        return Collector.of(supplier, accumulator, combiner, this::finish,
+                Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * 不分组，整个流聚合为一个结果（classifier 被忽略）
+     */
+    public Collector<T, ?, GroupResult> summarizing() {
+        return Collector.of(Accumulator::new, Accumulator::add, Accumulator::merge, Accumulator::finish,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    private K keyOf(T element) {
+        return Objects.requireNonNull(classifier.apply(element), "分组键不能为 null");
+    }
+
+    private Map<K, GroupResult> finish(Map<K, Accumulator> accumulators) {
+        Map<K, GroupResult> results = new HashMap<>(Math.max(16, accumulators.size() * 4 / 3 + 1));
+        accumulators.forEach((key, acc) -> results.put(key, acc.finish()));
+        return results;
+    }
+
+    /** 把元素的某个字段加入 HyperLogLog */
+    private interface DistinctField<T> {
+        void addTo(HyperLogLog sketch, T element);
+    }
+
+    /**
+     * 单个分组的累加器，大小固定（与元素个数无关）
+     */
+    private final class Accumulator {
+        private long count;
+        private final DoubleSummaryStatistics[] stats = new DoubleSummaryStatistics[statNames.size()];
+        private final HyperLogLog[] sketches = new HyperLogLog[distinctNames.size()];
+        private final TDigest[] digests = new TDigest[percentileNames.size()];
+
+        Accumulator() {
+            for (int i = 0; i < stats.length; i++) {
+                stats[i] = new DoubleSummaryStatistics();
+            }
+            for (int i = 0; i < sketches.length; i++) {
+                sketches[i] = new HyperLogLog(hllPrecision);
+            }
+            for (int i = 0; i < digests.length; i++) {
+                digests[i] = new TDigest(compression);
+            }
+        }
+
+        void add(T element) {
+            count++;
+            for (int i = 0; i < stats.length; i++) {
+                stats[i].accept(statFunctions.get(i).applyAsDouble(element));
+            }
+            for (int i = 0; i < sketches.length; i++) {
+                distinctFields.get(i).addTo(sketches[i], element);
+            }
+            for (int i = 0; i < digests.length; i++) {
+                digests[i].add(percentileFunctions.get(i).applyAsDouble(element));
+            }
+        }
+
+        Accumulator merge(Accumulator other) {
+            count += other.count;
+            for (int i = 0; i < stats.length; i++) {
+                stats[i].combine(other.stats[i]);
+            }
+            for (int i = 0; i < sketches.length; i++) {
+                sketches[i].merge(other.sketches[i]);
+            }
+            for (int i = 0; i < digests.length; i++) {
+                digests[i].merge(other.digests[i]);
+            }
+            return this;
+        }
+
+        GroupResult finish() {
+            Map<String, DoubleSummaryStatistics> statResults = new LinkedHashMap<>();
+            for (int i = 0; i < stats.length; i++) {
+                statResults.put(statNames.get(i), stats[i]);
+            }
+            Map<String, Long> distinctResults = new LinkedHashMap<>();
+            for (int i = 0; i < sketches.length; i++) {
+                distinctResults.put(distinctNames.get(i), sketches[i].cardinality());
+            }
+            Map<String, TDigest> digestResults = new LinkedHashMap<>();
+            for (int i = 0; i < digests.length; i++) {
+                digestResults.put(percentileNames.get(i), digests[i]);
+            }
+            return new GroupResult(count, Collections.unmodifiableMap(statResults),
+                    Collections.unmodifiableMap(distinctResults), Collections.unmodifiableMap(digestResults));
+        }
+    }
+}
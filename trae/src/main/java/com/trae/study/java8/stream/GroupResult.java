@@ -0,0 +1,53 @@
+package com.trae.study.java8.stream;
+
+import com.trae.study.util.TDigest;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.Map;
+
+/**
+ * {@link GroupAggregator} 中一个分组的聚合结果
+ *
+ * stats、distinct、digests 的键是在构建器中声明的指标名称。
+ * digests 中的 TDigest 在查询时可能整理内部缓冲区，多线程并发查询同一个结果时需要自行同步。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupResult {
+    /** 分组内的元素个数 */
+    private long count;
+    /** 数值字段的 count / sum / min / max / average */
+    private Map<String, DoubleSummaryStatistics> stats;
+    /** HyperLogLog 估计的不同值个数 */
+    private Map<String, Long> distinct;
+    /** 数值字段的 t-digest，用于查询任意分位数 */
+    private Map<String, TDigest> digests;
+
+    public DoubleSummaryStatistics stats(String name) {
+        return require(stats, name);
+    }
+
+    public long distinct(String name) {
+        return require(distinct, name);
+    }
+
+    /**
+     * 估计分位数
+     * @param q [0, 1]，例如 0.99
+     */
+    public double percentile(String name, double q) {
+        return require(digests, name).quantile(q);
+    }
+
+    private static <V> V require(Map<String, V> map, String name) {
+        V value = map == null ? null : map.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("未声明的指标: " + name);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,667 @@
+package com.trae.study.java8.stream;
+
+import com.trae.study.util.ClassSpecializer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 融合的 int 专用流水线：把 filter / map 链编译成一个内核，终止操作在一个循环里完成
+ *
+ * 与 Stream&lt;Integer&gt; / IntStream 的区别：
+ * - 数据源是 int[] 或整数区间，全程不装箱，也不产生中间集合；
+ * - 中间操作不经过 Sink 链与 Spliterator：filter / map 编译成一个 {@link IntKernel}，
+ *   返回映射后的值或 {@link IntKernel#REJECT}；相邻的 filter 与相邻的 map 会先合并为一个节点；
+ * - sum / count / reduce 的循环直接累加内核结果，没有终止 Sink 的虚调用；
+ * - parallel() 把区间二分为 ForkJoin 子任务，叶子任务在各自子区间上跑同一个循环，最后按顺序合并；
+ * - specialized() 借助 {@link ClassSpecializer} 为内核节点与循环驱动复制独立的类，
+ *   使循环中的调用点只见过本流水线的 lambda，适合"构建一次、反复执行"的热点查询。
+ *
+ * 流水线对象不可变：每个中间操作返回新对象，同一条流水线可重复执行、可被多线程共享。
+ * 并行模式下 reduce 的运算必须满足结合律；map 中 int 溢出按 Java 语义回绕。
+ *
+ * 用法示例：
+ * <pre>
+ * int[] squares = IntPipeline.of(data)
+ *     .filter(n -&gt; n % 2 == 0)
+ *     .filter(n -&gt; n &gt; 100)
+ *     .map(n -&gt; n * n)
+ *     .toArray();
+ * </pre>
+ */
+public final class IntPipeline {
+
+    /** 并行模式下单个叶子任务的最小元素数 */
+    public static final int DEFAULT_MIN_SPLIT = 1 << 13;
+
+    /** 数据源：array 为 null 时表示区间 [from, to) */
+    private final int[] array;
+    private final int from;
+    private final int to;
+    /** 已编译的内核，null 表示没有中间操作 */
+    private final IntKernel kernel;
+    /** 内核中最后一个节点的类型（用于合并相邻操作）及其函数 */
+    private final Object lastOp;
+    private final IntKernel beforeLastOp;
+    private final ForkJoinPool pool;
+    private final boolean parallel;
+    private final int minSplit;
+    private final boolean specialized;
+    /** 惰性创建的循环驱动 */
+    private volatile IntLoop driver;
+
+    private IntPipeline(int[] array, int from, int to, IntKernel kernel, Object lastOp, IntKernel beforeLastOp,
+                        boolean parallel, ForkJoinPool pool, int minSplit, boolean specialized) {
+        this.array = array;
+        this.from = from;
+        this.to = to;
+        this.kernel = kernel;
+        this.lastOp = lastOp;
+        this.beforeLastOp = beforeLastOp;
+        this.parallel = parallel;
+        this.pool = pool;
+        this.minSplit = minSplit;
+        this.specialized = specialized;
+    }
+
+    // ===================== 数据源 =====================
+
+    /** 以整个数组为数据源（不复制，执行期间不要修改数组） */
+    public static IntPipeline of(int... array) {
+        return of(array, 0, array.length);
+    }
+
+    /** 以数组的 [from, to) 为数据源 */
+    public static IntPipeline of(int[] array, int from, int to) {
+        Objects.requireNonNull(array, "array");
+        if (from < 0 || to > array.length || from > to) {
+            throw new IndexOutOfBoundsException("区间越界: [" + from + ", " + to + "), length=" + array.length);
+        }
+        return new IntPipeline(array, from, to, null, null, null, false, null, DEFAULT_MIN_SPLIT, false);
+    }
+
+    /** 以整数区间 [from, to) 为数据源 */
+    public static IntPipeline range(int from, int to) {
+        return new IntPipeline(null, from, Math.max(from, to), null, null, null, false, null, DEFAULT_MIN_SPLIT, false);
+    }
+
+    // ===================== 中间操作 =====================
+
+    public IntPipeline filter(IntPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        if (lastOp instanceof IntPredicate) {
+            // 相邻 filter 合并为一个节点：少一层调用，短路语义不变
+            IntPredicate previous = (IntPredicate) lastOp;
+            IntPredicate merged = v -> previous.test(v) && predicate.test(v);
+            return withKernel(new FilterKernel(merged, beforeLastOp), merged, beforeLastOp);
+        }
+        return withKernel(new FilterKernel(predicate, kernel), predicate, kernel);
+    }
+
+    public IntPipeline map(IntUnaryOperator mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        if (lastOp instanceof IntUnaryOperator) {
+            IntUnaryOperator previous = (IntUnaryOperator) lastOp;
+            IntUnaryOperator merged = v -> mapper.applyAsInt(previous.applyAsInt(v));
+            return withKernel(new MapKernel(merged, beforeLastOp), merged, beforeLastOp);
+        }
+        return withKernel(new MapKernel(mapper, kernel), mapper, kernel);
+    }
+
+    /** 在公共 ForkJoinPool 中并行执行 */
+    public IntPipeline parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    /** 在指定 ForkJoinPool 中并行执行 */
+    public IntPipeline parallel(ForkJoinPool pool) {
+        return new IntPipeline(array, from, to, kernel, lastOp, beforeLastOp, true, Objects.requireNonNull(pool),
+                minSplit, specialized);
+    }
+
+    public IntPipeline sequential() {
+        return new IntPipeline(array, from, to, kernel, lastOp, beforeLastOp, false, null, minSplit, specialized);
+    }
+
+    /** 并行模式下单个子任务的最小元素数 */
+    public IntPipeline minSplit(int minSplit) {
+        if (minSplit <= 0) {
+            throw new IllegalArgumentException("minSplit 必须大于0: " + minSplit);
+        }
+        return new IntPipeline(array, from, to, kernel, lastOp, beforeLastOp, parallel, pool, minSplit, specialized);
+    }
+
+    /**
+     * 为内核与循环驱动生成特化副本（首次执行时创建，每个节点一个 ClassLoader），
+     * 适合长期复用的流水线；临时流水线无需调用。
+     */
+    public IntPipeline specialized() {
+        return new IntPipeline(array, from, to, kernel, lastOp, beforeLastOp, parallel, pool, minSplit, true);
+    }
+
+    private IntPipeline withKernel(IntKernel newKernel, Object op, IntKernel before) {
+        return new IntPipeline(array, from, to, newKernel, op, before, parallel, pool, minSplit, specialized);
+    }
+
+    // ===================== 终止操作 =====================
+
+    /** 求和（long 累加，不会溢出回绕） */
+    public long sum() {
+        return execute(Terminal.SUM, 0, null);
+    }
+
+    public long count() {
+        return execute(Terminal.COUNT, 0, null);
+    }
+
+    /**
+     * 归约
+     * @param identity 单位元（并行模式下每个子任务都从它开始）
+     * @param op 满足结合律的运算
+     */
+    public int reduce(int identity, IntBinaryOperator op) {
+        Objects.requireNonNull(op, "op");
+        return (int) execute(Terminal.REDUCE, identity, op);
+    }
+
+    public OptionalInt min() {
+        long[] stats = stats();
+        return stats[0] == 0 ? OptionalInt.empty() : OptionalInt.of((int) stats[1]);
+    }
+
+    public OptionalInt max() {
+        long[] stats = stats();
+        return stats[0] == 0 ? OptionalInt.empty() : OptionalInt.of((int) stats[2]);
+    }
+
+    public OptionalDouble average() {
+        long[] stats = stats();
+        return stats[0] == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) stats[3] / stats[0]);
+    }
+
+    /** 收集为数组，元素顺序与数据源一致（并行模式下同样保序） */
+    public int[] toArray() {
+        if (!parallel || (long) to - from <= minSplit) {
+            IntArrayBuilder builder = new IntArrayBuilder();
+            driver().forEach(array, from, to, builder);
+            return builder.toArray();
+        }
+        return ToArrayTask.flatten(pool.invoke(new ToArrayTask(this, from, to)));
+    }
+
+    /** 对每个结果执行动作；并行模式下动作会被多个线程并发调用且不保证顺序 */
+    public void forEach(IntConsumer action) {
+        Objects.requireNonNull(action, "action");
+        if (!parallel || (long) to - from <= minSplit) {
+            driver().forEach(array, from, to, action);
+            return;
+        }
+        pool.invoke(new ForEachTask(this, from, to, action));
+    }
+
+    /** 统计量：[count, min, max, sum] */
+    private long[] stats() {
+        if (!parallel || (long) to - from <= minSplit) {
+            return statsOf(from, to);
+        }
+        return pool.invoke(new StatsTask(this, from, to));
+    }
+
+    private long[] statsOf(int lo, int hi) {
+        long[] stats = {0, Integer.MAX_VALUE, Integer.MIN_VALUE, 0};
+        driver().forEach(array, lo, hi, v -> {
+            stats[0]++;
+            stats[1] = Math.min(stats[1], v);
+            stats[2] = Math.max(stats[2], v);
+            stats[3] += v;
+        });
+        return stats;
+    }
+
+    private static long[] mergeStats(long[] a, long[] b) {
+        return new long[]{a[0] + b[0], Math.min(a[1], b[1]), Math.max(a[2], b[2]), a[3] + b[3]};
+    }
+
+    private enum Terminal { SUM, COUNT, REDUCE }
+
+    private long execute(Terminal terminal, int identity, IntBinaryOperator op) {
+        if (!parallel || (long) to - from <= minSplit) {
+            return runLeaf(terminal, from, to, identity, op);
+        }
+        return pool.invoke(new ReduceTask(this, terminal, from, to, identity, op));
+    }
+
+    private long runLeaf(Terminal terminal, int lo, int hi, int identity, IntBinaryOperator op) {
+        IntLoop d = driver();
+        switch (terminal) {
+            case SUM:
+                return d.sum(array, lo, hi);
+            case COUNT:
+                return d.count(array, lo, hi);
+            default:
+                return d.reduce(array, lo, hi, identity, op);
+        }
+    }
+
+    private static long combine(Terminal terminal, long a, long b, IntBinaryOperator op) {
+        return terminal == Terminal.REDUCE ? op.applyAsInt((int) a, (int) b) : a + b;
+    }
+
+    private IntLoop driver() {
+        IntLoop d = driver;
+        if (d == null) {
+            synchronized (this) {
+                d = driver;
+                if (d == null) {
+                    d = specialized ? newDriver(specializeKernel(kernel), true) : newDriver(kernel, false);
+                    driver = d;
+                }
+            }
+        }
+        return d;
+    }
+
+    private static IntLoop newDriver(IntKernel kernel, boolean specialize) {
+        IntKernel k = kernel == null ? IdentityKernel.INSTANCE : kernel;
+        if (specialize) {
+            return ClassSpecializer.newSpecializedInstance(Driver.class, new Class<?>[]{IntKernel.class}, k);
+        }
+        return new Driver(k);
+    }
+
+    /** 从链尾向前重建内核，每个节点使用独立的特化类 */
+    private static IntKernel specializeKernel(IntKernel kernel) {
+        if (kernel == null || kernel instanceof IdentityKernel) {
+            return kernel;
+        }
+        if (kernel instanceof FilterKernel) {
+            FilterKernel f = (FilterKernel) kernel;
+            return ClassSpecializer.newSpecializedInstance(FilterKernel.class,
+                    new Class<?>[]{IntPredicate.class, IntKernel.class}, f.predicate, specializeKernel(f.upstream));
+        }
+        if (kernel instanceof MapKernel) {
+            MapKernel m = (MapKernel) kernel;
+            return ClassSpecializer.newSpecializedInstance(MapKernel.class,
+                    new Class<?>[]{IntUnaryOperator.class, IntKernel.class}, m.mapper, specializeKernel(m.upstream));
+        }
+        return kernel; // 已是特化副本
+    }
+
+    // ===================== 并行子任务 =====================
+
+    private abstract static class SplitTask<R> extends RecursiveTask<R> {
+        final IntPipeline pipeline;
+        final int lo;
+        final int hi;
+
+        SplitTask(IntPipeline pipeline, int lo, int hi) {
+            this.pipeline = pipeline;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected R compute() {
+            if ((long) hi - lo <= pipeline.minSplit) {
+                return leaf();
+            }
+            int mid = (int) (((long) lo + hi) >> 1); // 区间源可能含负数，用 long 避免溢出
+            SplitTask<R> left = split(lo, mid);
+            SplitTask<R> right = split(mid, hi);
+            left.fork();
+            R r = right.compute();
+            return merge(left.join(), r);
+        }
+
+        abstract R leaf();
+
+        abstract SplitTask<R> split(int lo, int hi);
+
+        abstract R merge(R left, R right);
+    }
+
+    private static final class ReduceTask extends SplitTask<Long> {
+        private final Terminal terminal;
+        private final int identity;
+        private final IntBinaryOperator op;
+
+        ReduceTask(IntPipeline pipeline, Terminal terminal, int lo, int hi, int identity, IntBinaryOperator op) {
+            super(pipeline, lo, hi);
+            this.terminal = terminal;
+            this.identity = identity;
+            this.op = op;
+        }
+
+        @Override
+        Long leaf() {
+            return pipeline.runLeaf(terminal, lo, hi, identity, op);
+        }
+
+        @Override
+        SplitTask<Long> split(int lo, int hi) {
+            return new ReduceTask(pipeline, terminal, lo, hi, identity, op);
+        }
+
+        @Override
+        Long merge(Long left, Long right) {
+            return combine(terminal, left, right, op);
+        }
+    }
+
+    private static final class StatsTask extends SplitTask<long[]> {
+        StatsTask(IntPipeline pipeline, int lo, int hi) {
+            super(pipeline, lo, hi);
+        }
+
+        @Override
+        long[] leaf() {
+            return pipeline.statsOf(lo, hi);
+        }
+
+        @Override
+        SplitTask<long[]> split(int lo, int hi) {
+            return new StatsTask(pipeline, lo, hi);
+        }
+
+        @Override
+        long[] merge(long[] left, long[] right) {
+            return mergeStats(left, right);
+        }
+    }
+
+    /** 叶子结果按顺序收集为分段列表，最后只拷贝一次（避免逐层拼接数组） */
+    private static final class ToArrayTask extends SplitTask<List<int[]>> {
+        ToArrayTask(IntPipeline pipeline, int lo, int hi) {
+            super(pipeline, lo, hi);
+        }
+
+        @Override
+        List<int[]> leaf() {
+            IntArrayBuilder builder = new IntArrayBuilder();
+            pipeline.driver().forEach(pipeline.array, lo, hi, builder);
+            List<int[]> parts = new ArrayList<>();
+            parts.add(builder.toArray());
+            return parts;
+        }
+
+        @Override
+        SplitTask<List<int[]>> split(int lo, int hi) {
+            return new ToArrayTask(pipeline, lo, hi);
+        }
+
+        @Override
+        List<int[]> merge(List<int[]> left, List<int[]> right) {
+            left.addAll(right);
+            return left;
+        }
+
+        static int[] flatten(List<int[]> parts) {
+            int total = 0;
+            for (int[] part : parts) {
+                total += part.length;
+            }
+            int[] result = new int[total];
+            int offset = 0;
+            for (int[] part : parts) {
+                System.arraycopy(part, 0, result, offset, part.length);
+                offset += part.length;
+            }
+            return result;
+        }
+    }
+
+    private static final class ForEachTask extends SplitTask<Void> {
+        private final IntConsumer action;
+
+        ForEachTask(IntPipeline pipeline, int lo, int hi, IntConsumer action) {
+            super(pipeline, lo, hi);
+            this.action = action;
+        }
+
+        @Override
+        Void leaf() {
+            pipeline.driver().forEach(pipeline.array, lo, hi, action);
+            return null;
+        }
+
+        @Override
+        SplitTask<Void> split(int lo, int hi) {
+            return new ForEachTask(pipeline, lo, hi, action);
+        }
+
+        @Override
+        Void merge(Void left, Void right) {
+            return null;
+        }
+    }
+
+    /**
+     * 分段 int 缓冲：容量按段翻倍增长，已写入的数据不搬移，toArray 时只拷贝一次
+     * （与 JDK SpinedBuffer 思路相同，总分配约为结果大小的 2 倍）
+     */
+    private static final class IntArrayBuilder implements IntConsumer {
+        private static final int FIRST_CHUNK = 16;
+        private int[][] chunks = new int[4][];
+        private int chunkCount;
+        private int[] current;
+        private int index;
+        private int size;
+
+        @Override
+        public void accept(int value) {
+            if (current == null || index == current.length) {
+                grow();
+            }
+            current[index++] = value;
+            size++;
+        }
+
+        private void grow() {
+            if (chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunkCount << 1);
+            }
+            current = new int[current == null ? FIRST_CHUNK : current.length << 1];
+            chunks[chunkCount++] = current;
+            index = 0;
+        }
+
+        int[] toArray() {
+            if (chunkCount == 1 && index == current.length) {
+                return current;
+            }
+            int[] result = new int[size];
+            int offset = 0;
+            for (int i = 0; i < chunkCount; i++) {
+                int length = Math.min(chunks[i].length, size - offset);
+                System.arraycopy(chunks[i], 0, result, offset, length);
+                offset += length;
+            }
+            return result;
+        }
+    }
+
+    // ===================== 内核与驱动模板 =====================
+    // 以下类会被 ClassSpecializer 复制，因此必须是 public、只引用 public 类型，且不访问外部类私有成员。
+
+    /**
+     * 编译后的 filter / map 链：返回映射后的值，或 {@link #REJECT} 表示被过滤
+     * （int 值转为 long 后不可能等于 Long.MIN_VALUE，因此无需装箱或额外标志位）
+     */
+    public interface IntKernel {
+        long REJECT = Long.MIN_VALUE;
+
+        long apply(int value);
+    }
+
+    /** 无中间操作时的内核 */
+    public static final class IdentityKernel implements IntKernel {
+        static final IdentityKernel INSTANCE = new IdentityKernel();
+
+        @Override
+        public long apply(int value) {
+            return value;
+        }
+    }
+
+    /** 过滤节点：先执行上游，再判断 */
+    public static final class FilterKernel implements IntKernel {
+        private final IntPredicate predicate;
+        private final IntKernel upstream;
+
+        public FilterKernel(IntPredicate predicate, IntKernel upstream) {
+            this.predicate = predicate;
+            this.upstream = upstream;
+        }
+
+        @Override
+        public long apply(int value) {
+            if (upstream != null) {
+                long r = upstream.apply(value);
+                if (r == REJECT) {
+                    return REJECT;
+                }
+                value = (int) r;
+            }
+            return predicate.test(value) ? value : REJECT;
+        }
+    }
+
+    /** 映射节点：先执行上游，再映射 */
+    public static final class MapKernel implements IntKernel {
+        private final IntUnaryOperator mapper;
+        private final IntKernel upstream;
+
+        public MapKernel(IntUnaryOperator mapper, IntKernel upstream) {
+            this.mapper = mapper;
+            this.upstream = upstream;
+        }
+
+        @Override
+        public long apply(int value) {
+            if (upstream != null) {
+                long r = upstream.apply(value);
+                if (r == REJECT) {
+                    return REJECT;
+                }
+                value = (int) r;
+            }
+            return mapper.applyAsInt(value);
+        }
+    }
+
+    /** 循环驱动接口：特化副本与模板不是同一个类，只能通过接口引用 */
+    public interface IntLoop {
+        long sum(int[] array, int from, int to);
+
+        long count(int[] array, int from, int to);
+
+        int reduce(int[] array, int from, int to, int identity, IntBinaryOperator op);
+
+        void forEach(int[] array, int from, int to, IntConsumer action);
+    }
+
+    /**
+     * 循环驱动：每个终止操作一个循环，array 为 null 时遍历区间
+     */
+    public static final class Driver implements IntLoop {
+        private final IntKernel kernel;
+
+        public Driver(IntKernel kernel) {
+            this.kernel = kernel;
+        }
+
+        @Override
+        public long sum(int[] array, int from, int to) {
+            IntKernel k = kernel;
+            long sum = 0;
+            if (array == null) {
+                for (int v = from; v < to; v++) {
+                    long r = k.apply(v);
+                    if (r != IntKernel.REJECT) {
+                        sum += r;
+                    }
+                }
+            } else {
+                for (int i = from; i < to; i++) {
+                    long r = k.apply(array[i]);
+                    if (r != IntKernel.REJECT) {
+                        sum += r;
+                    }
+                }
+            }
+            return sum;
+        }
+
+        @Override
+        public long count(int[] array, int from, int to) {
+            IntKernel k = kernel;
+            long count = 0;
+            if (array == null) {
+                for (int v = from; v < to; v++) {
+                    if (k.apply(v) != IntKernel.REJECT) {
+                        count++;
+                    }
+                }
+            } else {
+                for (int i = from; i < to; i++) {
+                    if (k.apply(array[i]) != IntKernel.REJECT) {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public int reduce(int[] array, int from, int to, int identity, IntBinaryOperator op) {
+            IntKernel k = kernel;
+            int acc = identity;
+            if (array == null) {
+                for (int v = from; v < to; v++) {
+                    long r = k.apply(v);
+                    if (r != IntKernel.REJECT) {
+                        acc = op.applyAsInt(acc, (int) r);
+                    }
+                }
+            } else {
+                for (int i = from; i < to; i++) {
+                    long r = k.apply(array[i]);
+                    if (r != IntKernel.REJECT) {
+                        acc = op.applyAsInt(acc, (int) r);
+                    }
+                }
+            }
+            return acc;
+        }
+
+        @Override
+        public void forEach(int[] array, int from, int to, IntConsumer action) {
+            IntKernel k = kernel;
+            if (array == null) {
+                for (int v = from; v < to; v++) {
+                    long r = k.apply(v);
+                    if (r != IntKernel.REJECT) {
+                        action.accept((int) r);
+                    }
+                }
+            } else {
+                for (int i = from; i < to; i++) {
+                    long r = k.apply(array[i]);
+                    if (r != IntKernel.REJECT) {
+                        action.accept((int) r);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.trae.study.java8.stream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 在专用、有界的 ForkJoinPool 中执行并行流，并控制最小切分粒度
+ *
+ * parallelStream() 默认使用 JVM 共享的 ForkJoinPool.commonPool()：一个重量级的报表查询会占满所有公共工作线程，
+ * 同一 JVM 中其他并行流（包括 CompletableFuture 的默认异步任务）只能排队。本类的做法：
+ * - 终止操作在本池的工作线程中发起：并行流在 ForkJoin 工作线程中 fork 子任务时，子任务进入当前线程所属的池，
+ *   因此整条流水线只使用本池线程，不触碰公共池；
+ * - 池的线程数有上界：parallelism 为目标并行度，maxThreads 为包括补偿线程在内的硬上限，
+ *   达到上限后阻塞的任务不再补偿新线程（只降低有效并行度，不抛异常）；
+ * - 数据源使用 {@link ChunkedArraySpliterator} / {@link FileRecordSpliterator}，叶子任务至少处理 minSplit 个元素，
+ *   且大小精确（SIZED | SUBSIZED）。
+ *
+ * 用法示例：
+ * <pre>
+ * try (ParallelStreamRunner reports = ParallelStreamRunner.builder().name("report").parallelism(2).build()) {
+ *     long total = reports.query(orders, s -&gt; s.mapToLong(Order::getAmount).sum());
+ * }
+ * </pre>
+ */
+public final class ParallelStreamRunner implements AutoCloseable {
+
+    private final String name;
+    private final int parallelism;
+    private final int maxThreads;
+    private final int minSplit;
+    private final ForkJoinPool pool;
+
+    private ParallelStreamRunner(Builder builder) {
+        this.name = builder.name;
+        this.parallelism = builder.parallelism;
+        this.maxThreads = Math.max(builder.maxThreads, builder.parallelism);
+        this.minSplit = builder.minSplit;
+        AtomicInteger sequence = new AtomicInteger();
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName(name + "-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // saturate 返回 true：达到 maxThreads 后不再补偿线程，也不拒绝任务
+        this.pool = new ForkJoinPool(parallelism, factory, null, false,
+                0, maxThreads, 1, p -> true, 60, TimeUnit.SECONDS);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private String name = "stream-pool";
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int maxThreads;
+        private int minSplit = IntPipeline.DEFAULT_MIN_SPLIT;
+
+        /** 线程名前缀 */
+        public Builder name(String name) {
+            if (name == null || name.isEmpty()) throw new IllegalArgumentException("名称不能为空");
+            this.name = name;
+            return this;
+        }
+
+        /** 目标并行度，默认 CPU 核数 */
+        public Builder parallelism(int parallelism) {
+            if (parallelism <= 0) throw new IllegalArgumentException("并行度必须大于0: " + parallelism);
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /** 线程数硬上限（含补偿线程），默认等于并行度；小于并行度时按并行度处理 */
+        public Builder maxThreads(int maxThreads) {
+            if (maxThreads <= 0) throw new IllegalArgumentException("线程数上限必须大于0: " + maxThreads);
+            this.maxThreads = maxThreads;
+            return this;
+        }
+
+        /** 叶子任务的最小元素数 */
+        public Builder minSplit(int minSplit) {
+            if (minSplit <= 0) throw new IllegalArgumentException("minSplit 必须大于0: " + minSplit);
+            this.minSplit = minSplit;
+            return this;
+        }
+
+        public ParallelStreamRunner build() {
+            return new ParallelStreamRunner(this);
+        }
+    }
+
+    // ===================== 执行 =====================
+
+    /**
+     * 在本池中执行一个查询并等待结果；查询内的并行流只使用本池线程。
+     * 已经在本池线程中调用时直接执行，避免嵌套提交占用额外线程。
+     */
+    public <R> R run(Supplier<R> query) {
+        Objects.requireNonNull(query);
+        if (ForkJoinTask.getPool() == pool) {
+            return query.get();
+        }
+        Callable<R> task = query::get;
+        return pool.invoke(ForkJoinTask.adapt(task));
+    }
+
+    /** 在本池中执行一个无返回值的操作并等待完成 */
+    public void execute(Runnable action) {
+        Objects.requireNonNull(action);
+        run(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /** 以列表为数据源构建按块切分的并行流，并在本池中执行 query */
+    public <T, R> R query(List<T> source, Function<? super Stream<T>, R> query) {
+        return run(() -> query.apply(stream(source)));
+    }
+
+    /** 以 int[] 为数据源构建按块切分的并行流，并在本池中执行 query */
+    public <R> R queryInts(int[] source, Function<? super IntStream, R> query) {
+        return run(() -> query.apply(ints(source)));
+    }
+
+    // ===================== 数据源 =====================
+
+    /** 随机访问列表的并行流（块大小 = minSplit），需在 {@link #run} 中执行终止操作 */
+    public <T> Stream<T> stream(List<T> source) {
+        return StreamSupport.stream(new ChunkedArraySpliterator<>(source, minSplit), true);
+    }
+
+    public <T> Stream<T> stream(T[] source) {
+        return StreamSupport.stream(new ChunkedArraySpliterator<>(source, minSplit), true);
+    }
+
+    public IntStream ints(int[] source) {
+        return StreamSupport.intStream(new ChunkedArraySpliterator.OfInt(source, minSplit), true);
+    }
+
+    /**
+     * 定长记录文件的并行流；流关闭时关闭文件，请配合 try-with-resources 使用
+     * @param recordSize 每条记录的字节数
+     * @param decoder 从缓冲区当前位置解码一条记录
+     */
+    public <T> Stream<T> records(Path file, int recordSize, ByteOrder order, Function<ByteBuffer, ? extends T> decoder) {
+        FileChannel channel = open(file);
+        try {
+            return StreamSupport.stream(new FileRecordSpliterator<T>(channel, recordSize, minSplit, order, decoder), true)
+                    .onClose(() -> close(channel, file));
+        } catch (IOException e) {
+            close(channel, file);
+            throw new UncheckedIOException("读取文件大小失败: " + file, e);
+        } catch (RuntimeException e) {
+            close(channel, file);
+            throw e;
+        }
+    }
+
+    /** 4 字节 int 记录文件（BIG_ENDIAN，即 DataOutputStream.writeInt 的格式）的并行流；流关闭时关闭文件 */
+    public IntStream intRecords(Path file) {
+        FileChannel channel = open(file);
+        try {
+            return StreamSupport.intStream(new FileRecordSpliterator.OfInt(channel, minSplit, ByteOrder.BIG_ENDIAN), true)
+                    .onClose(() -> close(channel, file));
+        } catch (IOException e) {
+            close(channel, file);
+            throw new UncheckedIOException("读取文件大小失败: " + file, e);
+        } catch (RuntimeException e) {
+            close(channel, file);
+            throw e;
+        }
+    }
+
+    /** 绑定本池与 minSplit 的并行 {@link IntPipeline} */
+    public IntPipeline pipeline(int[] source) {
+        return IntPipeline.of(source).parallel(pool).minSplit(minSplit);
+    }
+
+    // ===================== 状态与关闭 =====================
+
+    public String getName() {
+        return name;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public int getMinSplit() {
+        return minSplit;
+    }
+
+    /** 底层线程池，可用于观察 getPoolSize / getStealCount 等指标 */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /** 关闭线程池：已提交的查询会执行完，之后的提交被拒绝 */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelStreamRunner{name=" + name + ", parallelism=" + parallelism + ", maxThreads=" + maxThreads
+                + ", minSplit=" + minSplit + ", poolSize=" + pool.getPoolSize() + "}";
+    }
+
+    private static FileChannel open(Path file) {
+        try {
+            return FileChannel.open(file, StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new UncheckedIOException("打开文件失败: " + file, e);
+        }
+    }
+
+    private static void close(FileChannel channel, Path file) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("关闭文件失败: " + file, e);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.trae.study.util;
+
+import com.trae.study.dto.BenchmarkResultDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分配与 GC 采样器：StopWatch 类基准的"GC profiler"
+ *
+ * 说明：
+ * - 分配字节数来自 com.sun.management.ThreadMXBean#getThreadAllocatedBytes（HotSpot 提供，TLAB 精度）；
+ * - CURRENT_THREAD 只统计调用线程，开销最小；ALL_THREADS 统计所有存活线程（并行流、线程池场景），
+ *   采样期间结束的线程其分配会丢失，结果偏小；
+ * - GC 次数与耗时来自所有 GarbageCollectorMXBean 的累计值之差，是整个 JVM 的数据；
+ * - JVM 不支持分配统计时 allocatedBytes 为 -1，预算检查自动跳过。
+ *
+ * 用法：
+ * <pre>
+ * AllocationSampler sampler = AllocationSampler.start();
+ * doWork();
+ * AllocationSampler.Usage usage = sampler.stop();
+ * </pre>
+ */
+public final class AllocationSampler {
+
+    /** 分配统计范围 */
+    public enum Scope {
+        CURRENT_THREAD,
+        ALL_THREADS
+    }
+
+    /** 一次采样区间内的资源使用 */
+    @Data
+    @AllArgsConstructor
+    public static class Usage {
+        /** 分配字节数，不支持时为 -1 */
+        private long allocatedBytes;
+        /** GC 次数 */
+        private long gcCount;
+        /** GC 累计耗时（毫秒） */
+        private long gcTimeMs;
+
+        /** 每次操作的分配字节数，不支持或操作数非正时返回 null */
+        public Double bytesPerOp(long operations) {
+            if (allocatedBytes < 0 || operations <= 0) {
+                return null;
+            }
+            return (double) allocatedBytes / operations;
+        }
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private final Scope scope;
+    private final long threadId;
+    private final long startBytes;
+    private final Map<Long, Long> startBytesByThread;
+    private final long startGcCount;
+    private final long startGcTimeMs;
+
+    private AllocationSampler(Scope scope) {
+        this.scope = scope;
+        this.threadId = Thread.currentThread().getId();
+        this.startBytesByThread = scope == Scope.ALL_THREADS ? allThreadBytes() : null;
+        this.startGcCount = gcCount();
+        this.startGcTimeMs = gcTimeMs();
+        // 最后读取当前线程分配量，尽量不把采样器自身的分配算进去
+        this.startBytes = scope == Scope.CURRENT_THREAD ? currentThreadBytes() : 0;
+    }
+
+    /** 开始统计调用线程的分配 */
+    public static AllocationSampler start() {
+        return new AllocationSampler(Scope.CURRENT_THREAD);
+    }
+
+    public static AllocationSampler start(Scope scope) {
+        return new AllocationSampler(scope);
+    }
+
+    /** 当前 JVM 是否支持线程分配统计 */
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /** 结束采样；同一个采样器可多次调用，每次都相对于 start 计算 */
+    public Usage stop() {
+        long endBytes = scope == Scope.CURRENT_THREAD ? currentThreadBytes() : 0;
+        long bytes;
+        if (!isSupported()) {
+            bytes = -1;
+        } else if (scope == Scope.CURRENT_THREAD) {
+            if (Thread.currentThread().getId() != threadId) {
+                throw new IllegalStateException("CURRENT_THREAD 采样必须在同一线程中结束");
+            }
+            bytes = endBytes - startBytes;
+        } else {
+            bytes = 0;
+            for (Map.Entry<Long, Long> entry : allThreadBytes().entrySet()) {
+                bytes += entry.getValue() - startBytesByThread.getOrDefault(entry.getKey(), 0L);
+            }
+        }
+        return new Usage(bytes, gcCount() - startGcCount, gcTimeMs() - startGcTimeMs);
+    }
+
+    /**
+     * 把采样结果写入结果 DTO：gcCount / gcTimeMs / allocBytesPerOp，额外指标中追加"分配字节数"
+     * @param operations 操作次数，非正时不填 allocBytesPerOp
+     */
+    public static void applyTo(BenchmarkResultDTO result, Usage usage, long operations) {
+        result.setGcCount(usage.getGcCount());
+        result.setGcTimeMs(usage.getGcTimeMs());
+        result.setAllocBytesPerOp(usage.bytesPerOp(operations));
+        if (usage.getAllocatedBytes() >= 0) {
+            Map<String, Object> metrics = result.getAdditionalMetrics() == null
+                    ? new HashMap<>() : new HashMap<>(result.getAdditionalMetrics());
+            metrics.put("分配字节数", usage.getAllocatedBytes());
+            result.setAdditionalMetrics(metrics);
+        }
+    }
+
+    /**
+     * 分配预算检查：allocBytesPerOp 超过预算时抛出 AssertionError，供测试把热点路径的分配回归变成失败
+     * @param result 已填充 allocBytesPerOp 的结果
+     * @param maxBytesPerOp 每次操作允许分配的最大字节数
+     */
+    public static void assertWithinBudget(BenchmarkResultDTO result, double maxBytesPerOp) {
+        Double perOp = result.getAllocBytesPerOp();
+        if (perOp == null) {
+            return; // 不支持分配统计
+        }
+        if (perOp > maxBytesPerOp) {
+            throw new AssertionError(String.format("%s 分配超出预算: %.2f B/op > %.2f B/op",
+                    result.getTestName(), perOp, maxBytesPerOp));
+        }
+    }
+
+    /**
+     * 执行任务并检查分配预算（调用线程范围）
+     * @param name 名称，用于错误信息
+     * @param operations 任务中的操作次数
+     * @param maxBytesPerOp 每次操作允许分配的最大字节数
+     * @param task 任务
+     * @return 采样结果
+     */
+    public static Usage assertWithinBudget(String name, long operations, double maxBytesPerOp, Runnable task) {
+        AllocationSampler sampler = start();
+        task.run();
+        Usage usage = sampler.stop();
+        BenchmarkResultDTO result = new BenchmarkResultDTO(name, 0, null);
+        applyTo(result, usage, operations);
+        assertWithinBudget(result, maxBytesPerOp);
+        return usage;
+    }
+
+    private long currentThreadBytes() {
+        return isSupported() ? THREADS.getThreadAllocatedBytes(threadId) : 0;
+    }
+
+    private static Map<Long, Long> allThreadBytes() {
+        Map<Long, Long> map = new HashMap<>();
+        if (!isSupported()) {
+            return map;
+        }
+        long[] ids = THREADS.getAllThreadIds();
+        long[] bytes = THREADS.getThreadAllocatedBytes(ids);
+        for (int i = 0; i < ids.length; i++) {
+            if (bytes[i] >= 0) { // 已结束的线程返回 -1
+                map.put(ids[i], bytes[i]);
+            }
+        }
+        return map;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : gcBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcTimeMs() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : gcBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static List<GarbageCollectorMXBean> gcBeans() {
+        return ManagementFactory.getGarbageCollectorMXBeans();
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        try {
+            if (!threads.isThreadAllocatedMemorySupported()) {
+                return null;
+            }
+            if (!threads.isThreadAllocatedMemoryEnabled()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+            }
+            return threads;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            return null;
+        }
+    }
+}
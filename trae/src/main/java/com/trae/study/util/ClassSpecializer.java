@@ -0,0 +1,105 @@
+package com.trae.study.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 类特化工具：为“模板类”在独立的 ClassLoader 中复制出一份新的 Class。
+ *
+ * 说明：
+ * - HotSpot 的类型剖析（type profile）按字节码位置记录，同一个类里的虚调用点被所有实例共享；
+ *   当同一个调用点见过 3 种以上的 lambda 类型时就会变成 megamorphic，无法再内联。
+ * - 把模板类复制一份后，每个副本拥有独立的字节码与剖析数据，副本内部的调用点只会看到
+ *   “自己那一条链”上的实现类型，从而保持 monomorphic。
+ * - Java 11 还没有 Lookup#defineHiddenClass，这里用“每个副本一个 ClassLoader”的方式实现，
+ *   不依赖任何字节码生成库。
+ *
+ * 模板类约束：
+ * - 必须是 public 类，且提供 public 构造方法（副本位于不同的运行时包，无法访问包级私有成员）；
+ * - 只能引用 public 类型；不要在模板中访问外部类的私有成员。
+ */
+public final class ClassSpecializer {
+
+    /** 模板类字节码缓存：避免每次特化都重新读取 .class 资源 */
+    private static final Map<Class<?>, byte[]> TEMPLATE_BYTES = new ConcurrentHashMap<>();
+
+    private ClassSpecializer() {}
+
+    /**
+     * 为模板类生成一个独立副本。
+     * @param template 模板类
+     * @param <T> 模板类型
+     * @return 与模板字节码相同、但属于新 ClassLoader 的 Class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Class<? extends T> specialize(Class<T> template) {
+        byte[] bytes = TEMPLATE_BYTES.computeIfAbsent(template, ClassSpecializer::readClassBytes);
+        SpecializingClassLoader loader = new SpecializingClassLoader(template.getClassLoader());
+        return (Class<? extends T>) loader.define(template.getName(), bytes);
+    }
+
+    /**
+     * 生成模板类副本并调用其构造方法创建实例。
+     * @param template 模板类
+     * @param parameterTypes 构造方法参数类型
+     * @param args 构造参数
+     * @param <T> 模板类型
+     * @return 副本类的实例
+     */
+    public static <T> T newSpecializedInstance(Class<T> template, Class<?>[] parameterTypes, Object... args) {
+        Class<? extends T> clazz = specialize(template);
+        try {
+            Constructor<? extends T> constructor = clazz.getConstructor(parameterTypes);
+            return constructor.newInstance(args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("特化实例构造失败: " + template.getName(), cause);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("模板类必须提供 public 构造方法: " + template.getName(), e);
+        }
+    }
+
+    private static byte[] readClassBytes(Class<?> template) {
+        String resource = template.getName().replace('.', '/') + ".class";
+        ClassLoader loader = template.getClassLoader();
+        try (InputStream in = loader == null
+                ? ClassLoader.getSystemResourceAsStream(resource)
+                : loader.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("找不到模板类字节码: " + resource);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 只定义一个类的 ClassLoader，其余类型全部委托给父加载器，
+     * 因此副本与原工程共享同一套接口与基类。
+     */
+    private static final class SpecializingClassLoader extends ClassLoader {
+        SpecializingClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.trae.study.util;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 对数-线性分桶的延迟直方图（HdrHistogram 风格，简化实现）
+ *
+ * 分桶规则（precisionBits = b，SUB = 2^b）：
+ * - 小于 2·SUB 的值每个值一个桶，精确记录；
+ * - 更大的值按最高有效位分段，每段再线性切成 SUB 个桶，相对误差不超过 1/SUB（b = 7 时约 0.8%）；
+ * - 超过 2^maxBits - 1 的值记入最后一个桶（默认 maxBits = 40，约 18 分钟的纳秒数）。
+ *
+ * 分位数返回桶内最大等价值（与 HdrHistogram#getValueAtPercentile 一致），偏保守。
+ * 本类非线程安全，用于单线程记录或作为 {@link NanoTimer} 合并后的快照。
+ */
+public final class LatencyHistogram {
+
+    public static final int DEFAULT_PRECISION_BITS = 7;
+    public static final int DEFAULT_MAX_BITS = 40;
+
+    private final int precisionBits;
+    private final int maxBits;
+    private final long[] counts;
+    private long totalCount;
+    private long sum;
+
+    public LatencyHistogram() {
+        this(DEFAULT_PRECISION_BITS, DEFAULT_MAX_BITS);
+    }
+
+    public LatencyHistogram(int precisionBits, int maxBits) {
+        if (precisionBits < 1 || precisionBits > 14) {
+            throw new IllegalArgumentException("precisionBits 需在 [1, 14]: " + precisionBits);
+        }
+        if (maxBits <= precisionBits || maxBits > 62) {
+            throw new IllegalArgumentException("maxBits 需在 (precisionBits, 62]: " + maxBits);
+        }
+        this.precisionBits = precisionBits;
+        this.maxBits = maxBits;
+        this.counts = new long[bucketCount(precisionBits, maxBits)];
+    }
+
+    // ===================== 分桶计算（与 NanoTimer 共用） =====================
+
+    static int bucketCount(int precisionBits, int maxBits) {
+        return indexOf((1L << maxBits) - 1, precisionBits, maxBits) + 1;
+    }
+
+    static int indexOf(long value, int precisionBits, int maxBits) {
+        if (value <= 0) {
+            return 0;
+        }
+        long v = Math.min(value, (1L << maxBits) - 1);
+        long sub = 1L << precisionBits;
+        if (v < sub) {
+            return (int) v;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(v) - precisionBits;
+        return ((shift + 1) << precisionBits) + (int) ((v >>> shift) - sub);
+    }
+
+    static long lowestEquivalentValue(int index, int precisionBits) {
+        int sub = 1 << precisionBits;
+        if (index < (sub << 1)) {
+            return index;
+        }
+        int shift = (index >>> precisionBits) - 1;
+        long mantissa = sub + (index & (sub - 1));
+        return mantissa << shift;
+    }
+
+    static long highestEquivalentValue(int index, int precisionBits) {
+        int sub = 1 << precisionBits;
+        if (index < (sub << 1)) {
+            return index;
+        }
+        int shift = (index >>> precisionBits) - 1;
+        long mantissa = sub + (index & (sub - 1));
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    // ===================== 记录与合并 =====================
+
+    /** 记录一个值（负数按 0 处理） */
+    public void record(long value) {
+        counts[indexOf(value, precisionBits, maxBits)]++;
+        totalCount++;
+        sum += Math.max(0, value);
+    }
+
+    /** 合并另一个直方图（精度参数必须相同） */
+    public void add(LatencyHistogram other) {
+        checkCompatible(other);
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+    }
+
+    /** 减去另一个直方图，用于计算两次快照之间的增量 */
+    public void subtract(LatencyHistogram other) {
+        checkCompatible(other);
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] -= other.counts[i];
+        }
+        totalCount -= other.totalCount;
+        sum -= other.sum;
+    }
+
+    /** 按桶累加计数（供 NanoTimer 合并线程本地计数使用） */
+    void addBucket(int index, long count) {
+        counts[index] += count;
+        totalCount += count;
+    }
+
+    void addSum(long delta) {
+        sum += delta;
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram(precisionBits, maxBits);
+        copy.add(this);
+        return copy;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        totalCount = 0;
+        sum = 0;
+    }
+
+    // ===================== 查询 =====================
+
+    public long totalCount() {
+        return totalCount;
+    }
+
+    /** 平均值（按原始值累加计算，精确） */
+    public double mean() {
+        return totalCount == 0 ? 0.0 : (double) sum / totalCount;
+    }
+
+    /** 最小值（所在桶的最小等价值） */
+    public long min() {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                return lowestEquivalentValue(i, precisionBits);
+            }
+        }
+        return 0;
+    }
+
+    /** 最大值（所在桶的最大等价值） */
+    public long max() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return highestEquivalentValue(i, precisionBits);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 分位数
+     * @param percentile 百分位，范围 [0, 100]，例如 99.9
+     */
+    public long valueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("百分位需在 [0, 100]: " + percentile);
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return highestEquivalentValue(i, precisionBits);
+            }
+        }
+        return max();
+    }
+
+    /** 常用分位数：p50 / p90 / p99 / p999 */
+    public Map<String, Double> percentiles() {
+        Map<String, Double> map = new LinkedHashMap<>();
+        map.put("p50", (double) valueAtPercentile(50));
+        map.put("p90", (double) valueAtPercentile(90));
+        map.put("p99", (double) valueAtPercentile(99));
+        map.put("p999", (double) valueAtPercentile(99.9));
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.1f, p50=%d, p99=%d, p999=%d, max=%d",
+                totalCount, mean(), valueAtPercentile(50), valueAtPercentile(99), valueAtPercentile(99.9), max());
+    }
+
+    int precisionBits() {
+        return precisionBits;
+    }
+
+    int maxBits() {
+        return maxBits;
+    }
+
+    int bucketCount() {
+        return counts.length;
+    }
+
+    private void checkCompatible(LatencyHistogram other) {
+        if (other.precisionBits != precisionBits || other.maxBits != maxBits) {
+            throw new IllegalArgumentException("直方图精度参数不一致");
+        }
+    }
+}
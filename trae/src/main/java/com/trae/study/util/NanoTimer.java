@@ -0,0 +1,175 @@
+package com.trae.study.util;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 纳秒级命名计时器：替代热点路径中的 StopWatchUtil
+ *
+ * 与 StopWatchUtil 的区别：
+ * - StopWatchUtil 每次调用都会创建 Hutool StopWatch，且只有毫秒精度，无法度量亚微秒操作；
+ * - 本类用 System.nanoTime 计时，记录到线程本地的分桶计数器，记录路径不分配对象、不加锁、不做 CAS：
+ *   每个线程只写自己的计数数组（单写者），使用 lazySet 发布，读取方用 volatile 读合并；
+ * - 查询时把所有线程的计数合并为 {@link LatencyHistogram} 快照，支持 p50/p99/p999；
+ * - intervalSnapshot 返回自上次调用以来的增量，适合周期性上报（见 {@link NanoTimerRegistry}）；
+ * - 快照时把已结束线程的记录器并入 retired 汇总并移除，记录器数量不会随线程的创建与销毁无限增长。
+ *
+ * 用法：
+ * <pre>
+ * long start = System.nanoTime();
+ * doWork();
+ * timer.stop(start);
+ * </pre>
+ */
+public final class NanoTimer {
+
+    private final String name;
+    private final int precisionBits;
+    private final int maxBits;
+    private final int bucketCount;
+    private final List<Recorder> recorders = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Recorder> local;
+
+    /** 已结束线程的累计计数，由 synchronized 保护 */
+    private final LatencyHistogram retired;
+    /** 上次 intervalSnapshot 时的累计值，由 synchronized 保护 */
+    private LatencyHistogram lastInterval;
+
+    /**
+     * 线程本地记录器：最后一个槽位保存原始值之和（用于精确均值）
+     */
+    private static final class Recorder {
+        final AtomicLongArray counts;
+        final int sumSlot;
+        /** 记录线程；弱引用，不阻止线程对象被回收 */
+        final WeakReference<Thread> owner = new WeakReference<>(Thread.currentThread());
+
+        Recorder(int bucketCount) {
+            this.counts = new AtomicLongArray(bucketCount + 1);
+            this.sumSlot = bucketCount;
+        }
+
+        /** 记录线程已结束：线程终止先于 isAlive 返回 false，此后计数不会再变化 */
+        boolean isOwnerDead() {
+            Thread thread = owner.get();
+            return thread == null || !thread.isAlive();
+        }
+
+        void addTo(LatencyHistogram histogram) {
+            for (int i = 0; i < sumSlot; i++) {
+                long c = counts.get(i);
+                if (c != 0) {
+                    histogram.addBucket(i, c);
+                }
+            }
+            histogram.addSum(counts.get(sumSlot));
+        }
+
+        /** 单写者：读-加-lazySet，无需 CAS */
+        void record(int index, long value) {
+            counts.lazySet(index, counts.get(index) + 1);
+            counts.lazySet(sumSlot, counts.get(sumSlot) + value);
+        }
+    }
+
+    public NanoTimer(String name) {
+        this(name, LatencyHistogram.DEFAULT_PRECISION_BITS, LatencyHistogram.DEFAULT_MAX_BITS);
+    }
+
+    public NanoTimer(String name, int precisionBits, int maxBits) {
+        this.name = name;
+        this.precisionBits = precisionBits;
+        this.maxBits = maxBits;
+        this.bucketCount = new LatencyHistogram(precisionBits, maxBits).bucketCount();
+        this.local = ThreadLocal.withInitial(() -> {
+            Recorder recorder = new Recorder(bucketCount);
+            recorders.add(recorder); // 每个线程只在首次记录时注册一次
+            return recorder;
+        });
+        this.retired = new LatencyHistogram(precisionBits, maxBits);
+        this.lastInterval = new LatencyHistogram(precisionBits, maxBits);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 结束计时并记录
+     * @param startNanos 开始时的 System.nanoTime()
+     * @return 本次耗时（纳秒）
+     */
+    public long stop(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        record(elapsed);
+        return elapsed;
+    }
+
+    /** 记录一个耗时（纳秒），负数按 0 处理 */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        local.get().record(LatencyHistogram.indexOf(value, precisionBits, maxBits), value);
+    }
+
+    /** 计时执行一个任务 */
+    public void time(Runnable task) {
+        long start = System.nanoTime();
+        try {
+            task.run();
+        } finally {
+            stop(start);
+        }
+    }
+
+    /** 计时执行一个有返回值的任务 */
+    public <T> T time(Supplier<T> task) {
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            stop(start);
+        }
+    }
+
+    /**
+     * 合并所有线程的累计计数；已结束线程的记录器在此并入 retired 汇总并移除
+     */
+    public synchronized LatencyHistogram snapshot() {
+        for (Recorder recorder : recorders) {
+            if (recorder.isOwnerDead()) {
+                recorder.addTo(retired);
+                recorders.remove(recorder);
+            }
+        }
+        LatencyHistogram merged = retired.copy();
+        for (Recorder recorder : recorders) {
+            recorder.addTo(merged);
+        }
+        return merged;
+    }
+
+    /**
+     * 自上次调用以来的增量快照（首次调用返回全部累计值）。
+     * 记录线程不会被打断，增量边界上的少量记录可能计入本次或下次，不会丢失。
+     */
+    public synchronized LatencyHistogram intervalSnapshot() {
+        LatencyHistogram current = snapshot();
+        LatencyHistogram delta = current.copy();
+        delta.subtract(lastInterval);
+        lastInterval = current;
+        return delta;
+    }
+
+    /** 已注册且尚未回收的记录线程数（已结束的线程在下次快照时移除） */
+    public int recorderCount() {
+        return recorders.size();
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + snapshot();
+    }
+}
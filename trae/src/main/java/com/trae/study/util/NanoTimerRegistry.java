@@ -0,0 +1,70 @@
+package com.trae.study.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 命名计时器注册表：按名称获取 {@link NanoTimer}，并支持周期性合并上报
+ *
+ * 说明：
+ * - timer(name) 在热点路径之外调用一次并保存引用，避免每次记录都查 Map；
+ * - startReporting 使用单个守护线程，按周期调用各计时器的 intervalSnapshot，
+ *   把本周期的直方图（按名称排序）交给回调，例如打印日志或写入 BenchmarkResultStore。
+ */
+public final class NanoTimerRegistry implements AutoCloseable {
+
+    private final Map<String, NanoTimer> timers = new ConcurrentHashMap<>();
+    private ScheduledExecutorService reporter;
+
+    /** 获取或创建计时器 */
+    public NanoTimer timer(String name) {
+        return timers.computeIfAbsent(name, NanoTimer::new);
+    }
+
+    /** 所有计时器的累计快照 */
+    public Map<String, LatencyHistogram> snapshotAll() {
+        Map<String, LatencyHistogram> result = new TreeMap<>();
+        timers.forEach((name, timer) -> result.put(name, timer.snapshot()));
+        return result;
+    }
+
+    /** 所有计时器自上次调用以来的增量快照 */
+    public Map<String, LatencyHistogram> intervalSnapshotAll() {
+        Map<String, LatencyHistogram> result = new TreeMap<>();
+        timers.forEach((name, timer) -> result.put(name, timer.intervalSnapshot()));
+        return result;
+    }
+
+    /**
+     * 启动周期性上报（重复调用会先停止上一个上报任务）
+     * @param period 周期
+     * @param unit 时间单位
+     * @param sink 接收每个周期的增量直方图
+     */
+    public synchronized void startReporting(long period, TimeUnit unit, Consumer<Map<String, LatencyHistogram>> sink) {
+        stopReporting();
+        reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "nano-timer-reporter");
+            t.setDaemon(true);
+            return t;
+        });
+        reporter.scheduleAtFixedRate(() -> sink.accept(intervalSnapshotAll()), period, period, unit);
+    }
+
+    public synchronized void stopReporting() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        stopReporting();
+    }
+}
@@ -2,6 +2,7 @@ package com.trae.study.util;
 
 import cn.hutool.core.date.StopWatch;
 import com.trae.study.dto.BenchmarkResultDTO;
+import java.util.HashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.Map;
@@ -9,6 +10,8 @@ import java.util.Map;
 /**
  * 轻量计时工具封装：基于 Hutool StopWatch。
  * 用于与 JMH 形成对照（小规模、功能性验证时可使用）。
+ * 亚微秒级的热点路径请使用 {@link NanoTimer}，再通过
+ * {@link #execute(String, String, NanoTimer, Supplier)} 把直方图结果填入 DTO。
  */
 public final class StopWatchUtil {
 
@@ -69,13 +72,28 @@ public final class StopWatchUtil {
 
     /**
      * 执行基准测试并返回结果 DTO
+     * 同时采样调用线程的分配字节数与 GC 次数/耗时，填入 gcCount、gcTimeMs 与额外指标"分配字节数"。
      * @param testName 测试名称
      * @param description 测试描述
      * @param testExecution 测试执行逻辑，返回额外的指标数据
      * @return 基准测试结果 DTO
      */
     public static BenchmarkResultDTO execute(String testName, String description, Supplier<Map<String, Object>> testExecution) {
+        return execute(testName, description, 0, testExecution);
+    }
+
+    /**
+     * 执行基准测试并返回结果 DTO，按操作次数额外计算 allocBytesPerOp
+     * @param testName 测试名称
+     * @param description 测试描述
+     * @param operations 测试逻辑中的操作次数
+     * @param testExecution 测试执行逻辑，返回额外的指标数据
+     * @return 基准测试结果 DTO
+     */
+    public static BenchmarkResultDTO execute(String testName, String description, long operations,
+                                             Supplier<Map<String, Object>> testExecution) {
         StopWatch sw = new StopWatch();
+        AllocationSampler sampler = AllocationSampler.start();
         sw.start();
         Map<String, Object> additionalMetrics;
         try {
@@ -83,8 +101,47 @@ public final class StopWatchUtil {
         } finally {
             sw.stop();
         }
+        AllocationSampler.Usage usage = sampler.stop();
         long executionTime = sw.getTotal(TimeUnit.MILLISECONDS);
-        
-        return new BenchmarkResultDTO(testName, description, executionTime, additionalMetrics);
+
+        BenchmarkResultDTO result = new BenchmarkResultDTO(testName, description, executionTime, additionalMetrics);
+        AllocationSampler.applyTo(result, usage, operations);
+        return result;
+    }
+
+    /**
+     * 执行基准测试，并用计时器在本次执行期间记录的直方图填充结果 DTO
+     * - score 为平均耗时（ns/op），mode 为 sample；
+     * - percentiles 填入 p50 / p90 / p99 / p999；
+     * - additionalMetrics 追加样本数、最小值与最大值；
+     * - allocBytesPerOp 按样本数折算。
+     * @param testName 测试名称
+     * @param description 测试描述
+     * @param timer 测试逻辑中用于记录单次操作耗时的计时器
+     * @param testExecution 测试执行逻辑，返回额外的指标数据
+     * @return 基准测试结果 DTO
+     */
+    public static BenchmarkResultDTO execute(String testName, String description, NanoTimer timer,
+                                             Supplier<Map<String, Object>> testExecution) {
+        LatencyHistogram before = timer.snapshot();
+        BenchmarkResultDTO result = execute(testName, description, testExecution);
+        LatencyHistogram histogram = timer.snapshot();
+        histogram.subtract(before);
+        Object allocated = result.getAdditionalMetrics() == null ? null : result.getAdditionalMetrics().get("分配字节数");
+        if (allocated instanceof Long && histogram.totalCount() > 0) {
+            result.setAllocBytesPerOp((double) (Long) allocated / histogram.totalCount());
+        }
+
+        Map<String, Object> metrics = result.getAdditionalMetrics() == null
+                ? new HashMap<>() : new HashMap<>(result.getAdditionalMetrics());
+        metrics.put(timer.getName() + "样本数", histogram.totalCount());
+        metrics.put(timer.getName() + "最小值(ns)", histogram.min());
+        metrics.put(timer.getName() + "最大值(ns)", histogram.max());
+        result.setAdditionalMetrics(metrics);
+        result.setMode("sample");
+        result.setScore(histogram.mean());
+        result.setScoreUnit("ns/op");
+        result.setPercentiles(histogram.percentiles());
+        return result;
     }
 }
\ No newline at end of file
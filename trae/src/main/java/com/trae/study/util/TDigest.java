@@ -0,0 +1,294 @@
+package com.trae.study.util;
+
+import java.util.Arrays;
+
+/**
+ * t-digest 分位数估计（Dunning 的 MergingDigest，简化实现）
+ *
+ * 原理：把数据压缩成按均值有序的质心（mean, weight）。相邻质心能否合并由缩放函数
+ * k(q) = δ/(2π)·asin(2q - 1) 决定：合并后的质心在 k 轴上的跨度不超过 1。因此两端（q 接近 0 或 1）的质心很小，
+ * 中间的质心较大，尾部分位数（p99、p999）的精度远高于等宽分桶。
+ *
+ * 说明：
+ * - 新值先写入缓冲区，缓冲区满或查询时排序并与现有质心归并压缩，摊销后每个值 O(log) 以内；
+ * - 质心数量不超过约 δ，缓冲区最多 5δ，数组都从小容量按需增长、归并用的临时数组复用，
+ *   内存上限与数据量无关（δ = 100 时约 20KB），数据很少时只占几百字节，适合作为大量分组的每组累加器；
+ * - 两个 digest 可以合并（对方的质心作为带权点加入缓冲区），适合并行流的 combiner；
+ * - 精确记录最小值与最大值，quantile(0) / quantile(1) 返回精确值；
+ * - 非线程安全。
+ */
+public final class TDigest {
+
+    public static final double DEFAULT_COMPRESSION = 100;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final double compression;
+    /** 已压缩的质心，按均值升序 */
+    private double[] means;
+    private double[] weights;
+    private int centroidCount;
+    /** 未压缩的带权点，从小容量开始按需增长到 5δ */
+    private double[] bufferMeans;
+    private double[] bufferWeights;
+    private int bufferCount;
+    private final int maxBuffer;
+    /** 归并用的临时数组，复用以免每次压缩都分配 */
+    private double[] mergedMeans;
+    private double[] mergedWeights;
+    /** 总权重（含缓冲区） */
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public TDigest(double compression) {
+        if (!(compression >= 10 && compression <= 10_000)) {
+            throw new IllegalArgumentException("compression 需在 [10, 10000]: " + compression);
+        }
+        this.compression = compression;
+        this.maxBuffer = (int) Math.ceil(compression) * 5;
+        int initial = Math.min(INITIAL_CAPACITY, maxBuffer);
+        this.means = new double[initial];
+        this.weights = new double[initial];
+        this.bufferMeans = new double[initial];
+        this.bufferWeights = new double[initial];
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    /** 加入一个带权点；NaN 被忽略 */
+    public void add(double value, double weight) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (!(weight > 0)) {
+            throw new IllegalArgumentException("权重必须大于0: " + weight);
+        }
+        if (bufferCount == bufferMeans.length) {
+            if (bufferCount < maxBuffer) {
+                int capacity = Math.min(maxBuffer, bufferCount * 2);
+                bufferMeans = Arrays.copyOf(bufferMeans, capacity);
+                bufferWeights = Arrays.copyOf(bufferWeights, capacity);
+            } else {
+                compress();
+            }
+        }
+        bufferMeans[bufferCount] = value;
+        bufferWeights[bufferCount] = weight;
+        bufferCount++;
+        totalWeight += weight;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /** 合并另一个 digest */
+    public TDigest merge(TDigest other) {
+        if (other == this) {
+            throw new IllegalArgumentException("不能与自身合并");
+        }
+        other.compress();
+        for (int i = 0; i < other.centroidCount; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        if (other.totalWeight > 0) {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+        return this;
+    }
+
+    /**
+     * 估计分位数
+     * @param q [0, 1]
+     * @return 没有数据时返回 NaN
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("q 需在 [0, 1]: " + q);
+        }
+        compress();
+        if (centroidCount == 0) {
+            return Double.NaN;
+        }
+        if (q == 0) {
+            return min;
+        }
+        if (q == 1) {
+            return max;
+        }
+        double target = q * totalWeight;
+        // 第一个质心中心之前：在 min 与该中心之间插值
+        double firstCenter = weights[0] / 2;
+        if (target < firstCenter) {
+            return interpolate(min, means[0], target / firstCenter);
+        }
+        double cumulative = firstCenter;
+        for (int i = 0; i < centroidCount - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (cumulative + step > target) {
+                return interpolate(means[i], means[i + 1], (target - cumulative) / step);
+            }
+            cumulative += step;
+        }
+        // 最后一个质心中心之后：在该中心与 max 之间插值
+        double lastHalf = weights[centroidCount - 1] / 2;
+        return interpolate(means[centroidCount - 1], max, Math.min(1, (target - cumulative) / lastHalf));
+    }
+
+    /** 总权重（add(value) 时即元素个数） */
+    public long size() {
+        return Math.round(totalWeight);
+    }
+
+    public double getMin() {
+        return totalWeight == 0 ? Double.NaN : min;
+    }
+
+    public double getMax() {
+        return totalWeight == 0 ? Double.NaN : max;
+    }
+
+    public double getCompression() {
+        return compression;
+    }
+
+    /** 压缩后的质心数量 */
+    public int centroidCount() {
+        compress();
+        return centroidCount;
+    }
+
+    /**
+     * 排序缓冲区并与现有质心归并，按 k 轴跨度不超过 1 的规则合并相邻点
+     */
+    private void compress() {
+        if (bufferCount == 0) {
+            return;
+        }
+        sort(bufferMeans, bufferWeights, 0, bufferCount - 1);
+        int total = centroidCount + bufferCount;
+        if (mergedMeans == null || mergedMeans.length < total) {
+            mergedMeans = new double[means.length + bufferMeans.length];
+            mergedWeights = new double[mergedMeans.length];
+        }
+        double[] mergedMeans = this.mergedMeans;
+        double[] mergedWeights = this.mergedWeights;
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < total; k++) {
+            if (j >= bufferCount || (i < centroidCount && means[i] <= bufferMeans[j])) {
+                mergedMeans[k] = means[i];
+                mergedWeights[k] = weights[i++];
+            } else {
+                mergedMeans[k] = bufferMeans[j];
+                mergedWeights[k] = bufferWeights[j++];
+            }
+        }
+        bufferCount = 0;
+
+        int count = 0;
+        double curMean = mergedMeans[0];
+        double curWeight = mergedWeights[0];
+        double weightSoFar = 0;
+        double limit = totalWeight * kToQ(qToK(0) + 1);
+        for (int k = 1; k < total; k++) {
+            double w = mergedWeights[k];
+            if (weightSoFar + curWeight + w <= limit) {
+                curWeight += w;
+                curMean += (mergedMeans[k] - curMean) * w / curWeight;
+            } else {
+                count = emit(count, curMean, curWeight);
+                weightSoFar += curWeight;
+                limit = totalWeight * kToQ(qToK(weightSoFar / totalWeight) + 1);
+                curMean = mergedMeans[k];
+                curWeight = w;
+            }
+        }
+        centroidCount = emit(count, curMean, curWeight);
+    }
+
+    private int emit(int count, double mean, double weight) {
+        if (count == means.length) {
+            int capacity = means.length * 2;
+            means = Arrays.copyOf(means, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        means[count] = mean;
+        weights[count] = weight;
+        return count + 1;
+    }
+
+    private double qToK(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * Math.min(1, Math.max(0, q)) - 1);
+    }
+
+    private double kToQ(double k) {
+        double x = 2 * Math.PI * k / compression;
+        if (x >= Math.PI / 2) {
+            return 1;
+        }
+        return (Math.sin(x) + 1) / 2;
+    }
+
+    private static double interpolate(double a, double b, double t) {
+        return a + (b - a) * t;
+    }
+
+    /** 按 means 升序对两个并列数组做快速排序（小区间插入排序） */
+    private static void sort(double[] keys, double[] values, int lo, int hi) {
+        while (hi - lo > 16) {
+            double pivot = keys[(lo + hi) >>> 1];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(keys, values, i++, j--);
+                }
+            }
+            // 先递归较短的一侧，栈深度为 O(log n)
+            if (j - lo < hi - i) {
+                sort(keys, values, lo, j);
+                lo = i;
+            } else {
+                sort(keys, values, i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            double key = keys[i];
+            double value = values[i];
+            int j = i - 1;
+            while (j >= lo && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    private static void swap(double[] keys, double[] values, int i, int j) {
+        double k = keys[i];
+        keys[i] = keys[j];
+        keys[j] = k;
+        double v = values[i];
+        values[i] = values[j];
+        values[j] = v;
+    }
+}
@@ -0,0 +1,79 @@
+package com.trae.study.util;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Zipfian 分布键生成器：模拟“少数热点键承担大部分访问”的生产流量。
+ *
+ * 说明：
+ * - 第 k 个键（从 0 开始）被抽中的概率 ∝ 1 / (k + 1)^skew；
+ * - skew = 0 退化为均匀分布，skew ≈ 0.99 是 YCSB 的默认取值，skew 越大越倾斜；
+ * - 构造时预先计算累积分布（CDF），抽样为一次二分查找，实例不可变、可被多线程共享。
+ */
+public final class ZipfianGenerator {
+
+    private final double skew;
+    private final double[] cdf;
+
+    /**
+     * @param keyCount 键的数量
+     * @param skew 倾斜度（>= 0）
+     */
+    public ZipfianGenerator(int keyCount, double skew) {
+        if (keyCount <= 0) {
+            throw new IllegalArgumentException("键数量必须大于0");
+        }
+        if (skew < 0 || Double.isNaN(skew)) {
+            throw new IllegalArgumentException("倾斜度不能为负数: " + skew);
+        }
+        this.skew = skew;
+        this.cdf = new double[keyCount];
+        double sum = 0;
+        for (int k = 0; k < keyCount; k++) {
+            sum += 1.0 / Math.pow(k + 1, skew);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < keyCount; k++) {
+            cdf[k] /= sum;
+        }
+        cdf[keyCount - 1] = 1.0;
+    }
+
+    /** 使用当前线程的 ThreadLocalRandom 抽样 */
+    public int next() {
+        return sample(ThreadLocalRandom.current().nextDouble());
+    }
+
+    /** 使用指定随机源抽样（便于复现） */
+    public int next(Random random) {
+        return sample(random.nextDouble());
+    }
+
+    public int keyCount() {
+        return cdf.length;
+    }
+
+    public double skew() {
+        return skew;
+    }
+
+    /** 第 k 个键被抽中的理论概率 */
+    public double probability(int k) {
+        return k == 0 ? cdf[0] : cdf[k] - cdf[k - 1];
+    }
+
+    private int sample(double u) {
+        int lo = 0;
+        int hi = cdf.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cdf[mid] < u) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.*;
+
+/**
+ * 使用 JMH 对比阻塞队列的生产者-消费者吞吐：
+ * ArrayBlockingQueue / LinkedBlockingQueue / LinkedTransferQueue / ConcurrentLinkedQueue（非阻塞对照）。
+ *
+ * 说明：
+ * - 使用 @Group 让生产者与消费者线程同时运行，默认 1:1，可通过 -tg 2,2 等调整线程数；
+ * - 计时区间内使用非阻塞的 offer/poll：put/take 在迭代结束时可能因对端已停止而永久阻塞；
+ *   offer 失败（队列满）或 poll 为空时计入失败次数（AuxCounters），成功次数才是有效吞吐；
+ * - capacity 只对有界队列生效，小容量会让生产者频繁撞满、放大锁竞争。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Group)
+public class BlockingQueueJmhBenchmark {
+
+    private static final Integer ITEM = 42;
+
+    @Param({"ArrayBlockingQueue", "LinkedBlockingQueue", "LinkedTransferQueue", "ConcurrentLinkedQueue"})
+    public String impl;
+
+    @Param({"64", "4096"})
+    public int capacity;
+
+    private java.util.Queue<Integer> queue;
+
+    /** 每个线程的成功/失败计数 */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long succeeded;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            succeeded = 0;
+            failed = 0;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        switch (impl) {
+            case "LinkedBlockingQueue":
+                queue = new LinkedBlockingQueue<>(capacity);
+                break;
+            case "LinkedTransferQueue":
+                queue = new LinkedTransferQueue<>();
+                break;
+            case "ConcurrentLinkedQueue":
+                queue = new ConcurrentLinkedQueue<>();
+                break;
+            default:
+                queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    @Benchmark
+    @Group("pingPong")
+    @GroupThreads(1)
+    public void produce(Counters counters) {
+        if (queue.offer(ITEM)) {
+            counters.succeeded++;
+        } else {
+            counters.failed++;
+        }
+    }
+
+    @Benchmark
+    @Group("pingPong")
+    @GroupThreads(1)
+    public void consume(Counters counters, Blackhole bh) {
+        Integer x = queue.poll();
+        if (x != null) {
+            counters.succeeded++;
+            bh.consume(x);
+        } else {
+            counters.failed++;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(BlockingQueueJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.benchmark;
+
+import com.trae.study.benchmark.ScalabilityRunner;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * 集合 JMH 套件的线程数扫描入口
+ *
+ * JMH 的线程数不能作为 @Param，这里对每个并发套件依次以 1、2、4 … 个线程各运行一次，
+ * 每次的结果单独写入 JSON 文件，便于在不同硬件之间比较扩展性。
+ * 非线程安全的实现（如 HashMap）只在单线程下有意义，扫描时通过 impl 参数排除。
+ *
+ * 用法（先执行 mvn -Pjmh package 生成 target/benchmarks.jar）：
+ * <pre>
+ * # 单个套件、单线程：JMH 原生入口
+ * java -jar target/benchmarks.jar MapJmhBenchmark -p size=1000000
+ * # 并发套件线程数扫描：默认 1,2,4,...,CPU 核数
+ * java -Djmh.threads=1,4,16 -cp target/benchmarks.jar com.example.benchmark.CollectionsJmhSuite [套件名...]
+ * </pre>
+ */
+public class CollectionsJmhSuite {
+
+    /** 并发套件 → 扫描时使用的线程安全实现（null 表示全部实现） */
+    private static final Map<String, String[]> CONCURRENT_SUITES = new LinkedHashMap<>();
+
+    static {
+        CONCURRENT_SUITES.put(MapJmhBenchmark.class.getSimpleName(), new String[]{"ConcurrentHashMap", "synchronizedMap"});
+        CONCURRENT_SUITES.put(SkipListJmhBenchmark.class.getSimpleName(), null);
+        CONCURRENT_SUITES.put(BlockingQueueJmhBenchmark.class.getSimpleName(), null);
+        CONCURRENT_SUITES.put(SnapshotListJmhBenchmark.class.getSimpleName(), null);
+        CONCURRENT_SUITES.put(HotKeyMapJmhBenchmark.class.getSimpleName(), null);
+    }
+
+    /** 使用 @Group 的生产者/消费者套件：线程数表示每组中生产者与消费者各自的线程数 */
+    private static final Set<String> GROUP_SUITES = Collections.singleton(BlockingQueueJmhBenchmark.class.getSimpleName());
+
+    public static void main(String[] args) throws Exception {
+        List<String> suites = args.length > 0 ? Arrays.asList(args) : new ArrayList<>(CONCURRENT_SUITES.keySet());
+        int[] threadCounts = parseThreadCounts(System.getProperty("jmh.threads"));
+        File resultDir = new File(System.getProperty("jmh.resultDir", "jmh-results"));
+        if (!resultDir.isDirectory() && !resultDir.mkdirs()) {
+            throw new IllegalStateException("无法创建结果目录: " + resultDir);
+        }
+
+        for (String suite : suites) {
+            for (int threads : threadCounts) {
+                ChainedOptionsBuilder builder = new OptionsBuilder()
+                        .include("\\b" + suite + "\\.")
+                        .resultFormat(ResultFormatType.JSON)
+                        .result(new File(resultDir, suite + "-t" + threads + ".json").getPath())
+                        .addProfiler(GCProfiler.class)
+                        .detectJvmArgs();
+                if (GROUP_SUITES.contains(suite)) {
+                    builder.threadGroups(threads, threads); // 设置分组后 JMH 以各组线程数之和作为总线程数
+                } else {
+                    builder.threads(threads);
+                }
+                String[] impls = CONCURRENT_SUITES.get(suite);
+                if (impls != null) {
+                    builder.param("impl", impls);
+                }
+                new Runner(builder.build()).run();
+            }
+        }
+    }
+
+    /** 解析 "1,2,4" 形式的线程数列表；未指定时为 1 到 CPU 核数之间的 2 的幂（含核数本身） */
+    static int[] parseThreadCounts(String spec) {
+        if (spec == null || spec.trim().isEmpty()) {
+            return ScalabilityRunner.defaultThreadCounts();
+        }
+        SortedSet<Integer> counts = new TreeSet<>();
+        for (String part : spec.split(",")) {
+            int t = Integer.parseInt(part.trim());
+            if (t <= 0) {
+                throw new IllegalArgumentException("线程数必须大于0: " + part);
+            }
+            counts.add(t);
+        }
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.benchmark;
+
+import com.trae.study.collections.util.ComparatorComparableDemo;
+import com.trae.study.collections.util.ComparatorComparableDemo.Student;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 使用 JMH 对比多键排序：JDK 链式 Comparator vs 预编译 CompiledComparator。
+ * 排序键：grade 升序 → score 降序 → name 升序（null 在后）→ id 升序。
+ * 每次调用前重新拷贝原始数据，保证两种实现排序的是同一份乱序输入。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class ComparatorChainJmhBenchmark {
+
+    @Param({"5000000"})
+    public int size;
+
+    private Student[] source;
+    private Student[] work;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        source = ComparatorComparableDemo.generateStudents(size, 42L);
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        work = source.clone();
+    }
+
+    /**
+     * 基准：Comparator.comparing(...).thenComparing(...) 链（装箱 + 多层 lambda）。
+     */
+    @Benchmark
+    public void lambdaChainSort(Blackhole bh) {
+        Arrays.sort(work, ComparatorComparableDemo.STUDENT_LAMBDA_CHAIN);
+        bh.consume(work[0]);
+    }
+
+    /**
+     * 基准：CompiledComparator（基本类型直比 + 每键特化节点）。
+     */
+    @Benchmark
+    public void compiledSort(Blackhole bh) {
+        Arrays.sort(work, ComparatorComparableDemo.STUDENT_COMPILED);
+        bh.consume(work[0]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(ComparatorChainJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
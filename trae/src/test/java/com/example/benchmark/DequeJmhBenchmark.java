@@ -0,0 +1,89 @@
+package com.example.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 使用 JMH 对比 Deque 实现：ArrayDeque / LinkedList / ConcurrentLinkedDeque / LinkedBlockingDeque。
+ * - queueOfferPoll：队尾入队、队头出队（FIFO），队列长度保持为 size；
+ * - stackPushPop：头部压栈、头部弹栈（LIFO）；
+ * - iterate：遍历求和。
+ * size 表示稳态占用，而非操作次数：ArrayDeque 的环形数组在稳态下不会扩容，LinkedList 每次入队分配一个节点。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class DequeJmhBenchmark {
+
+    @Param({"ArrayDeque", "LinkedList", "ConcurrentLinkedDeque", "LinkedBlockingDeque"})
+    public String impl;
+
+    @Param({"16", "10000"})
+    public int size;
+
+    private Deque<Integer> deque;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (impl) {
+            case "LinkedList":
+                deque = new LinkedList<>();
+                break;
+            case "ConcurrentLinkedDeque":
+                deque = new ConcurrentLinkedDeque<>();
+                break;
+            case "LinkedBlockingDeque":
+                deque = new LinkedBlockingDeque<>();
+                break;
+            default:
+                deque = new ArrayDeque<>();
+        }
+        for (int i = 0; i < size; i++) {
+            deque.offerLast(i);
+        }
+    }
+
+    @Benchmark
+    public Integer queueOfferPoll() {
+        deque.offerLast(counter++ & 1023);
+        return deque.pollFirst();
+    }
+
+    @Benchmark
+    public Integer stackPushPop() {
+        deque.push(counter++ & 1023);
+        return deque.pop();
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer x : deque) {
+            sum += x;
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(DequeJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
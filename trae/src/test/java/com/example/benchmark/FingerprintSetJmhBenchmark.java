@@ -0,0 +1,90 @@
+package com.example.benchmark;
+
+import com.trae.study.collections.set.FingerprintHashSet;
+import com.trae.study.collections.set.Fingerprints;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * 使用 JMH 对比成员判断吞吐：HashSet vs FingerprintHashSet（指纹 / 精确 / 指纹+布隆前门）。
+ * 查询键预先生成，命中与未命中各占一半的场景分别测量。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class FingerprintSetJmhBenchmark {
+
+    @Param({"hashSet", "fingerprint", "exact", "fingerprintBloom"})
+    public String impl;
+
+    @Param({"1000000"})
+    public int size;
+
+    private String[] present;
+    private String[] absent;
+    private Predicate<String> contains;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        present = new String[size];
+        absent = new String[size];
+        for (int i = 0; i < size; i++) {
+            present[i] = "id-" + i;
+            absent[i] = "absent-" + i;
+        }
+        if ("hashSet".equals(impl)) {
+            Set<String> set = new HashSet<>();
+            for (String s : present) set.add(s);
+            contains = set::contains;
+            return;
+        }
+        FingerprintHashSet.Builder<String> builder = FingerprintHashSet.<String>builder()
+                .expectedSize(size).hasher(Fingerprints::of);
+        if ("exact".equals(impl)) builder.mode(FingerprintHashSet.Mode.EXACT);
+        if ("fingerprintBloom".equals(impl)) builder.bloomBitsPerElement(10);
+        FingerprintHashSet<String> set = builder.build();
+        for (String s : present) set.add(s);
+        contains = set::contains;
+    }
+
+    /**
+     * 基准：命中查询。
+     */
+    @Benchmark
+    public boolean containsHit() {
+        int i = cursor++;
+        if (cursor == size) cursor = 0;
+        return contains.test(present[i]);
+    }
+
+    /**
+     * 基准：未命中查询（布隆前门的主要收益场景）。
+     */
+    @Benchmark
+    public boolean containsMiss() {
+        int i = cursor++;
+        if (cursor == size) cursor = 0;
+        return contains.test(absent[i]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(FingerprintSetJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
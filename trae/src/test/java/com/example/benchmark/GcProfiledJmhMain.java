@@ -0,0 +1,47 @@
+package com.example.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * benchmarks.jar 的入口：在 JMH 原生命令行参数的基础上总是附加 GC profiler（-prof gc）
+ *
+ * 分配速率（gc.alloc.rate.norm，B/op）与 GC 次数 / 耗时随每次运行一起输出，
+ * 不依赖调用方记得加 -prof gc；参数中已指定 gc profiler 时不重复添加。
+ *
+ * 用法与 org.openjdk.jmh.Main 相同：
+ * <pre>
+ * java -jar target/benchmarks.jar MapJmhBenchmark -p size=1000000 -t 1
+ * </pre>
+ */
+public final class GcProfiledJmhMain {
+
+    private GcProfiledJmhMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(withGcProfiler(args));
+    }
+
+    /** 参数中没有 gc profiler 时追加 -prof gc */
+    static String[] withGcProfiler(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            String profiler = null;
+            if (arg.equals("-prof") && i + 1 < args.length) {
+                profiler = args[i + 1];
+            } else if (arg.startsWith("-prof") && !arg.equals("-prof")) {
+                profiler = arg.substring("-prof".length());
+            }
+            if (profiler != null && (profiler.equals("gc") || profiler.startsWith("gc:")
+                    || profiler.contains("GCProfiler"))) {
+                return args;
+            }
+        }
+        List<String> result = new ArrayList<>(Arrays.asList(args));
+        result.add("-prof");
+        result.add("gc");
+        return result.toArray(new String[0]);
+    }
+}
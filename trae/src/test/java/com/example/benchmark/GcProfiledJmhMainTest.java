@@ -0,0 +1,28 @@
+package com.example.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GcProfiledJmhMain 入口参数测试")
+class GcProfiledJmhMainTest {
+
+    @Test
+    @DisplayName("总是附加 gc profiler，已指定时不重复添加")
+    void testWithGcProfiler() {
+        assertArrayEquals(new String[]{"-prof", "gc"}, GcProfiledJmhMain.withGcProfiler(new String[0]));
+        assertArrayEquals(new String[]{"MapJmhBenchmark", "-t", "1", "-prof", "gc"},
+                GcProfiledJmhMain.withGcProfiler(new String[]{"MapJmhBenchmark", "-t", "1"}));
+        // 其他 profiler 不影响
+        assertArrayEquals(new String[]{"-prof", "stack", "-prof", "gc"},
+                GcProfiledJmhMain.withGcProfiler(new String[]{"-prof", "stack"}));
+
+        String[] explicit = {"MapJmhBenchmark", "-prof", "gc"};
+        assertSame(explicit, GcProfiledJmhMain.withGcProfiler(explicit));
+        String[] withOptions = {"-prof", "gc:churn=true"};
+        assertSame(withOptions, GcProfiledJmhMain.withGcProfiler(withOptions));
+        String[] byClass = {"-prof", "org.openjdk.jmh.profile.GCProfiler"};
+        assertSame(byClass, GcProfiledJmhMain.withGcProfiler(byClass));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.benchmark;
+
+import com.trae.study.java8.stream.GroupAggregator;
+import com.trae.study.java8.stream.GroupResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 使用 JMH 对比分组报表的三种写法：
+ * - listThenAggregate：groupingBy(key) 先构建 Map&lt;K, List&lt;T&gt;&gt;，再逐组计算统计量与中位数（需要排序）；
+ * - summarizingDownstream：groupingBy(key, summarizingDouble)，不保留元素但只有 count/sum/min/max/avg；
+ * - groupAggregator：GroupAggregator 单次遍历同时计算统计量、近似去重与分位数，顺序 / 并行两种。
+ * 配合 GC profiler 观察 gc.alloc.rate.norm：listThenAggregate 的分配与行数成正比，GroupAggregator 只与分组数有关。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GroupAggregationJmhBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"64"})
+    public int groups;
+
+    /** 行：分组键、客户号、金额 */
+    public static final class Row {
+        final int group;
+        final long customer;
+        final double amount;
+
+        Row(int group, long customer, double amount) {
+            this.group = group;
+            this.customer = customer;
+            this.amount = amount;
+        }
+
+        public int getGroup() {
+            return group;
+        }
+
+        public long getCustomer() {
+            return customer;
+        }
+
+        public double getAmount() {
+            return amount;
+        }
+    }
+
+    private List<Row> data;
+    private GroupAggregator<Row, Integer> aggregator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(1);
+        data = new Random(1).ints(rows, 0, groups)
+                .mapToObj(g -> new Row(g, random.nextInt(100_000), random.nextDouble() * 1_000))
+                .collect(Collectors.toList());
+        aggregator = GroupAggregator.<Row, Integer>groupingBy(Row::getGroup)
+                .stats("amount", Row::getAmount)
+                .distinctLong("customers", Row::getCustomer)
+                .percentiles("amount", Row::getAmount)
+                .build();
+    }
+
+    @Benchmark
+    public Map<Integer, double[]> listThenAggregate() {
+        Map<Integer, List<Row>> grouped = data.stream().collect(Collectors.groupingBy(Row::getGroup));
+        Map<Integer, double[]> result = new HashMap<>();
+        grouped.forEach((key, rows) -> {
+            double[] amounts = rows.stream().mapToDouble(Row::getAmount).sorted().toArray();
+            long customers = rows.stream().mapToLong(Row::getCustomer).distinct().count();
+            DoubleSummaryStatistics stats = rows.stream().mapToDouble(Row::getAmount).summaryStatistics();
+            result.put(key, new double[]{stats.getAverage(), customers, amounts[amounts.length / 2]});
+        });
+        return result;
+    }
+
+    @Benchmark
+    public Map<Integer, DoubleSummaryStatistics> summarizingDownstream() {
+        return data.stream().collect(Collectors.groupingBy(Row::getGroup, Collectors.summarizingDouble(Row::getAmount)));
+    }
+
+    @Benchmark
+    public Map<Integer, GroupResult> groupAggregator() {
+        return data.stream().collect(aggregator.toCollector());
+    }
+
+    @Benchmark
+    public Map<Integer, GroupResult> groupAggregatorParallel() {
+        return data.parallelStream().collect(aggregator.toCollector());
+    }
+
+    @Benchmark
+    public Map<Integer, GroupResult> groupAggregatorConcurrent() {
+        return data.parallelStream().collect(aggregator.toConcurrentCollector());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(GroupAggregationJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.benchmark;
+
+import com.trae.study.collections.concurrent.HotKeyShardedMap;
+import com.trae.study.util.ZipfianGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 使用 JMH 对比倾斜（Zipfian）读写负载下的并发 Map：
+ * ConcurrentHashMap vs HotKeyShardedMap（关闭热点复制）vs HotKeyShardedMap（开启热点复制）。
+ * skew = 0 为均匀分布；0.99 接近 YCSB 默认；1.2 时最热的键约占 20% 以上的访问。
+ * 键序列预先生成，每个线程从不同起点循环读取，计时区间内不包含随机数生成。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class HotKeyMapJmhBenchmark {
+
+    private static final int KEY_COUNT = 100_000;
+    private static final int SEQUENCE_LENGTH = 1 << 20;
+
+    @Param({"chm", "sharded", "hotKey"})
+    public String impl;
+
+    @Param({"0", "0.99", "1.2"})
+    public double skew;
+
+    /** 写操作百分比 */
+    @Param({"1", "10"})
+    public int writePercent;
+
+    private String[] keys;
+    /** 非负数为读，按位取反为写 */
+    private int[] operations;
+    private ConcurrentHashMap<String, Integer> chm;
+    private HotKeyShardedMap<String, Integer> shardedMap;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int position;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            position = new Random().nextInt(SEQUENCE_LENGTH);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        keys = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = "key_" + i;
+        }
+        ZipfianGenerator zipf = new ZipfianGenerator(KEY_COUNT, skew);
+        Random random = new Random(42);
+        operations = new int[SEQUENCE_LENGTH];
+        for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+            int key = zipf.next(random);
+            operations[i] = random.nextInt(100) < writePercent ? ~key : key;
+        }
+        if ("chm".equals(impl)) {
+            chm = new ConcurrentHashMap<>();
+            for (int i = 0; i < KEY_COUNT; i++) {
+                chm.put(keys[i], i);
+            }
+        } else {
+            shardedMap = HotKeyShardedMap.builder().hotKeyCacheEnabled("hotKey".equals(impl)).build();
+            for (int i = 0; i < KEY_COUNT; i++) {
+                shardedMap.put(keys[i], i);
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer mixed(Cursor cursor) {
+        int op = operations[cursor.position];
+        cursor.position = (cursor.position + 1) & (SEQUENCE_LENGTH - 1);
+        if (chm != null) {
+            return op >= 0 ? chm.get(keys[op]) : chm.put(keys[~op], op);
+        }
+        return op >= 0 ? shardedMap.get(keys[op]) : shardedMap.put(keys[~op], op);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(HotKeyMapJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
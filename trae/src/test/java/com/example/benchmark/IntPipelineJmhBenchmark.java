@@ -0,0 +1,109 @@
+package com.example.benchmark;
+
+import com.trae.study.java8.stream.IntPipeline;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 使用 JMH 对比 StreamApiDemo 中的 filter-filter-map-collect 工作负载：
+ * 装箱 for 循环、Stream&lt;Integer&gt;、并行 Stream、IntStream、IntPipeline（顺序 / 并行 / 特化）。
+ * 配合 GC profiler 观察 gc.alloc.rate.norm：装箱版本每个元素都会分配，IntPipeline 只分配结果数组。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntPipelineJmhBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private List<Integer> boxed;
+    private int[] primitive;
+    private IntPipeline pipeline;
+    private IntPipeline parallelPipeline;
+    private IntPipeline specializedPipeline;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        boxed = IntStream.range(1, size).boxed().collect(Collectors.toList());
+        primitive = IntStream.range(1, size).toArray();
+        pipeline = IntPipeline.of(primitive).filter(n -> n % 2 == 0).filter(n -> n > 100).map(n -> n * n);
+        parallelPipeline = pipeline.parallel();
+        specializedPipeline = pipeline.specialized();
+    }
+
+    @Benchmark
+    public int boxedForLoop() {
+        List<Integer> result = new ArrayList<>();
+        for (Integer num : boxed) {
+            if (num % 2 == 0 && num > 100) {
+                result.add(num * num);
+            }
+        }
+        return result.size();
+    }
+
+    @Benchmark
+    public int boxedStream() {
+        return boxed.stream().filter(n -> n % 2 == 0).filter(n -> n > 100).map(n -> n * n)
+                .collect(Collectors.toList()).size();
+    }
+
+    @Benchmark
+    public int boxedParallelStream() {
+        return boxed.parallelStream().filter(n -> n % 2 == 0).filter(n -> n > 100).map(n -> n * n)
+                .collect(Collectors.toList()).size();
+    }
+
+    @Benchmark
+    public int intStream() {
+        return IntStream.of(primitive).filter(n -> n % 2 == 0).filter(n -> n > 100).map(n -> n * n).toArray().length;
+    }
+
+    @Benchmark
+    public int intPipeline() {
+        return pipeline.toArray().length;
+    }
+
+    @Benchmark
+    public int intPipelineParallel() {
+        return parallelPipeline.toArray().length;
+    }
+
+    @Benchmark
+    public int intPipelineSpecialized() {
+        return specializedPipeline.toArray().length;
+    }
+
+    /** 求和终止操作：IntPipeline 直接在循环里累加，没有终止 Sink */
+    @Benchmark
+    public long intStreamSum() {
+        return IntStream.of(primitive).filter(n -> n % 2 == 0).filter(n -> n > 100).asLongStream().map(n -> n * n).sum();
+    }
+
+    @Benchmark
+    public long intPipelineSum() {
+        return pipeline.sum();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(IntPipelineJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
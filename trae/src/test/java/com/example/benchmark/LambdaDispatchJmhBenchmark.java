@@ -0,0 +1,238 @@
+package com.example.benchmark;
+
+import com.trae.study.java8.lambda.RuleChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 使用 JMH 观察 lambda 调用点的多态程度对性能的影响：
+ * - predicateCallSite / functionCallSite：同一个调用点依次见到 receiverTypes 种 lambda 类，
+ *   1 = monomorphic，2 = bimorphic（两路类型判断后内联），3 / 8 = megamorphic（itable 派发，不能内联）；
+ * - jdkAnd / ruleChainShared / ruleChainSpecialized：6 条规则链（共 5 种规则 lambda）对同一批订单求值，
+ *   分别用 Predicate.and、RuleChain.buildShared()、RuleChain.build() 组合。
+ *   前两者的内部调用点被所有链共享而变成 megamorphic，build() 的每个节点是独立的类，调用点保持 monomorphic。
+ * 每个 fork 是新的 JVM，类型剖析只包含本次参数对应的类型。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(LambdaDispatchJmhBenchmark.SIZE)
+public class LambdaDispatchJmhBenchmark {
+
+    static final int SIZE = 1024;
+
+    // ===================== 调用点多态程度 =====================
+
+    /** 8 个互不相同的 lambda 类（每个 lambda 表达式编译为一个类） */
+    @SuppressWarnings("unchecked")
+    static final Predicate<Integer>[] PREDICATES = new Predicate[]{
+            (Predicate<Integer>) n -> n > 10,
+            (Predicate<Integer>) n -> n > 20,
+            (Predicate<Integer>) n -> n > 30,
+            (Predicate<Integer>) n -> n > 40,
+            (Predicate<Integer>) n -> n > 50,
+            (Predicate<Integer>) n -> n > 60,
+            (Predicate<Integer>) n -> n > 70,
+            (Predicate<Integer>) n -> n > 80
+    };
+
+    /** 结果落在 Integer 缓存范围内，避免装箱分配干扰派发开销 */
+    @SuppressWarnings("unchecked")
+    static final Function<Integer, Integer>[] FUNCTIONS = new Function[]{
+            (Function<Integer, Integer>) n -> (n + 1) & 127,
+            (Function<Integer, Integer>) n -> (n + 2) & 127,
+            (Function<Integer, Integer>) n -> (n + 3) & 127,
+            (Function<Integer, Integer>) n -> (n + 4) & 127,
+            (Function<Integer, Integer>) n -> (n + 5) & 127,
+            (Function<Integer, Integer>) n -> (n + 6) & 127,
+            (Function<Integer, Integer>) n -> (n + 7) & 127,
+            (Function<Integer, Integer>) n -> (n + 8) & 127
+    };
+
+    @State(Scope.Benchmark)
+    public static class CallSiteState {
+        @Param({"1", "2", "3", "8"})
+        public int receiverTypes;
+
+        Integer[] values;
+        Predicate<Integer>[] predicates;
+        Function<Integer, Integer>[] functions;
+
+        @Setup(Level.Trial)
+        @SuppressWarnings("unchecked")
+        public void setup() {
+            Random random = new Random(1);
+            values = new Integer[SIZE];
+            predicates = new Predicate[SIZE];
+            functions = new Function[SIZE];
+            for (int i = 0; i < SIZE; i++) {
+                values[i] = random.nextInt(100);
+                predicates[i] = PREDICATES[i % receiverTypes];
+                functions[i] = FUNCTIONS[i % receiverTypes];
+            }
+        }
+    }
+
+    @Benchmark
+    public int predicateCallSite(CallSiteState state) {
+        Integer[] values = state.values;
+        Predicate<Integer>[] predicates = state.predicates;
+        int count = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (predicates[i].test(values[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int functionCallSite(CallSiteState state) {
+        Integer[] values = state.values;
+        Function<Integer, Integer>[] functions = state.functions;
+        int sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            sum += functions[i].apply(values[i]);
+        }
+        return sum;
+    }
+
+    // ===================== 规则链 =====================
+
+    /** 订单 */
+    public static final class Order {
+        final double amount;
+        final int level;
+        final int region;
+        final int items;
+        final boolean refunded;
+
+        Order(double amount, int level, int region, int items, boolean refunded) {
+            this.amount = amount;
+            this.level = level;
+            this.region = region;
+            this.items = items;
+            this.refunded = refunded;
+        }
+    }
+
+    // 5 种规则，每个工厂方法中的 lambda 各是一个类；参数不同的规则共享同一个类
+
+    static Predicate<Order> amountAtLeast(double min) {
+        return o -> o.amount >= min;
+    }
+
+    static Predicate<Order> levelAtLeast(int min) {
+        return o -> o.level >= min;
+    }
+
+    static Predicate<Order> regionIs(int region) {
+        return o -> o.region == region;
+    }
+
+    static Predicate<Order> itemsAtMost(int max) {
+        return o -> o.items <= max;
+    }
+
+    static Predicate<Order> refunded() {
+        return o -> o.refunded;
+    }
+
+    @State(Scope.Benchmark)
+    public static class RuleState {
+        static final int RULE_SETS = 6;
+
+        Order[] orders;
+        Predicate<Order>[] jdkAnd;
+        Predicate<Order>[] shared;
+        Predicate<Order>[] specialized;
+
+        @Setup(Level.Trial)
+        @SuppressWarnings("unchecked")
+        public void setup() {
+            Random random = new Random(1);
+            orders = new Order[SIZE];
+            for (int i = 0; i < SIZE; i++) {
+                orders[i] = new Order(random.nextDouble() * 2_000, random.nextInt(5), random.nextInt(4),
+                        1 + random.nextInt(20), random.nextInt(10) == 0);
+            }
+            jdkAnd = new Predicate[RULE_SETS];
+            shared = new Predicate[RULE_SETS];
+            specialized = new Predicate[RULE_SETS];
+            for (int s = 0; s < RULE_SETS; s++) {
+                RuleChain.Builder<Order> builder = RuleChain.builder();
+                Predicate<Order> and;
+                // 每条链 4 个节点，规则种类与顺序各不相同，前几个节点的通过率较高，保证后续节点被执行
+                switch (s % 3) {
+                    case 0:
+                        builder.require(amountAtLeast(100 * s)).reject(refunded())
+                                .require(itemsAtMost(15 + s)).anyOf(levelAtLeast(2), regionIs(s % 4));
+                        and = amountAtLeast(100 * s).and(refunded().negate())
+                                .and(itemsAtMost(15 + s)).and(levelAtLeast(2).or(regionIs(s % 4)));
+                        break;
+                    case 1:
+                        builder.reject(refunded()).require(itemsAtMost(18)).require(levelAtLeast(1))
+                                .require(amountAtLeast(50 * s));
+                        and = refunded().negate().and(itemsAtMost(18)).and(levelAtLeast(1))
+                                .and(amountAtLeast(50 * s));
+                        break;
+                    default:
+                        builder.require(levelAtLeast(1)).require(amountAtLeast(200))
+                                .anyOf(regionIs(1), regionIs(2), itemsAtMost(5)).reject(refunded());
+                        and = levelAtLeast(1).and(amountAtLeast(200))
+                                .and(regionIs(1).or(regionIs(2)).or(itemsAtMost(5))).and(refunded().negate());
+                        break;
+                }
+                jdkAnd[s] = and;
+                shared[s] = builder.buildShared();
+                specialized[s] = builder.build();
+            }
+        }
+    }
+
+    @Benchmark
+    public int jdkAnd(RuleState state) {
+        return evaluate(state.orders, state.jdkAnd);
+    }
+
+    @Benchmark
+    public int ruleChainShared(RuleState state) {
+        return evaluate(state.orders, state.shared);
+    }
+
+    @Benchmark
+    public int ruleChainSpecialized(RuleState state) {
+        return evaluate(state.orders, state.specialized);
+    }
+
+    private static int evaluate(Order[] orders, Predicate<Order>[] ruleSets) {
+        int matched = 0;
+        for (Order order : orders) {
+            for (Predicate<Order> rules : ruleSets) {
+                if (rules.test(order)) {
+                    matched++;
+                }
+            }
+        }
+        return matched;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(LambdaDispatchJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.benchmark;
+
+import com.trae.study.java11.string.Latin1Strings;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 使用 JMH 对比 Java 11 String 方法与 Latin1Strings 的字节级实现（每次操作处理一个字段）：
+ * - jdk*：字段已经是 String（紧凑字符串，LATIN1 编码），直接调用 isBlank / strip / lines / indexOf；
+ * - jdkFromBytes*：字段以 byte[] 到达（请求体、文件），先 new String 再调用，即"没有字节级工具时"的实际开销；
+ * - latin1*：Latin1Strings 直接在 byte[] 上计算，不创建 String；indexOfScalar 为逐字节循环，用来单独观察 SWAR 的收益。
+ * input：short 为表单字段（约 20 字节，1/4 为空白），long 为 4KB 左右的多行正文（首尾带空白，逗号在末尾附近）。
+ * 配合 GC profiler 观察 gc.alloc.rate.norm：jdkFromBytes* 每个字段至少分配一个 String，latin1* 为 0。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(Latin1StringsJmhBenchmark.FIELDS)
+public class Latin1StringsJmhBenchmark {
+
+    static final int FIELDS = 64;
+
+    @Param({"short", "long"})
+    public String input;
+
+    private String[] strings;
+    private byte[][] bytes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(1);
+        strings = new String[FIELDS];
+        bytes = new byte[FIELDS][];
+        for (int i = 0; i < FIELDS; i++) {
+            String field = "short".equals(input) ? shortField(random, i) : longField(random, i);
+            strings[i] = field;
+            bytes[i] = field.getBytes(StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    private static String shortField(Random random, int i) {
+        String padding = " ".repeat(random.nextInt(3));
+        if (i % 4 == 0) {
+            return " ".repeat(random.nextInt(24)); // 空白字段
+        }
+        return padding + "user" + random.nextInt(100_000) + "@example.com" + padding;
+    }
+
+    private static String longField(Random random, int i) {
+        StringBuilder sb = new StringBuilder(4200).append(" ".repeat(16));
+        while (sb.length() < 4000) {
+            sb.append("Java 11 brings new String methods such as strip and isBlank")
+                    .append(random.nextInt(1000)).append(i % 2 == 0 ? "\n" : "\r\n");
+        }
+        return sb.append("tags: java,string").append(" ".repeat(16)).toString();
+    }
+
+    // ===================== isBlank =====================
+
+    @Benchmark
+    public int isBlankJdk() {
+        int count = 0;
+        for (String s : strings) {
+            if (s.isBlank()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int isBlankJdkFromBytes() {
+        int count = 0;
+        for (byte[] b : bytes) {
+            if (new String(b, StandardCharsets.ISO_8859_1).isBlank()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int isBlankLatin1() {
+        int count = 0;
+        for (byte[] b : bytes) {
+            if (Latin1Strings.isBlank(b)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // ===================== strip =====================
+
+    @Benchmark
+    public int stripJdk() {
+        int length = 0;
+        for (String s : strings) {
+            length += s.strip().length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int stripJdkFromBytes() {
+        int length = 0;
+        for (byte[] b : bytes) {
+            length += new String(b, StandardCharsets.ISO_8859_1).strip().length();
+        }
+        return length;
+    }
+
+    /** 只计算保留范围，不创建 String */
+    @Benchmark
+    public int stripLatin1() {
+        int length = 0;
+        for (byte[] b : bytes) {
+            int start = Latin1Strings.stripStart(b, 0, b.length);
+            length += Latin1Strings.stripEnd(b, start, b.length) - start;
+        }
+        return length;
+    }
+
+    // ===================== lines =====================
+
+    @Benchmark
+    public long linesJdk() {
+        long count = 0;
+        for (String s : strings) {
+            count += s.lines().count();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long linesJdkFromBytes() {
+        long count = 0;
+        for (byte[] b : bytes) {
+            count += new String(b, StandardCharsets.ISO_8859_1).lines().count();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long linesLatin1() {
+        long count = 0;
+        for (byte[] b : bytes) {
+            count += Latin1Strings.lineCount(b, 0, b.length);
+        }
+        return count;
+    }
+
+    // ===================== indexOf =====================
+
+    @Benchmark
+    public int indexOfJdk() {
+        int sum = 0;
+        for (String s : strings) {
+            sum += s.indexOf(',');
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int indexOfScalar() {
+        int sum = 0;
+        for (byte[] b : bytes) {
+            int index = -1;
+            for (int i = 0; i < b.length; i++) {
+                if (b[i] == ',') {
+                    index = i;
+                    break;
+                }
+            }
+            sum += index;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int indexOfLatin1() {
+        int sum = 0;
+        for (byte[] b : bytes) {
+            sum += Latin1Strings.indexOf(b, 0, b.length, (byte) ',');
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(Latin1StringsJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -2,6 +2,7 @@ package com.example.benchmark;
 
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
@@ -64,6 +65,7 @@ public class ListAddJmhBenchmark {
     public static void main(String[] args) throws Exception {
         Options opt = new OptionsBuilder()
                 .include(ListAddJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
                 .detectJvmArgs()
                 .build();
         new Runner(opt).run();
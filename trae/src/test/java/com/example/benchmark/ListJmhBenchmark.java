@@ -0,0 +1,86 @@
+package com.example.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 使用 JMH 对比 List 实现的常见操作：ArrayList vs LinkedList vs CopyOnWriteArrayList。
+ * - iterate：for-each 遍历求和（顺序访问，ArrayList 缓存友好，LinkedList 指针追逐）；
+ * - randomGet：随机下标访问（LinkedList 为 O(n)）；
+ * - insertRemoveMiddle：在中间插入再删除，保持 size 不变（ArrayList 需要移动元素，CopyOnWrite 整体复制）。
+ * 每个线程独立持有一份 List（Scope.Thread），用 -t 增加线程数时观察的是内存带宽与缓存竞争。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class ListJmhBenchmark {
+
+    @Param({"ArrayList", "LinkedList", "CopyOnWriteArrayList"})
+    public String impl;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private List<Integer> list;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Integer> init = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            init.add(i);
+        }
+        switch (impl) {
+            case "LinkedList":
+                list = new LinkedList<>(init);
+                break;
+            case "CopyOnWriteArrayList":
+                list = new CopyOnWriteArrayList<>(init);
+                break;
+            default:
+                list = init;
+        }
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer x : list) {
+            sum += x;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Integer randomGet() {
+        return list.get(ThreadLocalRandom.current().nextInt(size));
+    }
+
+    @Benchmark
+    public Integer insertRemoveMiddle() {
+        int index = size >>> 1;
+        list.add(index, -1);
+        return list.remove(index);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(ListJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 使用 JMH 对比 Map 实现：HashMap / LinkedHashMap / TreeMap / ConcurrentHashMap / synchronizedMap。
+ * - getHit / getMiss：命中与未命中查询（未命中键与已有键同分布，避免哈希分布差异）；
+ * - putOverwrite：覆盖已有键，不改变 size；
+ * - iterateEntries：遍历 entrySet。
+ *
+ * Map 在所有线程之间共享（Scope.Benchmark）。非线程安全的实现只应以 -t 1 运行，
+ * 多线程对比请只选择并发实现，例如：-p impl=ConcurrentHashMap,synchronizedMap -t 4。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapJmhBenchmark {
+
+    @Param({"HashMap", "LinkedHashMap", "TreeMap", "ConcurrentHashMap", "synchronizedMap"})
+    public String impl;
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private Map<String, Integer> map;
+    private String[] hitKeys;
+    private String[] missKeys;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (impl) {
+            case "LinkedHashMap":
+                map = new LinkedHashMap<>();
+                break;
+            case "TreeMap":
+                map = new TreeMap<>();
+                break;
+            case "ConcurrentHashMap":
+                map = new ConcurrentHashMap<>();
+                break;
+            case "synchronizedMap":
+                map = Collections.synchronizedMap(new HashMap<>());
+                break;
+            default:
+                map = new HashMap<>();
+        }
+        hitKeys = new String[size];
+        missKeys = new String[size];
+        for (int i = 0; i < size; i++) {
+            hitKeys[i] = "key_" + i;
+            missKeys[i] = "miss_" + i;
+            map.put(hitKeys[i], i);
+        }
+    }
+
+    @Benchmark
+    public Integer getHit() {
+        return map.get(hitKeys[ThreadLocalRandom.current().nextInt(size)]);
+    }
+
+    @Benchmark
+    public Integer getMiss() {
+        return map.get(missKeys[ThreadLocalRandom.current().nextInt(size)]);
+    }
+
+    @Benchmark
+    public Integer putOverwrite() {
+        int i = ThreadLocalRandom.current().nextInt(size);
+        return map.put(hitKeys[i], i);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long iterateEntries() {
+        long sum = 0;
+        if ("synchronizedMap".equals(impl)) {
+            synchronized (map) {
+                for (Map.Entry<String, Integer> e : map.entrySet()) {
+                    sum += e.getValue();
+                }
+            }
+            return sum;
+        }
+        for (Map.Entry<String, Integer> e : map.entrySet()) {
+            sum += e.getValue();
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(MapJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
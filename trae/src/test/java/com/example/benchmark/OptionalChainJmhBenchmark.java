@@ -0,0 +1,242 @@
+package com.example.benchmark;
+
+import com.trae.study.java8.optional.Maybe;
+import com.trae.study.java8.optional.MaybeInt;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 使用 JMH 对比深度 1~5 的 Optional 链与 Maybe 静态方法（有值路径）：
+ * - 引用链：root.next.next... 逐层取字段，最后取 name 的长度；nullCheck 为手写判空基线；
+ * - 基本类型链：int 值逐层变换，Optional&lt;Integer&gt; 每步装箱（值超出 Integer 缓存），MaybeInt 不装箱；
+ * - 每个 Optional / Maybe 方法各有一个 *NoEscapeAnalysis 版本，在 -XX:-DoEscapeAnalysis 的 fork 中运行。
+ * 配合 GC profiler 观察 gc.alloc.rate.norm：开启逃逸分析时 Optional 链通常能被标量替换，
+ * 关闭后每层分配一个 Optional（基本类型链再加一个 Integer）；Maybe 两种情况下都为 0。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(OptionalChainJmhBenchmark.SIZE)
+public class OptionalChainJmhBenchmark {
+
+    static final int SIZE = 1024;
+
+    @Param({"1", "2", "3", "4", "5"})
+    public int depth;
+
+    /** 模拟嵌套 DTO：每层一个可空的 next 字段 */
+    public static final class Node {
+        final Node next;
+        final String name;
+
+        Node(Node next, String name) {
+            this.next = next;
+            this.name = name;
+        }
+
+        public Node getNext() {
+            return next;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private Node[] roots;
+    private int[] values;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        roots = new Node[SIZE];
+        values = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            Node node = null;
+            for (int level = 5; level >= 0; level--) {
+                node = new Node(node, "node-" + i + "-" + level);
+            }
+            roots[i] = node;
+            values[i] = 1_000 + i;
+        }
+    }
+
+    // ===================== 引用链 =====================
+
+    @Benchmark
+    public int nullCheck() {
+        int sum = 0;
+        for (Node root : roots) {
+            sum += nullCheckChain(root, depth);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int optionalChain() {
+        int sum = 0;
+        for (Node root : roots) {
+            sum += optionalChain(root, depth);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-XX:-DoEscapeAnalysis")
+    public int optionalChainNoEscapeAnalysis() {
+        return optionalChain();
+    }
+
+    @Benchmark
+    public int maybeChain() {
+        int sum = 0;
+        for (Node root : roots) {
+            sum += maybeChain(root, depth);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-XX:-DoEscapeAnalysis")
+    public int maybeChainNoEscapeAnalysis() {
+        return maybeChain();
+    }
+
+    // ===================== 基本类型链 =====================
+
+    @Benchmark
+    public int optionalIntChain() {
+        int sum = 0;
+        for (int value : values) {
+            sum += optionalIntChain(value, depth);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-XX:-DoEscapeAnalysis")
+    public int optionalIntChainNoEscapeAnalysis() {
+        return optionalIntChain();
+    }
+
+    @Benchmark
+    public int maybeIntChain() {
+        int sum = 0;
+        for (int value : values) {
+            sum += maybeIntChain(value, depth);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-XX:-DoEscapeAnalysis")
+    public int maybeIntChainNoEscapeAnalysis() {
+        return maybeIntChain();
+    }
+
+    // 每个深度写成独立的链（而不是循环），与业务代码中的写法一致，也让逃逸分析有机会消除中间对象
+
+    private static int nullCheckChain(Node root, int depth) {
+        Node node = root;
+        for (int i = 1; i < depth && node != null; i++) {
+            node = node.next;
+        }
+        return node != null && node.name != null ? node.name.length() : -1;
+    }
+
+    private static int optionalChain(Node root, int depth) {
+        switch (depth) {
+            case 1:
+                return Optional.ofNullable(root).map(Node::getName).map(String::length).orElse(-1);
+            case 2:
+                return Optional.ofNullable(root).map(Node::getNext)
+                        .map(Node::getName).map(String::length).orElse(-1);
+            case 3:
+                return Optional.ofNullable(root).map(Node::getNext).map(Node::getNext)
+                        .map(Node::getName).map(String::length).orElse(-1);
+            case 4:
+                return Optional.ofNullable(root).map(Node::getNext).map(Node::getNext).map(Node::getNext)
+                        .map(Node::getName).map(String::length).orElse(-1);
+            default:
+                return Optional.ofNullable(root).map(Node::getNext).map(Node::getNext).map(Node::getNext)
+                        .map(Node::getNext).map(Node::getName).map(String::length).orElse(-1);
+        }
+    }
+
+    private static int maybeChain(Node root, int depth) {
+        Node node;
+        switch (depth) {
+            case 1:
+                node = root;
+                break;
+            case 2:
+                node = Maybe.map(root, Node::getNext);
+                break;
+            case 3:
+                node = Maybe.map(Maybe.map(root, Node::getNext), Node::getNext);
+                break;
+            case 4:
+                node = Maybe.map(Maybe.map(Maybe.map(root, Node::getNext), Node::getNext), Node::getNext);
+                break;
+            default:
+                node = Maybe.map(Maybe.map(Maybe.map(Maybe.map(root, Node::getNext), Node::getNext),
+                        Node::getNext), Node::getNext);
+                break;
+        }
+        return MaybeInt.orElse(Maybe.mapToInt(Maybe.map(node, Node::getName), String::length), -1);
+    }
+
+    private static int optionalIntChain(int value, int depth) {
+        switch (depth) {
+            case 1:
+                return Optional.of(value).map(v -> v * 3 + 1).orElse(-1);
+            case 2:
+                return Optional.of(value).map(v -> v * 3 + 1).filter(v -> v > 0).orElse(-1);
+            case 3:
+                return Optional.of(value).map(v -> v * 3 + 1).filter(v -> v > 0).map(v -> v >> 1).orElse(-1);
+            case 4:
+                return Optional.of(value).map(v -> v * 3 + 1).filter(v -> v > 0).map(v -> v >> 1)
+                        .map(v -> v ^ 0x5555).orElse(-1);
+            default:
+                return Optional.of(value).map(v -> v * 3 + 1).filter(v -> v > 0).map(v -> v >> 1)
+                        .map(v -> v ^ 0x5555).filter(v -> v != 0).orElse(-1);
+        }
+    }
+
+    private static int maybeIntChain(int value, int depth) {
+        long m = MaybeInt.of(value);
+        switch (depth) {
+            case 1:
+                return MaybeInt.orElse(MaybeInt.map(m, v -> v * 3 + 1), -1);
+            case 2:
+                return MaybeInt.orElse(MaybeInt.filter(MaybeInt.map(m, v -> v * 3 + 1), v -> v > 0), -1);
+            case 3:
+                return MaybeInt.orElse(MaybeInt.map(MaybeInt.filter(MaybeInt.map(m, v -> v * 3 + 1), v -> v > 0),
+                        v -> v >> 1), -1);
+            case 4:
+                return MaybeInt.orElse(MaybeInt.map(MaybeInt.map(MaybeInt.filter(MaybeInt.map(m, v -> v * 3 + 1),
+                        v -> v > 0), v -> v >> 1), v -> v ^ 0x5555), -1);
+            default:
+                return MaybeInt.orElse(MaybeInt.filter(MaybeInt.map(MaybeInt.map(MaybeInt.filter(
+                        MaybeInt.map(m, v -> v * 3 + 1), v -> v > 0), v -> v >> 1), v -> v ^ 0x5555),
+                        v -> v != 0), -1);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(OptionalChainJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.benchmark;
+
+import com.trae.study.java8.stream.ParallelStreamRunner;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 使用 JMH 对比"重量级报表查询 + 轻量并行查询"同时运行时，轻量查询的延迟：
+ * - sharedCommonPool：报表查询与轻量查询都用 parallelStream()，共享 ForkJoinPool.commonPool()；
+ * - isolatedReportPool：报表查询放进 ParallelStreamRunner 的专用池（并行度为核数的一半），轻量查询仍用公共池；
+ * - lightAlone：没有报表负载时轻量查询的基线。
+ * SampleTime 模式下关注 lightXxx 的 p0.99 / p0.999：共享公共池时轻量查询要排在报表子任务之后。
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelStreamPoolJmhBenchmark {
+
+    @Param({"2000000"})
+    public int heavySize;
+
+    @Param({"100000"})
+    public int lightSize;
+
+    private List<Integer> heavyData;
+    private int[] lightData;
+    private ParallelStreamRunner reports;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        heavyData = IntStream.range(0, heavySize).boxed().collect(Collectors.toList());
+        lightData = IntStream.range(0, lightSize).toArray();
+        reports = ParallelStreamRunner.builder()
+                .name("report")
+                .parallelism(Math.max(1, Runtime.getRuntime().availableProcessors() / 2))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        reports.close();
+    }
+
+    private static double report(double acc, Integer n) {
+        return acc + Math.sqrt(n) * Math.log(n + 1.0);
+    }
+
+    private long lightQuery() {
+        return IntStream.of(lightData).parallel().filter(n -> (n & 1) == 0).asLongStream().sum();
+    }
+
+    @Benchmark
+    @Group("sharedCommonPool")
+    @GroupThreads(1)
+    public double sharedHeavy() {
+        return heavyData.parallelStream().mapToDouble(n -> report(0, n)).sum();
+    }
+
+    @Benchmark
+    @Group("sharedCommonPool")
+    @GroupThreads(2)
+    public long sharedLight() {
+        return lightQuery();
+    }
+
+    @Benchmark
+    @Group("isolatedReportPool")
+    @GroupThreads(1)
+    public double isolatedHeavy() {
+        return reports.query(heavyData, s -> s.mapToDouble(n -> report(0, n)).sum());
+    }
+
+    @Benchmark
+    @Group("isolatedReportPool")
+    @GroupThreads(2)
+    public long isolatedLight() {
+        return lightQuery();
+    }
+
+    @Benchmark
+    public long lightAlone() {
+        return lightQuery();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(ParallelStreamPoolJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 使用 JMH 对比优先队列：PriorityQueue / PriorityBlockingQueue / TreeMap 计数模拟的多重集合。
+ * - offerPoll：稳态下插入一个随机元素再取出最小元素，两次 O(log n) 的上浮/下沉；
+ * - buildFromCollection：批量建堆，new PriorityQueue(collection) 为 O(n) 的 heapify，逐个 offer 为 O(n log n)；
+ * - drainSorted：依次 poll 出全部元素（堆排序），用于与 Collections.sort 的数量级对比。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class PriorityQueueJmhBenchmark {
+
+    @Param({"PriorityQueue", "PriorityBlockingQueue", "TreeMultiset"})
+    public String impl;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Queue<Integer> queue;
+    private List<Integer> source;
+
+    /**
+     * 用 TreeMap&lt;值, 次数&gt; 模拟允许重复元素的有序队列，作为红黑树方案的对照
+     */
+    static final class TreeMultisetQueue extends AbstractQueue<Integer> {
+        private final TreeMap<Integer, int[]> counts = new TreeMap<>();
+        private int size;
+
+        @Override
+        public boolean offer(Integer e) {
+            counts.computeIfAbsent(e, k -> new int[1])[0]++;
+            size++;
+            return true;
+        }
+
+        @Override
+        public Integer poll() {
+            Map.Entry<Integer, int[]> first = counts.firstEntry();
+            if (first == null) {
+                return null;
+            }
+            if (--first.getValue()[0] == 0) {
+                counts.pollFirstEntry();
+            }
+            size--;
+            return first.getKey();
+        }
+
+        @Override
+        public Integer peek() {
+            return counts.isEmpty() ? null : counts.firstKey();
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        source = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            source.add(random.nextInt());
+        }
+        queue = newQueue();
+        queue.addAll(source);
+    }
+
+    private Queue<Integer> newQueue() {
+        switch (impl) {
+            case "PriorityBlockingQueue":
+                return new PriorityBlockingQueue<>();
+            case "TreeMultiset":
+                return new TreeMultisetQueue();
+            default:
+                return new PriorityQueue<>();
+        }
+    }
+
+    @Benchmark
+    public Integer offerPoll() {
+        queue.offer(ThreadLocalRandom.current().nextInt());
+        return queue.poll();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int buildFromCollection() {
+        if ("PriorityQueue".equals(impl)) {
+            return new PriorityQueue<>(source).size();
+        }
+        if ("PriorityBlockingQueue".equals(impl)) {
+            return new PriorityBlockingQueue<>(source).size();
+        }
+        Queue<Integer> q = newQueue();
+        q.addAll(source);
+        return q.size();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long drainSorted() {
+        Queue<Integer> q = newQueue();
+        q.addAll(source);
+        long checksum = 0;
+        Integer x;
+        while ((x = q.poll()) != null) {
+            checksum = checksum * 31 + x;
+        }
+        return checksum;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(PriorityQueueJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 使用 JMH 对比 Set 实现：HashSet / LinkedHashSet / TreeSet / ConcurrentHashMap.newKeySet / ConcurrentSkipListSet。
+ * - contains：一半命中、一半未命中；
+ * - addRemove：添加一个新元素后立即删除，保持 size 不变；
+ * - iterate：遍历求和（LinkedHashSet 按插入顺序的链表遍历，不受容量影响）。
+ * 每个线程独立持有一份 Set（Scope.Thread）。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class SetJmhBenchmark {
+
+    @Param({"HashSet", "LinkedHashSet", "TreeSet", "ConcurrentKeySet", "ConcurrentSkipListSet"})
+    public String impl;
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private Set<Integer> set;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (impl) {
+            case "LinkedHashSet":
+                set = new LinkedHashSet<>();
+                break;
+            case "TreeSet":
+                set = new TreeSet<>();
+                break;
+            case "ConcurrentKeySet":
+                set = ConcurrentHashMap.newKeySet();
+                break;
+            case "ConcurrentSkipListSet":
+                set = new ConcurrentSkipListSet<>();
+                break;
+            default:
+                set = new HashSet<>();
+        }
+        // 只放入偶数，奇数用于未命中查询
+        for (int i = 0; i < size; i++) {
+            set.add(i * 2);
+        }
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return set.contains(ThreadLocalRandom.current().nextInt(size * 2));
+    }
+
+    @Benchmark
+    public boolean addRemove() {
+        int odd = ThreadLocalRandom.current().nextInt(size) * 2 + 1;
+        set.add(odd);
+        return set.remove(odd);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long iterate() {
+        long sum = 0;
+        for (Integer x : set) {
+            sum += x;
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(SetJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 使用 JMH 对比并发有序 Map：ConcurrentSkipListMap vs Collections.synchronizedNavigableMap(TreeMap)。
+ * - mixed：按 writePercent 混合 get 与 put/remove（put 与 remove 交替，size 大致稳定）；
+ * - rangeScan：从随机起点向后遍历 64 个键（subMap 视图），synchronized 版本需在外部持锁遍历。
+ *
+ * 默认 4 线程共享同一个 Map；线程数可通过 -t 调整，或使用 {@link CollectionsJmhSuite} 扫描多个线程数。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class SkipListJmhBenchmark {
+
+    private static final int SCAN_LENGTH = 64;
+
+    @Param({"ConcurrentSkipListMap", "synchronizedTreeMap"})
+    public String impl;
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    /** 写操作百分比 */
+    @Param({"0", "10", "50"})
+    public int writePercent;
+
+    private NavigableMap<Integer, Integer> map;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        map = "synchronizedTreeMap".equals(impl)
+                ? Collections.synchronizedNavigableMap(new TreeMap<>())
+                : new ConcurrentSkipListMap<>();
+        // 只放入偶数键，写操作在奇数键上 put/remove，不影响读操作的命中率
+        for (int i = 0; i < size; i++) {
+            map.put(i * 2, i);
+        }
+    }
+
+    @Benchmark
+    public Integer mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int key = random.nextInt(size);
+        if (random.nextInt(100) < writePercent) {
+            int odd = key * 2 + 1;
+            return random.nextBoolean() ? map.put(odd, key) : map.remove(odd);
+        }
+        return map.get(key * 2);
+    }
+
+    @Benchmark
+    public long rangeScan() {
+        int from = ThreadLocalRandom.current().nextInt(size) * 2;
+        NavigableMap<Integer, Integer> view = map.subMap(from, true, from + SCAN_LENGTH * 2, false);
+        long sum = 0;
+        if (map instanceof ConcurrentSkipListMap) {
+            for (Map.Entry<Integer, Integer> e : view.entrySet()) {
+                sum += e.getValue();
+            }
+            return sum;
+        }
+        synchronized (map) {
+            for (Map.Entry<Integer, Integer> e : view.entrySet()) {
+                sum += e.getValue();
+            }
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(SkipListJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.benchmark;
+
+import com.trae.study.collections.concurrent.ChunkedSnapshotList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 使用 JMH 对比读写混合场景下的并发 List：
+ * ChunkedSnapshotList vs CopyOnWriteArrayList vs Collections.synchronizedList。
+ * 读操作 = 完整遍历求和（synchronizedList 需在外部加锁，否则会抛 CME）；
+ * 写操作 = 随机下标 set（保持 size 不变，便于不同写比例之间对比）。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class SnapshotListJmhBenchmark {
+
+    @Param({"chunked", "copyOnWrite", "synchronized"})
+    public String impl;
+
+    /** 写操作百分比 */
+    @Param({"1", "10", "50"})
+    public int writePercent;
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    private List<Integer> list;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Integer> init = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            init.add(i);
+        }
+        switch (impl) {
+            case "chunked":
+                list = new ChunkedSnapshotList<>(init);
+                break;
+            case "copyOnWrite":
+                list = new CopyOnWriteArrayList<>(init);
+                break;
+            default:
+                list = Collections.synchronizedList(init);
+        }
+    }
+
+    /**
+     * 基准：按 writePercent 混合读（遍历）与写（set）。
+     */
+    @Benchmark
+    public long mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(100) < writePercent) {
+            list.set(random.nextInt(size), random.nextInt());
+            return 0L;
+        }
+        if ("synchronized".equals(impl)) {
+            synchronized (list) {
+                return sum(list);
+            }
+        }
+        return sum(list);
+    }
+
+    private static long sum(List<Integer> list) {
+        long sum = 0;
+        for (Integer x : list) {
+            sum += x;
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(SnapshotListJmhBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .detectJvmArgs()
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,109 @@
+package com.trae.study.benchmark;
+
+import com.trae.study.dto.BenchmarkResultDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BenchmarkRegressionGate 回归门禁测试")
+class BenchmarkRegressionGateTest {
+
+    private static BenchmarkRecord record(String run, String name, String mode, String unit, double score, Double error) {
+        BenchmarkResultDTO dto = new BenchmarkResultDTO(name, 0, Collections.emptyMap());
+        dto.setMode(mode);
+        dto.setScoreUnit(unit);
+        dto.setScore(score);
+        dto.setScoreError(error);
+        return new BenchmarkRecord(run, 0, BenchmarkResultStore.SOURCE_JMH, null, dto);
+    }
+
+    @Test
+    @DisplayName("方向判断：吞吐下降与耗时上升都算回归")
+    void testCompareDirections() {
+        List<BenchmarkRecord> base = Arrays.asList(
+                record("a", "thrpt", "thrpt", "ops/us", 100, 1.0),
+                record("a", "avgt", "avgt", "ns/op", 100, 1.0),
+                record("a", "faster", "avgt", "ns/op", 100, 1.0),
+                record("a", "noisy", "avgt", "ns/op", 100, 20.0),
+                record("a", "removed", "avgt", "ns/op", 1, null));
+        List<BenchmarkRecord> cand = Arrays.asList(
+                record("b", "thrpt", "thrpt", "ops/us", 80, 1.0),
+                record("b", "avgt", "avgt", "ns/op", 120, 1.0),
+                record("b", "faster", "avgt", "ns/op", 50, 1.0),
+                record("b", "noisy", "avgt", "ns/op", 130, 20.0),
+                record("b", "added", "avgt", "ns/op", 1, null));
+
+        List<BenchmarkRegressionGate.Comparison> result = BenchmarkRegressionGate.compare(base, cand, 5);
+        assertEquals(BenchmarkRegressionGate.Status.REGRESSED, find(result, "thrpt").getStatus());
+        assertEquals(20.0, find(result, "thrpt").getWorsePercent(), 1e-9);
+        assertEquals(BenchmarkRegressionGate.Status.REGRESSED, find(result, "avgt").getStatus());
+        assertEquals(BenchmarkRegressionGate.Status.IMPROVED, find(result, "faster").getStatus());
+        assertEquals(BenchmarkRegressionGate.Status.UNCHANGED, find(result, "noisy").getStatus(), "差值在误差范围内不算回归");
+        assertEquals(BenchmarkRegressionGate.Status.MISSING, find(result, "removed").getStatus());
+        assertEquals(BenchmarkRegressionGate.Status.NEW, find(result, "added").getStatus());
+    }
+
+    @Test
+    @DisplayName("StopWatch 结果按毫秒耗时比较")
+    void testStopWatchFallback() {
+        BenchmarkRecord base = new BenchmarkRecord("a", 0, BenchmarkResultStore.SOURCE_STOPWATCH, null,
+                new BenchmarkResultDTO("sort", 100, null));
+        BenchmarkRecord cand = new BenchmarkRecord("b", 0, BenchmarkResultStore.SOURCE_STOPWATCH, null,
+                new BenchmarkResultDTO("sort", 104, null));
+        List<BenchmarkRegressionGate.Comparison> result =
+                BenchmarkRegressionGate.compare(Collections.singletonList(base), Collections.singletonList(cand), 5);
+        assertEquals(BenchmarkRegressionGate.Status.UNCHANGED, result.get(0).getStatus());
+        assertEquals("ms", result.get(0).getUnit());
+        result = BenchmarkRegressionGate.compare(Collections.singletonList(base), Collections.singletonList(cand), 3);
+        assertEquals(BenchmarkRegressionGate.Status.REGRESSED, result.get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("命令行：同一文件对比最近两次运行，回归时退出码为 1")
+    void testCommandLine(@TempDir Path dir) throws IOException {
+        Path jmh = dir.resolve("jmh.json");
+        Files.write(jmh, BenchmarkResultStoreTest.JMH_JSON.getBytes(StandardCharsets.UTF_8));
+        Path store = dir.resolve("results.jsonl");
+
+        assertEquals(BenchmarkRegressionGate.EXIT_OK, run("import-jmh", jmh.toString(), store.toString(), "--run=v1"));
+        assertEquals(BenchmarkRegressionGate.EXIT_OK, run("import-jmh", jmh.toString(), store.toString(), "--run=v2"));
+        assertEquals(BenchmarkRegressionGate.EXIT_OK, run("compare", store.toString(), store.toString()));
+
+        // 候选运行吞吐下降 30%
+        Path slower = dir.resolve("jmh-slow.json");
+        Files.write(slower, BenchmarkResultStoreTest.JMH_JSON.replace("\"score\":52.5", "\"score\":36.75")
+                .getBytes(StandardCharsets.UTF_8));
+        run("import-jmh", slower.toString(), store.toString(), "--run=v3");
+        assertEquals(BenchmarkRegressionGate.EXIT_REGRESSION, run("compare", store.toString(), store.toString()));
+        assertEquals(BenchmarkRegressionGate.EXIT_OK,
+                run("compare", store.toString(), store.toString(), "--threshold=50"));
+        assertEquals(BenchmarkRegressionGate.EXIT_OK,
+                run("compare", store.toString(), store.toString(), "--baseline-run=v1", "--candidate-run=v2"));
+
+        assertEquals(BenchmarkRegressionGate.EXIT_USAGE, run("compare", store.toString()));
+        assertEquals(BenchmarkRegressionGate.EXIT_USAGE,
+                run("compare", dir.resolve("missing.jsonl").toString(), store.toString()));
+    }
+
+    private static int run(String... args) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        return BenchmarkRegressionGate.run(args, new PrintStream(buffer, true));
+    }
+
+    private static BenchmarkRegressionGate.Comparison find(List<BenchmarkRegressionGate.Comparison> list, String key) {
+        return list.stream().filter(c -> c.getKey().equals(key)).findFirst()
+                .orElseThrow(() -> new AssertionError("缺少 " + key));
+    }
+}
@@ -0,0 +1,117 @@
+package com.trae.study.benchmark;
+
+import com.trae.study.dto.BenchmarkResultDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BenchmarkResultStore 结果持久化测试")
+class BenchmarkResultStoreTest {
+
+    /** 精简的 JMH -rf json 输出（两个基准，其中一个带 GC profiler 指标） */
+    static final String JMH_JSON = "[\n" +
+            "  {\"jmhVersion\":\"1.37\",\"benchmark\":\"com.example.benchmark.MapJmhBenchmark.getHit\",\"mode\":\"thrpt\",\n" +
+            "   \"threads\":2,\"forks\":1,\"jdkVersion\":\"17.0.1\",\"vmName\":\"OpenJDK 64-Bit Server VM\",\"vmVersion\":\"17.0.1+12\",\n" +
+            "   \"jvmArgs\":[\"-Xmx1g\"],\"params\":{\"impl\":\"ConcurrentHashMap\",\"size\":\"1000\"},\n" +
+            "   \"primaryMetric\":{\"score\":52.5,\"scoreError\":1.5,\"scoreConfidence\":[51.0,54.0],\n" +
+            "     \"scorePercentiles\":{\"0.0\":50.0,\"50.0\":52.0,\"99.0\":54.0,\"99.9\":54.5,\"100.0\":55.0},\n" +
+            "     \"scoreUnit\":\"ops/us\",\"rawData\":[[52.0,53.0]]},\n" +
+            "   \"secondaryMetrics\":{\"·gc.alloc.rate\":{\"score\":120.5,\"scoreUnit\":\"MB/sec\"},\n" +
+            "     \"·gc.alloc.rate.norm\":{\"score\":16.0,\"scoreUnit\":\"B/op\"},\n" +
+            "     \"·gc.count\":{\"score\":3.0,\"scoreUnit\":\"counts\"},\"·gc.time\":{\"score\":7.0,\"scoreUnit\":\"ms\"}}},\n" +
+            "  {\"jmhVersion\":\"1.37\",\"benchmark\":\"com.example.benchmark.ListJmhBenchmark.iterate\",\"mode\":\"avgt\",\n" +
+            "   \"threads\":1,\"forks\":1,\"params\":{\"impl\":\"ArrayList\",\"size\":\"1000\"},\n" +
+            "   \"primaryMetric\":{\"score\":800.0,\"scoreError\":\"NaN\",\"scoreUnit\":\"ns/op\"},\"secondaryMetrics\":{}}\n" +
+            "]";
+
+    @Test
+    @DisplayName("StopWatch 结果写入后可完整读回")
+    void testAppendAndRead(@TempDir Path dir) {
+        BenchmarkResultStore store = new BenchmarkResultStore(dir.resolve("sub/results.jsonl"));
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("数据量", 1000);
+        BenchmarkResultDTO dto = new BenchmarkResultDTO("排序", "Collections.sort", 42, metrics);
+        dto.setPercentiles(Collections.singletonMap("p99", 12.5));
+        store.append("v1", dto);
+        store.append("v2", new BenchmarkResultDTO("排序", 40, new HashMap<>()));
+
+        assertEquals(Arrays.asList("v1", "v2"), store.runIds());
+        List<BenchmarkRecord> v1 = store.readRun("v1");
+        assertEquals(1, v1.size());
+        BenchmarkRecord record = v1.get(0);
+        assertEquals(BenchmarkResultStore.SOURCE_STOPWATCH, record.getSource());
+        assertEquals("排序", record.getResult().getTestName());
+        assertEquals(42, record.getResult().getExecutionTimeMs());
+        assertEquals(12.5, record.getResult().getPercentiles().get("p99"));
+        assertEquals(1000, ((Number) record.getResult().getAdditionalMetrics().get("数据量")).intValue());
+        assertEquals(Runtime.getRuntime().availableProcessors(), record.getEnvironment().getAvailableProcessors());
+        assertNotNull(record.getEnvironment().getJavaVersion());
+    }
+
+    @Test
+    @DisplayName("JMH JSON 导入：主指标、分位数、参数与分配指标")
+    void testFromJmhJson(@TempDir Path dir) throws IOException {
+        Path json = dir.resolve("jmh.json");
+        Files.write(json, JMH_JSON.getBytes(StandardCharsets.UTF_8));
+        List<BenchmarkRecord> records = BenchmarkResultStore.fromJmhJson(json, "r1");
+        assertEquals(2, records.size());
+
+        BenchmarkResultDTO map = records.get(0).getResult();
+        assertEquals("MapJmhBenchmark.getHit", map.getTestName());
+        assertEquals("thrpt", map.getMode());
+        assertEquals(2, map.getThreads());
+        assertEquals("ConcurrentHashMap", map.getParams().get("impl"));
+        assertEquals(52.5, map.getScore());
+        assertEquals(1.5, map.getScoreError());
+        assertEquals("ops/us", map.getScoreUnit());
+        assertEquals(52.0, map.getPercentiles().get("p50"));
+        assertEquals(54.5, map.getPercentiles().get("p999"));
+        assertEquals(55.0, map.getPercentiles().get("p100"));
+        assertEquals(16.0, map.getAllocBytesPerOp());
+        assertEquals(120.5, map.getAllocRateMbPerSec());
+        assertEquals(3L, map.getGcCount());
+        assertEquals(7L, map.getGcTimeMs());
+        assertEquals("17.0.1", records.get(0).getEnvironment().getJavaVersion());
+        assertEquals(Collections.singletonList("-Xmx1g"), records.get(0).getEnvironment().getJvmArgs());
+
+        BenchmarkResultDTO list = records.get(1).getResult();
+        assertNull(list.getScoreError(), "NaN 误差应记为未知");
+
+        // 写入后读回一致
+        BenchmarkResultStore store = new BenchmarkResultStore(dir.resolve("store.jsonl"));
+        store.appendAll(records);
+        List<BenchmarkRecord> read = store.readRun("r1");
+        assertEquals(2, read.size());
+        assertEquals(BenchmarkRecord.keyOf(map), BenchmarkRecord.keyOf(read.get(0).getResult()));
+        assertEquals(54.5, read.get(0).getResult().getPercentiles().get("p999"));
+    }
+
+    @Test
+    @DisplayName("键与名称转换")
+    void testKeysAndNames() {
+        assertEquals("MapJmhBenchmark.getHit", BenchmarkResultStore.shortName("com.example.benchmark.MapJmhBenchmark.getHit"));
+        assertEquals("p50", BenchmarkResultStore.percentileKey("50.0"));
+        assertEquals("p999", BenchmarkResultStore.percentileKey("99.9"));
+        assertEquals("p9999", BenchmarkResultStore.percentileKey("99.99"));
+
+        BenchmarkResultDTO dto = new BenchmarkResultDTO("A.b", 0, null);
+        Map<String, String> params = new HashMap<>();
+        params.put("size", "10");
+        params.put("impl", "x");
+        dto.setParams(params);
+        dto.setThreads(4);
+        assertEquals("A.b{impl=x, size=10}@t4", BenchmarkRecord.keyOf(dto));
+    }
+}
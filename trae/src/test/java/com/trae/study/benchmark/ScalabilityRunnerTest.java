@@ -0,0 +1,208 @@
+package com.trae.study.benchmark;
+
+import com.trae.study.dto.BenchmarkResultDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ScalabilityRunner 扩展性扫描测试")
+class ScalabilityRunnerTest {
+
+    private static ScalabilityPoint point(int threads, double speedup) {
+        ScalabilityPoint p = new ScalabilityPoint();
+        p.setThreads(threads);
+        p.setSpeedup(speedup);
+        return p;
+    }
+
+    private static ScalabilityPoint throughput(int threads, double opsPerSec) {
+        ScalabilityPoint p = new ScalabilityPoint();
+        p.setThreads(threads);
+        p.setOpsPerSec(opsPerSec);
+        return p;
+    }
+
+    @Test
+    @DisplayName("Amdahl 拟合：理想曲线还原串行比例，单线程无法拟合")
+    void testFitSerialFraction() {
+        double s = 0.2;
+        List<ScalabilityPoint> points = new ArrayList<>();
+        for (int n : new int[]{1, 2, 4, 8, 16}) {
+            points.add(point(n, 1 / (s + (1 - s) / n)));
+        }
+        assertEquals(s, ScalabilityRunner.fitSerialFraction(points), 1e-9);
+
+        List<ScalabilityPoint> linear = Arrays.asList(point(1, 1), point(2, 2), point(4, 4));
+        assertEquals(0.0, ScalabilityRunner.fitSerialFraction(linear), 1e-9);
+        List<ScalabilityPoint> flat = Arrays.asList(point(1, 1), point(2, 1), point(4, 1));
+        assertEquals(1.0, ScalabilityRunner.fitSerialFraction(flat), 1e-9);
+        assertNull(ScalabilityRunner.fitSerialFraction(Arrays.asList(point(1, 1))));
+
+        ScalabilityReport report = new ScalabilityReport("x", 90, 10, points, s);
+        assertEquals(1 / (s + (1 - s) / 8), report.predictedSpeedup(8), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Jain 公平性指数")
+    void testJainFairness() {
+        assertEquals(1.0, ScalabilityRunner.jainFairness(new long[]{5, 5, 5, 5}), 1e-9);
+        assertEquals(0.25, ScalabilityRunner.jainFairness(new long[]{10, 0, 0, 0}), 1e-9);
+        assertEquals(1.0, ScalabilityRunner.jainFairness(new long[]{0, 0}), 1e-9);
+    }
+
+    @Test
+    @DisplayName("扫描：每个档位一行，各线程都有进展")
+    void testRun() {
+        ScalabilityRunner runner = ScalabilityRunner.builder()
+                .threadCounts(4, 1, 2, 2)
+                .readPercent(80)
+                .keySpace(1_000)
+                .warmup(20, TimeUnit.MILLISECONDS)
+                .measure(60, TimeUnit.MILLISECONDS)
+                .build();
+        ScalabilityReport report = runner.run(ConcurrentStructureAdapter.ofMap("CHM", ConcurrentHashMap::new));
+
+        assertEquals("CHM", report.getStructure());
+        assertEquals(3, report.getPoints().size());
+        int[] expected = {1, 2, 4};
+        for (int i = 0; i < expected.length; i++) {
+            ScalabilityPoint p = report.getPoints().get(i);
+            assertEquals(expected[i], p.getThreads());
+            assertEquals(expected[i], p.getPerThreadOps().size());
+            assertTrue(p.getTotalOps() > 0);
+            assertTrue(p.getElapsedNanos() >= TimeUnit.MILLISECONDS.toNanos(60));
+            assertTrue(p.getFairness() > 0 && p.getFairness() <= 1.0 + 1e-9);
+            assertEquals(p.getSpeedup() / p.getThreads(), p.getEfficiency(), 1e-9);
+        }
+        assertEquals(1.0, report.getPoints().get(0).getSpeedup(), 1e-9);
+        assertNotNull(report.getSerialFraction());
+    }
+
+    @Test
+    @DisplayName("报告计算：由合成吞吐点得到加速比、效率与串行比例")
+    void testReportMath() {
+        // 全局锁结构：线程越多吞吐越低（锁交接开销），加速比低于 1，串行比例截断为 1
+        ScalabilityReport serialized = ScalabilityRunner.report("GlobalLock", 90, 100,
+                Arrays.asList(throughput(1, 1000), throughput(2, 950), throughput(4, 900)));
+        assertEquals(1.0, serialized.getPoints().get(0).getSpeedup(), 1e-9);
+        assertEquals(0.9, serialized.getPoints().get(2).getSpeedup(), 1e-9);
+        assertEquals(0.225, serialized.getPoints().get(2).getEfficiency(), 1e-9);
+        assertEquals(1.0, serialized.getSerialFraction(), 1e-9);
+
+        // 串行比例 0.25 的 Amdahl 曲线：4 线程加速比 1 / (0.25 + 0.75 / 4) ≈ 2.29
+        double s = 0.25;
+        List<ScalabilityPoint> amdahl = new ArrayList<>();
+        for (int n : new int[]{1, 2, 4, 8}) {
+            amdahl.add(throughput(n, 1000 / (s + (1 - s) / n)));
+        }
+        ScalabilityReport report = ScalabilityRunner.report("Amdahl", 90, 100, amdahl);
+        assertEquals(1 / (s + (1 - s) / 4), report.getPoints().get(2).getSpeedup(), 1e-9);
+        assertEquals(s, report.getSerialFraction(), 1e-9);
+        assertEquals(report.getPoints().get(3).getSpeedup(), report.predictedSpeedup(8), 1e-9);
+
+        // 没有 1 线程档位：按最小档位的单线程平均吞吐估算基线，理想线性扩展时串行比例为 0
+        ScalabilityReport noSingle = ScalabilityRunner.report("Linear", 90, 100,
+                Arrays.asList(throughput(2, 2000), throughput(4, 4000)));
+        assertEquals(2.0, noSingle.getPoints().get(0).getSpeedup(), 1e-9);
+        assertEquals(1.0, noSingle.getPoints().get(1).getEfficiency(), 1e-9);
+        assertEquals(0.0, noSingle.getSerialFraction(), 1e-9);
+
+        // 吞吐为 0 时不产生无效加速比，也无法拟合
+        ScalabilityReport empty = ScalabilityRunner.report("Empty", 90, 100,
+                Arrays.asList(throughput(1, 0), throughput(2, 0)));
+        assertEquals(0.0, empty.getPoints().get(1).getSpeedup(), 1e-9);
+        assertNull(empty.getSerialFraction());
+    }
+
+    /**
+     * 真实扫描全局锁结构：结果依赖机器核数与负载，只在 benchmark profile 中运行
+     * （mvn -Pbenchmark test）
+     */
+    @Test
+    @Tag("benchmark")
+    @DisplayName("基准：全局锁结构无法线性扩展")
+    void benchmarkSerializedStructure() {
+        Object lock = new Object();
+        long[] state = new long[1];
+        ConcurrentStructureAdapter serialized = new ConcurrentStructureAdapter() {
+            @Override
+            public String name() {
+                return "GlobalLock";
+            }
+
+            @Override
+            public void prepare(int keySpace) {
+                state[0] = 0;
+            }
+
+            @Override
+            public Object read(int key) {
+                synchronized (lock) {
+                    long v = state[0];
+                    for (int i = 0; i < 200; i++) {
+                        v = v * 31 + key;
+                    }
+                    state[0] = v;
+                    return null;
+                }
+            }
+
+            @Override
+            public void write(int key) {
+                read(key);
+            }
+        };
+        ScalabilityReport report = ScalabilityRunner.builder()
+                .threadCounts(1, 2, 4)
+                .warmup(200, TimeUnit.MILLISECONDS)
+                .measure(500, TimeUnit.MILLISECONDS)
+                .build()
+                .run(serialized);
+        ScalabilityPoint four = report.getPoints().get(2);
+        assertTrue(four.getSpeedup() < 3, "speedup=" + four.getSpeedup());
+        assertTrue(report.getSerialFraction() > 0.1, "serialFraction=" + report.getSerialFraction());
+    }
+
+    @Test
+    @DisplayName("CSV 导出与结果 DTO 转换")
+    void testCsvAndResults(@TempDir Path dir) throws IOException {
+        List<ScalabilityPoint> points = Arrays.asList(
+                new ScalabilityPoint(1, 1000, 1_000_000_000L, 1000, 1, 1, 1, 1, Arrays.asList(1000L)),
+                new ScalabilityPoint(2, 1800, 1_000_000_000L, 1800, 1.8, 0.9, 0.99, 0.9, Arrays.asList(950L, 850L)));
+        ScalabilityReport a = new ScalabilityReport("Map,A", 90, 100, points, 0.11);
+        ScalabilityReport b = new ScalabilityReport("B", 50, 100, points.subList(0, 1), null);
+
+        String csv = a.toCsv();
+        String[] lines = csv.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(ScalabilityReport.CSV_HEADER, lines[0]);
+        assertTrue(lines[2].startsWith("\"Map,A\",90,2,1800,1800.0000,1.8000,0.9000,"));
+
+        Path file = dir.resolve("out/scalability.csv");
+        ScalabilityReport.writeCsv(file, Arrays.asList(a, b));
+        List<String> written = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(4, written.size());
+        assertTrue(written.get(3).startsWith("B,50,1,"));
+        assertTrue(written.get(3).endsWith(",,"), "无法拟合时串行比例列为空");
+
+        List<BenchmarkResultDTO> results = a.toResults();
+        assertEquals(2, results.size());
+        assertEquals("thrpt", results.get(1).getMode());
+        assertEquals(1800.0, results.get(1).getScore());
+        assertEquals(Integer.valueOf(2), results.get(1).getThreads());
+        assertEquals("Scalability.Map,A{keySpace=100, readPercent=90}@t2", BenchmarkRecord.keyOf(results.get(1)));
+    }
+}
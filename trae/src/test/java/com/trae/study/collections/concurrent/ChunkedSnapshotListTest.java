@@ -0,0 +1,143 @@
+package com.trae.study.collections.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ChunkedSnapshotList 分块快照列表测试")
+class ChunkedSnapshotListTest {
+
+    @Test
+    @DisplayName("随机操作与 ArrayList 行为一致（覆盖分裂与删空块）")
+    void testMatchesArrayList() {
+        ChunkedSnapshotList<Integer> list = new ChunkedSnapshotList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(2024);
+        for (int step = 0; step < 20_000; step++) {
+            int op = random.nextInt(10);
+            if (op < 5 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, step);
+                expected.add(index, step);
+            } else if (op < 8) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, -step), list.set(index, -step));
+            }
+        }
+        assertEquals(expected, list);
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i += 97) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+        assertEquals(expected.hashCode(), list.hashCode());
+    }
+
+    @Test
+    @DisplayName("写操作只复制被修改的块，其余块在快照间共享")
+    void testStructureSharing() {
+        ChunkedSnapshotList<Integer> list = new ChunkedSnapshotList<>(
+                IntStream.range(0, 10_000).boxed().collect(Collectors.toList()));
+        ChunkedSnapshotList.Snapshot<Integer> before = list.snapshot();
+        assertTrue(before.chunkCount() > 1);
+
+        list.set(0, -1);
+        ChunkedSnapshotList.Snapshot<Integer> after = list.snapshot();
+
+        assertEquals(before.epoch() + 1, after.epoch());
+        assertEquals(0, before.get(0)); // 旧快照不受影响
+        assertEquals(-1, after.get(0));
+        // 末尾元素位于未修改的块，应为同一对象引用
+        assertSame(before.get(9_999), after.get(9_999));
+    }
+
+    @Test
+    @DisplayName("批量操作：addAll/removeIf/remove(Object)/clear")
+    void testBulkOperations() {
+        ChunkedSnapshotList<Integer> list = new ChunkedSnapshotList<>();
+        assertFalse(list.addAll(Collections.emptyList()));
+        list.addAll(IntStream.range(0, 1_000).boxed().collect(Collectors.toList()));
+        list.addAll(Arrays.asList(1_000, 1_001));
+        assertEquals(1_002, list.size());
+        assertEquals(1_001, list.get(1_001));
+
+        assertTrue(list.removeIf(x -> x % 2 == 0));
+        assertEquals(501, list.size());
+        assertTrue(list.remove(Integer.valueOf(1)));
+        assertFalse(list.remove(Integer.valueOf(2)));
+        assertEquals(3, list.get(0));
+        assertEquals(Arrays.asList(3, 5, 7), list.subList(0, 3));
+        assertEquals(500, list.stream().count());
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+    }
+
+    @Test
+    @DisplayName("迭代器基于快照：迭代中修改不抛 CME，也不支持 iterator.remove")
+    void testIteratorIsSnapshot() {
+        ChunkedSnapshotList<Integer> list = new ChunkedSnapshotList<>(Arrays.asList(1, 2, 3));
+        List<Integer> seen = new ArrayList<>();
+        for (Integer x : list) {
+            if (x == 2) list.add(99);
+            seen.add(x);
+        }
+        assertEquals(Arrays.asList(1, 2, 3), seen);
+        assertEquals(Arrays.asList(1, 2, 3, 99), list);
+
+        Iterator<Integer> it = list.iterator();
+        it.next();
+        assertThrows(UnsupportedOperationException.class, it::remove);
+    }
+
+    @Test
+    @DisplayName("并发读写：读线程遍历不抛异常，写入全部可见")
+    void testConcurrentReadersAndWriters() throws InterruptedException {
+        ChunkedSnapshotList<Integer> list = new ChunkedSnapshotList<>();
+        int writers = 4;
+        int perWriter = 5_000;
+        CountDownLatch done = new CountDownLatch(writers);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread reader = new Thread(() -> {
+            try {
+                while (running.get()) {
+                    long sum = 0;
+                    for (Integer x : list) sum += x;
+                    assertTrue(sum >= 0);
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        reader.start();
+        for (int w = 0; w < writers; w++) {
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < perWriter; i++) list.add(i);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        done.await();
+        running.set(false);
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(writers * perWriter, list.size());
+        assertEquals(writers * perWriter, list.epoch());
+    }
+}
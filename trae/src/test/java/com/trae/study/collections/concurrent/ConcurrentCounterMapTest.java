@@ -0,0 +1,119 @@
+package com.trae.study.collections.concurrent;
+
+import com.trae.study.util.AllocationSampler;
+import com.trae.study.util.ZipfianGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConcurrentCounterMap 并发计数测试")
+class ConcurrentCounterMapTest {
+
+    @Test
+    @DisplayName("基本操作：increment/add/get/sumThenReset/remove")
+    void testBasicOperations() {
+        ConcurrentCounterMap<String> map = new ConcurrentCounterMap<>();
+        map.increment("a");
+        map.increment("a");
+        map.add("b", 10);
+        map.add("b", -3);
+        assertEquals(2, map.get("a"));
+        assertEquals(7, map.get("b"));
+        assertEquals(0, map.get("missing"));
+        assertEquals(9, map.total());
+
+        assertEquals(7, map.sumThenReset("b"));
+        assertEquals(0, map.get("b"));
+        assertEquals(0, map.sumThenReset("missing"));
+
+        assertEquals(2, map.remove("a"));
+        assertEquals(1, map.size());
+        assertEquals(0L, map.snapshot().get("b"));
+    }
+
+    @Test
+    @DisplayName("topK：按计数降序返回前 k 个")
+    void testTopK() {
+        ConcurrentCounterMap<Integer> map = new ConcurrentCounterMap<>();
+        for (int key = 0; key < 100; key++) {
+            map.add(key, key);
+        }
+        List<ConcurrentCounterMap.Entry<Integer>> top = map.topK(3);
+        assertEquals(3, top.size());
+        assertEquals(99, top.get(0).getKey());
+        assertEquals(98, top.get(1).getKey());
+        assertEquals(97, top.get(2).getKey());
+        assertTrue(map.topK(0).isEmpty());
+        assertEquals(100, map.topK(1_000).size());
+    }
+
+    @Test
+    @DisplayName("Zipfian 热点键并发递增不丢失")
+    void testConcurrentIncrementsUnderZipf() throws InterruptedException {
+        ConcurrentCounterMap<Integer> map = new ConcurrentCounterMap<>();
+        ZipfianGenerator zipf = new ZipfianGenerator(1_000, 1.2);
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        map.increment(zipf.next());
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        pool.shutdown();
+
+        assertEquals((long) threads * perThread, map.total());
+        // 最热的键应为 0
+        assertEquals(0, map.topK(1).get(0).getKey());
+    }
+
+    @Test
+    @DisplayName("ZipfianGenerator：分布倾斜且可复现")
+    void testZipfianGenerator() {
+        ZipfianGenerator zipf = new ZipfianGenerator(100, 0.99);
+        assertTrue(zipf.probability(0) > zipf.probability(1));
+        double total = 0;
+        for (int k = 0; k < zipf.keyCount(); k++) total += zipf.probability(k);
+        assertEquals(1.0, total, 1e-9);
+
+        int[] counts = new int[100];
+        Random random = new Random(1);
+        for (int i = 0; i < 100_000; i++) {
+            counts[zipf.next(random)]++;
+        }
+        assertEquals(zipf.probability(0), counts[0] / 100_000.0, 0.01);
+
+        ZipfianGenerator uniform = new ZipfianGenerator(4, 0);
+        assertEquals(0.25, uniform.probability(3), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> new ZipfianGenerator(0, 1));
+    }
+
+    @Test
+    @DisplayName("分配预算：已存在键的递增路径不分配")
+    void testIncrementAllocationBudget() {
+        ConcurrentCounterMap<Integer> counters = new ConcurrentCounterMap<>();
+        Runnable hotPath = () -> {
+            for (int i = 0; i < 100_000; i++) {
+                counters.increment(i & 63); // Integer 缓存范围内，不装箱
+            }
+        };
+        hotPath.run(); // 预热并创建 64 个计数器
+        AllocationSampler.assertWithinBudget("ConcurrentCounterMap.increment", 100_000, 0.5, hotPath);
+        assertEquals(200_000, counters.total());
+    }
+}
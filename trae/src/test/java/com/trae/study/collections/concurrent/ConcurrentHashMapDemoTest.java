@@ -1,11 +1,15 @@
 package com.trae.study.collections.concurrent;
 
+import com.trae.study.benchmark.ScalabilityReport;
+import com.trae.study.benchmark.ScalabilityRunner;
 import com.trae.study.dto.BenchmarkResultDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -296,6 +300,11 @@ class ConcurrentHashMapDemoTest {
             "应该包含单线程性能指标");
         assertTrue(result.getAdditionalMetrics().containsKey("总测试时间(ms)"), 
             "应该包含总测试时间");
+        assertTrue(result.getAdditionalMetrics().containsKey("Zipf CounterMap 1线程操作/秒"), 
+            "应该包含 Zipfian 计数对比指标");
+        // 单核机器上也至少覆盖 2、4 线程档位
+        assertTrue(result.getAdditionalMetrics().containsKey("2线程操作/秒"), "应该包含 2 线程性能指标");
+        assertTrue(result.getAdditionalMetrics().containsKey("4线程操作/秒"), "应该包含 4 线程性能指标");
         
         log.info("性能基准测试验证通过: {}", result.getTestName());
         log.info("执行时间: {}ms", result.getExecutionTimeMs());
@@ -446,6 +455,37 @@ class ConcurrentHashMapDemoTest {
         log.info("内存和性能特性测试验证通过");
     }
     
+    @Test
+    @Order(8)
+    @DisplayName("测试热点键倾斜访问基准")
+    @Execution(ExecutionMode.SAME_THREAD)
+    void testHotKeyAccessBenchmark() {
+        BenchmarkResultDTO result = demo.benchmarkHotKeyAccess(1.2, 2, 50_000, 90);
+        
+        assertNotNull(result);
+        Map<String, Object> metrics = result.getAdditionalMetrics();
+        assertTrue((Long) metrics.get("HotKeyShardedMap操作/秒") > 0, "应该包含热点复制吞吐");
+        assertTrue((Integer) metrics.get("热点键数") > 0, "高倾斜下应识别出热点键");
+        assertTrue((Double) metrics.get("本地缓存命中率") > 0, "热点读应命中线程本地缓存");
+        assertTrue(metrics.containsKey("CAS失败次数"));
+        assertTrue(metrics.containsKey("锁等待次数"));
+    }
+    
+    @Test
+    @Order(12)
+    @DisplayName("测试扩展性扫描")
+    @Execution(ExecutionMode.SAME_THREAD)
+    void testScalabilitySweep() {
+        List<ScalabilityReport> reports = demo.scalabilitySweep(90, 50);
+        
+        assertEquals(2, reports.size());
+        assertEquals("ConcurrentHashMap", reports.get(0).getStructure());
+        for (ScalabilityReport report : reports) {
+            assertEquals(ScalabilityRunner.defaultThreadCounts().length, report.getPoints().size());
+            assertTrue(report.getPoints().get(0).getOpsPerSec() > 0, "单线程吞吐应大于0");
+        }
+    }
+    
     @AfterEach
     void tearDown() {
         log.info("ConcurrentHashMapDemo 测试完成");
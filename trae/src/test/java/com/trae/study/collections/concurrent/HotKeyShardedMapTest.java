@@ -0,0 +1,257 @@
+package com.trae.study.collections.concurrent;
+
+import com.trae.study.util.AllocationSampler;
+import com.trae.study.util.ZipfianGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HotKeyShardedMap 热点键分片 Map 测试")
+class HotKeyShardedMapTest {
+
+    @Test
+    @DisplayName("基本操作：put/get/remove/update/size")
+    void testBasicOperations() {
+        HotKeyShardedMap<String, Integer> map = HotKeyShardedMap.builder().shardCount(4).build();
+        assertNull(map.put("a", 1));
+        assertEquals(1, map.put("a", 2));
+        map.put("b", 3);
+        assertEquals(2, map.get("a"));
+        assertNull(map.get("missing"));
+        assertEquals(2, map.size());
+
+        assertEquals(13, map.update("b", v -> v + 10));
+        assertEquals(1, map.update("c", v -> v == null ? 1 : v + 1));
+        assertEquals(3, map.size());
+
+        assertEquals(2, map.remove("a"));
+        assertNull(map.get("a"));
+        assertEquals(2, map.size());
+        assertEquals(4, map.shardMetrics().size());
+    }
+
+    @Test
+    @DisplayName("倾斜访问下识别热点键，并从线程本地缓存读取")
+    void testHotKeyDetection() {
+        HotKeyShardedMap<Integer, Integer> map = HotKeyShardedMap.builder()
+                .sampleShift(0)
+                .rebalanceEverySamples(1_000)
+                .maxHotKeys(8)
+                .hotShare(0.05)
+                .build();
+        for (int i = 0; i < 1_000; i++) {
+            map.put(i, i);
+        }
+        ZipfianGenerator zipf = new ZipfianGenerator(1_000, 1.2);
+        Random random = new Random(1);
+        for (int i = 0; i < 20_000; i++) {
+            int key = zipf.next(random);
+            assertEquals(key, map.get(key));
+        }
+        assertTrue(map.rebalanceCount() > 0);
+        assertTrue(map.hotKeys().contains(0), "最热的键应被识别: " + map.hotKeys());
+        assertTrue(map.hotKeys().size() <= 8);
+
+        long localHits = map.shardMetrics().stream().mapToLong(HotKeyShardedMap.ShardMetrics::getLocalCacheHits).sum();
+        assertTrue(localHits > 0);
+    }
+
+    @Test
+    @DisplayName("写入热点键会使线程本地副本失效")
+    void testWriteInvalidatesHotKey() {
+        HotKeyShardedMap<String, Integer> map = HotKeyShardedMap.builder()
+                .sampleShift(0).rebalanceEverySamples(100).hotShare(0.5).build();
+        map.put("hot", 0);
+        for (int i = 0; i < 200; i++) {
+            map.get("hot");
+        }
+        assertTrue(map.hotKeys().contains("hot"));
+        assertEquals(0, map.get("hot"));
+
+        map.put("hot", 1);
+        assertEquals(1, map.get("hot"));
+        map.update("hot", v -> v + 1);
+        assertEquals(2, map.get("hot"));
+        map.remove("hot");
+        assertNull(map.get("hot"));
+    }
+
+    @Test
+    @DisplayName("并发读写热点键：读者最终看到最后写入的值，update 不丢失")
+    void testConcurrentHotKeyUpdates() throws InterruptedException {
+        HotKeyShardedMap<String, Integer> map = HotKeyShardedMap.builder()
+                .sampleShift(0).rebalanceEverySamples(500).hotShare(0.2).build();
+        map.put("counter", 0);
+        int writers = 4;
+        int updatesPerWriter = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+        CountDownLatch done = new CountDownLatch(writers);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicBoolean monotonic = new AtomicBoolean(true);
+        for (int r = 0; r < 2; r++) {
+            executor.submit(() -> {
+                int last = 0;
+                while (running.get()) {
+                    int value = map.get("counter");
+                    if (value < last) {
+                        monotonic.set(false);
+                    }
+                    last = value;
+                }
+            });
+        }
+        for (int w = 0; w < writers; w++) {
+            executor.submit(() -> {
+                for (int i = 0; i < updatesPerWriter; i++) {
+                    map.update("counter", v -> v + 1);
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        running.set(false);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(writers * updatesPerWriter, map.get("counter"));
+        assertTrue(monotonic.get(), "单个读线程不应看到计数回退");
+        assertTrue(map.hotKeys().contains("counter"));
+        List<HotKeyShardedMap.ShardMetrics> metrics = map.shardMetrics();
+        assertEquals(writers * updatesPerWriter + 1,
+                metrics.stream().mapToLong(HotKeyShardedMap.ShardMetrics::getWrites).sum());
+    }
+
+    @Test
+    @DisplayName("参数校验")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> HotKeyShardedMap.builder().shardCount(0));
+        assertThrows(IllegalArgumentException.class, () -> HotKeyShardedMap.builder().hotShare(0));
+        assertThrows(IllegalArgumentException.class, () -> HotKeyShardedMap.builder().sampleShift(-1));
+        HotKeyShardedMap<String, Integer> map = new HotKeyShardedMap<>();
+        assertThrows(NullPointerException.class, () -> map.put("a", null));
+    }
+
+    @Test
+    @DisplayName("晋升时分片读取抛异常：撤销晋升，读取不会在该键上自旋")
+    void testPromotionReadFailure() {
+        HotKeyShardedMap<FlakyKey, String> map = HotKeyShardedMap.builder()
+                .sampleShift(0).rebalanceEverySamples(100).hotShare(0.5).build();
+        FlakyKey stored = new FlakyKey("k");
+        FlakyKey lookup = new FlakyKey("k");
+        FlakyKey other = new FlakyKey("other");
+        map.put(stored, "v");
+        // 第 100 个样本触发再平衡，other 晋升为热点键
+        for (int i = 0; i < 99; i++) {
+            map.get(other);
+        }
+        assertTrue(map.hotKeys().contains(other));
+        // 采样窗口被 lookup 占满（未触发再平衡），lookup 与 stored 相等但不是同一实例
+        for (int i = 0; i < 99; i++) {
+            assertEquals("v", map.get(lookup));
+        }
+
+        // 晋升 lookup 时分片读取调用 equals 抛异常
+        FlakyKey.failing = true;
+        try {
+            IllegalStateException e = assertThrows(IllegalStateException.class, map::rebalance);
+            assertEquals("比较失败", e.getMessage());
+        } finally {
+            FlakyKey.failing = false;
+        }
+        assertFalse(map.hotKeys().contains(lookup), "读取失败的键不应保留为热点键");
+        assertEquals(1, map.rebalanceCount());
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertEquals("v", map.get(lookup));
+            map.put(lookup, "w");
+        });
+
+        // 再次再平衡可正常晋升
+        map.rebalance();
+        assertTrue(map.hotKeys().contains(lookup));
+        assertEquals("w", map.get(lookup));
+        map.put(stored, "x");
+        assertEquals("x", map.get(lookup));
+    }
+
+    @Test
+    @DisplayName("采样触发的再平衡失败不影响本次写入")
+    void testSampledRebalanceFailureKeepsWrite() {
+        HotKeyShardedMap<FlakyKey, String> map = HotKeyShardedMap.builder()
+                .sampleShift(0).rebalanceEverySamples(100).hotShare(0.5).build();
+        FlakyKey stored = new FlakyKey("k");
+        FlakyKey lookup = new FlakyKey("k");
+        map.put(stored, "v");
+        for (int i = 0; i < 98; i++) {
+            assertEquals("v", map.get(lookup));
+        }
+        // 第 100 个样本由 put 触发再平衡：统计样本时 equals 抛异常，put 不受影响
+        FlakyKey.failing = true;
+        try {
+            assertEquals("v", map.put(stored, "w"));
+        } finally {
+            FlakyKey.failing = false;
+        }
+        assertEquals(0, map.rebalanceCount());
+        assertEquals("w", map.get(lookup));
+        assertEquals("w", map.get(stored));
+    }
+
+    /** equals 可被设置为抛异常的键 */
+    private static final class FlakyKey {
+        static volatile boolean failing;
+        private final String id;
+
+        FlakyKey(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (failing) {
+                throw new IllegalStateException("比较失败");
+            }
+            return o instanceof FlakyKey && id.equals(((FlakyKey) o).id);
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return id;
+        }
+    }
+
+    @Test
+    @DisplayName("分配预算：热点键命中线程本地缓存的读取路径不分配")
+    void testHotReadAllocationBudget() {
+        HotKeyShardedMap<Integer, Integer> map = HotKeyShardedMap.builder().hotShare(0.5).build();
+        map.put(1, 1);
+        long[] sum = new long[1];
+        Runnable hotPath = () -> {
+            for (int i = 0; i < 100_000; i++) {
+                sum[0] += map.get(1);
+            }
+        };
+        hotPath.run(); // 预热并完成热点晋升
+        assertTrue(map.hotKeys().contains(1));
+        // 采样与周期性再平衡摊到每次读取上远小于 1 字节
+        AllocationSampler.assertWithinBudget("HotKeyShardedMap 热点读取", 100_000, 1.0, hotPath);
+        assertTrue(sum[0] > 0);
+    }
+}
@@ -1,5 +1,7 @@
 package com.trae.study.collections.deque;
 
+import com.trae.study.util.AllocationSampler;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
@@ -42,4 +44,17 @@ class ArrayDequeDemoTest {
         assertTrue(m.getArrayDequeNs() >= 0);
         assertTrue(m.getLinkedListNs() >= 0);
     }
+
+    @Test
+    @DisplayName("微基准记录分配字节数：LinkedList 每个元素额外分配节点")
+    void testBenchmarkAllocation() {
+        Assumptions.assumeTrue(AllocationSampler.isSupported());
+        ArrayDequeDemo demo = new ArrayDequeDemo();
+        demo.benchmarkSimple(10000); // 预热
+        ArrayDequeDemo.DequeBenchmarkDTO m = demo.benchmarkSimple(10000);
+        // 两者都要装箱 Integer（缓存外 16B/个）；ArrayDeque 另有数组扩容，LinkedList 则为每个元素分配一个 Node
+        String detail = "ArrayDeque=" + m.getArrayDequeAllocBytes() + "B, LinkedList=" + m.getLinkedListAllocBytes() + "B";
+        assertTrue(m.getLinkedListAllocBytes() > m.getArrayDequeAllocBytes(), detail);
+        assertTrue(m.getLinkedListAllocBytes() >= 10000L * 24, detail);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.trae.study.collections.set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FingerprintHashSet / BlockedBloomFilter 单元测试
+ */
+@DisplayName("紧凑指纹集合测试")
+class FingerprintHashSetTest {
+
+    @Nested
+    @DisplayName("与 HashSet 行为一致")
+    class EquivalenceTest {
+
+        @Test
+        @DisplayName("随机增删查（覆盖扩容与反向移位删除）")
+        void testRandomOperationsMatchHashSet() {
+            for (FingerprintHashSet.Mode mode : FingerprintHashSet.Mode.values()) {
+                FingerprintHashSet<String> set = FingerprintHashSet.<String>builder().mode(mode).build();
+                Set<String> expected = new HashSet<>();
+                Random random = new Random(7);
+                for (int step = 0; step < 50_000; step++) {
+                    String key = "k" + random.nextInt(5_000);
+                    switch (random.nextInt(3)) {
+                        case 0:
+                            assertEquals(expected.add(key), set.add(key), mode + " add " + key);
+                            break;
+                        case 1:
+                            assertEquals(expected.remove(key), set.remove(key), mode + " remove " + key);
+                            break;
+                        default:
+                            assertEquals(expected.contains(key), set.contains(key), mode + " contains " + key);
+                    }
+                }
+                assertEquals(expected.size(), set.size());
+            }
+        }
+
+        @Test
+        @DisplayName("EXACT 模式：指纹冲突时通过 equals 区分")
+        void testExactModeResolvesFingerprintCollisions() {
+            // 人为制造冲突：所有元素指纹都相同
+            FingerprintHashSet<String> exact = FingerprintHashSet.<String>builder()
+                    .mode(FingerprintHashSet.Mode.EXACT).hasher(s -> 42L).build();
+            assertTrue(exact.add("a"));
+            assertTrue(exact.add("b"));
+            assertFalse(exact.add("a"));
+            assertTrue(exact.contains("b"));
+            assertFalse(exact.contains("c"));
+            assertTrue(exact.remove("a"));
+            assertTrue(exact.contains("b"));
+
+            FingerprintHashSet<String> fingerprint = FingerprintHashSet.<String>builder().hasher(s -> 42L).build();
+            assertTrue(fingerprint.add("a"));
+            assertFalse(fingerprint.add("b")); // 指纹模式下视为重复：这正是误判的来源
+        }
+
+        @Test
+        @DisplayName("指纹为 0 与 null 元素")
+        void testZeroFingerprintAndNull() {
+            FingerprintHashSet<String> set = FingerprintHashSet.<String>builder().hasher(s -> 0L).build();
+            assertTrue(set.add("zero"));
+            assertTrue(set.contains("zero"));
+            assertThrows(NullPointerException.class, () -> set.add(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("内存与布隆前门")
+    class MemoryAndBloomTest {
+
+        @Test
+        @DisplayName("预分配后不扩容，指纹模式约 8/负载因子 字节每元素")
+        void testBytesPerElement() {
+            int n = 100_000;
+            FingerprintHashSet<Integer> set = FingerprintHashSet.<Integer>builder().expectedSize(n).build();
+            int capacity = set.capacity();
+            for (int i = 0; i < n; i++) set.add(i);
+            assertEquals(capacity, set.capacity());
+            assertEquals(n, set.size());
+            assertTrue(set.bytesPerElement() < 24, "bytes/元素: " + set.bytesPerElement());
+        }
+
+        @Test
+        @DisplayName("布隆过滤器：无漏判，误判率在合理范围")
+        void testBloomFilter() {
+            int n = 100_000;
+            BlockedBloomFilter bloom = new BlockedBloomFilter(n, 10);
+            for (int i = 0; i < n; i++) bloom.add(Fingerprints.of(i));
+            for (int i = 0; i < n; i++) assertTrue(bloom.mightContain(Fingerprints.of(i)));
+            int falsePositives = 0;
+            for (int i = n; i < 2 * n; i++) {
+                if (bloom.mightContain(Fingerprints.of(i))) falsePositives++;
+            }
+            assertTrue(falsePositives < n * 0.03, "误判数: " + falsePositives);
+        }
+
+        @Test
+        @DisplayName("带布隆前门的集合：删除后仍然正确")
+        void testSetWithBloomFrontDoor() {
+            FingerprintHashSet<String> set = FingerprintHashSet.<String>builder()
+                    .expectedSize(1_000).bloomBitsPerElement(10).build();
+            for (int i = 0; i < 1_000; i++) set.add("id-" + i);
+            assertTrue(set.contains("id-1"));
+            assertFalse(set.contains("id-1000"));
+            assertTrue(set.remove("id-1"));
+            assertFalse(set.contains("id-1"));
+            set.clear();
+            assertTrue(set.isEmpty());
+            assertFalse(set.contains("id-2"));
+        }
+    }
+}
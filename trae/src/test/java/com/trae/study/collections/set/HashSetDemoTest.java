@@ -314,6 +314,19 @@ class HashSetDemoTest {
             assertTrue(deleteTime < 100, "删除5000个元素应该在100ms内完成");
         }
 
+        @Test
+        @DisplayName("紧凑指纹集合对比：查询结果正确且内存更小")
+        void testBenchmarkCompactSets() {
+            List<HashSetDemo.CompactSetStats> stats = demo.benchmarkCompactSets(20_000);
+            assertEquals(4, stats.size());
+            for (HashSetDemo.CompactSetStats stat : stats) {
+                assertEquals(20_000, stat.getHits(), stat.getImplementation());
+                assertEquals(0, stat.getFalsePositives(), stat.getImplementation());
+                assertTrue(stat.getAddOpsPerSec() > 0);
+            }
+            assertTrue(stats.get(1).getBytesPerElement() < stats.get(2).getBytesPerElement());
+        }
+
         @Test
         @DisplayName("不同Set实现性能对比")
         void testSetImplementationComparison() {
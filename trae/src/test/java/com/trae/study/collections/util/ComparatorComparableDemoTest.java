@@ -62,4 +62,14 @@ class ComparatorComparableDemoTest {
         assertEquals(3, r.getSize());
         assertEquals(Arrays.asList("a", "bb", "ddd"), r.getElements());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("多键排序基准：预编译比较器与链式比较器结果一致")
+    void testBenchmarkCompiledComparator() {
+        ComparatorComparableDemo.SortBenchmarkDTO r = new ComparatorComparableDemo()
+                .benchmarkCompiledComparator(50_000);
+        assertEquals(50_000, r.getSize());
+        assertTrue(r.isSameOrder());
+        assertTrue(r.getLambdaChainNs() > 0 && r.getCompiledNs() > 0);
+    }
+}
@@ -0,0 +1,83 @@
+package com.trae.study.collections.util;
+
+import com.trae.study.collections.util.ComparatorComparableDemo.Student;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("预编译多键比较器测试")
+class CompiledComparatorTest {
+
+    @Test
+    @DisplayName("与 JDK 链式比较器排序结果一致")
+    void testSameOrderAsLambdaChain() {
+        Student[] students = ComparatorComparableDemo.generateStudents(20_000, 7L);
+        Student[] expected = students.clone();
+        Student[] actual = students.clone();
+        Arrays.sort(expected, ComparatorComparableDemo.STUDENT_LAMBDA_CHAIN);
+        Arrays.sort(actual, ComparatorComparableDemo.STUDENT_COMPILED);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("特化节点与共享节点语义一致，且特化节点拥有独立的类")
+    void testSpecializedNodesAreDistinctClasses() {
+        CompiledComparator.Builder<Student> builder = CompiledComparator.<Student>builder()
+                .comparingInt(Student::getGrade)
+                .comparingLong(Student::getId).descending();
+        Comparator<Student> specialized = builder.build();
+        Comparator<Student> shared = builder.buildShared();
+
+        Student a = new Student(1, "a", 3, 1.0);
+        Student b = new Student(2, "b", 3, 2.0);
+        assertTrue(specialized.compare(a, b) > 0); // 同班级，id 降序
+        assertEquals(Integer.signum(shared.compare(a, b)), Integer.signum(specialized.compare(a, b)));
+
+        assertEquals(CompiledComparator.IntKeyNode.class.getName(), specialized.getClass().getName());
+        assertNotSame(CompiledComparator.IntKeyNode.class, specialized.getClass());
+        assertSame(CompiledComparator.IntKeyNode.class, shared.getClass());
+        assertNotSame(specialized.getClass(), builder.build().getClass());
+    }
+
+    @Test
+    @DisplayName("空值策略：nullsFirst/nullsLast 不受降序影响，未指定时抛出 NPE")
+    void testNullHandling() {
+        List<String> input = Arrays.asList("b", null, "a", "c");
+
+        List<String> first = new ArrayList<>(input);
+        first.sort(CompiledComparator.<String>builder()
+                .comparing(s -> s).descending().nullsFirst()
+                .buildShared());
+        assertEquals(Arrays.asList(null, "c", "b", "a"), first);
+
+        List<String> last = new ArrayList<>(input);
+        last.sort(CompiledComparator.<String>builder()
+                .comparing(s -> s, Comparator.<String>naturalOrder()).nullsLast()
+                .build());
+        assertEquals(Arrays.asList("a", "b", "c", null), last);
+
+        Comparator<String> reject = CompiledComparator.<String>builder().comparing(s -> s).build();
+        assertThrows(NullPointerException.class, () -> reject.compare("a", null));
+    }
+
+    @Test
+    @DisplayName("double 键与 Double.compare 语义一致")
+    void testDoubleKeySemantics() {
+        Comparator<Double> cmp = CompiledComparator.<Double>builder().comparingDouble(d -> d).build();
+        assertTrue(cmp.compare(-0.0, 0.0) < 0);
+        assertTrue(cmp.compare(Double.NaN, Double.POSITIVE_INFINITY) > 0);
+        assertEquals(0, cmp.compare(Double.NaN, Double.NaN));
+    }
+
+    @Test
+    @DisplayName("构建器非法使用")
+    void testBuilderValidation() {
+        assertThrows(IllegalStateException.class, () -> CompiledComparator.<String>builder().build());
+        assertThrows(IllegalStateException.class, () -> CompiledComparator.<String>builder().descending());
+        assertThrows(IllegalStateException.class,
+                () -> CompiledComparator.<String>builder().comparingInt(String::length).nullsFirst());
+    }
+}
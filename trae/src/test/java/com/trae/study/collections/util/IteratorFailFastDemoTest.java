@@ -24,4 +24,14 @@ class IteratorFailFastDemoTest {
         var list = demo.safeRemoveViaIterator();
         assertEquals(java.util.Arrays.asList(1,3,5), list);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("快照列表：并发写入时遍历不抛 CME")
+    void testSnapshotIteration() {
+        IteratorFailFastDemo demo = new IteratorFailFastDemo();
+        var r = demo.demonstrateSnapshotIteration(2_000, 500);
+        assertFalse(r.isThrew());
+        assertTrue(r.isSnapshotsConsistent());
+        assertEquals(500, r.getIterations());
+    }
+}
@@ -66,6 +66,15 @@ class Java11FeaturesDemoTest {
             assertTrue(output.contains("HttpClient 演示"));
         }
         
+        @Test
+        @DisplayName("HttpClient 负载测试演示（本地替身服务器）")
+        void testDemonstrateHttpLoadClient() {
+            assertDoesNotThrow(() -> demo.demonstrateHttpLoadClient());
+            
+            String output = outputStream.toString();
+            assertTrue(output.contains("sent=200, completed=200, failed=0, non2xx=0"), output);
+        }
+        
         @Test
         @DisplayName("HttpClient 基本功能验证")
         void testHttpClientBasicFeatures() {
@@ -188,6 +197,16 @@ class Java11FeaturesDemoTest {
             assertTrue(output.contains("lines() 方法"));
             assertTrue(output.contains("repeat() 方法"));
         }
+        
+        @Test
+        @DisplayName("Latin1Strings 字节级快速路径演示")
+        void testDemonstrateLatin1Strings() {
+            demo.demonstrateStringMethods();
+            
+            String output = outputStream.toString();
+            assertTrue(output.contains("Latin1Strings lines=4, fields=[alice@example.com, bob@example.com]"), output);
+            assertTrue(output.contains("ascii=true, indexOf('@')=7"), output);
+        }
     }
     
     @Nested
@@ -242,6 +261,16 @@ class Java11FeaturesDemoTest {
             assertTrue(output.contains("字符编码处理"));
         }
         
+        @Test
+        @DisplayName("流式读写演示执行测试")
+        void testDemonstrateStreamingIO() {
+            assertDoesNotThrow(() -> demo.demonstrateFilesIO());
+            
+            String output = outputStream.toString();
+            assertTrue(output.contains("MappedLineReader lines=1000, ascii=900, nonAscii=100"), output);
+            assertTrue(output.contains("Utf8ChunkDecoder window=4 matches readString: true"), output);
+        }
+        
         @Test
         @DisplayName("大文件处理测试")
         void testLargeFileHandling() throws IOException {
@@ -487,6 +516,15 @@ class Java11FeaturesDemoTest {
             assertTrue(stringTestTime > 0, "String 测试时间应该大于 0");
             assertTrue(filesTestTime > 0, "Files 测试时间应该大于 0");
             assertTrue(optionalTestTime > 0, "Optional 测试时间应该大于 0");
+            
+            // 流式 IO 与 Files 便捷方法的对比指标
+            assertTrue((Double) metrics.get("流式IO测试文件大小(MB)") >= 16);
+            assertEquals(Boolean.TRUE, metrics.get("MappedLineReader结果一致"));
+            for (String name : new String[]{"Files.writeString", "DirectBufferedWriter", "Files.readString",
+                    "MappedLineReader", "Utf8ChunkDecoder"}) {
+                assertTrue((Double) metrics.get(name + "吞吐(MB/s)") > 0, name);
+                assertNotNull(metrics.get(name + "峰值堆增量(MB)"), name);
+            }
         }
         
         @Test
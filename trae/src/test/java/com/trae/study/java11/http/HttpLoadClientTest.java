@@ -0,0 +1,182 @@
+package com.trae.study.java11.http;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HttpLoadClient 负载客户端测试")
+class HttpLoadClientTest {
+
+    private static final String BODY = "{\"ok\":true}";
+
+    private StandInServer server;
+    private HttpLoadClient client;
+
+    @BeforeEach
+    void setUp() {
+        server = StandInServer.builder()
+                .route("GET", "/ping", 200, "application/json", BODY)
+                .route("GET", "/missing", 404, null, null)
+                .messageWall()
+                .blog()
+                .start();
+        client = HttpLoadClient.builder().maxInFlight(8).threads(2).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("开环压测按目标速率发送，结果计入直方图")
+    void testOpenLoop() throws Exception {
+        HttpRequest ping = HttpRequest.newBuilder(server.uri("/ping")).build();
+        client.warmUp(() -> ping, 20);
+        long before = server.requestCount();
+
+        LoadReport report = client.runOpenLoop("ping", 200, Duration.ofMillis(500), () -> ping,
+                StreamingBodyHandlers.discarding());
+
+        assertEquals(100, report.getSent());
+        assertEquals(100, report.getCompleted());
+        assertEquals(0, report.getFailed());
+        assertEquals(0, report.getNon2xx());
+        assertEquals(100, report.getResponseTime().totalCount());
+        assertEquals(100, server.requestCount() - before);
+        assertTrue(report.getElapsedNanos() >= Duration.ofMillis(450).toNanos(), report.toString());
+        // 响应时间从计划时刻算起，不会小于服务时间
+        assertTrue(report.getResponseTime().valueAtPercentile(99) >= report.getServiceTime().valueAtPercentile(50));
+        assertEquals("ping", report.toBenchmarkResult().getTestName());
+        assertEquals(4, report.toBenchmarkResult().getPercentiles().size());
+    }
+
+    @Test
+    @DisplayName("服务端饱和时响应时间包含排队时间（无 coordinated omission）")
+    void testQueueingIsVisibleInResponseTime() throws Exception {
+        try (StandInServer slow = StandInServer.builder().threads(1).serviceTime(Duration.ofMillis(20))
+                .route("GET", "/slow", 200, null, "x").start();
+             HttpLoadClient single = HttpLoadClient.builder().maxInFlight(1).build()) {
+            HttpRequest request = HttpRequest.newBuilder(slow.uri("/slow")).build();
+            // 到达率 100/s（间隔 10ms），服务时间 20ms：请求在客户端排队，等待越来越久
+            LoadReport report = single.runOpenLoop("slow", 100, Duration.ofMillis(300), () -> request,
+                    StreamingBodyHandlers.discarding());
+
+            assertEquals(30, report.getCompleted());
+            long serviceP50 = report.getServiceTime().valueAtPercentile(50);
+            long responseMax = report.getResponseTime().max();
+            assertTrue(serviceP50 >= Duration.ofMillis(20).toNanos(), report.toString());
+            assertTrue(responseMax > serviceP50 * 5, report.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("闭环压测与状态码统计")
+    void testClosedLoopAndStatusCounting() throws Exception {
+        AtomicLong sequence = new AtomicLong();
+        HttpRequest ok = HttpRequest.newBuilder(server.uri("/ping")).build();
+        HttpRequest missing = HttpRequest.newBuilder(server.uri("/missing")).build();
+        LoadReport report = client.runClosedLoop("mixed", 50,
+                () -> sequence.getAndIncrement() % 5 == 0 ? missing : ok, StreamingBodyHandlers.counting());
+
+        assertEquals(50, report.getCompleted());
+        assertEquals(10, report.getNon2xx());
+        assertEquals(0.0, report.getTargetRate());
+        assertTrue(report.achievedRate() > 0);
+    }
+
+    @Test
+    @DisplayName("构造请求失败时抛出原始异常，不被等待在途请求超时覆盖")
+    void testRequestSupplierFailureIsPropagated() {
+        try (StandInServer slow = StandInServer.builder().threads(1).serviceTime(Duration.ofMillis(300))
+                .route("GET", "/slow", 200, null, "x").start();
+             HttpLoadClient shortWait = HttpLoadClient.builder().maxInFlight(2)
+                .requestTimeout(Duration.ofMillis(50)).build()) {
+            HttpRequest request = HttpRequest.newBuilder(slow.uri("/slow")).build();
+            AtomicLong sequence = new AtomicLong();
+            // 第一个请求在途（服务时间远大于 requestTimeout），第二个请求构造失败
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                    () -> shortWait.runClosedLoop("broken", 5, () -> {
+                        if (sequence.getAndIncrement() > 0) {
+                            throw new IllegalArgumentException("坏请求");
+                        }
+                        return request;
+                    }, StreamingBodyHandlers.discarding()));
+            assertEquals("坏请求", error.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("连接失败计入 failed")
+    void testConnectionFailures() throws Exception {
+        StandInServer closed = StandInServer.builder().route("GET", "/x", 200, null, null).start();
+        HttpRequest request = HttpRequest.newBuilder(closed.uri("/x")).build();
+        closed.close();
+
+        LoadReport report = client.runClosedLoop("refused", 5, () -> request, StreamingBodyHandlers.discarding());
+        assertEquals(5, report.getFailed());
+        assertEquals(0, report.getCompleted());
+    }
+
+    @Test
+    @DisplayName("流式处理器：字节数与 CRC32 与缓冲读取一致")
+    void testStreamingBodyHandlers() throws Exception {
+        HttpRequest list = HttpRequest.newBuilder(server.uri("/art/listbypage")).build();
+        String body = client.getClient().send(list, HttpResponse.BodyHandlers.ofString()).body();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        long length = client.getClient().send(list, StreamingBodyHandlers.counting()).body();
+        long checksum = client.getClient().send(list, StreamingBodyHandlers.checksum()).body();
+        assertEquals(bytes.length, length);
+        assertEquals(StreamingBodyHandlers.checksumOf(bytes), checksum);
+    }
+
+    @Test
+    @DisplayName("替身路由：留言墙与博客接口")
+    void testStandInRoutes() throws Exception {
+        HttpResponse<String> messages = client.getClient().send(
+                HttpRequest.newBuilder(server.uri("/message")).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, messages.statusCode());
+        assertTrue(messages.body().startsWith("[{\"from\":\"user0\""));
+
+        HttpResponse<Void> post = client.getClient().send(HttpRequest.newBuilder(server.uri("/message"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"from\":\"a\",\"to\":\"b\",\"message\":\"hi\"}")).build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertEquals(200, post.statusCode());
+
+        HttpResponse<String> detail = client.getClient().send(
+                HttpRequest.newBuilder(server.uri("/art/detail?id=1")).build(), HttpResponse.BodyHandlers.ofString());
+        assertTrue(detail.body().startsWith("{\"code\":200"));
+
+        assertEquals(405, client.getClient().send(HttpRequest.newBuilder(server.uri("/art/listbypage"))
+                .DELETE().build(), HttpResponse.BodyHandlers.discarding()).statusCode());
+        assertEquals(404, client.getClient().send(HttpRequest.newBuilder(server.uri("/message/1")).build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode());
+    }
+
+    @Test
+    @DisplayName("参数校验")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> HttpLoadClient.builder().maxInFlight(0));
+        assertThrows(IllegalArgumentException.class, () -> HttpLoadClient.builder().requestTimeout(Duration.ZERO));
+        HttpRequest ping = HttpRequest.newBuilder(server.uri("/ping")).build();
+        assertThrows(IllegalArgumentException.class, () -> client.runOpenLoop("x", 0, Duration.ofSeconds(1),
+                () -> ping, StreamingBodyHandlers.discarding()));
+        assertThrows(IllegalArgumentException.class, () -> client.runClosedLoop("x", 0, () -> ping,
+                StreamingBodyHandlers.discarding()));
+        assertThrows(IllegalArgumentException.class, () -> StandInServer.builder().route("GET", "ping", 200, null, null));
+        assertThrows(IllegalArgumentException.class, () -> StandInServer.builder()
+                .route("GET", "/a", 200, null, null).route("get", "/a", 200, null, null));
+        assertThrows(IllegalStateException.class, () -> StandInServer.builder().start());
+    }
+}
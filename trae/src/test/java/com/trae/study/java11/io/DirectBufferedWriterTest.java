@@ -0,0 +1,63 @@
+package com.trae.study.java11.io;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DirectBufferedWriter 直接缓冲区写入测试")
+class DirectBufferedWriterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("小缓冲区多次刷写，结果与 String#getBytes 一致")
+    void testRoundTrip() throws Exception {
+        String text = "ascii 与中文 😀 ÄÖÜ\n".repeat(200);
+        Path file = dir.resolve("out.txt");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(7);
+        try (DirectBufferedWriter writer = DirectBufferedWriter.open(file, buffer)) {
+            // 按 3 个字符切分，代理对会被拆到两次 write 中
+            for (int i = 0; i < text.length(); i += 3) {
+                writer.write(text, i, Math.min(text.length(), i + 3));
+            }
+            assertEquals(text.getBytes(StandardCharsets.UTF_8).length, writer.bytesWritten());
+        }
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), Files.readAllBytes(file));
+    }
+
+    @Test
+    @DisplayName("缓冲区复用、writeLine 与原始字节")
+    void testReuseBuffer() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        Path first = dir.resolve("a.txt");
+        Path second = dir.resolve("b.txt");
+        try (DirectBufferedWriter writer = DirectBufferedWriter.open(first, buffer)) {
+            writer.writeLine("line1").write("k=").write("v".getBytes(StandardCharsets.UTF_8)).newLine();
+        }
+        try (DirectBufferedWriter writer = DirectBufferedWriter.open(second, buffer)) {
+            writer.write(ByteBuffer.wrap("x".repeat(100).getBytes(StandardCharsets.US_ASCII)));
+        }
+        assertEquals("line1\nk=v\n", Files.readString(first));
+        assertEquals("x".repeat(100), Files.readString(second));
+    }
+
+    @Test
+    @DisplayName("不成对的代理字符写为 ?")
+    void testUnpairedSurrogate() throws Exception {
+        String text = "a\uD83Db\uDE00c\uD83D";
+        Path file = dir.resolve("bad.txt");
+        try (DirectBufferedWriter writer = DirectBufferedWriter.open(file)) {
+            writer.write(text);
+        }
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), Files.readAllBytes(file));
+        assertThrows(IllegalArgumentException.class, () -> DirectBufferedWriter.open(file, ByteBuffer.allocate(2)));
+    }
+}
@@ -0,0 +1,88 @@
+package com.trae.study.java11.io;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MappedLineReader 内存映射按行读取测试")
+class MappedLineReaderTest {
+
+    @TempDir
+    Path dir;
+
+    private List<String> readAll(Path file, int window) throws Exception {
+        List<String> lines = new ArrayList<>();
+        try (MappedLineReader reader = MappedLineReader.open(file, window)) {
+            long count = reader.forEachLine(line -> {
+                assertEquals(lines.size() + 1, line.lineNumber());
+                lines.add(line.toString());
+            });
+            assertEquals(lines.size(), count);
+        }
+        return lines;
+    }
+
+    @Test
+    @DisplayName("换行语义与 BufferedReader#readLine 一致，窗口边界不影响结果")
+    void testLineSemantics() throws Exception {
+        String text = "first\nsecond\r\n\r\n中文行 😀\rlone cr\n\nlast without newline";
+        Path file = dir.resolve("lines.txt");
+        Files.writeString(file, text);
+        List<String> expected = new BufferedReader(new StringReader(text)).lines().collect(Collectors.toList());
+
+        assertEquals(expected, readAll(file, MappedLineReader.DEFAULT_WINDOW_BYTES));
+        // 窗口只比最长行略大，\r\n 会落在窗口边界上
+        for (int window = 24; window <= 32; window++) {
+            assertEquals(expected, readAll(file, window), "window=" + window);
+        }
+    }
+
+    @Test
+    @DisplayName("ASCII 行零拷贝访问，非 ASCII 行按需解码")
+    void testLineView() throws Exception {
+        Path file = dir.resolve("view.txt");
+        Files.writeString(file, "abc,def\n价格,42\n");
+        List<String> fields = new ArrayList<>();
+        try (MappedLineReader reader = MappedLineReader.open(file)) {
+            reader.forEachLine(line -> {
+                if (line.lineNumber() == 1) {
+                    assertTrue(line.isAscii());
+                    assertEquals(7, line.length());
+                    assertEquals(',', line.charAt(3));
+                    assertEquals("def", line.subSequence(4, 7).toString());
+                    assertThrows(IndexOutOfBoundsException.class, () -> line.charAt(7));
+                } else {
+                    assertFalse(line.isAscii());
+                    assertEquals(9, line.byteLength());
+                    assertEquals(5, line.length());
+                    assertEquals('价', line.charAt(0));
+                    assertEquals(9, line.bytes().remaining());
+                }
+                fields.add(line.toString());
+            });
+        }
+        assertEquals(List.of("abc,def", "价格,42"), fields);
+    }
+
+    @Test
+    @DisplayName("空文件与单行超过窗口")
+    void testEdgeCases() throws Exception {
+        Path empty = Files.createFile(dir.resolve("empty.txt"));
+        assertTrue(readAll(empty, 16).isEmpty());
+
+        Path longLine = dir.resolve("long.txt");
+        Files.writeString(longLine, "x".repeat(100) + "\nshort\n");
+        assertThrows(IllegalStateException.class, () -> readAll(longLine, 32));
+        assertThrows(IllegalArgumentException.class, () -> MappedLineReader.open(longLine, 0));
+    }
+}
@@ -0,0 +1,81 @@
+package com.trae.study.java11.io;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Utf8ChunkDecoder 分块解码测试")
+class Utf8ChunkDecoderTest {
+
+    private static final String TEXT = "ascii 行\n中文字符与 emoji 😀🚀 混排\r\nÄÖÜ é ß\n末尾没有换行";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("任意窗口大小解码结果与 Files.readString 一致")
+    void testDecodeFileAcrossWindowBoundaries() throws Exception {
+        Path file = dir.resolve("mixed.txt");
+        Files.writeString(file, TEXT.repeat(50));
+        String expected = Files.readString(file);
+        // 1~7 字节的窗口会把 2/3/4 字节字符切开
+        for (int window = 1; window <= 7; window++) {
+            StringBuilder out = new StringBuilder();
+            long chars = Utf8ChunkDecoder.decodeFile(file, window, out::append);
+            assertEquals(expected, out.toString(), "window=" + window);
+            assertEquals(expected.length(), chars);
+        }
+        StringBuilder out = new StringBuilder();
+        Utf8ChunkDecoder.decodeFile(file, Utf8ChunkDecoder.DEFAULT_WINDOW_BYTES, out::append);
+        assertEquals(expected, out.toString());
+    }
+
+    @Test
+    @DisplayName("输出缓冲较小时分多次回调")
+    void testSmallCharBuffer() throws Exception {
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        Utf8ChunkDecoder decoder = new Utf8ChunkDecoder(2, false);
+        StringBuilder out = new StringBuilder();
+        decoder.decode(ByteBuffer.wrap(bytes, 0, 10), false, out::append);
+        decoder.decode(ByteBuffer.wrap(bytes, 10, bytes.length - 10), true, out::append);
+        assertEquals(TEXT, out.toString());
+    }
+
+    @Test
+    @DisplayName("非法字节与截断的序列替换为 U+FFFD，与 new String 一致")
+    void testMalformedReplaced() throws Exception {
+        byte[] bytes = {'a', (byte) 0xE4, 'b', (byte) 0xFF, 'c', (byte) 0xF0, (byte) 0x9F};
+        String expected = new String(bytes, StandardCharsets.UTF_8);
+        for (int split = 0; split <= bytes.length; split++) {
+            Utf8ChunkDecoder decoder = new Utf8ChunkDecoder();
+            StringBuilder out = new StringBuilder();
+            decoder.decode(ByteBuffer.wrap(bytes, 0, split), false, out::append);
+            decoder.decode(ByteBuffer.wrap(bytes, split, bytes.length - split), true, out::append);
+            assertEquals(expected, out.toString(), "split=" + split);
+        }
+    }
+
+    @Test
+    @DisplayName("严格模式遇到非法字节抛出异常")
+    void testStrictMode() {
+        Utf8ChunkDecoder decoder = new Utf8ChunkDecoder(64, true);
+        ByteBuffer bad = ByteBuffer.wrap(new byte[]{'a', (byte) 0xFF});
+        assertThrows(MalformedInputException.class, () -> decoder.decode(bad, true, chars -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new Utf8ChunkDecoder(1, false));
+    }
+
+    @Test
+    @DisplayName("空文件不回调")
+    void testEmptyFile() throws Exception {
+        Path file = Files.createFile(dir.resolve("empty.txt"));
+        assertEquals(0, Utf8ChunkDecoder.decodeFile(file, 16, chars -> fail("不应回调")));
+    }
+}
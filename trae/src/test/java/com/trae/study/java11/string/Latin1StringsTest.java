@@ -0,0 +1,101 @@
+package com.trae.study.java11.string;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Latin1Strings 字节级字符串工具测试")
+class Latin1StringsTest {
+
+    private static byte[] latin1(String s) {
+        return s.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /** 随机生成偏向空白、换行与控制字符的 Latin-1 字符串，覆盖 SWAR 的整字与尾部路径 */
+    private static String randomText(Random random, int length) {
+        char[] alphabet = {' ', '\t', '\n', '\r', '\u000B', '\f', '\u001C', '\u001F', '\u0000', '\u0008',
+                '\u0085', ' ', 'a', 'Z', ',', 'é'};
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet[random.nextInt(alphabet.length)]);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    @DisplayName("空白判断与 Character.isWhitespace 一致")
+    void testIsWhitespace() {
+        for (int c = 0; c < 256; c++) {
+            assertEquals(Character.isWhitespace(c), Latin1Strings.isWhitespace((byte) c), "char " + c);
+        }
+    }
+
+    @Test
+    @DisplayName("随机输入下 isBlank / strip / lines / indexOf 与 JDK 结果一致")
+    void testAgainstJdk() {
+        Random random = new Random(42);
+        for (int round = 0; round < 2000; round++) {
+            String text = randomText(random, random.nextInt(40));
+            byte[] bytes = latin1("xx" + text + "yy");
+            int from = 2;
+            int to = bytes.length - 2;
+
+            assertEquals(text.isBlank(), Latin1Strings.isBlank(bytes, from, to), text);
+            assertEquals(text.strip(), Latin1Strings.strip(bytes, from, to), text);
+            assertEquals(text.stripLeading().length(), to - Latin1Strings.stripStart(bytes, from, to));
+            assertEquals(text.stripTrailing().length(), Latin1Strings.stripEnd(bytes, from, to) - from);
+            int comma = text.indexOf(',');
+            assertEquals(comma < 0 ? -1 : comma + from, Latin1Strings.indexOf(bytes, from, to, (byte) ','));
+
+            List<String> lines = new ArrayList<>();
+            int count = Latin1Strings.forEachLine(bytes, from, to,
+                    (b, start, end) -> lines.add(Latin1Strings.toString(b, start, end)));
+            assertEquals(text.lines().collect(Collectors.toList()), lines, text);
+            assertEquals(lines.size(), count);
+            assertEquals(lines.size(), Latin1Strings.lineCount(bytes, from, to));
+        }
+    }
+
+    @Test
+    @DisplayName("全空白的长输入走 SWAR 整字路径")
+    void testLongBlank() {
+        byte[] blank = latin1(" \t\r\n\u000B\f\u001C\u001D\u001E\u001F".repeat(20));
+        assertTrue(Latin1Strings.isBlank(blank));
+        blank[157] = 0x08; // 退格不是空白
+        assertFalse(Latin1Strings.isBlank(blank));
+        blank[157] = (byte) 0xA0;
+        assertFalse(Latin1Strings.isBlank(blank));
+        assertEquals("", Latin1Strings.strip(latin1("   "), 0, 3));
+    }
+
+    @Test
+    @DisplayName("ASCII 判断与 UTF-8 输入")
+    void testAscii() {
+        byte[] ascii = "  user@example.com, plain ascii text  ".getBytes(StandardCharsets.UTF_8);
+        assertTrue(Latin1Strings.isAscii(ascii, 0, ascii.length));
+        assertEquals("user@example.com, plain ascii text", Latin1Strings.strip(ascii, 0, ascii.length));
+
+        byte[] utf8 = "  中文标题，含全角逗号  ".getBytes(StandardCharsets.UTF_8);
+        assertFalse(Latin1Strings.isAscii(utf8, 0, utf8.length));
+        // 多字节字符的字节都 >= 0x80，切分位置仍然正确
+        int start = Latin1Strings.stripStart(utf8, 0, utf8.length);
+        int end = Latin1Strings.stripEnd(utf8, start, utf8.length);
+        assertEquals("中文标题，含全角逗号", new String(utf8, start, end - start, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("越界参数抛出 IndexOutOfBoundsException")
+    void testBounds() {
+        byte[] bytes = latin1("abc");
+        assertThrows(IndexOutOfBoundsException.class, () -> Latin1Strings.isBlank(bytes, 0, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> Latin1Strings.indexOf(bytes, 2, 1, (byte) 'a'));
+        assertThrows(IndexOutOfBoundsException.class, () -> Latin1Strings.strip(bytes, -1, 2));
+    }
+}
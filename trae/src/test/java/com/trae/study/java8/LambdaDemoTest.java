@@ -184,6 +184,16 @@ class LambdaDemoTest {
         assertFalse(isNotPositive.test(5));
     }
     
+    @Test
+    @DisplayName("测试规则链演示")
+    void testDemonstrateRuleChain() {
+        lambdaDemo.demonstrateRuleChain();
+        
+        String output = outputStream.toString();
+        assertTrue(output.contains("[7, 99, 1001]"));
+        assertTrue(output.contains("RuleChain$AndNode"));
+    }
+    
     @Test
     @DisplayName("测试自定义函数式接口")
     void testCustomFunctionalInterface() {
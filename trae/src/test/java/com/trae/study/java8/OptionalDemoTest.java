@@ -340,6 +340,17 @@ class OptionalDemoTest {
         assertEquals("地址未知", unknownAddress);
     }
     
+    @Test
+    @DisplayName("测试 Maybe 演示")
+    void testDemonstrateMaybe() {
+        optionalDemo.demonstrateMaybe();
+
+        String output = outputStream.toString();
+        assertTrue(output.contains("Maybe.filter + map: Alice"));
+        assertTrue(output.contains("MaybeInt[26]"));
+        assertTrue(output.contains("MaybeLong[100000] -> OptionalLong[100000]"));
+    }
+    
     @Test
     @DisplayName("测试 Optional 性能基准")
     void testOptionalPerformanceBenchmark() {
@@ -359,6 +370,8 @@ class OptionalDemoTest {
         assertTrue(result.getAdditionalMetrics().containsKey("测试数据量"));
         assertTrue(result.getAdditionalMetrics().containsKey("Optional相对传统倍数"));
         assertTrue(result.getAdditionalMetrics().containsKey("函数式相对传统倍数"));
+        assertTrue(result.getAdditionalMetrics().containsKey("Maybe方式耗时(ms)"));
+        assertTrue(result.getAdditionalMetrics().containsKey("Maybe相对传统倍数"));
         
         // 验证迭代次数
         assertEquals(1000000, result.getAdditionalMetrics().get("迭代次数"));
@@ -378,6 +391,7 @@ class OptionalDemoTest {
         assertTrue(output.contains("Optional 条件操作演示"));
         assertTrue(output.contains("Optional 与集合操作演示"));
         assertTrue(output.contains("Optional 最佳实践演示"));
+        assertTrue(output.contains("Maybe（不分配的 Optional 风格）演示"));
         assertTrue(output.contains("Optional 性能基准测试"));
         assertTrue(output.contains("Optional 演示完成"));
     }
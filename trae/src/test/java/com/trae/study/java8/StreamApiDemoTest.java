@@ -288,7 +288,7 @@ class StreamApiDemoTest {
         
         assertNotNull(result);
         assertEquals("Stream API 性能对比", result.getTestName());
-        assertEquals("传统循环 vs Stream API vs 并行Stream", result.getDescription());
+        assertEquals("传统循环 vs Stream API vs 并行Stream vs IntPipeline", result.getDescription());
         assertTrue(result.getExecutionTimeMs() >= 0);
         
         // 验证附加指标
@@ -299,9 +299,27 @@ class StreamApiDemoTest {
         assertTrue(result.getAdditionalMetrics().containsKey("数据量"));
         assertTrue(result.getAdditionalMetrics().containsKey("Stream相对传统循环倍数"));
         assertTrue(result.getAdditionalMetrics().containsKey("并行Stream相对传统循环倍数"));
+        assertTrue(result.getAdditionalMetrics().containsKey("IntPipeline耗时(ms)"));
+        assertTrue(result.getAdditionalMetrics().containsKey("IntPipeline相对传统循环倍数"));
         
         // 验证数据量
         assertEquals(999999, result.getAdditionalMetrics().get("数据量"));
+
+        // 验证分配与 GC 指标
+        assertTrue(result.getAdditionalMetrics().containsKey("Stream API分配(B/元素)"));
+        assertNotNull(result.getGcCount());
+        assertNotNull(result.getGcTimeMs());
+        assertTrue(result.getGcCount() >= 0);
+        Object pipelineAlloc = result.getAdditionalMetrics().get("IntPipeline分配(B/元素)");
+        Object streamAlloc = result.getAdditionalMetrics().get("Stream API分配(B/元素)");
+        if (pipelineAlloc != null && streamAlloc != null) {
+            // IntPipeline 不装箱，只分配结果数组
+            assertTrue((Double) pipelineAlloc < (Double) streamAlloc);
+        }
+        if (result.getAllocBytesPerOp() != null) {
+            // 三种方式都会装箱结果，平均每个元素至少分配数个字节
+            assertTrue(result.getAllocBytesPerOp() > 1.0);
+        }
     }
     
     @Test
@@ -0,0 +1,86 @@
+package com.trae.study.java8.lambda;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RuleChain 规则链测试")
+class RuleChainTest {
+
+    private static Predicate<Integer> sample(RuleChain.Builder<Integer> builder, boolean specialize) {
+        return specialize ? builder.build() : builder.buildShared();
+    }
+
+    @Test
+    @DisplayName("与 Predicate.and / negate / or 组合的结果一致")
+    void testSameResultAsJdkComposition() {
+        Predicate<Integer> positive = n -> n > 0;
+        Predicate<Integer> even = n -> n % 2 == 0;
+        Predicate<Integer> small = n -> n < 100;
+        Predicate<Integer> multipleOf3 = n -> n % 3 == 0;
+        Predicate<Integer> multipleOf5 = n -> n % 5 == 0;
+        Predicate<Integer> expected = positive.and(even.negate()).and(small).and(multipleOf3.or(multipleOf5));
+
+        RuleChain.Builder<Integer> builder = RuleChain.<Integer>builder()
+                .require(positive)
+                .reject(even)
+                .require(small)
+                .anyOf(multipleOf3, multipleOf5);
+        assertEquals(4, builder.size());
+        for (boolean specialize : new boolean[]{true, false}) {
+            Predicate<Integer> chain = sample(builder, specialize);
+            for (int n = -10; n <= 120; n++) {
+                assertEquals(expected.test(n), chain.test(n), "n=" + n + ", specialize=" + specialize);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("按添加顺序求值并短路")
+    void testShortCircuit() {
+        List<String> calls = new ArrayList<>();
+        Predicate<Integer> chain = RuleChain.<Integer>builder()
+                .require(n -> calls.add("a") && n > 0)
+                .anyOf(n -> calls.add("b1") && n > 5, n -> calls.add("b2") && n > 1)
+                .require(n -> calls.add("c"))
+                .build();
+
+        assertFalse(chain.test(-1));
+        assertEquals(List.of("a"), calls);
+
+        calls.clear();
+        assertTrue(chain.test(10));
+        assertEquals(List.of("a", "b1", "c"), calls);
+
+        calls.clear();
+        assertTrue(chain.test(2));
+        assertEquals(List.of("a", "b1", "b2", "c"), calls);
+    }
+
+    @Test
+    @DisplayName("特化节点拥有独立的类，共享节点使用模板类")
+    void testSpecializedNodesAreDistinctClasses() {
+        RuleChain.Builder<Integer> builder = RuleChain.<Integer>builder().require(n -> n > 0);
+        Predicate<Integer> specialized = builder.build();
+        Predicate<Integer> shared = builder.buildShared();
+
+        assertEquals(RuleChain.AndNode.class.getName(), specialized.getClass().getName());
+        assertNotSame(RuleChain.AndNode.class, specialized.getClass());
+        assertSame(RuleChain.AndNode.class, shared.getClass());
+        assertNotSame(specialized.getClass(), builder.build().getClass());
+    }
+
+    @Test
+    @DisplayName("构建器非法使用")
+    void testBuilderValidation() {
+        assertThrows(IllegalStateException.class, () -> RuleChain.<Integer>builder().build());
+        assertThrows(IllegalArgumentException.class, () -> RuleChain.<Integer>builder().anyOf());
+        assertThrows(NullPointerException.class, () -> RuleChain.<Integer>builder().require(null));
+        assertThrows(NullPointerException.class, () -> RuleChain.<Integer>builder().anyOf(n -> true, null));
+    }
+}
@@ -0,0 +1,74 @@
+package com.trae.study.java8.optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MaybeInt 编码与操作测试")
+class MaybeIntTest {
+
+    @Test
+    @DisplayName("任意 int（含 0 与边界值）都能编码并取回")
+    void testEncoding() {
+        int[] values = {0, 1, -1, Integer.MIN_VALUE, Integer.MAX_VALUE, 42};
+        for (int v : values) {
+            long maybe = MaybeInt.of(v);
+            assertTrue(MaybeInt.isPresent(maybe), "v=" + v);
+            assertFalse(MaybeInt.isEmpty(maybe));
+            assertEquals(v, MaybeInt.get(maybe));
+        }
+        assertTrue(MaybeInt.isEmpty(MaybeInt.EMPTY));
+        assertNotEquals(MaybeInt.EMPTY, MaybeInt.of(0));
+        assertThrows(NoSuchElementException.class, () -> MaybeInt.get(MaybeInt.EMPTY));
+        assertEquals(MaybeInt.EMPTY, MaybeInt.ofNullable(null));
+        assertEquals(7, MaybeInt.get(MaybeInt.ofNullable(7)));
+    }
+
+    @Test
+    @DisplayName("map / flatMap / filter")
+    void testTransformations() {
+        long five = MaybeInt.of(5);
+        assertEquals(-5, MaybeInt.get(MaybeInt.map(five, v -> -v)));
+        assertEquals(MaybeInt.EMPTY, MaybeInt.map(MaybeInt.EMPTY, v -> v + 1));
+        assertEquals(10, MaybeInt.get(MaybeInt.flatMap(five, v -> MaybeInt.of(v * 2))));
+        assertEquals(MaybeInt.EMPTY, MaybeInt.flatMap(five, v -> MaybeInt.EMPTY));
+        assertEquals(five, MaybeInt.filter(five, v -> v > 0));
+        assertEquals(MaybeInt.EMPTY, MaybeInt.filter(five, v -> v > 5));
+        assertEquals(MaybeInt.EMPTY, MaybeInt.filter(MaybeInt.EMPTY, v -> true));
+    }
+
+    @Test
+    @DisplayName("取值与终止操作")
+    void testTerminalOperations() {
+        assertEquals(3, MaybeInt.orElse(MaybeInt.of(3), -1));
+        assertEquals(-1, MaybeInt.orElse(MaybeInt.EMPTY, -1));
+        assertEquals(9, MaybeInt.orElseGet(MaybeInt.EMPTY, () -> 9));
+        assertEquals(3, MaybeInt.orElseThrow(MaybeInt.of(3), IllegalStateException::new));
+        assertThrows(IllegalStateException.class, () -> MaybeInt.orElseThrow(MaybeInt.EMPTY, IllegalStateException::new));
+
+        int[] seen = {0};
+        MaybeInt.ifPresent(MaybeInt.of(4), v -> seen[0] += v);
+        MaybeInt.ifPresent(MaybeInt.EMPTY, v -> seen[0] += 100);
+        assertEquals(4, seen[0]);
+
+        assertEquals("4", MaybeInt.mapToObj(MaybeInt.of(4), Integer::toString));
+        assertNull(MaybeInt.mapToObj(MaybeInt.EMPTY, Integer::toString));
+        assertEquals(8L, MaybeLong.get(MaybeInt.mapToLong(MaybeInt.of(4), v -> v * 2L)));
+        assertTrue(MaybeLong.isEmpty(MaybeInt.mapToLong(MaybeInt.EMPTY, v -> v)));
+        assertEquals("MaybeInt[4]", MaybeInt.toString(MaybeInt.of(4)));
+        assertEquals("MaybeInt.empty", MaybeInt.toString(MaybeInt.EMPTY));
+    }
+
+    @Test
+    @DisplayName("与 OptionalInt 互相转换")
+    void testOptionalConversion() {
+        assertEquals(OptionalInt.of(-3), MaybeInt.toOptional(MaybeInt.of(-3)));
+        assertEquals(OptionalInt.empty(), MaybeInt.toOptional(MaybeInt.EMPTY));
+        assertEquals(-3, MaybeInt.get(MaybeInt.fromOptional(OptionalInt.of(-3))));
+        assertEquals(MaybeInt.EMPTY, MaybeInt.fromOptional(OptionalInt.empty()));
+    }
+}
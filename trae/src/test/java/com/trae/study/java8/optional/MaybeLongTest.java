@@ -0,0 +1,67 @@
+package com.trae.study.java8.optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MaybeLong 哨兵编码与操作测试")
+class MaybeLongTest {
+
+    @Test
+    @DisplayName("Long.MIN_VALUE 之外的值都能表示")
+    void testEncoding() {
+        long[] values = {0, -1, Long.MAX_VALUE, Long.MIN_VALUE + 1};
+        for (long v : values) {
+            assertTrue(MaybeLong.isPresent(MaybeLong.of(v)), "v=" + v);
+            assertEquals(v, MaybeLong.get(MaybeLong.of(v)));
+        }
+        assertThrows(IllegalArgumentException.class, () -> MaybeLong.of(Long.MIN_VALUE));
+        assertThrows(NoSuchElementException.class, () -> MaybeLong.get(MaybeLong.EMPTY));
+        assertEquals(MaybeLong.EMPTY, MaybeLong.ofNullable(null));
+        assertEquals(7L, MaybeLong.get(MaybeLong.ofNullable(7L)));
+    }
+
+    @Test
+    @DisplayName("map / flatMap / filter，映射到哨兵值视为空")
+    void testTransformations() {
+        long ten = MaybeLong.of(10);
+        assertEquals(20L, MaybeLong.get(MaybeLong.map(ten, v -> v * 2)));
+        assertTrue(MaybeLong.isEmpty(MaybeLong.map(ten, v -> Long.MIN_VALUE)));
+        assertTrue(MaybeLong.isEmpty(MaybeLong.map(MaybeLong.EMPTY, v -> v)));
+        assertTrue(MaybeLong.isEmpty(MaybeLong.flatMap(ten, v -> MaybeLong.EMPTY)));
+        assertEquals(ten, MaybeLong.filter(ten, v -> v == 10));
+        assertTrue(MaybeLong.isEmpty(MaybeLong.filter(ten, v -> v < 0)));
+    }
+
+    @Test
+    @DisplayName("取值与终止操作")
+    void testTerminalOperations() {
+        assertEquals(5L, MaybeLong.orElse(MaybeLong.of(5), -1));
+        assertEquals(-1L, MaybeLong.orElse(MaybeLong.EMPTY, -1));
+        assertEquals(9L, MaybeLong.orElseGet(MaybeLong.EMPTY, () -> 9));
+        assertThrows(IllegalStateException.class, () -> MaybeLong.orElseThrow(MaybeLong.EMPTY, IllegalStateException::new));
+
+        long[] seen = {0};
+        MaybeLong.ifPresent(MaybeLong.of(4), v -> seen[0] += v);
+        MaybeLong.ifPresent(MaybeLong.EMPTY, v -> seen[0] += 100);
+        assertEquals(4L, seen[0]);
+
+        assertEquals("4", MaybeLong.mapToObj(MaybeLong.of(4), Long::toString));
+        assertEquals(4, MaybeInt.get(MaybeLong.mapToInt(MaybeLong.of(4), v -> (int) v)));
+        assertTrue(MaybeInt.isEmpty(MaybeLong.mapToInt(MaybeLong.EMPTY, v -> 0)));
+        assertEquals("MaybeLong.empty", MaybeLong.toString(MaybeLong.EMPTY));
+    }
+
+    @Test
+    @DisplayName("与 OptionalLong 互相转换")
+    void testOptionalConversion() {
+        assertEquals(OptionalLong.of(3), MaybeLong.toOptional(MaybeLong.of(3)));
+        assertEquals(OptionalLong.empty(), MaybeLong.toOptional(MaybeLong.EMPTY));
+        assertEquals(MaybeLong.EMPTY, MaybeLong.fromOptional(OptionalLong.empty()));
+        assertThrows(IllegalArgumentException.class, () -> MaybeLong.fromOptional(OptionalLong.of(Long.MIN_VALUE)));
+    }
+}
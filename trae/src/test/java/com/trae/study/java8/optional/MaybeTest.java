@@ -0,0 +1,143 @@
+package com.trae.study.java8.optional;
+
+import com.trae.study.util.AllocationSampler;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Maybe 可空引用工具测试")
+class MaybeTest {
+
+    /** 防止 JIT 把被测代码消除 */
+    private static volatile Object sink;
+
+    static final class Address {
+        final String city;
+        Address(String city) {
+            this.city = city;
+        }
+        String getCity() {
+            return city;
+        }
+    }
+
+    static final class User {
+        final Address address;
+        final int age;
+        User(Address address, int age) {
+            this.address = address;
+            this.age = age;
+        }
+        Address getAddress() {
+            return address;
+        }
+        int getAge() {
+            return age;
+        }
+    }
+
+    @Test
+    @DisplayName("map / filter / orElse 与 Optional 链结果一致")
+    void testMatchesOptional() {
+        User[] users = {
+                new User(new Address("北京"), 25),
+                new User(new Address(null), 30),
+                new User(null, 17),
+                null
+        };
+        for (User user : users) {
+            String expected = Optional.ofNullable(user)
+                    .map(User::getAddress)
+                    .map(Address::getCity)
+                    .filter(c -> c.length() > 1)
+                    .orElse("未知");
+            String actual = Maybe.orElse(
+                    Maybe.filter(Maybe.map(Maybe.map(user, User::getAddress), Address::getCity), c -> c.length() > 1),
+                    "未知");
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    @DisplayName("orElseGet / or 只在空值时调用 supplier")
+    void testLazySuppliers() {
+        int[] calls = {0};
+        assertEquals("a", Maybe.orElseGet("a", () -> {
+            calls[0]++;
+            return "b";
+        }));
+        assertEquals("a", Maybe.or("a", () -> {
+            calls[0]++;
+            return "b";
+        }));
+        assertEquals(0, calls[0]);
+        assertEquals("b", Maybe.orElseGet(null, () -> "b"));
+        assertNull(Maybe.or(null, () -> null));
+    }
+
+    @Test
+    @DisplayName("orElseThrow / ifPresent / ifPresentOrElse")
+    void testTerminalOperations() {
+        assertEquals("x", Maybe.orElseThrow("x", IllegalStateException::new));
+        assertThrows(NoSuchElementException.class, () -> Maybe.orElseThrow(null, NoSuchElementException::new));
+
+        List<String> seen = new ArrayList<>();
+        Maybe.ifPresent("x", seen::add);
+        Maybe.ifPresent((String) null, seen::add);
+        Maybe.ifPresentOrElse((String) null, seen::add, () -> seen.add("empty"));
+        assertEquals(List.of("x", "empty"), seen);
+    }
+
+    @Test
+    @DisplayName("与 Optional 互相转换")
+    void testOptionalConversion() {
+        assertEquals(Optional.of("x"), Maybe.toOptional("x"));
+        assertEquals(Optional.empty(), Maybe.toOptional(null));
+        assertEquals("x", Maybe.fromOptional(Optional.of("x")));
+        assertNull(Maybe.fromOptional(Optional.empty()));
+        assertNull(Maybe.fromOptional(null));
+    }
+
+    @Test
+    @DisplayName("mapToInt / mapToLong 不装箱地进入基本类型特化")
+    void testPrimitiveSpecializations() {
+        User user = new User(null, 25);
+        long age = Maybe.mapToInt(user, User::getAge);
+        assertTrue(MaybeInt.isPresent(age));
+        assertEquals(25, MaybeInt.get(age));
+        assertTrue(MaybeInt.isEmpty(Maybe.mapToInt((User) null, User::getAge)));
+
+        assertEquals(25L, MaybeLong.get(Maybe.mapToLong(user, User::getAge)));
+        assertTrue(MaybeLong.isEmpty(Maybe.mapToLong((User) null, User::getAge)));
+    }
+
+    @Test
+    @DisplayName("有值路径不分配")
+    void testNoAllocationOnPresentPath() {
+        Assumptions.assumeTrue(AllocationSampler.isSupported(), "当前 JVM 不支持线程分配统计");
+        User[] users = new User[64];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = new User(new Address("city" + i), 18 + i);
+        }
+        Runnable hotPath = () -> {
+            long sum = 0;
+            for (int i = 0; i < 100_000; i++) {
+                User user = users[i & 63];
+                String city = Maybe.filter(Maybe.map(Maybe.map(user, User::getAddress), Address::getCity),
+                        c -> !c.isEmpty());
+                long age = MaybeInt.filter(MaybeInt.map(Maybe.mapToInt(user, User::getAge), a -> a + 1), a -> a >= 18);
+                sum += Maybe.orElse(city, "").length() + MaybeInt.orElse(age, 0);
+            }
+            sink = sum;
+        };
+        hotPath.run(); // 预热并注册线程记录器
+        AllocationSampler.assertWithinBudget("Maybe 有值路径", 100_000, 0.5, hotPath);
+    }
+}
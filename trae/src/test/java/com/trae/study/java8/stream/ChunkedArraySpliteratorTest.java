@@ -0,0 +1,92 @@
+package com.trae.study.java8.stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ChunkedArraySpliterator 按块切分测试")
+class ChunkedArraySpliteratorTest {
+
+    @Test
+    @DisplayName("切分点对齐到块边界，剩余不足两个块时不再切分")
+    void testSplitAlignment() {
+        assertEquals(-1, ChunkedArraySpliterator.splitPoint(0, 199, 100));
+        assertEquals(100, ChunkedArraySpliterator.splitPoint(0, 200, 100));
+        assertEquals(100, ChunkedArraySpliterator.splitPoint(0, 399, 100));
+        assertEquals(250, ChunkedArraySpliterator.splitPoint(50, 450, 100));
+
+        int[] data = IntStream.range(0, 1_050).toArray();
+        List<Spliterator.OfInt> leaves = new ArrayList<>();
+        collectLeaves(new ChunkedArraySpliterator.OfInt(data, 100), leaves);
+        long total = 0;
+        for (Spliterator.OfInt leaf : leaves) {
+            assertTrue(leaf.estimateSize() >= 100, "叶子至少包含一个完整块");
+            assertTrue(leaf.estimateSize() < 200, "叶子不足两个块");
+            total += leaf.estimateSize();
+        }
+        assertEquals(data.length, total);
+    }
+
+    @Test
+    @DisplayName("每次切分后两半都报告精确大小")
+    void testExactSizes() {
+        ChunkedArraySpliterator.OfInt s = new ChunkedArraySpliterator.OfInt(new int[10_000], 64);
+        assertTrue(s.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        Spliterator.OfInt prefix = s.trySplit();
+        assertNotNull(prefix);
+        assertTrue(prefix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertEquals(10_000, prefix.getExactSizeIfKnown() + s.getExactSizeIfKnown());
+        assertEquals(0, prefix.getExactSizeIfKnown() % 64);
+        long before = prefix.getExactSizeIfKnown();
+        assertTrue(prefix.tryAdvance((int v) -> { }));
+        assertEquals(before - 1, prefix.getExactSizeIfKnown(), "遍历过程中大小同步减少");
+    }
+
+    @Test
+    @DisplayName("并行流结果与顺序保持一致")
+    void testParallelStreamOrder() {
+        Integer[] boxed = IntStream.range(0, 50_000).boxed().toArray(Integer[]::new);
+        List<Integer> expected = Arrays.asList(boxed);
+        List<Integer> viaArray = StreamSupport.stream(new ChunkedArraySpliterator<>(boxed, 1_000), true)
+                .collect(Collectors.toList());
+        List<Integer> viaList = StreamSupport.stream(new ChunkedArraySpliterator<>(new ArrayList<>(expected), 777), true)
+                .map(n -> n * 2).map(n -> n / 2).collect(Collectors.toList());
+        assertEquals(expected, viaArray);
+        assertEquals(expected, viaList);
+
+        int[] data = IntStream.range(-20_000, 20_000).toArray();
+        assertArrayEquals(data, StreamSupport.intStream(new ChunkedArraySpliterator.OfInt(data, 500), true).toArray());
+        assertEquals(IntStream.of(data).asLongStream().sum(),
+                StreamSupport.intStream(new ChunkedArraySpliterator.OfInt(data, 3, data.length - 3, 500), true)
+                        .asLongStream().sum() + data[0] + data[1] + data[2]
+                        + data[data.length - 1] + data[data.length - 2] + data[data.length - 3]);
+    }
+
+    @Test
+    @DisplayName("非法参数")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ChunkedArraySpliterator.OfInt(new int[10], 0));
+        assertThrows(IllegalArgumentException.class, () -> new ChunkedArraySpliterator.OfInt(new int[10], 5, 11, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ChunkedArraySpliterator<>(new LinkedList<>(), 10));
+    }
+
+    private static void collectLeaves(Spliterator.OfInt s, List<Spliterator.OfInt> leaves) {
+        Spliterator.OfInt prefix = s.trySplit();
+        if (prefix == null) {
+            leaves.add(s);
+            return;
+        }
+        collectLeaves(prefix, leaves);
+        collectLeaves(s, leaves);
+    }
+}
@@ -0,0 +1,111 @@
+package com.trae.study.java8.stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FileRecordSpliterator 定长记录文件测试")
+class FileRecordSpliteratorTest {
+
+    @TempDir
+    Path dir;
+
+    /** 写出 count 个 int，末尾附加 extraBytes 个不完整记录的字节 */
+    private Path writeInts(int count, int extraBytes) throws IOException {
+        Path file = dir.resolve("ints-" + count + ".bin");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            for (int i = 0; i < count; i++) {
+                out.writeInt(i * 7 - 1_000);
+            }
+            for (int i = 0; i < extraBytes; i++) {
+                out.write(0xFF);
+            }
+        }
+        return file;
+    }
+
+    @Test
+    @DisplayName("int 记录：大小精确，并行求和与顺序读取一致，跨越多个读缓冲区")
+    void testIntRecords() throws IOException {
+        int count = 100_003;
+        Path file = writeInts(count, 3);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            FileRecordSpliterator.OfInt s = new FileRecordSpliterator.OfInt(channel, 4_096, ByteOrder.BIG_ENDIAN);
+            assertEquals(count, s.getExactSizeIfKnown(), "末尾不完整的记录应被忽略");
+            assertTrue(s.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+            Spliterator.OfInt prefix = s.trySplit();
+            assertNotNull(prefix);
+            assertEquals(count, prefix.getExactSizeIfKnown() + s.getExactSizeIfKnown());
+            assertEquals(0, prefix.getExactSizeIfKnown() % 4_096);
+
+            int[] expected = IntStream.range(0, count).map(i -> i * 7 - 1_000).toArray();
+            int[] actual = StreamSupport.intStream(
+                    new FileRecordSpliterator.OfInt(channel, 4_096, ByteOrder.BIG_ENDIAN), true).toArray();
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    @DisplayName("tryAdvance 与 forEachRemaining 混用不丢记录，开始遍历后不再切分")
+    void testMixedTraversal() throws IOException {
+        Path file = writeInts(50_000, 0);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            FileRecordSpliterator.OfInt s = new FileRecordSpliterator.OfInt(channel, 100, ByteOrder.BIG_ENDIAN);
+            long[] sum = new long[1];
+            assertTrue(s.tryAdvance((int v) -> sum[0] += v));
+            assertEquals(49_999, s.estimateSize());
+            assertNull(s.trySplit(), "缓冲区中有未消费记录时不切分");
+            s.forEachRemaining((int v) -> sum[0] += v);
+            assertEquals(0, s.estimateSize());
+            assertEquals(IntStream.range(0, 50_000).mapToLong(i -> i * 7L - 1_000).sum(), sum[0]);
+        }
+    }
+
+    @Test
+    @DisplayName("通用定长记录：自定义解码器，位置总是前进 recordSize 字节")
+    void testGenericRecords() throws IOException {
+        // 记录格式：int id + long value + 4 字节填充，共 16 字节，小端
+        int count = 10_000;
+        ByteBuffer data = ByteBuffer.allocate(count * 16).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < count; i++) {
+            data.putInt(i).putLong(i * 1_000L).putInt(0);
+        }
+        Path file = dir.resolve("records.bin");
+        Files.write(file, data.array());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // 解码器只读取前 12 个字节，剩余的填充由 Spliterator 跳过
+            FileRecordSpliterator<long[]> s = new FileRecordSpliterator<>(channel, 16, 512, ByteOrder.LITTLE_ENDIAN,
+                    b -> new long[]{b.getInt(), b.getLong()});
+            assertEquals(count, s.getExactSizeIfKnown());
+            List<long[]> records = StreamSupport.stream(s, true).collect(Collectors.toList());
+            assertEquals(count, records.size());
+            for (int i = 0; i < count; i++) {
+                assertEquals(i, records.get(i)[0]);
+                assertEquals(i * 1_000L, records.get(i)[1]);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                new FileRecordSpliterator<>(channel, 0, 512, ByteOrder.BIG_ENDIAN, b -> b);
+            }
+        });
+    }
+}
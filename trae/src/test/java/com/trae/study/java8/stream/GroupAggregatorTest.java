@@ -0,0 +1,117 @@
+package com.trae.study.java8.stream;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GroupAggregator 单次遍历分组聚合测试")
+class GroupAggregatorTest {
+
+    @Data
+    @AllArgsConstructor
+    static class Order {
+        private String region;
+        private long customerId;
+        private double amount;
+    }
+
+    private static List<Order> orders(int size) {
+        Random random = new Random(7);
+        String[] regions = {"华东", "华北", "华南", "西南", "西北"};
+        List<Order> orders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String region = regions[random.nextInt(regions.length)];
+            orders.add(new Order(region, random.nextInt(20_000), Math.round(random.nextDouble() * 100_000) / 100.0));
+        }
+        return orders;
+    }
+
+    private static GroupAggregator<Order, String> aggregator() {
+        return GroupAggregator.<Order, String>groupingBy(Order::getRegion)
+                .stats("amount", Order::getAmount)
+                .distinctLong("customers", Order::getCustomerId)
+                .distinct("regions", Order::getRegion)
+                .percentiles("amount", Order::getAmount)
+                .build();
+    }
+
+    @Test
+    @DisplayName("与 groupingBy 精确结果一致：顺序、并行合并与并发收集三种方式")
+    void testMatchesGroupingBy() {
+        List<Order> orders = orders(200_000);
+        Map<String, DoubleSummaryStatistics> expectedStats = orders.stream()
+                .collect(Collectors.groupingBy(Order::getRegion, Collectors.summarizingDouble(Order::getAmount)));
+        Map<String, Set<Long>> expectedCustomers = orders.stream()
+                .collect(Collectors.groupingBy(Order::getRegion,
+                        Collectors.mapping(Order::getCustomerId, Collectors.toSet())));
+        Map<String, List<Double>> amounts = orders.stream()
+                .collect(Collectors.groupingBy(Order::getRegion,
+                        Collectors.mapping(Order::getAmount, Collectors.toList())));
+
+        GroupAggregator<Order, String> aggregator = aggregator();
+        List<Map<String, GroupResult>> variants = List.of(
+                orders.stream().collect(aggregator.toCollector()),
+                orders.parallelStream().collect(aggregator.toCollector()),
+                orders.parallelStream().collect(aggregator.toConcurrentCollector()));
+        for (Map<String, GroupResult> result : variants) {
+            assertEquals(expectedStats.keySet(), result.keySet());
+            expectedStats.forEach((region, expected) -> {
+                GroupResult group = result.get(region);
+                assertEquals(expected.getCount(), group.getCount());
+                DoubleSummaryStatistics stats = group.stats("amount");
+                assertEquals(expected.getCount(), stats.getCount());
+                assertEquals(expected.getSum(), stats.getSum(), 1e-6);
+                assertEquals(expected.getMin(), stats.getMin());
+                assertEquals(expected.getMax(), stats.getMax());
+
+                int customers = expectedCustomers.get(region).size();
+                assertEquals(customers, group.distinct("customers"), customers * 0.05, "HLL 估计误差过大");
+
+                double[] sorted = amounts.get(region).stream().mapToDouble(Double::doubleValue).sorted().toArray();
+                double median = group.percentile("amount", 0.5);
+                double p99 = group.percentile("amount", 0.99);
+                assertEquals(sorted[sorted.length / 2], median, 1_000 * 0.01, "中位数偏差过大");
+                assertEquals(sorted[(int) (sorted.length * 0.99)], p99, 1_000 * 0.005, "p99 偏差过大");
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("summarizing 不分组聚合整个流")
+    void testSummarizing() {
+        List<Order> orders = orders(10_000);
+        GroupResult total = orders.parallelStream().collect(aggregator().summarizing());
+        assertEquals(10_000, total.getCount());
+        assertEquals(orders.stream().mapToDouble(Order::getAmount).sum(), total.stats("amount").getSum(), 1e-6);
+        assertEquals(5, total.distinct("regions"));
+        assertThrows(IllegalArgumentException.class, () -> total.distinct("未声明"));
+    }
+
+    @Test
+    @DisplayName("空键、重复指标名与非法参数")
+    void testValidation() {
+        GroupAggregator<Order, String> aggregator = aggregator();
+        assertThrows(NullPointerException.class, () ->
+                Stream.of(new Order(null, 1, 1)).collect(aggregator.toCollector()));
+        assertThrows(IllegalArgumentException.class, () ->
+                GroupAggregator.<Order, String>groupingBy(Order::getRegion)
+                        .stats("x", Order::getAmount).stats("x", Order::getAmount));
+        assertThrows(IllegalArgumentException.class, () ->
+                GroupAggregator.<Order, String>groupingBy(Order::getRegion).hllPrecision(2));
+        assertThrows(IllegalArgumentException.class, () ->
+                GroupAggregator.<Order, String>groupingBy(Order::getRegion).compression(1));
+        assertTrue(Stream.<Order>empty().collect(aggregator.toCollector()).isEmpty());
+    }
+}
@@ -0,0 +1,114 @@
+package com.trae.study.java8.stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IntPipeline 融合 int 流水线测试")
+class IntPipelineTest {
+
+    private static int[] randomData(int size, long seed) {
+        Random random = new Random(seed);
+        int[] data = new int[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = random.nextInt(2_000_001) - 1_000_000;
+        }
+        return data;
+    }
+
+    @Test
+    @DisplayName("与 IntStream 结果一致：顺序、并行与特化三种模式")
+    void testMatchesIntStream() {
+        int[] data = randomData(100_000, 1);
+        IntPipeline base = IntPipeline.of(data)
+                .filter(n -> n % 2 == 0)
+                .filter(n -> n > 100)
+                .map(n -> n * n)
+                .map(n -> n ^ 0x5555)
+                .filter(n -> (n & 3) != 0);
+        int[] expected = IntStream.of(data)
+                .filter(n -> n % 2 == 0)
+                .filter(n -> n > 100)
+                .map(n -> n * n)
+                .map(n -> n ^ 0x5555)
+                .filter(n -> (n & 3) != 0)
+                .toArray();
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            IntPipeline[] variants = {
+                    base,
+                    base.parallel().minSplit(1_000),
+                    base.parallel(pool).minSplit(777),
+                    base.specialized(),
+                    base.specialized().parallel(pool).minSplit(5_000)
+            };
+            for (IntPipeline p : variants) {
+                assertArrayEquals(expected, p.toArray(), "toArray 顺序应与数据源一致");
+                assertEquals(expected.length, p.count());
+                assertEquals(Arrays.stream(expected).asLongStream().sum(), p.sum());
+                assertEquals(Arrays.stream(expected).reduce(0, (a, b) -> a ^ b), p.reduce(0, (a, b) -> a ^ b));
+                assertEquals(Arrays.stream(expected).min(), p.min());
+                assertEquals(Arrays.stream(expected).max(), p.max());
+                assertEquals(Arrays.stream(expected).average().getAsDouble(), p.average().getAsDouble(), 1e-6);
+                LongAdder adder = new LongAdder();
+                p.forEach(adder::add);
+                assertEquals(p.sum(), adder.sum());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("操作顺序：filter 与 map 交错时按声明顺序执行")
+    void testOperationOrder() {
+        // 先 map 后 filter 与先 filter 后 map 结果不同
+        assertArrayEquals(new int[]{4, 5}, IntPipeline.of(1, 2, 3, 4).map(n -> n + 1).filter(n -> n > 3).toArray());
+        assertArrayEquals(new int[]{5}, IntPipeline.of(1, 2, 3, 4).filter(n -> n > 3).map(n -> n + 1).toArray());
+        // 无中间操作
+        assertArrayEquals(new int[]{1, 2, 3}, IntPipeline.of(1, 2, 3).toArray());
+        // 流水线不可变，可重复执行
+        IntPipeline evens = IntPipeline.range(0, 10).filter(n -> n % 2 == 0);
+        assertEquals(5, evens.count());
+        assertEquals(5, evens.count());
+        assertEquals(4, evens.filter(n -> n > 0).count());
+        assertEquals(5, evens.count());
+    }
+
+    @Test
+    @DisplayName("区间数据源：含负数与大区间并行求和")
+    void testRangeSource() {
+        assertEquals(IntStream.range(-500, 500).filter(n -> n % 3 == 0).sum(),
+                IntPipeline.range(-500, 500).filter(n -> n % 3 == 0).sum());
+        long n = 20_000_000L;
+        assertEquals(n * (n - 1) / 2, IntPipeline.range(0, (int) n).parallel().sum());
+        assertEquals(0, IntPipeline.range(5, 1).count(), "to < from 视为空区间");
+        assertEquals(-5, IntPipeline.range(-10, 0).parallel().minSplit(1).filter(v -> v == -5).sum());
+    }
+
+    @Test
+    @DisplayName("空结果与参数校验")
+    void testEmptyAndValidation() {
+        IntPipeline none = IntPipeline.of(1, 3, 5).filter(v -> v % 2 == 0);
+        assertEquals(OptionalInt.empty(), none.min());
+        assertEquals(OptionalInt.empty(), none.max());
+        assertEquals(OptionalDouble.empty(), none.average());
+        assertEquals(42, none.reduce(42, Integer::sum));
+        assertEquals(0, none.toArray().length);
+
+        assertArrayEquals(new int[]{2, 3}, IntPipeline.of(new int[]{1, 2, 3, 4}, 1, 3).toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> IntPipeline.of(new int[3], 1, 4));
+        assertThrows(IllegalArgumentException.class, () -> IntPipeline.of(1).minSplit(0));
+        assertThrows(NullPointerException.class, () -> IntPipeline.of(1).filter(null));
+    }
+}
@@ -0,0 +1,124 @@
+package com.trae.study.java8.stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ParallelStreamRunner 专用线程池并行流测试")
+class ParallelStreamRunnerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("并行流只在专用池的线程上执行，不使用公共池与调用线程")
+    void testRunsOnDedicatedPool() {
+        List<Integer> data = IntStream.range(0, 200_000).boxed().collect(Collectors.toList());
+        try (ParallelStreamRunner runner = ParallelStreamRunner.builder()
+                .name("iso").parallelism(3).minSplit(1_000).build()) {
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            long sum = runner.query(data, s -> s
+                    .peek(n -> threads.add(Thread.currentThread().getName()))
+                    .mapToLong(Integer::longValue)
+                    .sum());
+            assertEquals(199_999L * 200_000 / 2, sum);
+            assertFalse(threads.isEmpty());
+            for (String name : threads) {
+                assertTrue(name.startsWith("iso-worker-"), "意外的执行线程: " + name);
+            }
+            assertTrue(runner.getPool().getPoolSize() <= runner.getMaxThreads());
+        }
+    }
+
+    @Test
+    @DisplayName("结果与普通并行流一致：列表、数组、int[]、IntPipeline")
+    void testResultsMatch() {
+        int[] data = IntStream.range(-50_000, 50_000).toArray();
+        Integer[] boxed = IntStream.of(data).boxed().toArray(Integer[]::new);
+        List<Integer> expected = IntStream.of(data).filter(n -> n % 3 == 0).boxed().collect(Collectors.toList());
+        try (ParallelStreamRunner runner = ParallelStreamRunner.builder().parallelism(2).minSplit(4_096).build()) {
+            assertEquals(expected, runner.run(() -> runner.stream(boxed).filter(n -> n % 3 == 0)
+                    .collect(Collectors.toList())));
+            assertEquals(expected.size(), (long) runner.queryInts(data, s -> s.filter(n -> n % 3 == 0).count()));
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(),
+                    runner.run(() -> runner.pipeline(data).filter(n -> n % 3 == 0).toArray()));
+        }
+    }
+
+    @Test
+    @DisplayName("int 记录文件：流关闭时关闭文件")
+    void testIntRecords() throws IOException {
+        Path file = dir.resolve("values.bin");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            for (int i = 1; i <= 100_000; i++) {
+                out.writeInt(i);
+            }
+        }
+        try (ParallelStreamRunner runner = ParallelStreamRunner.builder().parallelism(2).minSplit(8_192).build()) {
+            AtomicBoolean closed = new AtomicBoolean();
+            long sum = runner.run(() -> {
+                try (IntStream s = runner.intRecords(file).onClose(() -> closed.set(true))) {
+                    return s.asLongStream().sum();
+                }
+            });
+            assertEquals(100_000L * 100_001 / 2, sum);
+            assertTrue(closed.get());
+
+            long evens = runner.run(() -> {
+                try (Stream<Integer> s = runner.records(file, 4, ByteOrder.BIG_ENDIAN, b -> b.getInt())) {
+                    return s.filter(n -> n % 2 == 0).count();
+                }
+            });
+            assertEquals(50_000, evens);
+        }
+    }
+
+    @Test
+    @DisplayName("嵌套调用直接执行；异常原样传播；关闭后拒绝提交")
+    void testNestingErrorsAndClose() {
+        ParallelStreamRunner runner = ParallelStreamRunner.builder().parallelism(1).build();
+        String[] names = runner.run(() -> new String[]{
+                Thread.currentThread().getName(),
+                runner.run(() -> Thread.currentThread().getName())});
+        assertEquals(names[0], names[1], "池内嵌套调用应在当前线程直接执行");
+        assertSame(runner.getPool(), runner.run(ForkJoinTask::getPool));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> runner.run(() -> {
+            throw new IllegalStateException("查询失败");
+        }));
+        assertTrue(error.getMessage().contains("查询失败"));
+
+        runner.close();
+        assertThrows(RejectedExecutionException.class, () -> runner.run(() -> 1));
+    }
+
+    @Test
+    @DisplayName("构建参数校验")
+    void testBuilderValidation() {
+        assertThrows(IllegalArgumentException.class, () -> ParallelStreamRunner.builder().parallelism(0));
+        assertThrows(IllegalArgumentException.class, () -> ParallelStreamRunner.builder().maxThreads(-1));
+        assertThrows(IllegalArgumentException.class, () -> ParallelStreamRunner.builder().minSplit(0));
+        assertThrows(IllegalArgumentException.class, () -> ParallelStreamRunner.builder().name(""));
+        try (ParallelStreamRunner runner = ParallelStreamRunner.builder().parallelism(4).maxThreads(2).build()) {
+            assertEquals(4, runner.getMaxThreads(), "上限小于并行度时按并行度处理");
+        }
+    }
+}
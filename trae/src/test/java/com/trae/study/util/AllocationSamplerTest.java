@@ -0,0 +1,121 @@
+package com.trae.study.util;
+
+import com.trae.study.dto.BenchmarkResultDTO;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AllocationSampler 分配采样与预算测试")
+class AllocationSamplerTest {
+
+    /** 防止 JIT 把被测分配消除 */
+    private static volatile Object sink;
+
+    @BeforeEach
+    void requireSupport() {
+        Assumptions.assumeTrue(AllocationSampler.isSupported(), "当前 JVM 不支持线程分配统计");
+    }
+
+    @Test
+    @DisplayName("分配字节数与实际分配量一致")
+    void testAllocatedBytes() {
+        AllocationSampler sampler = AllocationSampler.start();
+        for (int i = 0; i < 1000; i++) {
+            sink = new byte[1024];
+        }
+        AllocationSampler.Usage usage = sampler.stop();
+        // 每个数组 1024B 数据 + 16B 对象头
+        assertTrue(usage.getAllocatedBytes() >= 1000L * 1024, "allocated=" + usage.getAllocatedBytes());
+        assertTrue(usage.getAllocatedBytes() < 1000L * 1024 * 2, "allocated=" + usage.getAllocatedBytes());
+        assertEquals(usage.getAllocatedBytes() / 1000.0, usage.bytesPerOp(1000), 1e-9);
+        assertTrue(usage.getGcCount() >= 0 && usage.getGcTimeMs() >= 0);
+    }
+
+    @Test
+    @DisplayName("ALL_THREADS 范围统计其他线程的分配")
+    void testAllThreadsScope() throws InterruptedException {
+        AllocationSampler current = AllocationSampler.start();
+        AllocationSampler all = AllocationSampler.start(AllocationSampler.Scope.ALL_THREADS);
+        Thread worker = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                sink = new byte[1024];
+            }
+            try {
+                Thread.sleep(200); // 保持存活到采样结束
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        worker.start();
+        Thread.sleep(100);
+        AllocationSampler.Usage allUsage = all.stop();
+        AllocationSampler.Usage currentUsage = current.stop();
+        worker.join();
+        assertTrue(allUsage.getAllocatedBytes() >= 1000L * 1024, "all=" + allUsage.getAllocatedBytes());
+        assertTrue(currentUsage.getAllocatedBytes() < 1000L * 1024, "current=" + currentUsage.getAllocatedBytes());
+    }
+
+    @Test
+    @DisplayName("分配预算：热点路径不分配，超出预算时失败")
+    void testBudget() {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        NanoTimer timer = new NanoTimer("budget");
+        Runnable hotPath = () -> {
+            long sum = 0;
+            for (int i = 0; i < 100_000; i++) {
+                sum += list.get(i % 100); // Integer 缓存范围内，不装箱
+                timer.stop(System.nanoTime());
+            }
+            sink = sum;
+        };
+        hotPath.run(); // 预热并注册线程记录器
+        AllocationSampler.assertWithinBudget("ArrayList.get + NanoTimer.stop", 100_000, 0.5, hotPath);
+
+        AssertionError error = assertThrows(AssertionError.class, () ->
+                AllocationSampler.assertWithinBudget("装箱", 10_000, 8, () -> {
+                    List<Long> boxed = new ArrayList<>();
+                    for (long i = 0; i < 10_000; i++) {
+                        boxed.add(i + 1_000_000);
+                    }
+                    sink = boxed;
+                }));
+        assertTrue(error.getMessage().contains("装箱"));
+    }
+
+    @Test
+    @DisplayName("StopWatchUtil.execute 填充 GC 与每次操作分配字节数")
+    void testStopWatchUtilIntegration() {
+        BenchmarkResultDTO result = StopWatchUtil.execute("HashMap put", "装箱键值", 10_000, () -> {
+            Map<Integer, Integer> map = new HashMap<>();
+            for (int i = 0; i < 10_000; i++) {
+                map.put(i + 1000, i + 1000);
+            }
+            sink = map;
+            return new HashMap<>();
+        });
+        assertNotNull(result.getGcCount());
+        assertNotNull(result.getGcTimeMs());
+        assertNotNull(result.getAllocBytesPerOp());
+        // 每次 put：两个 Integer（各 16B）+ 一个 Node（32B），另加扩容
+        assertTrue(result.getAllocBytesPerOp() >= 64, "B/op=" + result.getAllocBytesPerOp());
+        assertTrue(result.getAdditionalMetrics().containsKey("分配字节数"));
+        assertThrows(AssertionError.class, () -> AllocationSampler.assertWithinBudget(result, 32));
+        assertDoesNotThrow(() -> AllocationSampler.assertWithinBudget(result, 1024));
+
+        // 未提供操作数时只记录总量
+        BenchmarkResultDTO noOps = StopWatchUtil.execute("空", "无操作数", HashMap::new);
+        assertNull(noOps.getAllocBytesPerOp());
+        assertNotNull(noOps.getGcCount());
+    }
+}
@@ -0,0 +1,79 @@
+package com.trae.study.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HyperLogLog 基数估计测试")
+class HyperLogLogTest {
+
+    @Test
+    @DisplayName("大基数误差在理论标准误差的 4 倍以内，重复值不影响估计")
+    void testLargeCardinality() {
+        HyperLogLog hll = new HyperLogLog(14);
+        int distinct = 1_000_000;
+        for (int round = 0; round < 2; round++) {
+            for (long i = 0; i < distinct; i++) {
+                hll.add(i * 31 + 7);
+            }
+        }
+        double error = Math.abs(hll.cardinality() - distinct) / (double) distinct;
+        assertTrue(error < 4 * hll.standardError(), "相对误差过大: " + error);
+        assertEquals(16_384, hll.sizeInBytes());
+    }
+
+    @Test
+    @DisplayName("小基数走线性计数，几乎精确；null 被忽略")
+    void testSmallCardinality() {
+        HyperLogLog hll = new HyperLogLog(12);
+        assertEquals(0, hll.cardinality());
+        for (int i = 0; i < 100; i++) {
+            hll.add("user-" + i);
+            hll.add(new StringBuilder("user-").append(i));
+            hll.add((Object) null);
+        }
+        assertTrue(Math.abs(hll.cardinality() - 100) <= 2, "估计值: " + hll.cardinality());
+    }
+
+    @Test
+    @DisplayName("合并等价于对并集计数")
+    void testMerge() {
+        HyperLogLog left = new HyperLogLog(12);
+        HyperLogLog right = new HyperLogLog(12);
+        HyperLogLog union = new HyperLogLog(12);
+        for (int i = 0; i < 60_000; i++) {
+            left.add(i);
+            union.add(i);
+        }
+        for (int i = 40_000; i < 100_000; i++) {
+            right.add(i);
+            union.add(i);
+        }
+        HyperLogLog merged = left.copy().merge(right);
+        assertEquals(union.cardinality(), merged.cardinality(), "合并结果应与直接对并集计数完全一致");
+        assertTrue(Math.abs(merged.cardinality() - 100_000) < 100_000 * 4 * merged.standardError());
+        assertNotEquals(left.cardinality(), merged.cardinality(), "copy 不应被合并修改");
+
+        assertThrows(IllegalArgumentException.class, () -> left.merge(new HyperLogLog(10)));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(19));
+    }
+
+    @Test
+    @DisplayName("分配预算：加入 long 与字符序列不分配")
+    void testAddAllocationBudget() {
+        HyperLogLog hll = new HyperLogLog(12);
+        StringBuilder text = new StringBuilder("user-0000");
+        Runnable hotPath = () -> {
+            for (int i = 0; i < 100_000; i++) {
+                hll.add((long) i);
+                text.setCharAt(5, (char) ('0' + (i & 7)));
+                hll.add(text);
+            }
+        };
+        hotPath.run();
+        AllocationSampler.assertWithinBudget("HyperLogLog.add", 200_000, 0.5, hotPath);
+        assertTrue(hll.cardinality() > 0);
+    }
+}
@@ -0,0 +1,189 @@
+package com.trae.study.util;
+
+import com.trae.study.dto.BenchmarkResultDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NanoTimer / LatencyHistogram 纳秒计时测试")
+class NanoTimerTest {
+
+    @Test
+    @DisplayName("分桶：小值精确，大值相对误差不超过 1/128")
+    void testBucketPrecision() {
+        int b = LatencyHistogram.DEFAULT_PRECISION_BITS;
+        int max = LatencyHistogram.DEFAULT_MAX_BITS;
+        for (long v = 0; v < 256; v++) {
+            int idx = LatencyHistogram.indexOf(v, b, max);
+            assertEquals(v, LatencyHistogram.highestEquivalentValue(idx, b));
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            long v = 256 + (random.nextLong() >>> 25);
+            int idx = LatencyHistogram.indexOf(v, b, max);
+            long low = LatencyHistogram.lowestEquivalentValue(idx, b);
+            long high = LatencyHistogram.highestEquivalentValue(idx, b);
+            assertTrue(low <= v && v <= high, v + " 不在桶 [" + low + ", " + high + "]");
+            assertTrue((double) (high - low) / low <= 1.0 / 128);
+        }
+        // 超出范围的值记入最后一个桶
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(Long.MAX_VALUE);
+        assertEquals((1L << max) - 1, h.max());
+    }
+
+    @Test
+    @DisplayName("分位数与排序数组结果一致（误差 1% 以内）")
+    void testPercentiles() {
+        LatencyHistogram h = new LatencyHistogram();
+        Random random = new Random(42);
+        long[] values = new long[200_000];
+        for (int i = 0; i < values.length; i++) {
+            // 对数正态分布，模拟长尾延迟
+            values[i] = (long) Math.exp(7 + random.nextGaussian());
+            h.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double p : new double[]{50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            long approx = h.valueAtPercentile(p);
+            assertEquals(exact, approx, exact * 0.01 + 1, "p" + p);
+        }
+        assertEquals(values.length, h.totalCount());
+        assertEquals(Arrays.stream(values).average().orElse(0), h.mean(), 1e-6);
+        assertEquals(values[0], h.min(), values[0] * 0.01 + 1);
+        assertEquals(4, h.percentiles().size());
+    }
+
+    @Test
+    @DisplayName("多线程记录后合并：计数不丢失，增量快照正确")
+    void testConcurrentRecordingAndIntervals() throws InterruptedException {
+        NanoTimer timer = new NanoTimer("op");
+        int threads = 4;
+        int perThread = 50_000;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            final long value = (t + 1) * 1_000L;
+            new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    timer.record(value);
+                }
+                done.countDown();
+            }).start();
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+
+        LatencyHistogram all = timer.snapshot();
+        assertEquals(threads * perThread, all.totalCount());
+        assertTrue(timer.recorderCount() <= threads, "已结束的线程在快照时回收");
+        assertEquals(2_500.0, all.mean(), 1e-9);
+        assertEquals(4_000, all.max(), 4_000 / 128.0);
+
+        assertEquals(threads * perThread, timer.intervalSnapshot().totalCount());
+        timer.record(10);
+        timer.record(20);
+        LatencyHistogram interval = timer.intervalSnapshot();
+        assertEquals(2, interval.totalCount());
+        assertEquals(15.0, interval.mean(), 1e-9);
+        assertEquals(0, timer.intervalSnapshot().totalCount());
+    }
+
+    @Test
+    @DisplayName("已结束线程的记录器并入汇总后移除，计数与增量快照不受影响")
+    void testDeadThreadRecordersRetired() throws InterruptedException {
+        NanoTimer timer = new NanoTimer("short-lived");
+        runThreads(timer, 8, 1_000, 500L);
+        assertEquals(8, timer.recorderCount(), "快照前不回收");
+
+        LatencyHistogram first = timer.intervalSnapshot();
+        assertEquals(8_000, first.totalCount());
+        assertEquals(500.0, first.mean(), 1e-9);
+        assertEquals(0, timer.recorderCount());
+
+        timer.record(100);
+        runThreads(timer, 8, 1_000, 2_000L);
+        LatencyHistogram interval = timer.intervalSnapshot();
+        assertEquals(8_001, interval.totalCount());
+        assertEquals((100 + 8_000 * 2_000.0) / 8_001, interval.mean(), 1e-9);
+        assertEquals(1, timer.recorderCount(), "只保留仍存活的当前线程");
+
+        LatencyHistogram all = timer.snapshot();
+        assertEquals(16_001, all.totalCount());
+        assertEquals(100, all.min(), 1);
+        assertEquals(0, timer.intervalSnapshot().totalCount());
+    }
+
+    /** 依次启动 count 个线程各记录 perThread 次 value，全部结束后返回 */
+    private static void runThreads(NanoTimer timer, int count, int perThread, long value) throws InterruptedException {
+        Thread[] workers = new Thread[count];
+        for (int t = 0; t < count; t++) {
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    timer.record(value);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    @Test
+    @DisplayName("记录路径不分配对象")
+    void testRecordDoesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        long id = Thread.currentThread().getId();
+        NanoTimer timer = new NanoTimer("alloc");
+        for (int i = 0; i < 100_000; i++) { // 预热：注册线程记录器并触发 JIT
+            timer.stop(System.nanoTime());
+        }
+        long before = threads.getThreadAllocatedBytes(id);
+        for (int i = 0; i < 1_000_000; i++) {
+            timer.stop(System.nanoTime());
+        }
+        long allocated = threads.getThreadAllocatedBytes(id) - before;
+        assertTrue(allocated < 64 * 1024, "100 万次记录分配了 " + allocated + " 字节");
+    }
+
+    @Test
+    @DisplayName("StopWatchUtil.execute 用直方图填充结果 DTO")
+    void testStopWatchUtilIntegration() {
+        NanoTimer timer = new NanoTimer("put");
+        timer.record(1_000_000); // 执行之前的记录不应计入
+        AtomicReference<Map<String, Integer>> target = new AtomicReference<>(new HashMap<>());
+        BenchmarkResultDTO result = StopWatchUtil.execute("HashMap put", "单次 put 耗时", timer, () -> {
+            for (int i = 0; i < 10_000; i++) {
+                long start = System.nanoTime();
+                target.get().put("k" + (i & 1023), i);
+                timer.stop(start);
+            }
+            Map<String, Object> metrics = new HashMap<>();
+            metrics.put("操作数", 10_000);
+            return metrics;
+        });
+
+        assertEquals("sample", result.getMode());
+        assertEquals("ns/op", result.getScoreUnit());
+        assertNotNull(result.getScore());
+        assertTrue(result.getScore() > 0 && result.getScore() < 1_000_000);
+        assertEquals(10_000L, result.getAdditionalMetrics().get("put样本数"));
+        assertEquals(10_000, result.getAdditionalMetrics().get("操作数"));
+        Map<String, Double> p = result.getPercentiles();
+        assertTrue(p.get("p50") <= p.get("p99") && p.get("p99") <= p.get("p999"));
+    }
+}
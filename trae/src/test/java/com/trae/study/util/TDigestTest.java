@@ -0,0 +1,87 @@
+package com.trae.study.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TDigest 分位数估计测试")
+class TDigestTest {
+
+    /** 估计值在排序后数据中的秩与目标分位数的差距 */
+    private static double rankError(double[] sorted, double estimate, double q) {
+        int rank = Arrays.binarySearch(sorted, estimate);
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        return Math.abs((double) rank / sorted.length - q);
+    }
+
+    @Test
+    @DisplayName("乱序输入：中位数秩误差 < 1%，尾部分位数秩误差 < 0.1%")
+    void testAccuracy() {
+        Random random = new Random(42);
+        int n = 200_000;
+        double[] data = new double[n];
+        TDigest digest = new TDigest();
+        for (int i = 0; i < n; i++) {
+            data[i] = -Math.log(1 - random.nextDouble()) * 100; // 指数分布，长尾
+            digest.add(data[i]);
+        }
+        Arrays.sort(data);
+        assertEquals(n, digest.size());
+        assertEquals(data[0], digest.quantile(0));
+        assertEquals(data[n - 1], digest.quantile(1));
+        assertTrue(rankError(data, digest.quantile(0.5), 0.5) < 0.01);
+        for (double q : new double[]{0.001, 0.01, 0.99, 0.999}) {
+            assertTrue(rankError(data, digest.quantile(q), q) < 0.001, "q=" + q + " 秩误差过大");
+        }
+        assertTrue(digest.centroidCount() <= 100, "质心数量应受 compression 约束: " + digest.centroidCount());
+    }
+
+    @Test
+    @DisplayName("合并多个 digest 与单个 digest 精度相当")
+    void testMerge() {
+        int n = 100_000;
+        double[] data = new double[n];
+        TDigest[] parts = new TDigest[4];
+        for (int p = 0; p < parts.length; p++) {
+            parts[p] = new TDigest(50);
+        }
+        for (int i = 0; i < n; i++) {
+            data[i] = i;
+            parts[i % parts.length].add(i);
+        }
+        TDigest merged = new TDigest(50);
+        for (TDigest part : parts) {
+            merged.merge(part);
+        }
+        assertEquals(n, merged.size());
+        assertEquals(0, merged.getMin());
+        assertEquals(n - 1, merged.getMax());
+        for (double q : new double[]{0.01, 0.25, 0.5, 0.75, 0.99}) {
+            assertTrue(rankError(data, merged.quantile(q), q) < 0.01, "q=" + q);
+        }
+        assertThrows(IllegalArgumentException.class, () -> merged.merge(merged));
+    }
+
+    @Test
+    @DisplayName("边界：空 digest、单个值、NaN 与非法参数")
+    void testEdgeCases() {
+        TDigest digest = new TDigest();
+        assertTrue(Double.isNaN(digest.quantile(0.5)));
+        assertTrue(Double.isNaN(digest.getMin()));
+        digest.add(Double.NaN);
+        assertEquals(0, digest.size());
+        digest.add(7);
+        assertEquals(7, digest.quantile(0.5));
+        assertEquals(7, digest.quantile(0));
+        assertEquals(7, digest.quantile(1));
+        assertThrows(IllegalArgumentException.class, () -> digest.quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> digest.add(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TDigest(5));
+    }
+}
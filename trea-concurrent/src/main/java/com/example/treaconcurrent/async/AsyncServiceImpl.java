@@ -1,13 +1,12 @@
 package com.example.treaconcurrent.async;
 
+import com.example.treaconcurrent.executor.BlockingTaskExecutor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.Random;
 
@@ -23,14 +22,34 @@ import java.util.Random;
 public class AsyncServiceImpl implements AsyncService {
 
     /**
-     * 异步任务执行线程池
+     * 阻塞任务执行器（模式与并发上限见 {@link BlockingTaskExecutor}）
      */
-    private final ExecutorService asyncExecutor = Executors.newFixedThreadPool(8, r -> {
-        Thread thread = new Thread(r);
-        thread.setName("async-service-" + thread.getId());
-        thread.setDaemon(false);
-        return thread;
-    });
+    private final BlockingTaskExecutor asyncExecutor;
+
+    /**
+     * 是否由本服务创建执行器（注入的共享执行器由 Spring 负责关闭）
+     */
+    private final boolean ownsExecutor;
+
+    /**
+     * 使用默认配置创建私有执行器：AUTO 模式，并发上限 256
+     */
+    public AsyncServiceImpl() {
+        this(BlockingTaskExecutor.builder().threadNamePrefix("async-service").build(), true);
+    }
+
+    /**
+     * 使用外部提供的执行器（Spring 注入 blockingTaskExecutor，或测试中指定模式）
+     */
+    @Autowired
+    public AsyncServiceImpl(BlockingTaskExecutor asyncExecutor) {
+        this(asyncExecutor, false);
+    }
+
+    private AsyncServiceImpl(BlockingTaskExecutor asyncExecutor, boolean ownsExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        this.ownsExecutor = ownsExecutor;
+    }
 
     /**
      * 随机数生成器，用于模拟不同的执行时间
@@ -303,19 +322,18 @@ public class AsyncServiceImpl implements AsyncService {
     }
 
     /**
-     * 关闭线程池
+     * 关闭线程池（仅关闭本服务创建的执行器）
      */
     public void shutdown() {
-        if (asyncExecutor != null && !asyncExecutor.isShutdown()) {
-            asyncExecutor.shutdown();
-            try {
-                if (!asyncExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
-                    asyncExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                asyncExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
+        if (ownsExecutor) {
+            asyncExecutor.close();
         }
     }
+
+    /**
+     * 当前使用的执行器
+     */
+    public BlockingTaskExecutor getAsyncExecutor() {
+        return asyncExecutor;
+    }
 }
\ No newline at end of file
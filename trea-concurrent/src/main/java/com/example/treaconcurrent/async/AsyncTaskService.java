@@ -1,10 +1,17 @@
 package com.example.treaconcurrent.async;
 
+import com.example.treaconcurrent.executor.BatchErrorPolicy;
+import com.example.treaconcurrent.executor.BoundedBatchExecutor.BatchItem;
+import com.example.treaconcurrent.executor.BoundedBatchExecutor.BatchSummary;
 import com.example.treaconcurrent.model.TaskRequest;
 import com.example.treaconcurrent.model.TaskResult;
 
+import java.math.BigInteger;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 
 /**
  * 异步任务服务接口
@@ -31,14 +38,52 @@ public interface AsyncTaskService {
      */
     CompletableFuture<List<TaskResult>> processBatchTasksAsync(List<TaskRequest> requests);
 
+    /**
+     * 流式批量处理任务：同时执行的任务数有上限，每个任务完成后立即回调
+     * 执行状态不是 COMPLETED 的任务按失败处理
+     * 
+     * @param requests 任务请求（按需读取）
+     * @param errorPolicy 错误策略
+     * @param onResult 结果回调，按完成顺序串行调用
+     * @return 批次汇总
+     */
+    CompletableFuture<BatchSummary> streamBatchTasks(Iterator<TaskRequest> requests, BatchErrorPolicy errorPolicy,
+                                                    Consumer<BatchItem<TaskRequest, TaskResult>> onResult);
+
+    /**
+     * 以 Flow.Publisher 形式批量处理任务，订阅者通过 request 控制处理进度
+     * 
+     * @param requests 任务请求
+     * @param errorPolicy 错误策略
+     * @return 按完成顺序发布结果的 Publisher
+     */
+    Flow.Publisher<BatchItem<TaskRequest, TaskResult>> publishBatchTasks(Iterable<TaskRequest> requests,
+                                                                         BatchErrorPolicy errorPolicy);
+
     /**
      * 异步计算斐波那契数列
      * 
-     * @param n 计算到第n项
+     * @param n 计算到第n项（0-92，超出 long 范围时以 ArithmeticException 失败）
      * @return 异步计算结果
      */
     CompletableFuture<Long> calculateFibonacciAsync(int n);
 
+    /**
+     * 异步计算斐波那契数列（大数，结果共享缓存）
+     * 
+     * @param n 计算到第n项
+     * @return 异步计算结果
+     */
+    CompletableFuture<BigInteger> calculateFibonacciBigAsync(int n);
+
+    /**
+     * 以 fork/join 分治递归计算斐波那契数列（指数级复杂度），用作 CPU 密集型基准
+     * 
+     * @param n 计算到第n项（0-92）
+     * @return 异步计算结果
+     */
+    CompletableFuture<Long> calculateFibonacciRecursiveAsync(int n);
+
     /**
      * 异步模拟网络请求
      * 
@@ -76,20 +121,20 @@ public interface AsyncTaskService {
     CompletableFuture<Boolean> sendEmailAsync(String to, String subject, String content);
 
     /**
-     * 异步缓存操作
+     * 异步缓存操作（缓存条目数有上限，超出时淘汰最近未被读取的条目）
      * 
      * @param key 缓存键
      * @param value 缓存值
-     * @param expireSeconds 过期时间（秒）
-     * @return 异步操作结果
+     * @param expireSeconds 过期时间（秒，必须大于0）
+     * @return 异步操作结果，参数无效时为 false
      */
     CompletableFuture<Boolean> setCacheAsync(String key, String value, int expireSeconds);
 
     /**
-     * 异步获取缓存
+     * 异步获取缓存：命中时返回已完成的 Future，未命中时才异步回源
      * 
      * @param key 缓存键
-     * @return 异步获取结果
+     * @return 异步获取结果，不存在或已过期时为 null
      */
     CompletableFuture<String> getCacheAsync(String key);
 
@@ -2,18 +2,33 @@ package com.example.treaconcurrent.async;
 
 import com.example.treaconcurrent.model.TaskRequest;
 import com.example.treaconcurrent.model.TaskResult;
-import com.example.treaconcurrent.model.TaskStatus;
+import com.example.treaconcurrent.cache.ExpiringCache;
+import com.example.treaconcurrent.compute.FibonacciCalculator;
+import com.example.treaconcurrent.compute.FibonacciTask;
+import com.example.treaconcurrent.executor.BatchErrorPolicy;
+import com.example.treaconcurrent.executor.BlockingTaskExecutor;
+import com.example.treaconcurrent.executor.BoundedBatchExecutor;
+import com.example.treaconcurrent.executor.BoundedBatchExecutor.BatchItem;
+import com.example.treaconcurrent.executor.BoundedBatchExecutor.BatchSummary;
+import com.example.treaconcurrent.executor.CpuTaskExecutor;
+import com.example.treaconcurrent.executor.PriorityTaskExecutor;
+import com.example.treaconcurrent.executor.TaskRuntime;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.math.BigInteger;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.Arrays;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.UUID;
+
+import javax.annotation.PreDestroy;
 
 /**
  * 异步任务服务实现类
@@ -27,136 +42,192 @@ import java.util.UUID;
 public class AsyncTaskServiceImpl implements AsyncTaskService {
 
     /**
-     * 自定义线程池，用于异步任务执行
+     * 阻塞任务执行器（模式与并发上限见 {@link BlockingTaskExecutor}）
      */
-    private final ExecutorService asyncExecutor = Executors.newFixedThreadPool(8, r -> {
-        Thread thread = new Thread(r);
-        thread.setName("async-service-" + thread.getId());
-        thread.setDaemon(false);
-        return thread;
-    });
+    private final BlockingTaskExecutor asyncExecutor;
 
     /**
-     * 模拟缓存存储
+     * 是否由本服务创建执行器（注入的共享执行器由 Spring 负责关闭）
      */
-    private final Map<String, CacheItem> cache = new ConcurrentHashMap<>();
+    private final boolean ownsExecutor;
 
     /**
-     * 缓存项内部类
+     * 优先级调度层：processTaskAsync 按 TaskRequest.priority 排队，再交给 asyncExecutor 执行
      */
-    private static class CacheItem {
-        private final String value;
-        private final long expireTime;
+    private final PriorityTaskExecutor priorityExecutor;
 
-        public CacheItem(String value, int expireSeconds) {
-            this.value = value;
-            this.expireTime = System.currentTimeMillis() + expireSeconds * 1000L;
-        }
+    /**
+     * 任务运行时：处理 TaskRequest 的延迟启动、执行超时与重试退避
+     */
+    private final TaskRuntime taskRuntime = TaskRuntime.builder().build();
 
-        public boolean isExpired() {
-            return System.currentTimeMillis() > expireTime;
-        }
+    /**
+     * CPU 密集型任务的独立 ForkJoinPool，与 asyncExecutor 隔离
+     */
+    private final CpuTaskExecutor cpuExecutor = CpuTaskExecutor.builder().build();
 
-        public String getValue() {
-            return value;
-        }
+    /**
+     * 斐波那契计算（大数结果共享缓存）
+     */
+    private final FibonacciCalculator fibonacciCalculator = new FibonacciCalculator(cpuExecutor);
+
+    /**
+     * 使用默认配置创建私有执行器：AUTO 模式，并发上限 256
+     */
+    public AsyncTaskServiceImpl() {
+        this(BlockingTaskExecutor.builder().threadNamePrefix("async-service").build(), true);
     }
 
+    /**
+     * 使用外部提供的执行器（Spring 注入 blockingTaskExecutor，或测试中指定模式）
+     */
+    @Autowired
+    public AsyncTaskServiceImpl(BlockingTaskExecutor asyncExecutor) {
+        this(asyncExecutor, false);
+    }
+
+    /**
+     * 使用外部提供的执行器与优先级调度层（测试中指定容量、老化间隔）
+     */
+    public AsyncTaskServiceImpl(BlockingTaskExecutor asyncExecutor, PriorityTaskExecutor priorityExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        this.ownsExecutor = false;
+        this.priorityExecutor = priorityExecutor;
+    }
+
+    private AsyncTaskServiceImpl(BlockingTaskExecutor asyncExecutor, boolean ownsExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        this.ownsExecutor = ownsExecutor;
+        // 并行度与执行器实际并发一致：超出部分在优先级队列中等待，而不是在执行器的 FIFO 队列中
+        this.priorityExecutor = PriorityTaskExecutor.builder()
+            .delegate(asyncExecutor)
+            .parallelism(asyncExecutor.getParallelism())
+            .capacity(100_000)
+            .build();
+    }
+
+    /**
+     * 进程内缓存：条目数有上限，过期条目由后台线程清理
+     */
+    private final ExpiringCache<String, String> cache = ExpiringCache.<String, String>builder()
+        .name("async-service")
+        .maximumSize(10_000)
+        .build();
+
     @Override
     public CompletableFuture<TaskResult> processTaskAsync(TaskRequest request) {
-        return CompletableFuture.supplyAsync(() -> {
-            log.info("开始异步处理任务: {}, 线程: {}", request.getTaskName(), Thread.currentThread().getName());
-            
-            try {
-                // 模拟任务处理时间（从参数中获取或使用默认值）
-                Integer executionTimeParam = request.getIntParameter("executionTimeMs");
-                int executionTime = executionTimeParam != null ? executionTimeParam : 1000;
-                Thread.sleep(executionTime);
-                
-                LocalDateTime startTime = LocalDateTime.now().minusSeconds(executionTime / 1000);
-                LocalDateTime endTime = LocalDateTime.now();
-                
-                TaskResult result = TaskResult.builder()
-                    .taskId(UUID.randomUUID().toString())
-                    .taskName(request.getTaskName())
-                    .taskType(request.getTaskType())
-                    .status(TaskStatus.COMPLETED)
-                    .data("任务 " + request.getTaskName() + " 处理完成")
-                    .startTime(startTime)
-                    .endTime(endTime)
-                    .duration((long) executionTime)
-                    .threadName(Thread.currentThread().getName())
-                    .build();
-                
-                log.info("任务处理完成: {}", request.getTaskName());
-                return result;
-                
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.error("任务处理被中断: {}", request.getTaskName());
-                
-                LocalDateTime now = LocalDateTime.now();
-                TaskResult result = TaskResult.builder()
-                    .taskId(UUID.randomUUID().toString())
-                    .taskName(request.getTaskName())
-                    .taskType(request.getTaskType())
-                    .status(TaskStatus.FAILED)
-                    .data("任务被中断")
-                    .startTime(now)
-                    .endTime(now)
-                    .duration(0L)
-                    .threadName(Thread.currentThread().getName())
-                    .errorMessage("任务被中断")
-                    .build();
-                
-                return result;
-            }
-        }, asyncExecutor);
+        // 延迟、超时、重试由 taskRuntime 处理，每次尝试按优先级排队后在 asyncExecutor 上执行
+        return taskRuntime.submit(request, priorityExecutor.forPriority(request.getPriority()), this::executeTask);
+    }
+
+    /**
+     * 单次执行：模拟任务处理时间（参数 executionTimeMs，默认1000ms）；
+     * 参数 failAttempts 表示前几次尝试模拟失败，用于演示重试
+     */
+    private Object executeTask(TaskRequest request, int attempt) throws InterruptedException {
+        log.info("开始异步处理任务: {}, 第 {} 次尝试, 线程: {}", request.getTaskName(), attempt, Thread.currentThread().getName());
+        
+        Integer executionTimeParam = request.getIntParameter("executionTimeMs");
+        int executionTime = executionTimeParam != null ? executionTimeParam : 1000;
+        Thread.sleep(executionTime);
+        
+        Integer failAttempts = request.getIntParameter("failAttempts");
+        if (failAttempts != null && attempt <= failAttempts) {
+            throw new IllegalStateException("模拟第 " + attempt + " 次执行失败");
+        }
+        
+        log.info("任务处理完成: {}", request.getTaskName());
+        return "任务 " + request.getTaskName() + " 处理完成";
     }
 
     @Override
     public CompletableFuture<List<TaskResult>> processBatchTasksAsync(List<TaskRequest> requests) {
         log.info("开始批量处理 {} 个任务", requests.size());
         
-        // 为每个请求创建异步任务
-        List<CompletableFuture<TaskResult>> futures = requests.stream()
-            .map(this::processTaskAsync)
-            .collect(Collectors.toList());
-        
-        // 等待所有任务完成并收集结果
-        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-            .thenApply(v -> futures.stream()
-                .map(CompletableFuture::join)
-                .collect(Collectors.toList()))
-            .whenComplete((results, throwable) -> {
+        // 按窗口逐个启动，结果按输入顺序放回；异常结束的任务记为失败结果，不影响其他任务
+        TaskResult[] results = new TaskResult[requests.size()];
+        return newBatchExecutor(BatchErrorPolicy.COLLECT_ERRORS)
+            .execute(requests.iterator(), this::processTaskAsync, (BatchItem<TaskRequest, TaskResult> item) ->
+                results[(int) item.getIndex()] = item.isSuccess() ? item.getResult() : failedResult(item))
+            .thenApply(summary -> Arrays.asList(results))
+            .whenComplete((list, throwable) -> {
                 if (throwable != null) {
                     log.error("批量任务处理异常", throwable);
                 } else {
-                    log.info("批量任务处理完成，共 {} 个任务", results.size());
+                    log.info("批量任务处理完成，共 {} 个任务", list.size());
                 }
             });
     }
 
     @Override
-    public CompletableFuture<Long> calculateFibonacciAsync(int n) {
-        return CompletableFuture.supplyAsync(() -> {
-            log.info("开始异步计算斐波那契数列第 {} 项，线程: {}", n, Thread.currentThread().getName());
-            
-            long result = calculateFibonacci(n);
-            
-            log.info("斐波那契数列第 {} 项计算完成，结果: {}", n, result);
-            return result;
-        }, asyncExecutor);
+    public CompletableFuture<BatchSummary> streamBatchTasks(Iterator<TaskRequest> requests, BatchErrorPolicy errorPolicy,
+                                                           Consumer<BatchItem<TaskRequest, TaskResult>> onResult) {
+        return newBatchExecutor(errorPolicy).execute(requests, this::processTaskChecked, onResult);
+    }
+
+    @Override
+    public Flow.Publisher<BatchItem<TaskRequest, TaskResult>> publishBatchTasks(Iterable<TaskRequest> requests,
+                                                                                BatchErrorPolicy errorPolicy) {
+        return newBatchExecutor(errorPolicy).publish(requests, this::processTaskChecked);
     }
 
     /**
-     * 递归计算斐波那契数列
+     * 批量窗口取执行器并行度的 2 倍：执行槽始终有任务可取，又不会把整个批次压进队列
      */
-    private long calculateFibonacci(int n) {
-        if (n <= 1) {
-            return n;
-        }
-        return calculateFibonacci(n - 1) + calculateFibonacci(n - 2);
+    private BoundedBatchExecutor newBatchExecutor(BatchErrorPolicy errorPolicy) {
+        return BoundedBatchExecutor.builder()
+            .window(priorityExecutor.getParallelism() * 2)
+            .errorPolicy(errorPolicy)
+            .build();
+    }
+
+    /**
+     * 执行状态不是 COMPLETED 时以异常结束，供批量执行器判定失败；
+     * 批次中止时取消返回的 future 会传递给 taskRuntime 的原始 future（取消派生阶段不会影响上游）
+     */
+    private CompletableFuture<TaskResult> processTaskChecked(TaskRequest request) {
+        CompletableFuture<TaskResult> source = processTaskAsync(request);
+        CompletableFuture<TaskResult> checked = source.thenApply(result -> {
+            if (!result.isSuccess()) {
+                throw new CompletionException(new IllegalStateException(
+                    "任务 " + result.getTaskName() + " " + result.getStatus().getName() + ": " + result.getErrorMessage()));
+            }
+            return result;
+        });
+        checked.whenComplete((result, error) -> {
+            if (checked.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return checked;
+    }
+
+    private static TaskResult failedResult(BatchItem<TaskRequest, TaskResult> item) {
+        Throwable error = item.getError();
+        LocalDateTime now = LocalDateTime.now();
+        return TaskResult.failure(UUID.randomUUID().toString(), item.getInput().getTaskName(), item.getInput().getTaskType(),
+            error.getMessage() != null ? error.getMessage() : error.getClass().getName(), null, now, now, null);
+    }
+
+    @Override
+    public CompletableFuture<Long> calculateFibonacciAsync(int n) {
+        log.info("开始异步计算斐波那契数列第 {} 项", n);
+        return fibonacciCalculator.fibonacciAsync(n)
+            .whenComplete((result, throwable) -> {
+                if (throwable == null) {
+                    log.info("斐波那契数列第 {} 项计算完成，结果: {}", n, result);
+                }
+            });
+    }
+
+    @Override
+    public CompletableFuture<BigInteger> calculateFibonacciBigAsync(int n) {
+        return fibonacciCalculator.fibonacciBigAsync(n);
+    }
+
+    @Override
+    public CompletableFuture<Long> calculateFibonacciRecursiveAsync(int n) {
+        return fibonacciCalculator.recursiveAsync(n, FibonacciTask.DEFAULT_CUTOFF);
     }
 
     @Override
@@ -273,51 +344,32 @@ public class AsyncTaskServiceImpl implements AsyncTaskService {
 
     @Override
     public CompletableFuture<Boolean> setCacheAsync(String key, String value, int expireSeconds) {
-        return CompletableFuture.supplyAsync(() -> {
-            log.info("开始异步设置缓存，键: {}, 过期时间: {}秒, 线程: {}", 
-                key, expireSeconds, Thread.currentThread().getName());
-            
-            try {
-                // 模拟缓存操作时间
-                Thread.sleep(50 + (int)(Math.random() * 100));
-                
-                // 设置缓存
-                cache.put(key, new CacheItem(value, expireSeconds));
-                
-                log.info("缓存设置成功，键: {}", key);
-                return true;
-                
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.error("缓存设置被中断，键: {}", key);
-                return false;
-            }
-        }, asyncExecutor);
+        // 写入只是内存操作，直接在调用线程完成
+        if (key == null || value == null || expireSeconds <= 0) {
+            log.warn("缓存参数无效，键: {}, 过期时间: {}秒", key, expireSeconds);
+            return CompletableFuture.completedFuture(false);
+        }
+        cache.put(key, value, Duration.ofSeconds(expireSeconds));
+        log.debug("缓存设置成功，键: {}, 过期时间: {}秒", key, expireSeconds);
+        return CompletableFuture.completedFuture(true);
     }
 
     @Override
     public CompletableFuture<String> getCacheAsync(String key) {
+        String value = key == null ? null : cache.get(key);
+        if (value != null) {
+            // 命中：同步返回，不占用执行器线程
+            log.debug("缓存命中，键: {}", key);
+            return CompletableFuture.completedFuture(value);
+        }
         return CompletableFuture.supplyAsync(() -> {
-            log.info("开始异步获取缓存，键: {}, 线程: {}", key, Thread.currentThread().getName());
+            log.info("缓存未命中，开始异步回源查询，键: {}, 线程: {}", key, Thread.currentThread().getName());
             
             try {
-                // 模拟缓存查询时间
+                // 模拟回源查询时间（没有真实数据源，查询结果为空）
                 Thread.sleep(30 + (int)(Math.random() * 70));
-                
-                CacheItem item = cache.get(key);
-                if (item == null) {
-                    log.info("缓存未找到，键: {}", key);
-                    return null;
-                }
-                
-                if (item.isExpired()) {
-                    cache.remove(key);
-                    log.info("缓存已过期，键: {}", key);
-                    return null;
-                }
-                
-                log.info("缓存获取成功，键: {}", key);
-                return item.getValue();
+                log.info("缓存未找到，键: {}", key);
+                return null;
                 
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
@@ -357,19 +409,54 @@ public class AsyncTaskServiceImpl implements AsyncTaskService {
     }
 
     /**
-     * 关闭线程池
+     * 关闭线程池（Spring 容器销毁 Bean 时调用；asyncExecutor 仅在由本服务创建时关闭）
+     *
+     * 先排空优先级队列再关闭 taskRuntime：排队中的任务开始执行时还要在时间轮上登记执行超时，
+     * 时间轮先关闭会让这些任务以"被拒绝"失败
      */
+    @PreDestroy
     public void shutdown() {
-        if (asyncExecutor != null && !asyncExecutor.isShutdown()) {
-            asyncExecutor.shutdown();
-            try {
-                if (!asyncExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
-                    asyncExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                asyncExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
+        priorityExecutor.close();
+        taskRuntime.close();
+        cpuExecutor.close();
+        cache.close();
+        if (ownsExecutor) {
+            asyncExecutor.close();
         }
     }
+
+    /**
+     * 当前使用的执行器
+     */
+    public BlockingTaskExecutor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    /**
+     * 优先级调度层（队列深度、等待时间等指标见 {@link PriorityTaskExecutor#snapshot()}）
+     */
+    public PriorityTaskExecutor getPriorityExecutor() {
+        return priorityExecutor;
+    }
+
+    /**
+     * 任务运行时（重试、超时计数见 {@link TaskRuntime}）
+     */
+    public TaskRuntime getTaskRuntime() {
+        return taskRuntime;
+    }
+
+    /**
+     * 斐波那契计算（缓存命中率、CPU 执行器见 {@link FibonacciCalculator}）
+     */
+    public FibonacciCalculator getFibonacciCalculator() {
+        return fibonacciCalculator;
+    }
+
+    /**
+     * 缓存统计：命中、未命中、容量淘汰与过期清理次数
+     */
+    public ExpiringCache.CacheStats getCacheStats() {
+        return cache.stats();
+    }
 }
\ No newline at end of file
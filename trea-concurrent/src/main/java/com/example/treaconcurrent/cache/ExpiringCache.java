@@ -0,0 +1,338 @@
+package com.example.treaconcurrent.cache;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 有界、带过期时间的进程内缓存
+ *
+ * 说明：
+ * - 条目数超过 maximumSize 时按 CLOCK（第二次机会）淘汰：按写入顺序检查，最近被读过的条目清除访问标记后放回队尾，
+ *   否则淘汰；命中时只设置一个 volatile 标记，读路径不加锁；
+ * - 每个条目有自己的过期时间：读取时发现过期立即删除，后台清理线程每 sweepInterval 扫描一次，
+ *   即使不再被读取，过期条目也会被及时回收；
+ * - 覆盖写入时旧条目在淘汰队列中留下失效节点，失效节点超过 maximumSize 时压缩队列，队列长度因此也有上限；
+ * - 不缓存 null 值；统计命中、未命中、写入、容量淘汰与过期清理次数。
+ *
+ * 用法示例：
+ * <pre>
+ * ExpiringCache&lt;String, String&gt; cache = ExpiringCache.&lt;String, String&gt;builder().maximumSize(10_000).build();
+ * cache.put("user:1", json, Duration.ofMinutes(5));
+ * String value = cache.get("user:1");   // 不存在或已过期时返回 null
+ * </pre>
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+public final class ExpiringCache<K, V> implements AutoCloseable {
+
+    private final int maximumSize;
+    private final Duration defaultTtl;
+    private final Map<K, Entry<K, V>> map = new ConcurrentHashMap<>();
+    /** 淘汰队列：按写入顺序保存条目，可能含已删除的失效节点 */
+    private final Queue<Entry<K, V>> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger staleNodes = new AtomicInteger();
+    private final ScheduledExecutorService sweeper;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    private ExpiringCache(Builder<K, V> builder) {
+        this.maximumSize = builder.maximumSize;
+        this.defaultTtl = builder.defaultTtl;
+        String threadName = "cache-sweeper-" + builder.name;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = builder.sweepInterval.toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder<K, V> {
+        private int maximumSize = 10_000;
+        private Duration defaultTtl = Duration.ofMinutes(10);
+        private Duration sweepInterval = Duration.ofSeconds(1);
+        private String name = "default";
+
+        private Builder() {
+        }
+
+        /** 最大条目数，默认 10000 */
+        public Builder<K, V> maximumSize(int maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("最大条目数必须大于0: " + maximumSize);
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /** put 未指定过期时间时使用的存活时间，默认 10 分钟 */
+        public Builder<K, V> defaultTtl(Duration defaultTtl) {
+            checkPositive(defaultTtl, "defaultTtl");
+            this.defaultTtl = defaultTtl;
+            return this;
+        }
+
+        /** 后台清理间隔，默认 1 秒 */
+        public Builder<K, V> sweepInterval(Duration sweepInterval) {
+            checkPositive(sweepInterval, "sweepInterval");
+            if (sweepInterval.toMillis() < 1) {
+                throw new IllegalArgumentException("sweepInterval 至少为 1ms: " + sweepInterval);
+            }
+            this.sweepInterval = sweepInterval;
+            return this;
+        }
+
+        /** 缓存名称，用于清理线程名与日志 */
+        public Builder<K, V> name(String name) {
+            this.name = Objects.requireNonNull(name, "name");
+            return this;
+        }
+
+        public ExpiringCache<K, V> build() {
+            return new ExpiringCache<>(this);
+        }
+    }
+
+    /**
+     * 读取缓存：不存在或已过期时返回 null
+     */
+    public V get(K key) {
+        Entry<K, V> entry = map.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            if (unlink(entry)) {
+                expirations.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        entry.accessed = true;
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * 使用默认存活时间写入
+     */
+    public void put(K key, V value) {
+        put(key, value, defaultTtl);
+    }
+
+    /**
+     * 写入并指定存活时间，已存在的键会被覆盖
+     */
+    public void put(K key, V value, Duration ttl) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        checkPositive(ttl, "ttl");
+        Entry<K, V> entry = new Entry<>(key, value, System.nanoTime() + ttl.toNanos());
+        Entry<K, V> previous = map.put(key, entry);
+        clock.add(entry);
+        puts.increment();
+        if (previous != null && previous.removed.compareAndSet(false, true)) {
+            staleNodes.incrementAndGet();
+        }
+        if (map.size() > maximumSize) {
+            evict();
+        }
+        if (staleNodes.get() > maximumSize) {
+            compact();
+        }
+    }
+
+    /**
+     * 删除缓存
+     * @return 删除前是否存在（含已过期但尚未清理的条目）
+     */
+    public boolean remove(K key) {
+        Entry<K, V> entry = map.get(key);
+        return entry != null && unlink(entry);
+    }
+
+    /** 当前条目数（可能含已过期但尚未清理的条目） */
+    public int size() {
+        return map.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * 统计快照
+     */
+    public CacheStats stats() {
+        CacheStats stats = new CacheStats();
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        stats.setSize(map.size());
+        stats.setMaximumSize(maximumSize);
+        stats.setHits(hitCount);
+        stats.setMisses(missCount);
+        stats.setHitRate(hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount));
+        stats.setPuts(puts.sum());
+        stats.setEvictions(evictions.sum());
+        stats.setExpirations(expirations.sum());
+        return stats;
+    }
+
+    /**
+     * 清理所有已过期条目（后台线程定期调用，也可以手动调用）
+     * @return 本次清理的条目数
+     */
+    public int sweep() {
+        try {
+            long now = System.nanoTime();
+            int removed = 0;
+            for (Entry<K, V> entry : map.values()) {
+                if (entry.isExpired(now) && unlink(entry)) {
+                    removed++;
+                }
+            }
+            expirations.add(removed);
+            if (staleNodes.get() > map.size()) {
+                compact();
+            }
+            if (removed > 0) {
+                log.debug("缓存清理完成，过期条目: {}, 剩余: {}", removed, map.size());
+            }
+            return removed;
+        } catch (RuntimeException e) {
+            // 定时任务抛出异常后不会再执行，这里只记录日志
+            log.warn("缓存清理异常", e);
+            return 0;
+        }
+    }
+
+    /**
+     * 停止后台清理线程
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * CLOCK 淘汰：最近读过的条目获得第二次机会，直到条目数不超过上限
+     */
+    private void evict() {
+        while (map.size() > maximumSize) {
+            Entry<K, V> entry = clock.poll();
+            if (entry == null) {
+                return;
+            }
+            if (entry.removed.get()) {
+                staleNodes.decrementAndGet();
+            } else if (entry.accessed) {
+                entry.accessed = false;
+                clock.add(entry);
+            } else if (entry.removed.compareAndSet(false, true)) {
+                map.remove(entry.key, entry);
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * 标记删除并从 map 中移除，节点留在淘汰队列中等待丢弃
+     */
+    private boolean unlink(Entry<K, V> entry) {
+        if (!entry.removed.compareAndSet(false, true)) {
+            return false;
+        }
+        map.remove(entry.key, entry);
+        staleNodes.incrementAndGet();
+        return true;
+    }
+
+    private void compact() {
+        AtomicInteger dropped = new AtomicInteger();
+        clock.removeIf(entry -> {
+            if (entry.removed.get()) {
+                dropped.incrementAndGet();
+                return true;
+            }
+            return false;
+        });
+        staleNodes.addAndGet(-dropped.get());
+    }
+
+    private static void checkPositive(Duration duration, String name) {
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException(name + " 必须大于0: " + duration);
+        }
+    }
+
+    /** 缓存条目 */
+    private static final class Entry<K, V> {
+        final K key;
+        final V value;
+        final long expireAtNanos;
+        final AtomicBoolean removed = new AtomicBoolean();
+        /** 最近是否被读取（CLOCK 的访问位） */
+        volatile boolean accessed;
+
+        Entry(K key, V value, long expireAtNanos) {
+            this.key = key;
+            this.value = value;
+            this.expireAtNanos = expireAtNanos;
+        }
+
+        boolean isExpired(long now) {
+            return now - expireAtNanos >= 0;
+        }
+    }
+
+    /**
+     * 缓存统计
+     */
+    @Data
+    public static class CacheStats {
+        /** 当前条目数 */
+        private int size;
+        /** 最大条目数 */
+        private int maximumSize;
+        /** 命中次数 */
+        private long hits;
+        /** 未命中次数（含读到过期条目） */
+        private long misses;
+        /** 命中率 */
+        private double hitRate;
+        /** 写入次数 */
+        private long puts;
+        /** 因容量淘汰的条目数 */
+        private long evictions;
+        /** 因过期清理的条目数 */
+        private long expirations;
+    }
+}
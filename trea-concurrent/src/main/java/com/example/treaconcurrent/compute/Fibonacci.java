@@ -0,0 +1,119 @@
+package com.example.treaconcurrent.compute;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 斐波那契数列算法（F(0) = 0, F(1) = 1）
+ *
+ * 说明：
+ * - long 能表示到 F(92)，这 93 个值在类加载时算好，{@link #fibonacci(int)} 直接查表；
+ * - 更大的 n 使用快速倍增（fast doubling），O(log n) 次大数乘法：
+ *   F(2k) = F(k) × (2F(k+1) − F(k))，F(2k+1) = F(k)² + F(k+1)²；
+ * - 在 ForkJoinPool 工作线程中调用 {@link #fibonacciBig(int)} 且操作数足够大时，
+ *   每一步的三次乘法并行执行（两个 fork，一个在当前线程），小操作数按顺序计算，避免任务开销大于收益；
+ * - {@link #naiveRecursive(int)} 保留原有的指数级递归，仅作为 CPU 基准负载。
+ *
+ * @author 系统
+ * @since 1.0
+ */
+public final class Fibonacci {
+
+    /** long 能表示的最大下标：F(92) = 7540113804746346429 */
+    public static final int MAX_LONG_INDEX = 92;
+
+    /** 操作数超过该位数时并行计算乘法 */
+    static final int PARALLEL_THRESHOLD_BITS = 1 << 16;
+
+    private static final long[] LONG_TABLE = new long[MAX_LONG_INDEX + 1];
+
+    static {
+        LONG_TABLE[1] = 1;
+        for (int i = 2; i <= MAX_LONG_INDEX; i++) {
+            LONG_TABLE[i] = LONG_TABLE[i - 1] + LONG_TABLE[i - 2];
+        }
+    }
+
+    private Fibonacci() {}
+
+    /**
+     * F(n)，0 &lt;= n &lt;= 92，O(1)
+     * @throws ArithmeticException n &gt; 92，结果超出 long 范围
+     */
+    public static long fibonacci(int n) {
+        checkIndex(n);
+        if (n > MAX_LONG_INDEX) {
+            throw new ArithmeticException("F(" + n + ") 超出 long 范围，最大下标为 " + MAX_LONG_INDEX);
+        }
+        return LONG_TABLE[n];
+    }
+
+    /**
+     * F(n) 的大数结果，快速倍增 O(log n) 次乘法
+     */
+    public static BigInteger fibonacciBig(int n) {
+        checkIndex(n);
+        if (n <= MAX_LONG_INDEX) {
+            return BigInteger.valueOf(LONG_TABLE[n]);
+        }
+        boolean parallel = ForkJoinTask.inForkJoinPool();
+        BigInteger a = BigInteger.ZERO; // F(k)
+        BigInteger b = BigInteger.ONE;  // F(k+1)
+        for (int bit = Integer.highestOneBit(n); bit != 0; bit >>>= 1) {
+            BigInteger c; // F(2k)
+            BigInteger d; // F(2k+1)
+            if (parallel && a.bitLength() > PARALLEL_THRESHOLD_BITS) {
+                MultiplyTask aa = new MultiplyTask(a, a);
+                MultiplyTask bb = new MultiplyTask(b, b);
+                aa.fork();
+                bb.fork();
+                c = a.multiply(b.shiftLeft(1).subtract(a));
+                d = bb.join().add(aa.join());
+            } else {
+                c = a.multiply(b.shiftLeft(1).subtract(a));
+                d = a.multiply(a).add(b.multiply(b));
+            }
+            if ((n & bit) != 0) {
+                a = d;
+                b = c.add(d);
+            } else {
+                a = c;
+                b = d;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * 原有的指数级递归，O(φ^n)，仅用作 CPU 基准负载
+     */
+    public static long naiveRecursive(int n) {
+        if (n <= 1) {
+            return n;
+        }
+        return naiveRecursive(n - 1) + naiveRecursive(n - 2);
+    }
+
+    private static void checkIndex(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("下标不能为负数: " + n);
+        }
+    }
+
+    /** 大数乘法子任务 */
+    private static final class MultiplyTask extends RecursiveTask<BigInteger> {
+        private final BigInteger left;
+        private final BigInteger right;
+
+        MultiplyTask(BigInteger left, BigInteger right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            return left.multiply(right);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.treaconcurrent.compute;
+
+import com.example.treaconcurrent.executor.CpuTaskExecutor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 斐波那契计算服务：在 CPU 执行器上计算，并共享大数结果缓存
+ *
+ * 说明：
+ * - n &lt;= 92 直接查表，不经过缓存；
+ * - 大数结果按 n 缓存 CompletableFuture：同一个 n 的并发请求只计算一次（single-flight），
+ *   返回给调用方的是副本，调用方取消不会影响缓存中的结果；计算失败的条目会被移除；
+ * - 缓存条目数超过上限时，淘汰任意一个已完成的条目（结果可能很大，上限按内存预算设置）。
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+public final class FibonacciCalculator {
+
+    private final CpuTaskExecutor cpuExecutor;
+    private final int maxCachedEntries;
+    private final Map<Integer, CompletableFuture<BigInteger>> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public FibonacciCalculator(CpuTaskExecutor cpuExecutor) {
+        this(cpuExecutor, 256);
+    }
+
+    public FibonacciCalculator(CpuTaskExecutor cpuExecutor, int maxCachedEntries) {
+        if (maxCachedEntries <= 0) {
+            throw new IllegalArgumentException("缓存条目上限必须大于0: " + maxCachedEntries);
+        }
+        this.cpuExecutor = Objects.requireNonNull(cpuExecutor, "cpuExecutor");
+        this.maxCachedEntries = maxCachedEntries;
+    }
+
+    /**
+     * F(n)，n &gt; 92 时以 ArithmeticException 失败
+     */
+    public CompletableFuture<Long> fibonacciAsync(int n) {
+        return cpuExecutor.supplyAsync(() -> Fibonacci.fibonacci(n));
+    }
+
+    /**
+     * F(n) 的大数结果，使用共享缓存
+     */
+    public CompletableFuture<BigInteger> fibonacciBigAsync(int n) {
+        if (n < 0) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("下标不能为负数: " + n));
+        }
+        if (n <= Fibonacci.MAX_LONG_INDEX) {
+            return CompletableFuture.completedFuture(Fibonacci.fibonacciBig(n));
+        }
+        CompletableFuture<BigInteger> cached = cache.get(n);
+        if (cached == null) {
+            CompletableFuture<BigInteger> created = new CompletableFuture<>();
+            cached = cache.putIfAbsent(n, created);
+            if (cached == null) {
+                misses.increment();
+                evictIfNeeded(n);
+                compute(n, created);
+                return created.copy();
+            }
+        }
+        hits.increment();
+        return cached.copy();
+    }
+
+    /**
+     * 分治递归计算 F(n)（指数级，CPU 基准负载）
+     */
+    public CompletableFuture<Long> recursiveAsync(int n, int cutoff) {
+        FibonacciTask task;
+        try {
+            task = new FibonacciTask(n, cutoff);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return cpuExecutor.submit(task);
+    }
+
+    private void compute(int n, CompletableFuture<BigInteger> target) {
+        try {
+            cpuExecutor.execute(() -> {
+                try {
+                    long start = System.nanoTime();
+                    BigInteger result = Fibonacci.fibonacciBig(n);
+                    log.debug("F({}) 计算完成，{} 位，耗时 {}ms", n, result.bitLength(), (System.nanoTime() - start) / 1_000_000);
+                    target.complete(result);
+                } catch (Throwable t) {
+                    cache.remove(n, target);
+                    target.completeExceptionally(t);
+                }
+            });
+        } catch (RuntimeException e) {
+            cache.remove(n, target);
+            target.completeExceptionally(e);
+        }
+    }
+
+    private void evictIfNeeded(int keep) {
+        Iterator<Map.Entry<Integer, CompletableFuture<BigInteger>>> it = cache.entrySet().iterator();
+        while (cache.size() > maxCachedEntries && it.hasNext()) {
+            Map.Entry<Integer, CompletableFuture<BigInteger>> entry = it.next();
+            if (entry.getKey() != keep && entry.getValue().isDone()) {
+                it.remove();
+            }
+        }
+    }
+
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    public long getCacheHits() {
+        return hits.sum();
+    }
+
+    public long getCacheMisses() {
+        return misses.sum();
+    }
+
+    public void clearCache() {
+        cache.clear();
+    }
+
+    public CpuTaskExecutor getCpuExecutor() {
+        return cpuExecutor;
+    }
+}
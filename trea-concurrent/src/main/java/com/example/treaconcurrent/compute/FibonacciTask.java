@@ -0,0 +1,52 @@
+package com.example.treaconcurrent.compute;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 分治计算斐波那契数列的 RecursiveTask：F(n) = F(n-1) + F(n-2)，两个分支并行
+ *
+ * 说明：
+ * - 保留指数级的递归结构，作为可并行的 CPU 基准负载（实际取值请用 {@link Fibonacci#fibonacci(int)}）；
+ * - n 小于等于 cutoff 时在当前线程顺序递归：子任务太小时，创建与调度的开销会超过并行收益；
+ * - fork 一个分支、当前线程直接计算另一个分支再 join，避免当前线程空等。
+ *
+ * @author 系统
+ * @since 1.0
+ */
+public class FibonacciTask extends RecursiveTask<Long> {
+
+    /** 默认顺序阈值：F(25) 约 25 万次调用，单个任务约亚毫秒级 */
+    public static final int DEFAULT_CUTOFF = 25;
+
+    private final int n;
+    private final int cutoff;
+
+    public FibonacciTask(int n) {
+        this(n, DEFAULT_CUTOFF);
+    }
+
+    public FibonacciTask(int n, int cutoff) {
+        if (n < 0) {
+            throw new IllegalArgumentException("下标不能为负数: " + n);
+        }
+        if (n > Fibonacci.MAX_LONG_INDEX) {
+            throw new ArithmeticException("F(" + n + ") 超出 long 范围，最大下标为 " + Fibonacci.MAX_LONG_INDEX);
+        }
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("顺序阈值必须大于0: " + cutoff);
+        }
+        this.n = n;
+        this.cutoff = cutoff;
+    }
+
+    @Override
+    protected Long compute() {
+        if (n <= cutoff) {
+            return Fibonacci.naiveRecursive(n);
+        }
+        FibonacciTask left = new FibonacciTask(n - 1, cutoff);
+        left.fork();
+        long right = new FibonacciTask(n - 2, cutoff).compute();
+        return left.join() + right;
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.treaconcurrent.config;
 
+import com.example.treaconcurrent.executor.AdaptivePoolController;
+import com.example.treaconcurrent.executor.BlockingTaskExecutor;
+import com.example.treaconcurrent.executor.ExecutorMode;
+import com.example.treaconcurrent.executor.ThreadPoolTelemetry;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.time.Duration;
 import java.util.concurrent.*;
 
 /**
@@ -58,14 +66,32 @@ public class ThreadPoolConfig {
      */
     private RejectedExecutionHandler rejectedExecutionHandler = new ThreadPoolExecutor.CallerRunsPolicy();
 
+    /**
+     * 创建 customTaskExecutor 的遥测组件：采样活跃线程数、队列深度、排队 / 执行时间与拒绝次数
+     * 采样间隔可通过 trea.pool.telemetry.sample-interval-ms 调整（默认 1000）
+     * 
+     * @param sampleIntervalMs 采样间隔（毫秒）
+     * @return ThreadPoolTelemetry 线程池遥测
+     */
+    @Bean(name = "customTaskExecutorTelemetry", destroyMethod = "close")
+    public ThreadPoolTelemetry customTaskExecutorTelemetry(
+            @Value("${trea.pool.telemetry.sample-interval-ms:1000}") long sampleIntervalMs) {
+        return ThreadPoolTelemetry.builder()
+                .name("customTaskExecutor")
+                .sampleInterval(Duration.ofMillis(sampleIntervalMs))
+                .build();
+    }
+
     /**
      * 创建自定义线程池执行器
-     * 适用于Spring环境下的异步任务执行
+     * 适用于Spring环境下的异步任务执行，运行指标由 customTaskExecutorTelemetry 采样
      * 
+     * @param telemetry 线程池遥测
      * @return ThreadPoolTaskExecutor Spring线程池执行器
      */
     @Bean(name = "customTaskExecutor")
-    public ThreadPoolTaskExecutor customTaskExecutor() {
+    public ThreadPoolTaskExecutor customTaskExecutor(
+            @Qualifier("customTaskExecutorTelemetry") ThreadPoolTelemetry telemetry) {
         log.info("创建自定义线程池执行器...");
         
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -90,8 +116,8 @@ public class ThreadPoolConfig {
         executor.setThreadNamePrefix(threadNamePrefix);
         log.info("线程名称前缀设置为：{}", threadNamePrefix);
         
-        // 设置拒绝策略
-        executor.setRejectedExecutionHandler(rejectedExecutionHandler);
+        // 设置拒绝策略（先计入遥测的拒绝次数）
+        executor.setRejectedExecutionHandler(telemetry.countRejections(rejectedExecutionHandler));
         log.info("拒绝策略设置为：{}", rejectedExecutionHandler.getClass().getSimpleName());
         
         // 等待所有任务结束后再关闭线程池
@@ -100,13 +126,72 @@ public class ThreadPoolConfig {
         // 等待时间（秒）
         executor.setAwaitTerminationSeconds(60);
         
+        // 记录每个任务的排队时间与执行时间
+        executor.setTaskDecorator(telemetry);
+        
         // 初始化线程池
         executor.initialize();
+        telemetry.monitor(executor.getThreadPoolExecutor());
         
         log.info("自定义线程池执行器创建完成");
         return executor;
     }
 
+    /**
+     * 创建 customTaskExecutor 的自适应控制器，根据排队延迟与 CPU 使用率调整核心 / 最大线程数
+     * 默认关闭，通过以下配置项启用与调整：
+     * - trea.pool.adaptive.enabled：是否启用（默认 false）
+     * - trea.pool.adaptive.min-threads：核心线程数下限（默认为 corePoolSize）
+     * - trea.pool.adaptive.max-threads：线程数上限（默认 64）
+     * - trea.pool.adaptive.scale-up-latency-ms / scale-down-latency-ms：扩容 / 缩容的排队延迟阈值（默认 50 / 5）
+     * 
+     * @param telemetry 线程池遥测（customTaskExecutor 创建后才开始采样）
+     * @param customTaskExecutor 被控制的线程池
+     * @return AdaptivePoolController 自适应控制器
+     */
+    @Bean(name = "customTaskExecutorController", destroyMethod = "close")
+    @ConditionalOnProperty(name = "trea.pool.adaptive.enabled", havingValue = "true")
+    public AdaptivePoolController customTaskExecutorController(
+            @Qualifier("customTaskExecutorTelemetry") ThreadPoolTelemetry telemetry,
+            @Qualifier("customTaskExecutor") ThreadPoolTaskExecutor customTaskExecutor,
+            @Value("${trea.pool.adaptive.min-threads:0}") int minThreads,
+            @Value("${trea.pool.adaptive.max-threads:64}") int maxThreads,
+            @Value("${trea.pool.adaptive.scale-up-latency-ms:50}") long scaleUpLatencyMs,
+            @Value("${trea.pool.adaptive.scale-down-latency-ms:5}") long scaleDownLatencyMs) {
+        int min = minThreads > 0 ? minThreads : customTaskExecutor.getCorePoolSize();
+        log.info("启用自适应线程池控制器，线程数范围：[{}, {}]", min, maxThreads);
+        return AdaptivePoolController.builder()
+                .telemetry(telemetry)
+                .minThreads(min)
+                .maxThreads(maxThreads)
+                .scaleUpLatency(Duration.ofMillis(scaleUpLatencyMs))
+                .scaleDownLatency(Duration.ofMillis(scaleDownLatencyMs))
+                .build();
+    }
+
+    /**
+     * 创建阻塞任务执行器，供 AsyncTaskServiceImpl、AsyncServiceImpl 共享
+     * 执行模式与并发上限可通过配置项调整：
+     * - trea.async.executor-mode：FIXED / ELASTIC / VIRTUAL / AUTO（默认 AUTO，支持虚拟线程时使用虚拟线程）
+     * - trea.async.max-concurrency：同时执行的阻塞任务数上限（默认 256），用于保护下游
+     * 
+     * @param mode 执行模式
+     * @param maxConcurrency 并发上限
+     * @return BlockingTaskExecutor 阻塞任务执行器
+     */
+    @Bean(name = "blockingTaskExecutor", destroyMethod = "close")
+    public BlockingTaskExecutor blockingTaskExecutor(
+            @Value("${trea.async.executor-mode:AUTO}") ExecutorMode mode,
+            @Value("${trea.async.max-concurrency:256}") int maxConcurrency) {
+        log.info("创建阻塞任务执行器，模式：{}，并发上限：{}，虚拟线程支持：{}",
+                mode, maxConcurrency, BlockingTaskExecutor.isVirtualThreadSupported());
+        return BlockingTaskExecutor.builder()
+                .mode(mode)
+                .maxConcurrency(maxConcurrency)
+                .threadNamePrefix("async-service")
+                .build();
+    }
+
     /**
      * 创建固定大小的线程池
      * 适用于负载比较重的服务器，为了资源的合理利用
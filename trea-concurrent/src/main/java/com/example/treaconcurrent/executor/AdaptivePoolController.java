@@ -0,0 +1,348 @@
+package com.example.treaconcurrent.executor;
+
+import com.example.treaconcurrent.executor.ThreadPoolTelemetry.PoolSample;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
+
+/**
+ * 自适应线程池控制器：根据 {@link ThreadPoolTelemetry} 的样本在运行时调整核心 / 最大线程数
+ *
+ * 说明：
+ * - 扩容：连续 scaleUpSamples 个样本的排队延迟（{@link PoolSample#getQueueLatencyMs()}）不低于 scaleUpLatency；
+ *   进程 CPU 使用率达到 cpuHighWatermark 时不扩容，因为瓶颈在 CPU，增加线程只会加剧争用；
+ * - 缩容：连续 scaleDownSamples 个样本的排队延迟不高于 scaleDownLatency、队列为空且有空闲线程；
+ * - 滞回：扩容与缩容使用两个阈值，并要求连续多个样本满足条件；每次调整后冷却 cooldownSamples 个样本，避免来回震荡；
+ * - 目标线程数按 Little 定律估算：到达速率 × 平均执行时间 / targetUtilization；
+ *   扩容时至少加 1、最多翻倍，缩容时每次最多减少与估算值差距的一半，结果限制在 [minThreads, maxThreads]；
+ * - 最大线程数与核心线程数保持初始的差值，设置顺序保证任何时刻核心线程数不超过最大线程数。
+ *
+ * 用法示例：
+ * <pre>
+ * AdaptivePoolController controller = AdaptivePoolController.builder()
+ *     .telemetry(telemetry)
+ *     .minThreads(4)
+ *     .maxThreads(64)
+ *     .build();   // 注册为 telemetry 的监听器，每个样本调用一次 onSample
+ * </pre>
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+public final class AdaptivePoolController implements AutoCloseable {
+
+    private final ThreadPoolTelemetry telemetry;
+    private final int minThreads;
+    private final int maxThreads;
+    private final double scaleUpLatencyMs;
+    private final double scaleDownLatencyMs;
+    private final double cpuHighWatermark;
+    private final int scaleUpSamples;
+    private final int scaleDownSamples;
+    private final int cooldownSamples;
+    private final double targetUtilization;
+    private final Consumer<PoolSample> listener = this::onSample;
+
+    private int headroom = -1;
+    private int upStreak;
+    private int downStreak;
+    private int cooldown;
+    private long scaleUpCount;
+    private long scaleDownCount;
+    private long heldByCpuCount;
+    private ResizeEvent lastResize;
+
+    private AdaptivePoolController(Builder builder) {
+        this.telemetry = builder.telemetry;
+        this.minThreads = builder.minThreads;
+        this.maxThreads = builder.maxThreads;
+        this.scaleUpLatencyMs = builder.scaleUpLatency.toNanos() / 1_000_000.0;
+        this.scaleDownLatencyMs = builder.scaleDownLatency.toNanos() / 1_000_000.0;
+        this.cpuHighWatermark = builder.cpuHighWatermark;
+        this.scaleUpSamples = builder.scaleUpSamples;
+        this.scaleDownSamples = builder.scaleDownSamples;
+        this.cooldownSamples = builder.cooldownSamples;
+        this.targetUtilization = builder.targetUtilization;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private ThreadPoolTelemetry telemetry;
+        private int minThreads = 1;
+        private int maxThreads = 64;
+        private Duration scaleUpLatency = Duration.ofMillis(50);
+        private Duration scaleDownLatency = Duration.ofMillis(5);
+        private double cpuHighWatermark = 0.85;
+        private int scaleUpSamples = 2;
+        private int scaleDownSamples = 5;
+        private int cooldownSamples = 2;
+        private double targetUtilization = 0.75;
+
+        private Builder() {
+        }
+
+        /** 样本来源（必填） */
+        public Builder telemetry(ThreadPoolTelemetry telemetry) {
+            this.telemetry = telemetry;
+            return this;
+        }
+
+        /** 核心线程数下限，默认 1 */
+        public Builder minThreads(int minThreads) {
+            if (minThreads <= 0) {
+                throw new IllegalArgumentException("线程数下限必须大于0: " + minThreads);
+            }
+            this.minThreads = minThreads;
+            return this;
+        }
+
+        /** 核心 / 最大线程数上限，默认 64 */
+        public Builder maxThreads(int maxThreads) {
+            if (maxThreads <= 0) {
+                throw new IllegalArgumentException("线程数上限必须大于0: " + maxThreads);
+            }
+            this.maxThreads = maxThreads;
+            return this;
+        }
+
+        /** 扩容阈值：排队延迟不低于该值，默认 50ms */
+        public Builder scaleUpLatency(Duration scaleUpLatency) {
+            if (scaleUpLatency == null || scaleUpLatency.isNegative() || scaleUpLatency.isZero()) {
+                throw new IllegalArgumentException("扩容阈值必须大于0: " + scaleUpLatency);
+            }
+            this.scaleUpLatency = scaleUpLatency;
+            return this;
+        }
+
+        /** 缩容阈值：排队延迟不高于该值，默认 5ms */
+        public Builder scaleDownLatency(Duration scaleDownLatency) {
+            if (scaleDownLatency == null || scaleDownLatency.isNegative()) {
+                throw new IllegalArgumentException("缩容阈值不能为负数: " + scaleDownLatency);
+            }
+            this.scaleDownLatency = scaleDownLatency;
+            return this;
+        }
+
+        /** CPU 使用率达到该值时不扩容，默认 0.85 */
+        public Builder cpuHighWatermark(double cpuHighWatermark) {
+            if (cpuHighWatermark <= 0 || cpuHighWatermark > 1) {
+                throw new IllegalArgumentException("CPU 阈值必须在 (0, 1] 之间: " + cpuHighWatermark);
+            }
+            this.cpuHighWatermark = cpuHighWatermark;
+            return this;
+        }
+
+        /** 连续多少个样本满足扩容条件才扩容，默认 2 */
+        public Builder scaleUpSamples(int scaleUpSamples) {
+            if (scaleUpSamples <= 0) {
+                throw new IllegalArgumentException("样本数必须大于0: " + scaleUpSamples);
+            }
+            this.scaleUpSamples = scaleUpSamples;
+            return this;
+        }
+
+        /** 连续多少个样本满足缩容条件才缩容，默认 5 */
+        public Builder scaleDownSamples(int scaleDownSamples) {
+            if (scaleDownSamples <= 0) {
+                throw new IllegalArgumentException("样本数必须大于0: " + scaleDownSamples);
+            }
+            this.scaleDownSamples = scaleDownSamples;
+            return this;
+        }
+
+        /** 每次调整后忽略的样本数，默认 2 */
+        public Builder cooldownSamples(int cooldownSamples) {
+            if (cooldownSamples < 0) {
+                throw new IllegalArgumentException("冷却样本数不能为负数: " + cooldownSamples);
+            }
+            this.cooldownSamples = cooldownSamples;
+            return this;
+        }
+
+        /** 估算目标线程数时期望的线程利用率，默认 0.75 */
+        public Builder targetUtilization(double targetUtilization) {
+            if (targetUtilization <= 0 || targetUtilization > 1) {
+                throw new IllegalArgumentException("目标利用率必须在 (0, 1] 之间: " + targetUtilization);
+            }
+            this.targetUtilization = targetUtilization;
+            return this;
+        }
+
+        /**
+         * 创建控制器并注册为 telemetry 的监听器
+         */
+        public AdaptivePoolController build() {
+            if (telemetry == null) {
+                throw new IllegalStateException("必须指定 telemetry");
+            }
+            if (minThreads > maxThreads) {
+                throw new IllegalStateException("线程数下限 " + minThreads + " 大于上限 " + maxThreads);
+            }
+            if (scaleDownLatency.compareTo(scaleUpLatency) >= 0) {
+                throw new IllegalStateException("缩容阈值必须小于扩容阈值");
+            }
+            AdaptivePoolController controller = new AdaptivePoolController(this);
+            telemetry.addListener(controller.listener);
+            return controller;
+        }
+    }
+
+    /**
+     * 处理一个样本，必要时调整线程池大小（由 telemetry 的采样线程调用）
+     */
+    public synchronized void onSample(PoolSample sample) {
+        ThreadPoolExecutor pool = telemetry.getExecutor();
+        if (pool == null || pool.isShutdown()) {
+            return;
+        }
+        if (headroom < 0) {
+            headroom = Math.max(0, pool.getMaximumPoolSize() - pool.getCorePoolSize());
+        }
+        if (cooldown > 0) {
+            cooldown--;
+            upStreak = 0;
+            downStreak = 0;
+            return;
+        }
+
+        int core = pool.getCorePoolSize();
+        double latency = sample.getQueueLatencyMs();
+        if (latency >= scaleUpLatencyMs) {
+            downStreak = 0;
+            if (sample.getCpuUsage() >= cpuHighWatermark) {
+                // NaN 与任何值比较都为 false，CPU 使用率未知时不阻止扩容
+                upStreak = 0;
+                heldByCpuCount++;
+                log.debug("线程池 {} 排队延迟 {}ms，但 CPU 使用率 {} 过高，不扩容",
+                        telemetry.getName(), latency, sample.getCpuUsage());
+                return;
+            }
+            if (++upStreak >= scaleUpSamples && core < maxThreads) {
+                int target = Math.max(core + 1, Math.min(estimateThreads(sample), core * 2));
+                if (resize(pool, Math.min(target, maxThreads), "排队延迟 " + Math.round(latency) + "ms")) {
+                    scaleUpCount++;
+                }
+            }
+        } else if (latency <= scaleDownLatencyMs && sample.getQueueDepth() == 0 && sample.getActiveCount() < core) {
+            upStreak = 0;
+            if (++downStreak >= scaleDownSamples && core > minThreads) {
+                int estimate = estimateThreads(sample);
+                if (estimate >= core) {
+                    // 队列虽空，但按到达速率估算当前线程数并不多余，不缩容
+                    downStreak = 0;
+                    return;
+                }
+                // 每次最多缩掉差值的一半，且至少缩 1 个
+                int target = Math.min(core - 1, Math.max(estimate, core - Math.max(1, (core - estimate) / 2)));
+                if (resize(pool, Math.max(target, minThreads), "空闲，活跃线程 " + sample.getActiveCount())) {
+                    scaleDownCount++;
+                }
+            }
+        } else {
+            upStreak = 0;
+            downStreak = 0;
+        }
+    }
+
+    /**
+     * Little 定律估算需要的线程数
+     */
+    private int estimateThreads(PoolSample sample) {
+        double busyThreads = sample.getArrivalRate() * sample.getAvgRunMs() / 1000.0;
+        return (int) Math.ceil(busyThreads / targetUtilization);
+    }
+
+    /**
+     * @return 核心线程数是否发生了变化
+     */
+    private boolean resize(ThreadPoolExecutor pool, int newCore, String reason) {
+        int oldCore = pool.getCorePoolSize();
+        int oldMax = pool.getMaximumPoolSize();
+        if (newCore == oldCore) {
+            return false;
+        }
+        int newMax = Math.max(newCore, Math.min(newCore + headroom, Math.max(maxThreads, oldMax)));
+        // 先调大上限再调大核心、先调小核心再调小上限，保证任何时刻 core <= max
+        if (newCore > oldCore) {
+            if (newMax > oldMax) {
+                pool.setMaximumPoolSize(newMax);
+            }
+            pool.setCorePoolSize(newCore);
+            // 新线程默认在提交任务时才创建，预启动让队列中积压的任务立即得到执行
+            pool.prestartAllCoreThreads();
+        } else {
+            // 多出的线程在下次空闲时退出
+            pool.setCorePoolSize(newCore);
+            pool.setMaximumPoolSize(newMax);
+        }
+        upStreak = 0;
+        downStreak = 0;
+        cooldown = cooldownSamples;
+        lastResize = new ResizeEvent(LocalDateTime.now(), oldCore, newCore, oldMax, pool.getMaximumPoolSize(), reason);
+        log.info("线程池 {} 调整大小: 核心线程数 {} -> {}, 最大线程数 {} -> {}（{}）",
+                telemetry.getName(), oldCore, newCore, oldMax, pool.getMaximumPoolSize(), reason);
+        return true;
+    }
+
+    /** 扩容次数 */
+    public synchronized long getScaleUpCount() {
+        return scaleUpCount;
+    }
+
+    /** 缩容次数 */
+    public synchronized long getScaleDownCount() {
+        return scaleDownCount;
+    }
+
+    /** 因 CPU 使用率过高而放弃扩容的样本数 */
+    public synchronized long getHeldByCpuCount() {
+        return heldByCpuCount;
+    }
+
+    /** 最近一次调整，尚未调整时为 null */
+    public synchronized ResizeEvent getLastResize() {
+        return lastResize;
+    }
+
+    /**
+     * 停止响应样本（不恢复线程池大小）
+     */
+    @Override
+    public void close() {
+        telemetry.removeListener(listener);
+    }
+
+    /**
+     * 一次线程池大小调整
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ResizeEvent {
+        /** 调整时间 */
+        private LocalDateTime timestamp;
+        /** 调整前核心线程数 */
+        private int fromCore;
+        /** 调整后核心线程数 */
+        private int toCore;
+        /** 调整前最大线程数 */
+        private int fromMax;
+        /** 调整后最大线程数 */
+        private int toMax;
+        /** 调整原因 */
+        private String reason;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.treaconcurrent.executor;
+
+/**
+ * 批量执行中单个任务失败时的处理策略
+ *
+ * @author 系统
+ * @since 1.0
+ */
+public enum BatchErrorPolicy {
+
+    /**
+     * 快速失败：第一个失败立即结束整个批次，不再启动新任务，并取消正在执行的任务
+     */
+    FAIL_FAST,
+
+    /**
+     * 收集错误：失败的任务照常交付，批次继续执行，结束后在汇总中给出失败数与错误信息
+     */
+    COLLECT_ERRORS
+}
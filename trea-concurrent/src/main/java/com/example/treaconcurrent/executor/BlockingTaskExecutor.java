@@ -0,0 +1,358 @@
+package com.example.treaconcurrent.executor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 阻塞型任务执行器：为 Thread.sleep、JDBC、HTTP 等阻塞 I/O 任务提供可切换的执行模式与并发限制
+ *
+ * 说明：
+ * - 执行模式见 {@link ExecutorMode}。虚拟线程通过反射创建（项目按 Java 11 编译），
+ *   运行在 JDK 21+ 上时生效，其余 JDK 自动回退为有界弹性线程池；
+ * - 并发限制器（信号量）在任务开始执行前获取许可，限制同时进行的阻塞操作数，避免压垮数据库、下游服务；
+ *   虚拟线程模式下线程几乎没有上限，限制器是唯一的保护；
+ * - 弹性线程池的线程数上限等于并发上限，超出的任务进入有界队列，队列满时抛出 RejectedExecutionException；
+ * - 等待许可时被中断（如 close 超时后 shutdownNow），任务仍会带着中断标志执行，
+ *   任务中的阻塞调用立即抛出 InterruptedException，保证 CompletableFuture 能够完成。
+ *
+ * 用法示例：
+ * <pre>
+ * BlockingTaskExecutor executor = BlockingTaskExecutor.builder()
+ *     .mode(ExecutorMode.AUTO)
+ *     .maxConcurrency(256)
+ *     .build();
+ * CompletableFuture.supplyAsync(() -&gt; queryDatabase(), executor);
+ * </pre>
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+public final class BlockingTaskExecutor implements Executor, AutoCloseable {
+
+    private static final boolean VIRTUAL_THREADS_SUPPORTED = probeVirtualThreads();
+
+    private final ExecutorMode requestedMode;
+    private final ExecutorMode effectiveMode;
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final int parallelism;
+    private final Duration shutdownTimeout;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+
+    private BlockingTaskExecutor(Builder builder) {
+        this.requestedMode = builder.mode;
+        this.effectiveMode = resolve(builder.mode);
+        this.maxConcurrency = builder.maxConcurrency;
+        this.permits = new Semaphore(builder.maxConcurrency);
+        this.parallelism = effectiveMode == ExecutorMode.FIXED
+                ? Math.min(builder.fixedThreads, builder.maxConcurrency) : builder.maxConcurrency;
+        this.shutdownTimeout = builder.shutdownTimeout;
+        this.delegate = createDelegate(effectiveMode, builder);
+        log.info("阻塞任务执行器创建完成，请求模式: {}, 实际模式: {}, 并发上限: {}",
+                requestedMode, effectiveMode, maxConcurrency);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private ExecutorMode mode = ExecutorMode.AUTO;
+        private int maxConcurrency = 256;
+        private int fixedThreads = 8;
+        private int queueCapacity = 100_000;
+        private Duration keepAlive = Duration.ofSeconds(60);
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+        private String threadNamePrefix = "blocking-task";
+
+        private Builder() {
+        }
+
+        /** 执行模式，默认 AUTO */
+        public Builder mode(ExecutorMode mode) {
+            this.mode = Objects.requireNonNull(mode, "mode");
+            return this;
+        }
+
+        /** 同时执行的任务数上限，默认 256 */
+        public Builder maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency <= 0) {
+                throw new IllegalArgumentException("并发上限必须大于0: " + maxConcurrency);
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /** FIXED 模式的线程数，默认 8 */
+        public Builder fixedThreads(int fixedThreads) {
+            if (fixedThreads <= 0) {
+                throw new IllegalArgumentException("线程数必须大于0: " + fixedThreads);
+            }
+            this.fixedThreads = fixedThreads;
+            return this;
+        }
+
+        /** ELASTIC / FIXED 模式的等待队列容量，默认 100000 */
+        public Builder queueCapacity(int queueCapacity) {
+            if (queueCapacity <= 0) {
+                throw new IllegalArgumentException("队列容量必须大于0: " + queueCapacity);
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /** ELASTIC 模式下空闲线程的存活时间，默认 60 秒 */
+        public Builder keepAlive(Duration keepAlive) {
+            if (keepAlive == null || keepAlive.isNegative() || keepAlive.isZero()) {
+                throw new IllegalArgumentException("keepAlive 必须大于0: " + keepAlive);
+            }
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        /** close 时等待任务结束的最长时间，超时后中断剩余任务，默认 10 秒 */
+        public Builder shutdownTimeout(Duration shutdownTimeout) {
+            if (shutdownTimeout == null || shutdownTimeout.isNegative()) {
+                throw new IllegalArgumentException("shutdownTimeout 不能为负数: " + shutdownTimeout);
+            }
+            this.shutdownTimeout = shutdownTimeout;
+            return this;
+        }
+
+        public Builder threadNamePrefix(String threadNamePrefix) {
+            if (threadNamePrefix == null || threadNamePrefix.isEmpty()) {
+                throw new IllegalArgumentException("线程名称前缀不能为空");
+            }
+            this.threadNamePrefix = threadNamePrefix;
+            return this;
+        }
+
+        public BlockingTaskExecutor build() {
+            return new BlockingTaskExecutor(this);
+        }
+    }
+
+    /**
+     * 当前 JVM 是否支持虚拟线程
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREADS_SUPPORTED;
+    }
+
+    /**
+     * 把 AUTO / VIRTUAL 解析为当前 JVM 上实际可用的模式
+     */
+    public static ExecutorMode resolve(ExecutorMode mode) {
+        switch (mode) {
+            case AUTO:
+                return VIRTUAL_THREADS_SUPPORTED ? ExecutorMode.VIRTUAL : ExecutorMode.ELASTIC;
+            case VIRTUAL:
+                if (!VIRTUAL_THREADS_SUPPORTED) {
+                    log.warn("当前 JVM（{}）不支持虚拟线程，回退为 ELASTIC 模式", System.getProperty("java.version"));
+                    return ExecutorMode.ELASTIC;
+                }
+                return ExecutorMode.VIRTUAL;
+            default:
+                return mode;
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Objects.requireNonNull(command, "command");
+        delegate.execute(() -> runLimited(command));
+        submitted.increment();
+    }
+
+    private void runLimited(Runnable command) {
+        boolean acquired = permits.tryAcquire();
+        if (!acquired) {
+            waiting.incrementAndGet();
+            try {
+                permits.acquire();
+                acquired = true;
+            } catch (InterruptedException e) {
+                // 不丢弃任务：带着中断标志执行，让任务自己的阻塞调用尽快失败
+                Thread.currentThread().interrupt();
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+        int now = active.incrementAndGet();
+        peakActive.accumulateAndGet(now, Math::max);
+        try {
+            command.run();
+        } finally {
+            active.decrementAndGet();
+            completed.increment();
+            if (acquired) {
+                permits.release();
+            }
+        }
+    }
+
+    /** 请求的模式 */
+    public ExecutorMode getRequestedMode() {
+        return requestedMode;
+    }
+
+    /** 实际使用的模式（AUTO 与不支持时的 VIRTUAL 已解析） */
+    public ExecutorMode getEffectiveMode() {
+        return effectiveMode;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /** 实际能同时执行的任务数：FIXED 模式受线程数限制，其余模式等于并发上限 */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /** 已提交的任务数 */
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    /** 已结束的任务数（含异常结束） */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /** 正在执行的任务数 */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /** 已分配线程、正在等待许可的任务数 */
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+
+    /** 创建以来同时执行任务数的峰值 */
+    public int getPeakConcurrency() {
+        return peakActive.get();
+    }
+
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    /**
+     * 停止接收新任务，等待已提交的任务结束，超时后中断
+     */
+    @Override
+    public void close() {
+        if (delegate.isShutdown()) {
+            return;
+        }
+        delegate.shutdown();
+        try {
+            if (!delegate.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("阻塞任务执行器在 {} 内未结束，中断剩余任务", shutdownTimeout);
+                delegate.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            delegate.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BlockingTaskExecutor{mode=" + effectiveMode + ", maxConcurrency=" + maxConcurrency
+                + ", active=" + getActiveCount() + ", waiting=" + getWaitingCount()
+                + ", peak=" + getPeakConcurrency() + ", completed=" + getCompletedCount() + "}";
+    }
+
+    private static ExecutorService createDelegate(ExecutorMode mode, Builder builder) {
+        String prefix = builder.threadNamePrefix;
+        switch (mode) {
+            case FIXED:
+                return new ThreadPoolExecutor(builder.fixedThreads, builder.fixedThreads, 0L, TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(builder.queueCapacity), platformThreadFactory(prefix));
+            case ELASTIC:
+                // core = max 且允许核心线程超时：线程按需创建到上限，空闲后回收
+                ThreadPoolExecutor elastic = new ThreadPoolExecutor(builder.maxConcurrency, builder.maxConcurrency,
+                        builder.keepAlive.toMillis(), TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(builder.queueCapacity), platformThreadFactory(prefix));
+                elastic.allowCoreThreadTimeOut(true);
+                return elastic;
+            case VIRTUAL:
+                try {
+                    return newThreadPerTaskExecutor(virtualThreadFactory(prefix + "-v-"));
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("虚拟线程执行器创建失败", e);
+                }
+            default:
+                throw new IllegalArgumentException("未解析的执行模式: " + mode);
+        }
+    }
+
+    private static ThreadFactory platformThreadFactory(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r);
+            thread.setName(prefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(false);
+            return thread;
+        };
+    }
+
+    // ===================== 虚拟线程（反射调用 JDK 21 API） =====================
+
+    /** Thread.ofVirtual().name(prefix, 0).factory() */
+    private static ThreadFactory virtualThreadFactory(String prefix) throws ReflectiveOperationException {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            Method factory = builderType.getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (InvocationTargetException e) {
+            // JDK 19/20 未开启 --enable-preview 时抛出 UnsupportedOperationException
+            throw new ReflectiveOperationException(e.getCause());
+        }
+    }
+
+    /** Executors.newThreadPerTaskExecutor(factory) */
+    private static ExecutorService newThreadPerTaskExecutor(ThreadFactory factory) throws ReflectiveOperationException {
+        Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        return (ExecutorService) method.invoke(null, factory);
+    }
+
+    private static boolean probeVirtualThreads() {
+        try {
+            ThreadFactory factory = virtualThreadFactory("probe-");
+            newThreadPerTaskExecutor(factory).shutdown();
+            return true;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return false;
+        }
+    }
+}
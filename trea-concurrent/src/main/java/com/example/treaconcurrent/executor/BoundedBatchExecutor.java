@@ -0,0 +1,490 @@
+package com.example.treaconcurrent.executor;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 有界并发的批量执行器：按窗口大小逐个启动任务，按完成顺序流式交付结果
+ *
+ * 说明：
+ * - 输入是 Iterator / Iterable，按需读取，不会一次性为整个批次创建 CompletableFuture；
+ * - 已启动但尚未交付的任务数（执行中 + 已完成待交付）不超过 window，内存占用与窗口大小成正比，与批次大小无关；
+ * - 结果按完成顺序交付：回调方式（{@link #execute}）或 {@link Flow.Publisher}（{@link #publish}）；
+ *   Publisher 的订阅者不 request 时，待交付结果占满窗口后停止启动新任务，背压一直传到输入端；
+ * - 交付与启动在同一个串行化的 drain 循环中进行，回调 / onNext 不会并发调用；
+ * - 错误策略见 {@link BatchErrorPolicy}：FAIL_FAST 时失败的任务不再交付，批次以 {@link BatchAbortedException} 结束，
+ *   并对执行中的 future 调用 cancel（由 TaskRuntime 提交的任务会因此被中断）；
+ * - 回调本身抛出异常时，无论哪种策略都会中止批次。
+ *
+ * 用法示例：
+ * <pre>
+ * BoundedBatchExecutor batch = BoundedBatchExecutor.builder().window(64).build();
+ * batch.execute(requests.iterator(), service::processTaskAsync, item -&gt; save(item.getResult()))
+ *     .thenAccept(summary -&gt; log.info("{}", summary));
+ * </pre>
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+public final class BoundedBatchExecutor {
+
+    private final int window;
+    private final BatchErrorPolicy errorPolicy;
+    private final int maxRecordedErrors;
+
+    private BoundedBatchExecutor(Builder builder) {
+        this.window = builder.window;
+        this.errorPolicy = builder.errorPolicy;
+        this.maxRecordedErrors = builder.maxRecordedErrors;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private int window = 64;
+        private BatchErrorPolicy errorPolicy = BatchErrorPolicy.COLLECT_ERRORS;
+        private int maxRecordedErrors = 100;
+
+        private Builder() {
+        }
+
+        /** 同时未交付的任务数上限，默认 64 */
+        public Builder window(int window) {
+            if (window <= 0) {
+                throw new IllegalArgumentException("窗口大小必须大于0: " + window);
+            }
+            this.window = window;
+            return this;
+        }
+
+        /** 错误策略，默认 COLLECT_ERRORS */
+        public Builder errorPolicy(BatchErrorPolicy errorPolicy) {
+            this.errorPolicy = Objects.requireNonNull(errorPolicy, "errorPolicy");
+            return this;
+        }
+
+        /** 汇总中最多保留的错误信息条数，默认 100 */
+        public Builder maxRecordedErrors(int maxRecordedErrors) {
+            if (maxRecordedErrors < 0) {
+                throw new IllegalArgumentException("错误信息条数不能为负数: " + maxRecordedErrors);
+            }
+            this.maxRecordedErrors = maxRecordedErrors;
+            return this;
+        }
+
+        public BoundedBatchExecutor build() {
+            return new BoundedBatchExecutor(this);
+        }
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    public BatchErrorPolicy getErrorPolicy() {
+        return errorPolicy;
+    }
+
+    /**
+     * 执行批次，每个结果完成后立即回调
+     *
+     * @param source 输入（按需读取）
+     * @param action 为单个输入启动异步任务
+     * @param onItem 结果回调，按完成顺序串行调用
+     * @return 批次结束时完成；FAIL_FAST 中止时以 {@link BatchAbortedException} 异常完成。取消它会停止批次
+     */
+    public <T, R> CompletableFuture<BatchSummary> execute(Iterator<? extends T> source,
+                                                          Function<? super T, ? extends CompletionStage<? extends R>> action,
+                                                          Consumer<? super BatchItem<T, R>> onItem) {
+        Objects.requireNonNull(onItem, "onItem");
+        CompletableFuture<BatchSummary> done = new CompletableFuture<>();
+        Run<T, R> run = new Run<>(source, action, new Sink<T, R>() {
+            @Override
+            public void onItem(BatchItem<T, R> item) {
+                onItem.accept(item);
+            }
+
+            @Override
+            public void onComplete(BatchSummary summary) {
+                done.complete(summary);
+            }
+
+            @Override
+            public void onError(Throwable error, BatchSummary summary) {
+                done.completeExceptionally(new BatchAbortedException(error, summary));
+            }
+        });
+        done.whenComplete((summary, error) -> {
+            if (done.isCancelled()) {
+                run.cancel();
+            }
+        });
+        run.request(Long.MAX_VALUE);
+        return done;
+    }
+
+    /**
+     * 以 Flow.Publisher 形式交付结果；每次 subscribe 重新遍历 source，只支持逐个订阅者独立执行
+     * FAIL_FAST 中止时调用 onError（异常为 {@link BatchAbortedException}）
+     */
+    public <T, R> Flow.Publisher<BatchItem<T, R>> publish(Iterable<? extends T> source,
+                                                          Function<? super T, ? extends CompletionStage<? extends R>> action) {
+        Objects.requireNonNull(source, "source");
+        Objects.requireNonNull(action, "action");
+        return subscriber -> {
+            Objects.requireNonNull(subscriber, "subscriber");
+            Run<T, R> run = new Run<>(source.iterator(), action, new Sink<T, R>() {
+                @Override
+                public void onItem(BatchItem<T, R> item) {
+                    subscriber.onNext(item);
+                }
+
+                @Override
+                public void onComplete(BatchSummary summary) {
+                    subscriber.onComplete();
+                }
+
+                @Override
+                public void onError(Throwable error, BatchSummary summary) {
+                    subscriber.onError(new BatchAbortedException(error, summary));
+                }
+            });
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    if (n <= 0) {
+                        run.fail(new IllegalArgumentException("request 数量必须大于0: " + n));
+                    } else {
+                        run.request(n);
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    run.cancel();
+                }
+            });
+        };
+    }
+
+    /** 结果的接收方 */
+    private interface Sink<T, R> {
+        void onItem(BatchItem<T, R> item);
+
+        void onComplete(BatchSummary summary);
+
+        void onError(Throwable error, BatchSummary summary);
+    }
+
+    /**
+     * 一次批量执行的状态：除标记为线程安全的字段外，只在 drain 循环中读写
+     */
+    private final class Run<T, R> {
+        private final Iterator<? extends T> source;
+        private final Function<? super T, ? extends CompletionStage<? extends R>> action;
+        private final Sink<T, R> sink;
+        private final long startNanos = System.nanoTime();
+
+        /** 线程安全：由任务完成回调写入 */
+        private final Queue<BatchItem<T, R>> completed = new ConcurrentLinkedQueue<>();
+        private final Map<Long, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicLong demand = new AtomicLong();
+        private volatile boolean cancelled;
+        private volatile Throwable externalError;
+
+        private long nextIndex;
+        private int outstanding;
+        private boolean exhausted;
+        private boolean terminated;
+        private int peakInFlight;
+        private long succeeded;
+        private long failed;
+        private final List<String> errors = new ArrayList<>();
+
+        Run(Iterator<? extends T> source, Function<? super T, ? extends CompletionStage<? extends R>> action, Sink<T, R> sink) {
+            this.source = Objects.requireNonNull(source, "source");
+            this.action = Objects.requireNonNull(action, "action");
+            this.sink = sink;
+        }
+
+        void request(long n) {
+            demand.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+            drain();
+        }
+
+        void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        void fail(Throwable error) {
+            externalError = error;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!terminated) {
+                    try {
+                        step();
+                    } catch (Throwable t) {
+                        // 兜底：异常不能逃出 drain，否则 wip 不归零，之后的 drain 都会直接返回
+                        fatal(t);
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void step() {
+            if (cancelled) {
+                terminated = true;
+                cancelInFlight();
+                completed.clear();
+                return;
+            }
+            if (externalError != null) {
+                abort(externalError);
+                return;
+            }
+            // 1. 按需求交付已完成的结果
+            BatchItem<T, R> item;
+            while (demand.get() > 0 && (item = completed.poll()) != null) {
+                outstanding--;
+                if (demand.get() != Long.MAX_VALUE) {
+                    demand.decrementAndGet();
+                }
+                if (item.isSuccess()) {
+                    succeeded++;
+                } else {
+                    failed++;
+                    if (errors.size() < maxRecordedErrors) {
+                        errors.add("#" + item.getIndex() + ": " + describe(item.getError()));
+                    }
+                    if (errorPolicy == BatchErrorPolicy.FAIL_FAST) {
+                        abort(item.getError());
+                        return;
+                    }
+                }
+                try {
+                    sink.onItem(item);
+                } catch (Throwable t) {
+                    log.warn("批量结果回调异常，中止批次", t);
+                    abort(t);
+                    return;
+                }
+                if (cancelled) {
+                    return; // 下一轮循环处理
+                }
+            }
+            // 2. 窗口有空位时启动新任务
+            while (outstanding < window && !exhausted) {
+                T next;
+                try {
+                    if (!source.hasNext()) {
+                        exhausted = true;
+                        break;
+                    }
+                    next = source.next();
+                } catch (Throwable t) {
+                    log.warn("读取批量输入异常，中止批次", t);
+                    abort(t);
+                    return;
+                }
+                launch(next);
+            }
+            // 3. 输入耗尽且全部交付后结束
+            if (exhausted && outstanding == 0) {
+                terminated = true;
+                sink.onComplete(summary(false));
+            }
+        }
+
+        private void launch(T input) {
+            long index = nextIndex++;
+            outstanding++;
+            CompletableFuture<? extends R> future;
+            try {
+                future = action.apply(input).toCompletableFuture();
+            } catch (Throwable t) {
+                future = CompletableFuture.failedFuture(t);
+            }
+            inFlight.put(index, future);
+            peakInFlight = Math.max(peakInFlight, inFlight.size());
+            future.whenComplete((result, error) -> {
+                inFlight.remove(index);
+                completed.add(new BatchItem<>(index, input, result, unwrap(error)));
+                drain();
+            });
+        }
+
+        private void abort(Throwable error) {
+            terminated = true;
+            int cancelledCount = cancelInFlight();
+            completed.clear();
+            BatchSummary summary = summary(true);
+            summary.setCancelled(cancelledCount);
+            log.warn("批次中止: {}, 原因: {}", summary, describe(error));
+            sink.onError(error, summary);
+        }
+
+        private void fatal(Throwable error) {
+            if (terminated) {
+                log.error("批次结束回调异常", error);
+                return;
+            }
+            try {
+                abort(error);
+            } catch (Throwable t) {
+                terminated = true;
+                log.error("批次中止回调异常", t);
+            }
+        }
+
+        private int cancelInFlight() {
+            int count = 0;
+            for (CompletableFuture<?> future : inFlight.values()) {
+                if (future.cancel(true)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private BatchSummary summary(boolean aborted) {
+            BatchSummary summary = new BatchSummary();
+            summary.setLaunched(nextIndex);
+            summary.setSucceeded(succeeded);
+            summary.setFailed(failed);
+            summary.setPeakInFlight(peakInFlight);
+            summary.setElapsedMs((System.nanoTime() - startNanos) / 1_000_000);
+            summary.setAborted(aborted);
+            summary.setErrors(new ArrayList<>(errors));
+            return summary;
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    private static String describe(Throwable error) {
+        return error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+    }
+
+    /**
+     * 单个任务的结果
+     */
+    public static final class BatchItem<T, R> {
+        private final long index;
+        private final T input;
+        private final R result;
+        private final Throwable error;
+
+        BatchItem(long index, T input, R result, Throwable error) {
+            this.index = index;
+            this.input = input;
+            this.result = result;
+            this.error = error;
+        }
+
+        /** 在输入中的位置（从0开始） */
+        public long getIndex() {
+            return index;
+        }
+
+        public T getInput() {
+            return input;
+        }
+
+        /** 成功时的结果，失败时为 null */
+        public R getResult() {
+            return result;
+        }
+
+        /** 失败原因（已去掉 CompletionException 包装），成功时为 null */
+        public Throwable getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        @Override
+        public String toString() {
+            return "BatchItem{index=" + index + (error == null ? ", result=" + result : ", error=" + describe(error)) + "}";
+        }
+    }
+
+    /**
+     * 批次汇总
+     */
+    @Data
+    public static class BatchSummary {
+        /** 已启动的任务数 */
+        private long launched;
+        /** 已交付的成功数 */
+        private long succeeded;
+        /** 已交付的失败数 */
+        private long failed;
+        /** 中止时被取消的执行中任务数 */
+        private int cancelled;
+        /** 同时执行的任务数峰值（不超过窗口大小） */
+        private int peakInFlight;
+        /** 耗时（毫秒） */
+        private long elapsedMs;
+        /** 是否被中止（FAIL_FAST 或回调异常） */
+        private boolean aborted;
+        /** 错误信息（最多 maxRecordedErrors 条） */
+        private List<String> errors;
+    }
+
+    /**
+     * 批次被中止，cause 为第一个失败原因
+     */
+    public static class BatchAbortedException extends RuntimeException {
+        private final transient BatchSummary summary;
+
+        public BatchAbortedException(Throwable cause, BatchSummary summary) {
+            super("批次已中止: " + describe(cause), cause);
+            this.summary = summary;
+        }
+
+        public BatchSummary getSummary() {
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.treaconcurrent.executor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * CPU 密集型任务执行器：独立的工作窃取 ForkJoinPool
+ *
+ * 说明：
+ * - 与处理阻塞 I/O 的 {@link BlockingTaskExecutor} 分开：计算任务再多也只占用 parallelism 个线程，
+ *   不会挤占 I/O 任务的执行槽，I/O 任务的阻塞也不会拖慢计算；
+ * - 不使用 ForkJoinPool.commonPool()：公共池被并行流、CompletableFuture 默认执行器共享，
+ *   在其中执行长时间计算会影响整个 JVM；
+ * - ForkJoinTask（如 RecursiveTask）在工作线程中 fork 的子任务进入本线程的双端队列，空闲线程从其他队列尾部窃取。
+ *
+ * 用法示例：
+ * <pre>
+ * CpuTaskExecutor cpuExecutor = CpuTaskExecutor.builder().parallelism(4).build();
+ * CompletableFuture&lt;Long&gt; future = cpuExecutor.submit(new FibonacciTask(40));
+ * </pre>
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+public final class CpuTaskExecutor implements Executor, AutoCloseable {
+
+    private final ForkJoinPool pool;
+    private final Duration shutdownTimeout;
+
+    private CpuTaskExecutor(Builder builder) {
+        AtomicInteger threadCount = new AtomicInteger();
+        String prefix = builder.threadNamePrefix;
+        this.pool = new ForkJoinPool(builder.parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName(prefix + "-" + threadCount.incrementAndGet());
+            return thread;
+        }, (thread, e) -> log.error("计算线程 {} 未捕获异常", thread.getName(), e), false);
+        this.shutdownTimeout = builder.shutdownTimeout;
+        log.info("CPU 任务执行器创建完成，并行度: {}", builder.parallelism);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private String threadNamePrefix = "cpu-task";
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+        private Builder() {
+        }
+
+        /** 工作线程数，默认等于 CPU 核数 */
+        public Builder parallelism(int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("并行度必须大于0: " + parallelism);
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /** 线程名前缀，默认 cpu-task */
+        public Builder threadNamePrefix(String threadNamePrefix) {
+            this.threadNamePrefix = Objects.requireNonNull(threadNamePrefix, "threadNamePrefix");
+            return this;
+        }
+
+        /** close 时等待任务结束的最长时间，默认 10 秒 */
+        public Builder shutdownTimeout(Duration shutdownTimeout) {
+            if (shutdownTimeout == null || shutdownTimeout.isNegative()) {
+                throw new IllegalArgumentException("shutdownTimeout 不能为负数: " + shutdownTimeout);
+            }
+            this.shutdownTimeout = shutdownTimeout;
+            return this;
+        }
+
+        public CpuTaskExecutor build() {
+            return new CpuTaskExecutor(this);
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        pool.execute(command);
+    }
+
+    /**
+     * 在计算线程中执行 supplier
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, pool);
+    }
+
+    /**
+     * 提交 ForkJoinTask，子任务在本池内 fork / 窃取
+     */
+    public <T> CompletableFuture<T> submit(ForkJoinTask<T> task) {
+        return CompletableFuture.supplyAsync(task::invoke, pool);
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /** 累计窃取次数（近似值） */
+    public long getStealCount() {
+        return pool.getStealCount();
+    }
+
+    /** 正在执行任务的线程数（近似值） */
+    public int getActiveThreadCount() {
+        return pool.getActiveThreadCount();
+    }
+
+    /** 各工作线程队列中的任务总数（近似值） */
+    public long getQueuedTaskCount() {
+        return pool.getQueuedTaskCount() + pool.getQueuedSubmissionCount();
+    }
+
+    @Override
+    public void close() {
+        if (pool.isShutdown()) {
+            return;
+        }
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("CPU 任务执行器在 {} 内未结束，取消剩余任务", shutdownTimeout);
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CpuTaskExecutor{parallelism=" + getParallelism() + ", active=" + getActiveThreadCount()
+                + ", queued=" + getQueuedTaskCount() + ", steals=" + getStealCount() + "}";
+    }
+}
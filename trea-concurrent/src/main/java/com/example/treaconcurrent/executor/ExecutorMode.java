@@ -0,0 +1,30 @@
+package com.example.treaconcurrent.executor;
+
+/**
+ * 阻塞型任务的执行模式
+ * 
+ * @author 系统
+ * @since 1.0
+ */
+public enum ExecutorMode {
+
+    /**
+     * 固定大小线程池（原有实现，默认 8 个线程），并发 I/O 数被线程数限制
+     */
+    FIXED,
+
+    /**
+     * 有界弹性线程池：线程按需创建、空闲回收，线程数上限等于并发上限，超出的任务进入有界队列
+     */
+    ELASTIC,
+
+    /**
+     * 虚拟线程：每个任务一个虚拟线程，阻塞时不占用平台线程（需要 JDK 21+，不支持时回退为 ELASTIC）
+     */
+    VIRTUAL,
+
+    /**
+     * 自动选择：JVM 支持虚拟线程时使用 VIRTUAL，否则使用 ELASTIC
+     */
+    AUTO
+}
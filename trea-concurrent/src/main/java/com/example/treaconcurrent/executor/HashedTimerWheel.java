@@ -0,0 +1,302 @@
+package com.example.treaconcurrent.executor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 哈希时间轮定时器：用一个线程管理大量延迟任务（延迟启动、超时检测、重试退避）
+ *
+ * 说明：
+ * - 时间轮由 wheelSize 个槽组成，每 tickDuration 前进一格；到期时间超过一圈的任务记录剩余圈数；
+ * - 提交与取消都是无锁的：新任务先进入并发队列，由时间轮线程在每次 tick 时放入对应的槽，已取消的任务在经过时移除；
+ * - 精度为 tickDuration：任务会在到期后的下一个 tick 执行，不会提前；
+ * - 到期回调在时间轮线程中执行，应保持轻量（例如把真正的工作提交给执行器），回调抛出的异常只记录日志；
+ * - 关闭时未到期的任务不再执行，提交时带 onClosed 回调的任务会在时间轮线程退出前收到 RejectedExecutionException。
+ *
+ * 与 ScheduledThreadPoolExecutor 相比：提交与取消为 O(1)，不维护堆，适合超时这类“大多数会被取消”的定时任务。
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+public final class HashedTimerWheel implements AutoCloseable {
+
+    private static final int INIT = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickNanos;
+    private final ArrayDeque<Timeout>[] wheel;
+    private final int mask;
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread worker;
+    private final long startTime;
+    private volatile boolean closed;
+
+    @SuppressWarnings("unchecked")
+    private HashedTimerWheel(Builder builder) {
+        this.tickNanos = builder.tickDuration.toNanos();
+        int size = Integer.highestOneBit(builder.wheelSize - 1) << 1;
+        this.wheel = new ArrayDeque[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.mask = size - 1;
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, builder.threadName);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private Duration tickDuration = Duration.ofMillis(10);
+        private int wheelSize = 512;
+        private String threadName = "timer-wheel";
+
+        private Builder() {
+        }
+
+        /** 每格的时间跨度（精度），默认 10ms */
+        public Builder tickDuration(Duration tickDuration) {
+            if (tickDuration == null || tickDuration.toMillis() < 1) {
+                throw new IllegalArgumentException("tickDuration 至少为 1ms: " + tickDuration);
+            }
+            this.tickDuration = tickDuration;
+            return this;
+        }
+
+        /** 槽数，向上取整为 2 的幂，默认 512 */
+        public Builder wheelSize(int wheelSize) {
+            if (wheelSize <= 1 || wheelSize > (1 << 20)) {
+                throw new IllegalArgumentException("槽数需在 (1, 1048576]: " + wheelSize);
+            }
+            this.wheelSize = wheelSize;
+            return this;
+        }
+
+        /** 时间轮线程名称，默认 timer-wheel */
+        public Builder threadName(String threadName) {
+            this.threadName = Objects.requireNonNull(threadName, "threadName");
+            return this;
+        }
+
+        public HashedTimerWheel build() {
+            return new HashedTimerWheel(this);
+        }
+    }
+
+    /**
+     * 在 delay 之后执行 task
+     * @throws RejectedExecutionException 定时器已关闭
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return schedule(task, delay, unit, null);
+    }
+
+    /**
+     * 在 delay 之后执行 task；到期前时间轮被关闭时改为调用 onClosed（在时间轮线程中执行）
+     * @param onClosed 关闭时的回调，可为 null
+     * @throws RejectedExecutionException 提交时定时器已关闭（此时不会调用 onClosed）
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit,
+                            Consumer<? super RejectedExecutionException> onClosed) {
+        Objects.requireNonNull(task, "task");
+        if (closed) {
+            throw new RejectedExecutionException("时间轮已关闭");
+        }
+        long now = System.nanoTime();
+        long delayNanos = Math.max(0, unit.toNanos(delay));
+        // 防止溢出：超过约 146 年的延迟按最大值处理
+        long deadline = delayNanos > Long.MAX_VALUE - (now - startTime)
+                ? Long.MAX_VALUE : now - startTime + delayNanos;
+        Timeout timeout = new Timeout(this, task, onClosed, deadline);
+        pending.incrementAndGet();
+        incoming.add(timeout);
+        // 与 close 并发：时间轮线程可能已排空队列并退出，此时由提交方自行撤回，否则任务永远不会触发
+        if (closed && incoming.remove(timeout)) {
+            if (timeout.state.compareAndSet(INIT, CANCELLED)) {
+                pending.decrementAndGet();
+            }
+            throw new RejectedExecutionException("时间轮已关闭");
+        }
+        return timeout;
+    }
+
+    /** 尚未到期且未取消的任务数 */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    public Duration getTickDuration() {
+        return Duration.ofNanos(tickNanos);
+    }
+
+    /**
+     * 停止时间轮线程，未到期的任务不再执行，带 onClosed 回调的任务收到 RejectedExecutionException
+     */
+    @Override
+    public void close() {
+        closed = true;
+        worker.interrupt();
+        if (Thread.currentThread() != worker) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        long tick = 0;
+        while (!closed) {
+            long tickDeadline = (tick + 1) * tickNanos;
+            long sleep;
+            while ((sleep = tickDeadline - (System.nanoTime() - startTime)) > 0 && !closed) {
+                LockSupport.parkNanos(this, sleep);
+            }
+            if (closed) {
+                break;
+            }
+            transferIncoming(tick);
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+        int rejected = rejectRemaining();
+        log.debug("时间轮线程退出，拒绝未到期的任务数: {}", rejected);
+    }
+
+    /** 关闭后排空提交队列与所有槽，通知未到期的任务 */
+    private int rejectRemaining() {
+        RejectedExecutionException closedException = new RejectedExecutionException("时间轮已关闭");
+        int rejected = 0;
+        Timeout timeout;
+        while ((timeout = incoming.poll()) != null) {
+            rejected += timeout.reject(closedException);
+        }
+        for (ArrayDeque<Timeout> bucket : wheel) {
+            while ((timeout = bucket.poll()) != null) {
+                rejected += timeout.reject(closedException);
+            }
+        }
+        return rejected;
+    }
+
+    private void transferIncoming(long tick) {
+        Timeout timeout;
+        while ((timeout = incoming.poll()) != null) {
+            if (timeout.state.get() != INIT) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            // 已经过期的任务放入当前槽，本次 tick 执行
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].addLast(timeout);
+        }
+    }
+
+    private void expire(ArrayDeque<Timeout> bucket) {
+        Iterator<Timeout> it = bucket.iterator();
+        while (it.hasNext()) {
+            Timeout timeout = it.next();
+            if (timeout.state.get() == CANCELLED) {
+                it.remove();
+            } else if (timeout.remainingRounds <= 0) {
+                it.remove();
+                timeout.expire();
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    /**
+     * 定时任务句柄
+     */
+    public static final class Timeout {
+        private final HashedTimerWheel timer;
+        private final Runnable task;
+        private final Consumer<? super RejectedExecutionException> onClosed;
+        /** 相对 startTime 的到期时间（纳秒） */
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+        /** 只由时间轮线程读写 */
+        private long remainingRounds;
+
+        private Timeout(HashedTimerWheel timer, Runnable task,
+                        Consumer<? super RejectedExecutionException> onClosed, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.onClosed = onClosed;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 取消任务
+         * @return 是否在到期前取消成功
+         */
+        public boolean cancel() {
+            if (state.compareAndSet(INIT, CANCELLED)) {
+                timer.pending.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(INIT, EXPIRED)) {
+                return;
+            }
+            timer.pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.warn("定时任务执行异常", t);
+            }
+        }
+
+        /** 时间轮关闭：仍未到期则取消并调用 onClosed，返回 1；已取消或已执行返回 0 */
+        private int reject(RejectedExecutionException e) {
+            if (!state.compareAndSet(INIT, CANCELLED)) {
+                return 0;
+            }
+            timer.pending.decrementAndGet();
+            if (onClosed != null) {
+                try {
+                    onClosed.accept(e);
+                } catch (Throwable t) {
+                    log.warn("定时任务关闭回调异常", t);
+                }
+            }
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,504 @@
+package com.example.treaconcurrent.executor;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 优先级调度执行器：按 TaskRequest.priority（1-10，数字越大优先级越高）决定任务的执行顺序
+ *
+ * 说明：
+ * - 本身不创建线程：最多 parallelism 个任务同时交给下游执行器（通常是 {@link BlockingTaskExecutor}），
+ *   其余任务在有界优先级队列中等待；有任务结束时再取出当前优先级最高的任务派发；
+ * - 队列按优先级分为 10 个 FIFO 队列，同一优先级先到先出；队列总长度超过 capacity 时抛出 RejectedExecutionException；
+ * - 防饥饿（老化）：任务每等待 agingInterval，有效优先级提高 1，最高到 10；有效优先级相同时先入队的先执行，
+ *   因此优先级为 p 的任务最多等待 (10 - p) × agingInterval 就会排到所有新任务之前；
+ * - 每个优先级记录队列深度、提交数、派发数、平均 / 最大等待时间，以及因老化而提前派发的次数；
+ * - 已入队的任务在派发时被下游拒绝（下游已关闭或队列已满）不会被丢弃：{@link RejectableTask} 收到拒绝异常，
+ *   其他任务在派发线程中直接执行，保证调用方的 Future 总能结束；需要以异常结束时使用 {@link #supplyAsync}。
+ *
+ * 用法示例：
+ * <pre>
+ * PriorityTaskExecutor priorityExecutor = PriorityTaskExecutor.builder()
+ *     .delegate(blockingTaskExecutor)
+ *     .parallelism(64)
+ *     .build();
+ * CompletableFuture.supplyAsync(() -&gt; handle(request), priorityExecutor.forPriority(request.getPriority()));
+ * </pre>
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+public final class PriorityTaskExecutor implements Executor, AutoCloseable {
+
+    public static final int MIN_PRIORITY = 1;
+    public static final int MAX_PRIORITY = 10;
+    public static final int DEFAULT_PRIORITY = 5;
+
+    private final Executor delegate;
+    private final int parallelism;
+    private final int capacity;
+    private final long agingNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition terminated = lock.newCondition();
+    /** 下标为优先级，0 不使用 */
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<QueuedTask>[] queues = new ArrayDeque[MAX_PRIORITY + 1];
+    private final LevelMetrics[] metrics = new LevelMetrics[MAX_PRIORITY + 1];
+    private final Executor[] views = new Executor[MAX_PRIORITY + 1];
+    private int queued;
+    private int running;
+    private boolean shutdown;
+    private long sequence;
+
+    private PriorityTaskExecutor(Builder builder) {
+        this.delegate = builder.delegate;
+        this.parallelism = builder.parallelism;
+        this.capacity = builder.capacity;
+        this.agingNanos = builder.agingInterval.toNanos();
+        for (int p = MIN_PRIORITY; p <= MAX_PRIORITY; p++) {
+            int priority = p;
+            queues[p] = new ArrayDeque<>();
+            metrics[p] = new LevelMetrics();
+            views[p] = command -> execute(command, priority);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private Executor delegate;
+        private int parallelism = 64;
+        private int capacity = 10_000;
+        private Duration agingInterval = Duration.ofSeconds(1);
+
+        private Builder() {
+        }
+
+        /** 实际执行任务的下游执行器（必填） */
+        public Builder delegate(Executor delegate) {
+            this.delegate = Objects.requireNonNull(delegate, "delegate");
+            return this;
+        }
+
+        /** 同时交给下游执行的任务数上限，默认 64 */
+        public Builder parallelism(int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("并行度必须大于0: " + parallelism);
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /** 等待队列的总容量（不含正在执行的任务），默认 10000 */
+        public Builder capacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("队列容量必须大于0: " + capacity);
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        /** 老化间隔：任务每等待这么久，有效优先级提高 1，默认 1 秒 */
+        public Builder agingInterval(Duration agingInterval) {
+            if (agingInterval == null || agingInterval.isNegative() || agingInterval.isZero()) {
+                throw new IllegalArgumentException("老化间隔必须大于0: " + agingInterval);
+            }
+            this.agingInterval = agingInterval;
+            return this;
+        }
+
+        public PriorityTaskExecutor build() {
+            if (delegate == null) {
+                throw new IllegalStateException("必须指定下游执行器 delegate");
+            }
+            return new PriorityTaskExecutor(this);
+        }
+    }
+
+    /**
+     * 把任意整数（含 null）规范为合法优先级：null 为默认值 5，超出范围的取边界值
+     */
+    public static int normalize(Integer priority) {
+        if (priority == null) {
+            return DEFAULT_PRIORITY;
+        }
+        return Math.max(MIN_PRIORITY, Math.min(MAX_PRIORITY, priority));
+    }
+
+    /**
+     * 以默认优先级 5 提交
+     */
+    @Override
+    public void execute(Runnable command) {
+        execute(command, DEFAULT_PRIORITY);
+    }
+
+    /**
+     * 按指定优先级提交
+     * @throws RejectedExecutionException 队列已满或执行器已关闭
+     */
+    public void execute(Runnable command, int priority) {
+        Objects.requireNonNull(command, "command");
+        if (priority < MIN_PRIORITY || priority > MAX_PRIORITY) {
+            throw new IllegalArgumentException("优先级需在 [1, 10]: " + priority);
+        }
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new RejectedExecutionException("优先级执行器已关闭");
+            }
+            if (queued >= capacity) {
+                metrics[priority].rejected.increment();
+                throw new RejectedExecutionException("优先级队列已满，容量: " + capacity);
+            }
+            queues[priority].addLast(new QueuedTask(command, priority, System.nanoTime(), sequence++));
+            queued++;
+            metrics[priority].submitted.increment();
+        } finally {
+            lock.unlock();
+        }
+        dispatch();
+    }
+
+    /**
+     * 固定优先级的 Executor 视图，可直接传给 CompletableFuture.supplyAsync
+     */
+    public Executor forPriority(Integer priority) {
+        return views[normalize(priority)];
+    }
+
+    /**
+     * 按指定优先级异步执行；提交或派发被拒绝时，返回的 Future 以 RejectedExecutionException 异常结束
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, Integer priority) {
+        Objects.requireNonNull(supplier, "supplier");
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable task = () -> {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t instanceof CompletionException ? t : new CompletionException(t));
+            }
+        };
+        try {
+            execute(RejectableTask.of(task, future::completeExceptionally), normalize(priority));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 在并行度允许的范围内，按有效优先级取出任务交给下游
+     */
+    private void dispatch() {
+        while (true) {
+            QueuedTask task;
+            lock.lock();
+            try {
+                if (running >= parallelism || queued == 0) {
+                    return;
+                }
+                task = pollHighest(System.nanoTime());
+                queued--;
+                running++;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                delegate.execute(() -> runAndDispatchNext(task));
+            } catch (RejectedExecutionException e) {
+                log.error("下游执行器拒绝任务，优先级: {}", task.priority, e);
+                metrics[task.priority].rejected.increment();
+                finishOne();
+                reject(task.command, e);
+            }
+        }
+    }
+
+    /**
+     * 任务已离开队列，不能丢弃：能接收拒绝的任务以异常结束，其他任务在当前线程执行
+     */
+    private static void reject(Runnable command, RejectedExecutionException e) {
+        if (command instanceof RejectableTask) {
+            try {
+                ((RejectableTask) command).onRejected(e);
+            } catch (RuntimeException callbackError) {
+                log.error("任务拒绝回调异常", callbackError);
+            }
+            return;
+        }
+        try {
+            command.run();
+        } catch (RuntimeException runError) {
+            log.error("下游拒绝后在派发线程执行的任务异常", runError);
+        }
+    }
+
+    private void runAndDispatchNext(QueuedTask task) {
+        try {
+            task.command.run();
+        } finally {
+            finishOne();
+            dispatch();
+        }
+    }
+
+    private void finishOne() {
+        lock.lock();
+        try {
+            running--;
+            if (shutdown && running == 0 && queued == 0) {
+                terminated.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 各优先级队首是该级最早入队的任务，有效优先级最高；比较各队首即可。调用方需持有锁且 queued &gt; 0
+     */
+    private QueuedTask pollHighest(long now) {
+        QueuedTask best = null;
+        int bestEffective = 0;
+        for (int p = MAX_PRIORITY; p >= MIN_PRIORITY; p--) {
+            QueuedTask head = queues[p].peekFirst();
+            if (head == null) {
+                continue;
+            }
+            int effective = effectivePriority(head, now);
+            if (best == null || effective > bestEffective
+                    || (effective == bestEffective && head.sequence < best.sequence)) {
+                best = head;
+                bestEffective = effective;
+            }
+        }
+        queues[best.priority].pollFirst();
+        LevelMetrics level = metrics[best.priority];
+        long waited = now - best.enqueuedAt;
+        level.dispatched.increment();
+        level.totalWaitNanos.add(waited);
+        level.maxWaitNanos.accumulateAndGet(waited, Math::max);
+        if (bestEffective > best.priority) {
+            level.promoted.increment();
+        }
+        return best;
+    }
+
+    private int effectivePriority(QueuedTask task, long now) {
+        long boost = (now - task.enqueuedAt) / agingNanos;
+        return (int) Math.min(MAX_PRIORITY, task.priority + boost);
+    }
+
+    /** 等待中的任务数 */
+    public int getQueuedCount() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 已交给下游、尚未结束的任务数 */
+    public int getRunningCount() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 各优先级的指标快照，按优先级从高到低排列
+     */
+    public List<PriorityStats> snapshot() {
+        List<PriorityStats> result = new ArrayList<>(MAX_PRIORITY);
+        lock.lock();
+        try {
+            for (int p = MAX_PRIORITY; p >= MIN_PRIORITY; p--) {
+                LevelMetrics level = metrics[p];
+                long dispatched = level.dispatched.sum();
+                double avgWaitMs = dispatched == 0 ? 0 : level.totalWaitNanos.sum() / 1e6 / dispatched;
+                result.add(new PriorityStats(p, queues[p].size(), level.submitted.sum(), dispatched,
+                        level.rejected.sum(), level.promoted.sum(), avgWaitMs, level.maxWaitNanos.get() / 1e6));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    /**
+     * 指定优先级的指标快照
+     */
+    public PriorityStats snapshot(int priority) {
+        return snapshot().get(MAX_PRIORITY - normalize(priority));
+    }
+
+    /**
+     * 停止接收新任务；已入队的任务继续按优先级执行
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            if (running == 0 && queued == 0) {
+                terminated.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 等待队列清空且所有任务结束
+     * @return 是否在超时前结束
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (running > 0 || queued > 0) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = terminated.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 停止接收新任务并等待已入队任务执行完毕（最多 30 秒）
+     */
+    @Override
+    public void close() {
+        shutdown();
+        try {
+            if (!awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("优先级执行器关闭超时，剩余排队任务: {}, 执行中: {}", getQueuedCount(), getRunningCount());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 可感知拒绝的任务：派发时被下游拒绝，调用 onRejected 而不是 run，用于让对应的 Future 以异常结束
+     */
+    public interface RejectableTask extends Runnable {
+
+        /**
+         * 任务被下游拒绝，不会再执行
+         */
+        void onRejected(RejectedExecutionException e);
+
+        static RejectableTask of(Runnable task, Consumer<? super RejectedExecutionException> onRejected) {
+            Objects.requireNonNull(task, "task");
+            Objects.requireNonNull(onRejected, "onRejected");
+            return new RejectableTask() {
+                @Override
+                public void run() {
+                    task.run();
+                }
+
+                @Override
+                public void onRejected(RejectedExecutionException e) {
+                    onRejected.accept(e);
+                }
+            };
+        }
+    }
+
+    /** 排队中的任务 */
+    private static final class QueuedTask {
+        final Runnable command;
+        final int priority;
+        final long enqueuedAt;
+        final long sequence;
+
+        QueuedTask(Runnable command, int priority, long enqueuedAt, long sequence) {
+            this.command = command;
+            this.priority = priority;
+            this.enqueuedAt = enqueuedAt;
+            this.sequence = sequence;
+        }
+    }
+
+    /** 单个优先级的累计指标 */
+    private static final class LevelMetrics {
+        final LongAdder submitted = new LongAdder();
+        final LongAdder dispatched = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder promoted = new LongAdder();
+        final LongAdder totalWaitNanos = new LongAdder();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+    }
+
+    /**
+     * 单个优先级的指标快照
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriorityStats {
+        /** 优先级 */
+        private int priority;
+        /** 当前排队数 */
+        private int queueDepth;
+        /** 累计提交数 */
+        private long submitted;
+        /** 累计派发数 */
+        private long dispatched;
+        /** 累计拒绝数（队列满或下游拒绝） */
+        private long rejected;
+        /** 因老化提升有效优先级后派发的次数 */
+        private long promoted;
+        /** 平均排队时间（毫秒） */
+        private double avgWaitMs;
+        /** 最大排队时间（毫秒） */
+        private double maxWaitMs;
+    }
+}
@@ -0,0 +1,434 @@
+package com.example.treaconcurrent.executor;
+
+import com.example.treaconcurrent.model.TaskAttempt;
+import com.example.treaconcurrent.model.TaskRequest;
+import com.example.treaconcurrent.model.TaskResult;
+import com.example.treaconcurrent.model.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 任务运行时：按 TaskRequest 的 delayMs、timeoutMs、retryEnabled / maxRetries / retryIntervalMs 执行任务
+ *
+ * 说明：
+ * - 延迟启动与重试等待都挂在 {@link HashedTimerWheel} 上，到期后才把任务提交给执行器，等待期间不占用任何工作线程；
+ * - timeoutMs 是单次尝试的执行期限（从开始执行算起，不含排队时间）：到期时中断执行线程，本次尝试记为超时；
+ * - 失败或超时后，若还有重试次数，按指数退避等待：retryIntervalMs × 2^(n-1)，不超过 maxBackoff，
+ *   再乘以 [1 - jitter, 1] 之间的随机系数，避免大量任务同时重试；
+ * - 线程被外部中断（InterruptedException 且不是超时导致）时不再重试；
+ * - 每次尝试记录为 {@link TaskAttempt}，与 retryCount 一起写入 TaskResult；最后一次超时则结果为 CANCELLED，失败为 FAILED；
+ * - 调用方取消返回的 CompletableFuture 时，会取消尚未开始的定时并中断正在执行的尝试。
+ *
+ * 用法示例：
+ * <pre>
+ * CompletableFuture&lt;TaskResult&gt; future = taskRuntime.submit(request, executor, (req, attempt) -&gt; callRemote(req));
+ * </pre>
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+public final class TaskRuntime implements AutoCloseable {
+
+    /**
+     * 单次尝试要执行的逻辑
+     */
+    @FunctionalInterface
+    public interface TaskBody {
+        /**
+         * @param request 任务请求
+         * @param attempt 第几次尝试（从1开始）
+         * @return 结果数据，写入 TaskResult.data
+         */
+        Object execute(TaskRequest request, int attempt) throws Exception;
+    }
+
+    private final HashedTimerWheel timer;
+    private final boolean ownsTimer;
+    private final long maxBackoffMs;
+    private final double jitter;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    private TaskRuntime(Builder builder) {
+        this.ownsTimer = builder.timer == null;
+        this.timer = ownsTimer ? HashedTimerWheel.builder().threadName("task-runtime-timer").build() : builder.timer;
+        this.maxBackoffMs = builder.maxBackoff.toMillis();
+        this.jitter = builder.jitter;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private HashedTimerWheel timer;
+        private Duration maxBackoff = Duration.ofSeconds(30);
+        private double jitter = 0.5;
+
+        private Builder() {
+        }
+
+        /** 共享的时间轮；不指定时创建私有时间轮，close 时一并关闭 */
+        public Builder timer(HashedTimerWheel timer) {
+            this.timer = Objects.requireNonNull(timer, "timer");
+            return this;
+        }
+
+        /** 单次退避等待的上限，默认 30 秒 */
+        public Builder maxBackoff(Duration maxBackoff) {
+            if (maxBackoff == null || maxBackoff.isNegative()) {
+                throw new IllegalArgumentException("maxBackoff 不能为负数: " + maxBackoff);
+            }
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        /** 随机抖动比例 [0, 1]：0 表示不抖动，0.5 表示在 50% ~ 100% 之间随机，默认 0.5 */
+        public Builder jitter(double jitter) {
+            if (!(jitter >= 0 && jitter <= 1)) {
+                throw new IllegalArgumentException("jitter 需在 [0, 1]: " + jitter);
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        public TaskRuntime build() {
+            return new TaskRuntime(this);
+        }
+    }
+
+    /**
+     * 提交任务：延迟、超时、重试都按 request 中的配置处理，尝试在 executor 上执行
+     */
+    public CompletableFuture<TaskResult> submit(TaskRequest request, Executor executor, TaskBody body) {
+        Objects.requireNonNull(request, "request");
+        Objects.requireNonNull(executor, "executor");
+        Objects.requireNonNull(body, "body");
+        Execution execution = new Execution(request, executor, body);
+        execution.start();
+        return execution.future;
+    }
+
+    /**
+     * 第 retry 次重试前的等待时间（毫秒）：baseMs × 2^(retry-1)，不超过 maxBackoff，再按 jitter 随机缩小
+     */
+    public long backoffMillis(long baseMs, int retry) {
+        if (baseMs <= 0) {
+            return 0;
+        }
+        int shift = Math.min(Math.max(retry - 1, 0), 62);
+        long backoff = baseMs > (maxBackoffMs >> shift) ? maxBackoffMs : baseMs << shift;
+        if (jitter == 0 || backoff == 0) {
+            return backoff;
+        }
+        return (long) (backoff * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /** 尚未结束的任务数（含延迟等待、退避等待中的任务） */
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    /** 累计重试次数 */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /** 累计超时次数 */
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    public HashedTimerWheel getTimer() {
+        return timer;
+    }
+
+    /**
+     * 关闭私有时间轮：尚在延迟或退避等待中的任务不再执行，以 FAILED 结束；
+     * 正在执行且设置了 timeoutMs 的尝试被中断，同样以 FAILED 结束
+     */
+    @Override
+    public void close() {
+        if (ownsTimer) {
+            timer.close();
+        }
+    }
+
+    /**
+     * 一个任务从提交到结束的全过程
+     */
+    private final class Execution {
+        private final TaskRequest request;
+        private final Executor executor;
+        private final TaskBody body;
+        private final String taskId = UUID.randomUUID().toString();
+        private final CompletableFuture<TaskResult> future = new CompletableFuture<>();
+        private final List<TaskAttempt> attempts = new CopyOnWriteArrayList<>();
+        /** 等待中的延迟启动或重试 */
+        private volatile HashedTimerWheel.Timeout pendingStart;
+        private volatile Attempt current;
+
+        Execution(TaskRequest request, Executor executor, TaskBody body) {
+            this.request = request;
+            this.executor = executor;
+            this.body = body;
+        }
+
+        void start() {
+            inFlight.incrementAndGet();
+            future.whenComplete((result, error) -> {
+                inFlight.decrementAndGet();
+                if (future.isCancelled()) {
+                    onCancel();
+                }
+            });
+            long delay = request.getDelayMs() != null ? request.getDelayMs() : 0;
+            startAfter(delay);
+        }
+
+        private void startAfter(long delayMs) {
+            if (delayMs <= 0) {
+                dispatch();
+                return;
+            }
+            try {
+                // 等待期间时间轮被关闭时由 onRejected 结束任务
+                pendingStart = timer.schedule(this::dispatch, delayMs, TimeUnit.MILLISECONDS, this::onRejected);
+            } catch (RejectedExecutionException e) {
+                // 时间轮已关闭
+                onRejected(e);
+                return;
+            }
+            // 与 onCancel 并发时，保证定时不会遗留
+            if (future.isDone()) {
+                pendingStart.cancel();
+            }
+        }
+
+        private void dispatch() {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                // 已入队后才被拒绝时（例如 PriorityTaskExecutor 的下游已关闭）由 onRejected 结束任务
+                executor.execute(PriorityTaskExecutor.RejectableTask.of(this::runAttempt, this::onRejected));
+            } catch (RejectedExecutionException e) {
+                onRejected(e);
+            }
+        }
+
+        private void onRejected(RejectedExecutionException e) {
+            log.warn("任务被拒绝: {}, 原因: {}", request.getTaskName(), e.getMessage());
+            finish(TaskStatus.FAILED, null, "任务被拒绝: " + e.getMessage(), e);
+        }
+
+        private void runAttempt() {
+            if (future.isDone()) {
+                return;
+            }
+            Attempt attempt = new Attempt(attempts.size() + 1);
+            current = attempt;
+            if (request.hasTimeout()) {
+                try {
+                    attempt.deadline = timer.schedule(() -> onTimeout(attempt),
+                            request.getTimeoutMs(), TimeUnit.MILLISECONDS, e -> onTimerClosed(attempt, e));
+                } catch (RejectedExecutionException e) {
+                    // 时间轮已关闭，无法保证超时约束，不执行任务体
+                    if (attempt.finish()) {
+                        attempts.add(attempt.record(TaskStatus.FAILED, "任务被拒绝: " + e.getMessage(), false, null));
+                        onRejected(e);
+                    }
+                    return;
+                }
+            }
+            Object value = null;
+            Throwable error = null;
+            try {
+                value = body.execute(request, attempt.number);
+            } catch (Throwable t) {
+                error = t;
+            }
+            if (attempt.deadline != null) {
+                attempt.deadline.cancel();
+            }
+            if (!attempt.finish()) {
+                return; // 已由超时或取消处理
+            }
+            if (error == null) {
+                attempts.add(attempt.record(TaskStatus.COMPLETED, null, false, null));
+                finish(TaskStatus.COMPLETED, value, null);
+            } else if (error instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                attempts.add(attempt.record(TaskStatus.FAILED, "任务被中断", false, null));
+                finish(TaskStatus.FAILED, null, "任务被中断");
+            } else {
+                String message = error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+                afterFailure(attempt, message, false);
+            }
+        }
+
+        /** 尝试执行期间时间轮被关闭：超时约束已无法保证，中止本次尝试 */
+        private void onTimerClosed(Attempt attempt, RejectedExecutionException e) {
+            if (attempt.abort()) {
+                attempts.add(attempt.record(TaskStatus.FAILED, "任务被拒绝: " + e.getMessage(), false, null));
+                onRejected(e);
+            }
+        }
+
+        private void onTimeout(Attempt attempt) {
+            if (!attempt.abort()) {
+                return;
+            }
+            timeouts.increment();
+            log.warn("任务执行超时: {}, 第 {} 次尝试, 期限: {}ms", request.getTaskName(), attempt.number, request.getTimeoutMs());
+            afterFailure(attempt, "任务执行超时（" + request.getTimeoutMs() + "ms）", true);
+        }
+
+        private void afterFailure(Attempt attempt, String message, boolean timedOut) {
+            TaskStatus status = timedOut ? TaskStatus.CANCELLED : TaskStatus.FAILED;
+            boolean retry = request.isRetryEnabled() && attempt.number <= request.getMaxRetries() && !future.isDone();
+            Long nextDelay = null;
+            if (retry) {
+                long base = request.getRetryIntervalMs() != null ? request.getRetryIntervalMs() : 0;
+                nextDelay = backoffMillis(base, attempt.number);
+            }
+            attempts.add(attempt.record(status, message, timedOut, nextDelay));
+            if (retry) {
+                retries.increment();
+                log.warn("任务第 {} 次尝试失败: {}, {}ms 后重试, 原因: {}", attempt.number, request.getTaskName(), nextDelay, message);
+                startAfter(nextDelay);
+            } else {
+                finish(status, null, message);
+            }
+        }
+
+        private void onCancel() {
+            HashedTimerWheel.Timeout pending = pendingStart;
+            if (pending != null) {
+                pending.cancel();
+            }
+            Attempt attempt = current;
+            if (attempt != null && attempt.abort()) {
+                attempts.add(attempt.record(TaskStatus.CANCELLED, "任务被取消", false, null));
+            }
+        }
+
+        private void finish(TaskStatus status, Object data, String errorMessage) {
+            finish(status, data, errorMessage, null);
+        }
+
+        /**
+         * @param cause 导致任务结束的异常，其堆栈写入结果的 stackTrace
+         */
+        private void finish(TaskStatus status, Object data, String errorMessage, Throwable cause) {
+            List<TaskAttempt> history = new ArrayList<>(attempts);
+            LocalDateTime now = LocalDateTime.now();
+            TaskAttempt first = history.isEmpty() ? null : history.get(0);
+            TaskAttempt last = history.isEmpty() ? null : history.get(history.size() - 1);
+            LocalDateTime startTime = first != null ? first.getStartTime() : now;
+            TaskResult result = TaskResult.builder()
+                .taskId(taskId)
+                .taskName(request.getTaskName())
+                .taskType(request.getTaskType())
+                .status(status)
+                .data(data)
+                .startTime(startTime)
+                .endTime(now)
+                .duration(Duration.between(startTime, now).toMillis())
+                .threadName(last != null ? last.getThreadName() : null)
+                .errorMessage(errorMessage)
+                .stackTrace(cause != null ? stackTraceOf(cause) : null)
+                .retryCount(Math.max(history.size() - 1, 0))
+                .attempts(history)
+                .priority(request.getPriority())
+                .tags(request.getTags())
+                .build();
+            future.complete(result);
+        }
+    }
+
+    private static String stackTraceOf(Throwable t) {
+        StringWriter writer = new StringWriter();
+        t.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+
+    /**
+     * 一次尝试的执行状态；超时 / 取消与正常结束通过同一把锁决出胜负，
+     * 保证中断只会发给仍在执行本次尝试的线程
+     */
+    private static final class Attempt {
+        private static final int RUNNING = 0;
+        private static final int DONE = 1;
+        private static final int ABORTED = 2;
+
+        final int number;
+        final LocalDateTime startTime = LocalDateTime.now();
+        final long startNanos = System.nanoTime();
+        final String threadName = Thread.currentThread().getName();
+        private Thread runner = Thread.currentThread();
+        private int state = RUNNING;
+        volatile HashedTimerWheel.Timeout deadline;
+
+        Attempt(int number) {
+            this.number = number;
+        }
+
+        /** 执行线程调用：正常结束返回 true；已被中止则清除中止带来的中断标志并返回 false */
+        synchronized boolean finish() {
+            runner = null;
+            if (state == RUNNING) {
+                state = DONE;
+                return true;
+            }
+            Thread.interrupted();
+            return false;
+        }
+
+        /** 超时或取消时调用：仍在执行则中断执行线程并返回 true */
+        synchronized boolean abort() {
+            if (state != RUNNING) {
+                return false;
+            }
+            state = ABORTED;
+            runner.interrupt();
+            return true;
+        }
+
+        TaskAttempt record(TaskStatus status, String errorMessage, boolean timedOut, Long nextRetryDelayMs) {
+            return TaskAttempt.builder()
+                .attempt(number)
+                .status(status)
+                .startTime(startTime)
+                .endTime(LocalDateTime.now())
+                .duration(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                .threadName(threadName)
+                .errorMessage(errorMessage)
+                .timedOut(timedOut)
+                .nextRetryDelayMs(nextRetryDelayMs)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package com.example.treaconcurrent.executor;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskDecorator;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+
+/**
+ * 线程池遥测：按固定间隔采样 ThreadPoolExecutor 的运行指标，保存为时间序列
+ *
+ * 说明：
+ * - 作为 Spring 的 TaskDecorator 包装每个任务，记录提交、开始、结束时间，得到排队时间与执行时间；
+ * - {@link #countRejections(RejectedExecutionHandler)} 包装拒绝策略，统计拒绝次数后再交给原策略处理；
+ * - 每个采样周期生成一个 {@link PoolSample}：线程数、活跃线程数、队列深度、队首任务已等待时间、
+ *   本周期提交 / 完成 / 拒绝数、平均 / 最大排队与执行时间、进程 CPU 使用率；
+ *   最近 historySize 个样本保存在内存中，并推送给监听器（例如 {@link AdaptivePoolController}）；
+ * - 未经过 decorate 的任务（直接提交给 ThreadPoolExecutor）只计入线程与队列指标，不计入时间指标。
+ *
+ * 用法示例：
+ * <pre>
+ * ThreadPoolTelemetry telemetry = ThreadPoolTelemetry.builder().name("customTaskExecutor").build();
+ * taskExecutor.setTaskDecorator(telemetry);
+ * taskExecutor.setRejectedExecutionHandler(telemetry.countRejections(new ThreadPoolExecutor.CallerRunsPolicy()));
+ * taskExecutor.initialize();
+ * telemetry.monitor(taskExecutor.getThreadPoolExecutor());
+ * </pre>
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+public final class ThreadPoolTelemetry implements TaskDecorator, AutoCloseable {
+
+    private final String name;
+    private final Duration sampleInterval;
+    private final int historySize;
+    private final DoubleSupplier cpuUsage;
+
+    private final ArrayDeque<PoolSample> history = new ArrayDeque<>();
+    private final List<Consumer<PoolSample>> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService sampler;
+
+    /** 当前周期内的累计值，采样时清零 */
+    private final LongAdder waitCount = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder runCount = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final LongAccumulator maxRunNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalRejected = new LongAdder();
+
+    private volatile ThreadPoolExecutor executor;
+    private long lastSampleNanos;
+    private long lastTaskCount;
+    private long lastCompletedCount;
+
+    private ThreadPoolTelemetry(Builder builder) {
+        this.name = builder.name;
+        this.sampleInterval = builder.sampleInterval;
+        this.historySize = builder.historySize;
+        this.cpuUsage = builder.cpuUsage;
+        String threadName = "pool-telemetry-" + name;
+        this.sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 构建器
+     */
+    public static final class Builder {
+        private String name = "default";
+        private Duration sampleInterval = Duration.ofSeconds(1);
+        private int historySize = 300;
+        private DoubleSupplier cpuUsage = ThreadPoolTelemetry::processCpuLoad;
+
+        private Builder() {
+        }
+
+        /** 线程池名称，用于采样线程名与日志 */
+        public Builder name(String name) {
+            this.name = Objects.requireNonNull(name, "name");
+            return this;
+        }
+
+        /** 采样间隔，默认 1 秒 */
+        public Builder sampleInterval(Duration sampleInterval) {
+            if (sampleInterval == null || sampleInterval.toMillis() < 1) {
+                throw new IllegalArgumentException("采样间隔至少为 1ms: " + sampleInterval);
+            }
+            this.sampleInterval = sampleInterval;
+            return this;
+        }
+
+        /** 保留的样本数，默认 300（1 秒间隔时约 5 分钟） */
+        public Builder historySize(int historySize) {
+            if (historySize <= 0) {
+                throw new IllegalArgumentException("样本数必须大于0: " + historySize);
+            }
+            this.historySize = historySize;
+            return this;
+        }
+
+        /** CPU 使用率来源（0.0-1.0，未知时返回 NaN），默认为进程 CPU 使用率 */
+        public Builder cpuUsage(DoubleSupplier cpuUsage) {
+            this.cpuUsage = Objects.requireNonNull(cpuUsage, "cpuUsage");
+            return this;
+        }
+
+        public ThreadPoolTelemetry build() {
+            return new ThreadPoolTelemetry(this);
+        }
+    }
+
+    /**
+     * 开始监控线程池并按 sampleInterval 定期采样，只能调用一次
+     */
+    public synchronized void monitor(ThreadPoolExecutor executor) {
+        Objects.requireNonNull(executor, "executor");
+        if (this.executor != null) {
+            throw new IllegalStateException("已经在监控线程池: " + name);
+        }
+        this.executor = executor;
+        this.lastSampleNanos = System.nanoTime();
+        this.lastTaskCount = executor.getTaskCount();
+        this.lastCompletedCount = executor.getCompletedTaskCount();
+        long interval = sampleInterval.toMillis();
+        sampler.scheduleAtFixedRate(this::sampleQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("开始监控线程池 {}，采样间隔: {}ms", name, interval);
+    }
+
+    /**
+     * 包装任务，记录排队时间与执行时间
+     */
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return new TimedTask(runnable, System.nanoTime());
+    }
+
+    /**
+     * 包装拒绝策略：先计数，再交给原策略处理
+     */
+    public RejectedExecutionHandler countRejections(RejectedExecutionHandler delegate) {
+        Objects.requireNonNull(delegate, "delegate");
+        return (task, pool) -> {
+            rejected.increment();
+            totalRejected.increment();
+            delegate.rejectedExecution(task, pool);
+        };
+    }
+
+    /**
+     * 立即采样一次（定时采样也调用此方法），并通知监听器
+     */
+    public synchronized PoolSample sample() {
+        ThreadPoolExecutor pool = executor;
+        if (pool == null) {
+            throw new IllegalStateException("尚未调用 monitor: " + name);
+        }
+        long now = System.nanoTime();
+        long taskCount = pool.getTaskCount();
+        long completedCount = pool.getCompletedTaskCount();
+        long waits = waitCount.sumThenReset();
+        long runs = runCount.sumThenReset();
+
+        PoolSample sample = new PoolSample();
+        sample.setTimestamp(LocalDateTime.now());
+        sample.setIntervalMs(nanosToMillis(now - lastSampleNanos));
+        sample.setPoolSize(pool.getPoolSize());
+        sample.setCorePoolSize(pool.getCorePoolSize());
+        sample.setMaximumPoolSize(pool.getMaximumPoolSize());
+        sample.setActiveCount(pool.getActiveCount());
+        sample.setQueueDepth(pool.getQueue().size());
+        sample.setHeadWaitMs(headWaitMillis(pool, now));
+        sample.setSubmitted(taskCount - lastTaskCount);
+        sample.setCompleted(completedCount - lastCompletedCount);
+        sample.setRejected(rejected.sumThenReset());
+        sample.setAvgWaitMs(waits == 0 ? 0 : nanosToMillis(waitNanos.sumThenReset()) / waits);
+        sample.setMaxWaitMs(nanosToMillis(maxWaitNanos.getThenReset()));
+        sample.setAvgRunMs(runs == 0 ? 0 : nanosToMillis(runNanos.sumThenReset()) / runs);
+        sample.setMaxRunMs(nanosToMillis(maxRunNanos.getThenReset()));
+        sample.setCpuUsage(cpuUsage.getAsDouble());
+
+        lastSampleNanos = now;
+        lastTaskCount = taskCount;
+        lastCompletedCount = completedCount;
+        history.addLast(sample);
+        while (history.size() > historySize) {
+            history.removeFirst();
+        }
+        for (Consumer<PoolSample> listener : listeners) {
+            try {
+                listener.accept(sample);
+            } catch (RuntimeException e) {
+                log.warn("线程池 {} 的采样监听器异常", name, e);
+            }
+        }
+        return sample;
+    }
+
+    /**
+     * 注册采样监听器，每个样本在采样线程中回调
+     */
+    public void addListener(Consumer<PoolSample> listener) {
+        listeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    public void removeListener(Consumer<PoolSample> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 最近的样本（按时间升序）
+     */
+    public synchronized List<PoolSample> getSamples() {
+        return new ArrayList<>(history);
+    }
+
+    /**
+     * 最新样本，尚未采样时返回 null
+     */
+    public synchronized PoolSample getLatest() {
+        return history.peekLast();
+    }
+
+    /** 累计拒绝次数 */
+    public long getRejectedCount() {
+        return totalRejected.sum();
+    }
+
+    public ThreadPoolExecutor getExecutor() {
+        return executor;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 停止采样（不关闭被监控的线程池）
+     */
+    @Override
+    public void close() {
+        sampler.shutdownNow();
+    }
+
+    /**
+     * 进程 CPU 使用率（0.0-1.0），JVM 不支持时返回 NaN
+     */
+    public static double processCpuLoad() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            double load = ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuLoad();
+            return load < 0 ? Double.NaN : load;
+        }
+        return Double.NaN;
+    }
+
+    private void sampleQuietly() {
+        try {
+            sample();
+        } catch (RuntimeException e) {
+            // 定时任务抛出异常后不会再执行，这里只记录日志
+            log.warn("线程池 {} 采样异常", name, e);
+        }
+    }
+
+    private static double headWaitMillis(ThreadPoolExecutor pool, long now) {
+        Runnable head = pool.getQueue().peek();
+        return head instanceof TimedTask ? nanosToMillis(now - ((TimedTask) head).submitNanos) : 0;
+    }
+
+    private static double nanosToMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * 带时间记录的任务包装
+     */
+    private final class TimedTask implements Runnable {
+        private final Runnable task;
+        private final long submitNanos;
+
+        TimedTask(Runnable task, long submitNanos) {
+            this.task = task;
+            this.submitNanos = submitNanos;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            long wait = start - submitNanos;
+            waitCount.increment();
+            waitNanos.add(wait);
+            maxWaitNanos.accumulate(wait);
+            try {
+                task.run();
+            } finally {
+                long run = System.nanoTime() - start;
+                runCount.increment();
+                runNanos.add(run);
+                maxRunNanos.accumulate(run);
+            }
+        }
+    }
+
+    /**
+     * 单个采样周期的线程池指标
+     */
+    @Data
+    public static class PoolSample {
+        /** 采样时间 */
+        private LocalDateTime timestamp;
+        /** 距上次采样的时间（毫秒） */
+        private double intervalMs;
+        /** 当前线程数 */
+        private int poolSize;
+        /** 核心线程数 */
+        private int corePoolSize;
+        /** 最大线程数 */
+        private int maximumPoolSize;
+        /** 正在执行任务的线程数 */
+        private int activeCount;
+        /** 队列深度 */
+        private int queueDepth;
+        /** 队首任务已等待时间（毫秒），反映尚未开始执行的积压 */
+        private double headWaitMs;
+        /** 本周期提交数 */
+        private long submitted;
+        /** 本周期完成数 */
+        private long completed;
+        /** 本周期拒绝数 */
+        private long rejected;
+        /** 本周期开始执行的任务的平均排队时间（毫秒） */
+        private double avgWaitMs;
+        /** 本周期最大排队时间（毫秒） */
+        private double maxWaitMs;
+        /** 本周期结束的任务的平均执行时间（毫秒） */
+        private double avgRunMs;
+        /** 本周期最大执行时间（毫秒） */
+        private double maxRunMs;
+        /** 进程 CPU 使用率（0.0-1.0，未知时为 NaN） */
+        private double cpuUsage;
+
+        /**
+         * 排队延迟：已开始任务的平均排队时间与队首积压时间中的较大值
+         */
+        public double getQueueLatencyMs() {
+            return Math.max(avgWaitMs, headWaitMs);
+        }
+
+        /**
+         * 到达速率（任务/秒）
+         */
+        public double getArrivalRate() {
+            return intervalMs <= 0 ? 0 : submitted * 1000.0 / intervalMs;
+        }
+    }
+}
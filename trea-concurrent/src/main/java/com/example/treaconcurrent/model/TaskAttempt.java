@@ -0,0 +1,68 @@
+package com.example.treaconcurrent.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 单次执行尝试的记录
+ * 任务启用重试时，每次执行（含首次）都会生成一条记录，按顺序保存在 TaskResult.attempts 中
+ *
+ * @author SOLO Coding
+ * @since 2024-01-20
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskAttempt {
+
+    /**
+     * 第几次尝试（从1开始）
+     */
+    private Integer attempt;
+
+    /**
+     * 本次尝试的结果：COMPLETED、FAILED，超时或被取消时为 CANCELLED
+     */
+    private TaskStatus status;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间（超时时为超时判定的时间）
+     */
+    private LocalDateTime endTime;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private Long duration;
+
+    /**
+     * 执行线程名称
+     */
+    private String threadName;
+
+    /**
+     * 错误信息
+     */
+    private String errorMessage;
+
+    /**
+     * 是否因超过 timeoutMs 被取消
+     */
+    @Builder.Default
+    private Boolean timedOut = false;
+
+    /**
+     * 距离下一次重试的等待时间（毫秒），不再重试时为 null
+     */
+    private Long nextRetryDelayMs;
+}
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 
@@ -89,6 +91,12 @@ public class TaskResult {
     @Builder.Default
     private Integer retryCount = 0;
     
+    /**
+     * 每次执行尝试的记录（按尝试顺序）
+     */
+    @Builder.Default
+    private List<TaskAttempt> attempts = new ArrayList<>();
+    
     /**
      * 任务优先级
      */
@@ -0,0 +1,104 @@
+package com.example.treaconcurrent.async;
+
+import com.example.treaconcurrent.executor.BlockingTaskExecutor;
+import com.example.treaconcurrent.executor.ExecutorMode;
+import com.example.treaconcurrent.model.TaskRequest;
+import com.example.treaconcurrent.model.TaskResult;
+import com.example.treaconcurrent.model.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AsyncTaskServiceImpl 负载测试
+ * 在每种执行模式下同时发起 10000 个 processTaskAsync 调用（每个任务阻塞 5ms）
+ * 只断言完成数与峰值并发；吞吐量依赖机器核数与负载，仅记录到日志供对比
+ * 
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+@SpringBootTest
+class AsyncTaskServiceLoadTest {
+
+    private static final int CALLS = 10_000;
+    private static final int EXECUTION_TIME_MS = 5;
+    private static final int MAX_CONCURRENCY = 512;
+
+    @Autowired
+    private AsyncTaskServiceImpl injectedService;
+
+    @Test
+    @DisplayName("Spring 注入共享的阻塞任务执行器")
+    void testInjectedExecutor() {
+        BlockingTaskExecutor executor = injectedService.getAsyncExecutor();
+        assertEquals(ExecutorMode.AUTO, executor.getRequestedMode());
+        assertEquals(BlockingTaskExecutor.resolve(ExecutorMode.AUTO), executor.getEffectiveMode());
+        assertEquals(256, executor.getMaxConcurrency());
+    }
+
+    @Test
+    @DisplayName("10000 个并发 processTaskAsync 调用：各执行模式全部完成且不超过并发上限")
+    void testThroughputByMode() {
+        List<ExecutorMode> modes = new ArrayList<>(List.of(ExecutorMode.FIXED, ExecutorMode.ELASTIC));
+        if (BlockingTaskExecutor.isVirtualThreadSupported()) {
+            modes.add(ExecutorMode.VIRTUAL);
+        } else {
+            log.info("当前 JVM 不支持虚拟线程，跳过 VIRTUAL 模式");
+        }
+
+        Map<ExecutorMode, Double> throughput = new LinkedHashMap<>();
+        for (ExecutorMode mode : modes) {
+            BlockingTaskExecutor executor = BlockingTaskExecutor.builder()
+                    .mode(mode)
+                    .maxConcurrency(MAX_CONCURRENCY)
+                    .threadNamePrefix("load-" + mode.name().toLowerCase())
+                    .build();
+            AsyncTaskServiceImpl service = new AsyncTaskServiceImpl(executor);
+            try {
+                throughput.put(mode, runLoad(service, executor));
+            } finally {
+                service.shutdown();
+                executor.close();
+            }
+        }
+
+        // FIXED 受 8 个线程限制，理论上限约 8 / 5ms = 1600 次/秒；其余模式受并发上限 512 限制
+        throughput.forEach((mode, value) -> log.info("模式 {}: {} 次/秒", mode, String.format("%.0f", value)));
+    }
+
+    private double runLoad(AsyncTaskServiceImpl service, BlockingTaskExecutor executor) {
+        long start = System.nanoTime();
+        List<CompletableFuture<TaskResult>> futures = new ArrayList<>(CALLS);
+        for (int i = 0; i < CALLS; i++) {
+            TaskRequest request = TaskRequest.builder()
+                    .taskName("load-" + i)
+                    .taskType("IO")
+                    .build()
+                    .addParameter("executionTimeMs", EXECUTION_TIME_MS);
+            futures.add(service.processTaskAsync(request));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long completed = futures.stream().map(CompletableFuture::join)
+                .filter(r -> r.getStatus() == TaskStatus.COMPLETED).count();
+        assertEquals(CALLS, completed);
+        assertTrue(executor.getPeakConcurrency() > 0);
+        assertTrue(executor.getPeakConcurrency() <= executor.getParallelism(),
+                executor.getEffectiveMode() + " 峰值并发超过上限: " + executor.getPeakConcurrency());
+        log.info("{}: {} 个调用耗时 {} 秒，峰值并发 {}", executor.getEffectiveMode(), CALLS,
+                String.format("%.2f", seconds), executor.getPeakConcurrency());
+        return CALLS / seconds;
+    }
+}
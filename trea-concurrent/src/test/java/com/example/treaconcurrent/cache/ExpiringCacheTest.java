@@ -0,0 +1,150 @@
+package com.example.treaconcurrent.cache;
+
+import com.example.treaconcurrent.async.AsyncTaskServiceImpl;
+import com.example.treaconcurrent.executor.BlockingTaskExecutor;
+import com.example.treaconcurrent.executor.ExecutorMode;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExpiringCache 功能测试类
+ * 验证容量淘汰、过期清理、统计指标以及异步服务中的同步命中路径
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+class ExpiringCacheTest {
+
+    @Test
+    @DisplayName("读取、覆盖写入与删除")
+    void testBasicOperations() {
+        try (ExpiringCache<String, String> cache = ExpiringCache.<String, String>builder().build()) {
+            assertNull(cache.get("a"));
+            cache.put("a", "1");
+            cache.put("a", "2");
+            assertEquals("2", cache.get("a"));
+            assertEquals(1, cache.size());
+            assertTrue(cache.remove("a"));
+            assertFalse(cache.remove("a"));
+            assertNull(cache.get("a"));
+
+            ExpiringCache.CacheStats stats = cache.stats();
+            assertEquals(1, stats.getHits());
+            assertEquals(2, stats.getMisses());
+            assertEquals(2, stats.getPuts());
+            assertEquals(1.0 / 3, stats.getHitRate(), 1e-9);
+            assertThrows(IllegalArgumentException.class, () -> cache.put("b", "1", Duration.ZERO));
+            assertThrows(NullPointerException.class, () -> cache.put("b", null));
+        }
+    }
+
+    @Test
+    @DisplayName("条目数不超过上限，最近读过的条目优先保留")
+    void testBoundedEviction() {
+        try (ExpiringCache<Integer, Integer> cache = ExpiringCache.<Integer, Integer>builder().maximumSize(100).build()) {
+            for (int i = 0; i < 100; i++) {
+                cache.put(i, i);
+            }
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i, cache.get(i));
+            }
+            for (int i = 100; i < 150; i++) {
+                cache.put(i, i);
+            }
+            assertEquals(100, cache.size());
+            assertEquals(50, cache.stats().getEvictions());
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i, cache.get(i), "最近读过的条目被淘汰: " + i);
+            }
+            assertNull(cache.get(10));
+            assertEquals(149, cache.get(149));
+        }
+    }
+
+    @Test
+    @DisplayName("过期条目在读取时失效，并由后台线程清理")
+    void testExpiry() throws Exception {
+        try (ExpiringCache<String, String> cache = ExpiringCache.<String, String>builder()
+                .sweepInterval(Duration.ofMillis(20))
+                .build()) {
+            cache.put("short", "v", Duration.ofMillis(50));
+            cache.put("long", "v", Duration.ofMinutes(1));
+            for (int i = 0; i < 100; i++) {
+                cache.put("bulk-" + i, "v", Duration.ofMillis(50));
+            }
+            assertEquals("v", cache.get("short"));
+
+            Thread.sleep(300);
+            // 不读取也会被后台线程清理
+            assertEquals(1, cache.size());
+            assertNull(cache.get("short"));
+            assertEquals("v", cache.get("long"));
+            assertEquals(101, cache.stats().getExpirations());
+            assertEquals(0, cache.stats().getEvictions());
+        }
+    }
+
+    @Test
+    @DisplayName("并发写入后条目数不超过上限")
+    void testConcurrentPuts() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try (ExpiringCache<Integer, Integer> cache = ExpiringCache.<Integer, Integer>builder().maximumSize(500).build()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int base = t * 10_000;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        cache.put(base + i % 2_000, i);
+                        cache.get(base + (i * 7) % 2_000);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            ExpiringCache.CacheStats stats = cache.stats();
+            log.info("并发写入统计: {}", stats);
+            assertTrue(stats.getSize() <= 500, "条目数超过上限: " + stats.getSize());
+            assertEquals(20_000, stats.getPuts());
+            assertEquals(20_000, stats.getHits() + stats.getMisses());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("异步服务：命中同步返回，未命中才异步回源")
+    void testServiceFastPath() {
+        BlockingTaskExecutor executor = BlockingTaskExecutor.builder().mode(ExecutorMode.FIXED).fixedThreads(2).build();
+        AsyncTaskServiceImpl service = new AsyncTaskServiceImpl(executor);
+        try {
+            assertTrue(service.setCacheAsync("k", "v", 60).join());
+            assertFalse(service.setCacheAsync("k2", "v", 0).join());
+
+            CompletableFuture<String> hit = service.getCacheAsync("k");
+            assertTrue(hit.isDone(), "命中应同步完成");
+            assertEquals("v", hit.join());
+
+            assertNull(service.getCacheAsync("missing").join());
+            ExpiringCache.CacheStats stats = service.getCacheStats();
+            assertEquals(1, stats.getHits());
+            assertEquals(1, stats.getMisses());
+            assertEquals(1, stats.getSize());
+        } finally {
+            service.shutdown();
+            executor.close();
+        }
+    }
+}
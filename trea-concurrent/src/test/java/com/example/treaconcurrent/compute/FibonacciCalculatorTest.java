@@ -0,0 +1,96 @@
+package com.example.treaconcurrent.compute;
+
+import com.example.treaconcurrent.async.AsyncTaskServiceImpl;
+import com.example.treaconcurrent.executor.BlockingTaskExecutor;
+import com.example.treaconcurrent.executor.CpuTaskExecutor;
+import com.example.treaconcurrent.executor.ExecutorMode;
+import com.example.treaconcurrent.model.TaskRequest;
+import com.example.treaconcurrent.model.TaskResult;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FibonacciCalculator 功能测试类
+ * 验证共享缓存（single-flight、淘汰）以及计算任务与 I/O 执行器的隔离
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+class FibonacciCalculatorTest {
+
+    @Test
+    @DisplayName("同一个 n 的并发请求只计算一次，调用方取消不影响缓存")
+    void testSingleFlightCache() {
+        try (CpuTaskExecutor cpuExecutor = CpuTaskExecutor.builder().parallelism(2).build()) {
+            FibonacciCalculator calculator = new FibonacciCalculator(cpuExecutor);
+            List<CompletableFuture<BigInteger>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(calculator.fibonacciBigAsync(200_000));
+            }
+            futures.get(0).cancel(true);
+            BigInteger expected = Fibonacci.fibonacciBig(200_000);
+            for (int i = 1; i < futures.size(); i++) {
+                assertEquals(expected, futures.get(i).join());
+            }
+            assertEquals(expected, calculator.fibonacciBigAsync(200_000).join());
+            assertEquals(1, calculator.getCacheMisses());
+            assertEquals(10, calculator.getCacheHits());
+            assertEquals(1, calculator.getCacheSize());
+
+            // n <= 92 不经过缓存
+            assertEquals(BigInteger.valueOf(Fibonacci.fibonacci(92)), calculator.fibonacciBigAsync(92).join());
+            assertEquals(1, calculator.getCacheSize());
+            assertThrows(CompletionException.class, () -> calculator.fibonacciBigAsync(-1).join());
+        }
+    }
+
+    @Test
+    @DisplayName("缓存条目数不超过上限")
+    void testEviction() {
+        try (CpuTaskExecutor cpuExecutor = CpuTaskExecutor.builder().parallelism(1).build()) {
+            FibonacciCalculator calculator = new FibonacciCalculator(cpuExecutor, 3);
+            for (int n = 100; n < 110; n++) {
+                calculator.fibonacciBigAsync(n).join();
+            }
+            assertTrue(calculator.getCacheSize() <= 3, "缓存条目数: " + calculator.getCacheSize());
+            assertEquals(Fibonacci.fibonacciBig(105), calculator.fibonacciBigAsync(105).join());
+        }
+    }
+
+    @Test
+    @DisplayName("calculateFibonacciAsync 为 O(1)，递归基准在独立的 ForkJoinPool 中执行，不阻塞 I/O 任务")
+    void testServiceIsolation() {
+        try (BlockingTaskExecutor blocking = BlockingTaskExecutor.builder()
+                .mode(ExecutorMode.FIXED).fixedThreads(1).build()) {
+            AsyncTaskServiceImpl service = new AsyncTaskServiceImpl(blocking);
+            long start = System.nanoTime();
+            assertEquals(1134903170L, service.calculateFibonacciAsync(45).join());
+            assertTrue((System.nanoTime() - start) / 1_000_000 < 1_000);
+            CompletionException overflow = assertThrows(CompletionException.class,
+                    () -> service.calculateFibonacciAsync(93).join());
+            assertTrue(overflow.getCause() instanceof ArithmeticException);
+            assertEquals(Fibonacci.fibonacciBig(93), service.calculateFibonacciBigAsync(93).join());
+
+            // 递归基准占用计算线程期间，唯一的 I/O 线程仍能处理任务
+            CompletableFuture<Long> canary = service.calculateFibonacciRecursiveAsync(36);
+            TaskRequest request = TaskRequest.builder().taskName("io").taskType("IO").build();
+            request.addParameter("executionTimeMs", 10);
+            TaskResult io = service.processTaskAsync(request).join();
+            log.info("递归基准进行中: {}, I/O 任务线程: {}", !canary.isDone(), io.getThreadName());
+            assertTrue(io.isSuccess());
+            assertFalse(io.getThreadName().startsWith("cpu-task"));
+            assertEquals(Fibonacci.fibonacci(36), canary.join());
+            service.shutdown();
+        }
+    }
+}
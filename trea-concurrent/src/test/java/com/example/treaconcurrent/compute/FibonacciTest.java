@@ -0,0 +1,85 @@
+package com.example.treaconcurrent.compute;
+
+import com.example.treaconcurrent.executor.CpuTaskExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fibonacci 与 FibonacciTask 功能测试类
+ * 验证查表、快速倍增（含并行乘法）与分治递归的结果
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+class FibonacciTest {
+
+    @Test
+    @DisplayName("long 查表覆盖 F(0) 到 F(92)，超出范围抛出异常")
+    void testLongRange() {
+        BigInteger a = BigInteger.ZERO;
+        BigInteger b = BigInteger.ONE;
+        for (int n = 0; n <= Fibonacci.MAX_LONG_INDEX; n++) {
+            assertEquals(a.longValueExact(), Fibonacci.fibonacci(n), "F(" + n + ")");
+            BigInteger next = a.add(b);
+            a = b;
+            b = next;
+        }
+        assertEquals(7540113804746346429L, Fibonacci.fibonacci(92));
+        assertThrows(ArithmeticException.class, () -> Fibonacci.fibonacci(93));
+        assertThrows(IllegalArgumentException.class, () -> Fibonacci.fibonacci(-1));
+        assertEquals(Fibonacci.fibonacci(30), Fibonacci.naiveRecursive(30));
+    }
+
+    @Test
+    @DisplayName("快速倍增与逐项相加结果一致")
+    void testFastDoubling() {
+        BigInteger a = BigInteger.ZERO;
+        BigInteger b = BigInteger.ONE;
+        for (int n = 0; n <= 5_000; n++) {
+            if (n % 97 == 0 || n > 4_990) {
+                assertEquals(a, Fibonacci.fibonacciBig(n), "F(" + n + ")");
+            }
+            BigInteger next = a.add(b);
+            a = b;
+            b = next;
+        }
+    }
+
+    @Test
+    @DisplayName("在 ForkJoinPool 中并行乘法的结果与顺序计算一致")
+    void testParallelFastDoubling() {
+        int n = 400_000;
+        long start = System.nanoTime();
+        BigInteger sequential = Fibonacci.fibonacciBig(n);
+        long sequentialMs = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(sequential.bitLength() > 4 * Fibonacci.PARALLEL_THRESHOLD_BITS);
+
+        try (CpuTaskExecutor cpuExecutor = CpuTaskExecutor.builder().parallelism(2).build()) {
+            start = System.nanoTime();
+            BigInteger parallel = cpuExecutor.supplyAsync(() -> Fibonacci.fibonacciBig(n)).join();
+            long parallelMs = (System.nanoTime() - start) / 1_000_000;
+            log.info("F({}) 共 {} 位，顺序 {}ms，并行 {}ms，窃取次数 {}",
+                    n, sequential.bitLength(), sequentialMs, parallelMs, cpuExecutor.getStealCount());
+            assertEquals(sequential, parallel);
+        }
+    }
+
+    @Test
+    @DisplayName("分治递归任务在顺序阈值以下顺序计算，结果正确")
+    void testFibonacciTask() {
+        try (CpuTaskExecutor cpuExecutor = CpuTaskExecutor.builder().parallelism(2).build()) {
+            assertEquals(Fibonacci.fibonacci(32), cpuExecutor.submit(new FibonacciTask(32, 15)).join());
+            assertEquals(Fibonacci.fibonacci(20), cpuExecutor.submit(new FibonacciTask(20)).join());
+            assertEquals(0L, cpuExecutor.submit(new FibonacciTask(0, 1)).join());
+            log.info("分治递归后的执行器状态: {}", cpuExecutor);
+        }
+        assertThrows(ArithmeticException.class, () -> new FibonacciTask(93));
+        assertThrows(IllegalArgumentException.class, () -> new FibonacciTask(10, 0));
+    }
+}
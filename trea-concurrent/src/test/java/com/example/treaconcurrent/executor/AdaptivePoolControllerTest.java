@@ -0,0 +1,194 @@
+package com.example.treaconcurrent.executor;
+
+import com.example.treaconcurrent.executor.ThreadPoolTelemetry.PoolSample;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AdaptivePoolController 功能测试类
+ * 通过负载模拟验证：排队延迟升高时扩容、空闲时缩容、CPU 使用率过高时不扩容
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+class AdaptivePoolControllerTest {
+
+    /** 每个任务的执行时间（毫秒），模拟 I/O 等待 */
+    private static final long TASK_MILLIS = 20;
+
+    @Test
+    @DisplayName("负载模拟：排队延迟升高时扩容，负载消失后缩容到下限")
+    void testScaleUpAndDown() throws Exception {
+        ThreadPoolTelemetry telemetry = ThreadPoolTelemetry.builder()
+                .name("adaptive")
+                .sampleInterval(Duration.ofHours(1))
+                .cpuUsage(() -> 0.2)
+                .build();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 2, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        try (AdaptivePoolController controller = AdaptivePoolController.builder()
+                .telemetry(telemetry)
+                .minThreads(1)
+                .maxThreads(16)
+                .scaleUpSamples(2)
+                .scaleDownSamples(3)
+                .cooldownSamples(1)
+                .build()) {
+            telemetry.monitor(pool);
+
+            // 约 200 个任务/秒 × 20ms，需要约 4 个忙碌线程，初始只有 1 个核心线程
+            double peakLatency = 0;
+            for (int round = 0; round < 30; round++) {
+                simulateLoad(telemetry, pool, 100, 200);
+                PoolSample sample = telemetry.sample();
+                peakLatency = Math.max(peakLatency, sample.getQueueLatencyMs());
+                log.info("负载样本: core={}, active={}, queue={}, latency={}ms, arrival={}/s",
+                        sample.getCorePoolSize(), sample.getActiveCount(), sample.getQueueDepth(),
+                        Math.round(sample.getQueueLatencyMs()), Math.round(sample.getArrivalRate()));
+            }
+            int scaledCore = pool.getCorePoolSize();
+            log.info("扩容后核心线程数: {}, 最大线程数: {}, 最近调整: {}",
+                    scaledCore, pool.getMaximumPoolSize(), controller.getLastResize());
+            assertTrue(controller.getScaleUpCount() > 0);
+            assertTrue(scaledCore >= 4, "核心线程数: " + scaledCore);
+            assertTrue(scaledCore <= 16);
+            // 保持初始的核心 / 最大线程数差值
+            assertEquals(scaledCore + 1, pool.getMaximumPoolSize());
+            assertTrue(peakLatency >= 50, "峰值排队延迟: " + peakLatency);
+
+            // 负载消失：排队延迟为 0，逐步缩容到下限
+            waitForIdle(pool);
+            for (int round = 0; round < 40 && pool.getCorePoolSize() > 1; round++) {
+                telemetry.sample();
+                Thread.sleep(10);
+            }
+            assertEquals(1, pool.getCorePoolSize());
+            assertEquals(2, pool.getMaximumPoolSize());
+            assertTrue(controller.getScaleDownCount() > 0);
+        } finally {
+            telemetry.close();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("负载模拟：CPU 使用率过高时不扩容")
+    void testHoldWhenCpuBound() throws Exception {
+        ThreadPoolTelemetry telemetry = ThreadPoolTelemetry.builder()
+                .sampleInterval(Duration.ofHours(1))
+                .cpuUsage(() -> 0.95)
+                .build();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        try (AdaptivePoolController controller = AdaptivePoolController.builder()
+                .telemetry(telemetry)
+                .maxThreads(16)
+                .cpuHighWatermark(0.8)
+                .scaleUpSamples(1)
+                .build()) {
+            telemetry.monitor(pool);
+            for (int round = 0; round < 10; round++) {
+                simulateLoad(telemetry, pool, 100, 200);
+                telemetry.sample();
+            }
+            assertEquals(1, pool.getCorePoolSize());
+            assertEquals(0, controller.getScaleUpCount());
+            assertTrue(controller.getHeldByCpuCount() > 0);
+            assertNull(controller.getLastResize());
+        } finally {
+            telemetry.close();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("空闲但估算线程数不低于核心线程数时不缩容，也不计入缩容次数")
+    void testIdleWithoutOversizedPool() {
+        ThreadPoolTelemetry telemetry = ThreadPoolTelemetry.builder()
+                .sampleInterval(Duration.ofHours(1))
+                .build();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(4, 8, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        try (AdaptivePoolController controller = AdaptivePoolController.builder()
+                .telemetry(telemetry)
+                .minThreads(1)
+                .maxThreads(16)
+                .scaleDownSamples(1)
+                .cooldownSamples(0)
+                .build()) {
+            telemetry.monitor(pool);
+            // 375 个任务/秒 × 10ms = 3.75 个忙碌线程，按 75% 目标利用率需要 5 个
+            for (int i = 0; i < 5; i++) {
+                controller.onSample(idleSample(375, 10));
+            }
+            assertEquals(4, pool.getCorePoolSize());
+            assertEquals(0, controller.getScaleDownCount());
+            assertNull(controller.getLastResize());
+
+            // 需要约 2 个线程：按差值的一半缩到 3，再缩到 2 后稳定
+            for (int i = 0; i < 5; i++) {
+                controller.onSample(idleSample(100, 10));
+            }
+            assertEquals(2, pool.getCorePoolSize());
+            assertEquals(2, controller.getScaleDownCount());
+        } finally {
+            telemetry.close();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("参数校验")
+    void testValidation() {
+        try (ThreadPoolTelemetry telemetry = ThreadPoolTelemetry.builder().build()) {
+            assertThrows(IllegalStateException.class, () -> AdaptivePoolController.builder().build());
+            assertThrows(IllegalStateException.class,
+                    () -> AdaptivePoolController.builder().telemetry(telemetry).minThreads(8).maxThreads(4).build());
+            assertThrows(IllegalStateException.class, () -> AdaptivePoolController.builder().telemetry(telemetry)
+                    .scaleUpLatency(Duration.ofMillis(10)).scaleDownLatency(Duration.ofMillis(10)).build());
+            assertThrows(IllegalArgumentException.class, () -> AdaptivePoolController.builder().cpuHighWatermark(1.5));
+        }
+    }
+
+    /**
+     * 在 durationMs 内以每秒 tasksPerSecond 个的速率（每 20ms 一批）提交 TASK_MILLIS 的阻塞任务
+     */
+    private static void simulateLoad(ThreadPoolTelemetry telemetry, ThreadPoolExecutor pool,
+                                     long durationMs, int tasksPerSecond) throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMs);
+        while (System.nanoTime() < end) {
+            for (int i = 0; i < tasksPerSecond / 50; i++) {
+                pool.execute(telemetry.decorate(() -> {
+                    try {
+                        Thread.sleep(TASK_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private static void waitForIdle(ThreadPoolExecutor pool) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while ((pool.getActiveCount() > 0 || !pool.getQueue().isEmpty()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /** 队列为空、没有活跃线程、每秒到达 arrivalRate 个执行 runMs 的任务的样本 */
+    private static PoolSample idleSample(long arrivalRate, double runMs) {
+        PoolSample sample = new PoolSample();
+        sample.setIntervalMs(1000);
+        sample.setSubmitted(arrivalRate);
+        sample.setAvgRunMs(runMs);
+        return sample;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.treaconcurrent.executor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BlockingTaskExecutor 功能测试类
+ * 验证执行模式解析、并发限制与关闭行为
+ * 
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+class BlockingTaskExecutorTest {
+
+    @Test
+    @DisplayName("AUTO 与 VIRTUAL 按 JVM 能力解析")
+    void testModeResolution() {
+        boolean virtual = BlockingTaskExecutor.isVirtualThreadSupported();
+        log.info("虚拟线程支持: {}, java.version: {}", virtual, System.getProperty("java.version"));
+        ExecutorMode expected = virtual ? ExecutorMode.VIRTUAL : ExecutorMode.ELASTIC;
+        assertEquals(expected, BlockingTaskExecutor.resolve(ExecutorMode.AUTO));
+        assertEquals(expected, BlockingTaskExecutor.resolve(ExecutorMode.VIRTUAL));
+        assertEquals(ExecutorMode.FIXED, BlockingTaskExecutor.resolve(ExecutorMode.FIXED));
+
+        try (BlockingTaskExecutor executor = BlockingTaskExecutor.builder().mode(ExecutorMode.VIRTUAL).build()) {
+            assertEquals(ExecutorMode.VIRTUAL, executor.getRequestedMode());
+            assertEquals(expected, executor.getEffectiveMode());
+            assertEquals(42, CompletableFuture.supplyAsync(() -> 42, executor).join());
+        }
+    }
+
+    @Test
+    @DisplayName("并发限制器限制同时执行的任务数")
+    void testConcurrencyLimit() {
+        for (ExecutorMode mode : new ExecutorMode[]{ExecutorMode.ELASTIC, ExecutorMode.VIRTUAL, ExecutorMode.FIXED}) {
+            try (BlockingTaskExecutor executor = BlockingTaskExecutor.builder()
+                    .mode(mode).maxConcurrency(4).fixedThreads(16).build()) {
+                List<CompletableFuture<Void>> futures = new ArrayList<>();
+                for (int i = 0; i < 40; i++) {
+                    futures.add(CompletableFuture.runAsync(() -> sleep(10), executor));
+                }
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+                // future 完成时计数可能尚未更新，关闭（等待任务结束）后再检查
+                executor.close();
+                // FIXED 有 16 个线程，仍然只有 4 个任务同时执行
+                assertEquals(4, executor.getPeakConcurrency(), mode.name());
+                assertEquals(40, executor.getSubmittedCount());
+                assertEquals(40, executor.getCompletedCount());
+                assertEquals(0, executor.getActiveCount());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("close 等待任务结束，之后拒绝新任务")
+    void testClose() throws Exception {
+        BlockingTaskExecutor executor = BlockingTaskExecutor.builder()
+                .mode(ExecutorMode.ELASTIC).shutdownTimeout(Duration.ofSeconds(5)).build();
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> future = CompletableFuture.supplyAsync(() -> {
+            started.countDown();
+            sleep(100);
+            return "done";
+        }, executor);
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        executor.close();
+        assertTrue(executor.isShutdown());
+        assertEquals("done", future.getNow(null));
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+    }
+
+    @Test
+    @DisplayName("构建器参数校验")
+    void testBuilderValidation() {
+        assertThrows(IllegalArgumentException.class, () -> BlockingTaskExecutor.builder().maxConcurrency(0));
+        assertThrows(IllegalArgumentException.class, () -> BlockingTaskExecutor.builder().fixedThreads(-1));
+        assertThrows(IllegalArgumentException.class, () -> BlockingTaskExecutor.builder().queueCapacity(0));
+        assertThrows(IllegalArgumentException.class, () -> BlockingTaskExecutor.builder().keepAlive(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> BlockingTaskExecutor.builder().threadNamePrefix(""));
+        assertThrows(NullPointerException.class, () -> BlockingTaskExecutor.builder().mode(null));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package com.example.treaconcurrent.executor;
+
+import com.example.treaconcurrent.async.AsyncTaskServiceImpl;
+import com.example.treaconcurrent.executor.BoundedBatchExecutor.BatchAbortedException;
+import com.example.treaconcurrent.executor.BoundedBatchExecutor.BatchItem;
+import com.example.treaconcurrent.executor.BoundedBatchExecutor.BatchSummary;
+import com.example.treaconcurrent.model.TaskRequest;
+import com.example.treaconcurrent.model.TaskResult;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BoundedBatchExecutor 功能测试类
+ * 验证窗口上限、完成顺序交付、错误策略、Publisher 背压与服务接入
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+class BoundedBatchExecutorTest {
+
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newScheduledThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("已读取未交付的任务数不超过窗口，结果按完成顺序交付")
+    void testWindowBound() {
+        int total = 2_000;
+        int window = 8;
+        CountingIterator source = new CountingIterator(total);
+        AtomicInteger delivered = new AtomicInteger();
+        AtomicInteger maxOutstanding = new AtomicInteger();
+        List<Long> order = new ArrayList<>();
+
+        BatchSummary summary = BoundedBatchExecutor.builder().window(window).build()
+                .execute(source, (Integer i) -> completeLater(i, i % 4 == 0 ? 3 : 0), (BatchItem<Integer, Integer> item) -> {
+                    maxOutstanding.accumulateAndGet(source.pulled.get() - delivered.get(), Math::max);
+                    delivered.incrementAndGet();
+                    order.add(item.getIndex());
+                }).join();
+
+        log.info("窗口测试汇总: {}, 最大未交付数: {}", summary, maxOutstanding.get());
+        assertEquals(total, summary.getLaunched());
+        assertEquals(total, summary.getSucceeded());
+        assertEquals(total, delivered.get());
+        assertTrue(maxOutstanding.get() <= window, "未交付数超过窗口: " + maxOutstanding.get());
+        assertTrue(summary.getPeakInFlight() <= window);
+        assertNotEquals(order.stream().sorted().collect(Collectors.toList()), order, "应按完成顺序交付");
+    }
+
+    @Test
+    @DisplayName("FAIL_FAST：第一个失败中止批次并取消执行中的任务")
+    void testFailFast() {
+        List<CompletableFuture<Integer>> started = new CopyOnWriteArrayList<>();
+        CompletableFuture<BatchSummary> done = BoundedBatchExecutor.builder()
+                .window(4).errorPolicy(BatchErrorPolicy.FAIL_FAST).build()
+                .execute(new CountingIterator(1_000), (Integer i) -> {
+                    CompletableFuture<Integer> future = i == 2
+                            ? CompletableFuture.failedFuture(new IllegalStateException("第 2 个任务失败"))
+                            : new CompletableFuture<>(); // 其余任务永不完成
+                    started.add(future);
+                    return future;
+                }, item -> { });
+
+        CompletionException error = assertThrows(CompletionException.class, done::join);
+        BatchAbortedException aborted = (BatchAbortedException) error.getCause();
+        BatchSummary summary = aborted.getSummary();
+        log.info("快速失败汇总: {}", summary);
+        assertEquals("第 2 个任务失败", aborted.getCause().getMessage());
+        assertTrue(summary.isAborted());
+        assertEquals(1, summary.getFailed());
+        assertEquals(4, summary.getLaunched(), "中止后不应继续启动");
+        assertEquals(3, summary.getCancelled());
+        assertTrue(started.stream().filter(f -> f != started.get(2)).allMatch(CompletableFuture::isCancelled));
+    }
+
+    @Test
+    @DisplayName("输入迭代器中途抛出异常时中止批次并取消执行中的任务")
+    void testSourceFailure() throws Exception {
+        List<CompletableFuture<Integer>> started = new CopyOnWriteArrayList<>();
+        CompletableFuture<BatchSummary> done = BoundedBatchExecutor.builder().window(4).build()
+                .execute(new FailingIterator(5), (Integer i) -> {
+                    CompletableFuture<Integer> future = i < 3
+                            ? CompletableFuture.completedFuture(i)
+                            : new CompletableFuture<>(); // 其余任务永不完成
+                    started.add(future);
+                    return future;
+                }, item -> { });
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> done.get(5, TimeUnit.SECONDS));
+        BatchAbortedException aborted = (BatchAbortedException) error.getCause();
+        BatchSummary summary = aborted.getSummary();
+        log.info("输入异常汇总: {}", summary);
+        assertEquals("第 5 个输入读取失败", aborted.getCause().getMessage());
+        assertEquals(5, summary.getLaunched());
+        assertEquals(3, summary.getSucceeded());
+        assertEquals(2, summary.getCancelled());
+        assertTrue(started.get(3).isCancelled() && started.get(4).isCancelled());
+
+        // Publisher 同样以 onError 结束
+        CompletableFuture<Throwable> published = new CompletableFuture<>();
+        BoundedBatchExecutor.builder().window(4).build()
+                .publish(() -> new FailingIterator(5), (Integer i) -> CompletableFuture.completedFuture(i))
+                .subscribe(new Flow.Subscriber<>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription s) {
+                        s.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(BatchItem<Integer, Integer> item) {
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        published.complete(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        published.completeExceptionally(new AssertionError("不应正常结束"));
+                    }
+                });
+        Throwable publishedError = published.get(5, TimeUnit.SECONDS);
+        assertTrue(publishedError instanceof BatchAbortedException);
+        assertEquals("第 5 个输入读取失败", publishedError.getCause().getMessage());
+    }
+
+    @Test
+    @DisplayName("COLLECT_ERRORS：失败照常交付，汇总中记录错误")
+    void testCollectErrors() {
+        List<BatchItem<Integer, Integer>> failures = new ArrayList<>();
+        BatchSummary summary = BoundedBatchExecutor.builder().window(16).maxRecordedErrors(3).build()
+                .execute(new CountingIterator(100), (Integer i) -> i % 10 == 0
+                        ? CompletableFuture.<Integer>failedFuture(new IllegalArgumentException("bad " + i))
+                        : completeLater(i, 0), (BatchItem<Integer, Integer> item) -> {
+                    if (!item.isSuccess()) {
+                        failures.add(item);
+                    }
+                }).join();
+
+        assertFalse(summary.isAborted());
+        assertEquals(90, summary.getSucceeded());
+        assertEquals(10, summary.getFailed());
+        assertEquals(10, failures.size());
+        assertEquals(3, summary.getErrors().size());
+        assertTrue(failures.get(0).getError() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    @DisplayName("Publisher：订阅者不 request 时停止读取输入")
+    void testPublisherBackpressure() throws Exception {
+        int window = 4;
+        AtomicInteger pulled = new AtomicInteger();
+        Iterable<Integer> source = () -> {
+            CountingIterator it = new CountingIterator(1_000);
+            it.pulled = pulled;
+            return it;
+        };
+        Flow.Publisher<BatchItem<Integer, Integer>> publisher = BoundedBatchExecutor.builder().window(window).build()
+                .publish(source, (Integer i) -> CompletableFuture.completedFuture(i));
+
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.set(s);
+                s.request(2);
+            }
+
+            @Override
+            public void onNext(BatchItem<Integer, Integer> item) {
+                received.add(item.getResult());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.countDown();
+            }
+        });
+
+        // 交付 2 个后，窗口被待交付结果占满
+        assertEquals(List.of(0, 1), received);
+        assertEquals(2 + window, pulled.get());
+        Thread.sleep(50);
+        assertEquals(2 + window, pulled.get());
+
+        subscription.get().request(Long.MAX_VALUE);
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(1_000, received.size());
+        assertEquals(IntStream.range(0, 1_000).boxed().collect(Collectors.toList()), received);
+    }
+
+    @Test
+    @DisplayName("processBatchTasksAsync 与 streamBatchTasks 只向执行器提交窗口内的任务")
+    void testServiceBatch() {
+        try (BlockingTaskExecutor blocking = BlockingTaskExecutor.builder()
+                .mode(ExecutorMode.FIXED).fixedThreads(2).build();
+             PriorityTaskExecutor priority = PriorityTaskExecutor.builder()
+                .delegate(blocking).parallelism(blocking.getParallelism()).build()) {
+            AsyncTaskServiceImpl service = new AsyncTaskServiceImpl(blocking, priority);
+            List<TaskRequest> requests = IntStream.range(0, 200)
+                    .mapToObj(i -> request("batch-" + i, i % 50 == 49 ? 1 : 0))
+                    .collect(Collectors.toList());
+
+            List<TaskResult> results = service.processBatchTasksAsync(requests).join();
+            assertEquals(200, results.size());
+            assertEquals("batch-0", results.get(0).getTaskName());
+            assertEquals("batch-199", results.get(199).getTaskName());
+            assertEquals(4, results.stream().filter(TaskResult::isFailure).count());
+
+            AtomicInteger maxSubmitted = new AtomicInteger();
+            BatchSummary summary = service.streamBatchTasks(requests.iterator(), BatchErrorPolicy.COLLECT_ERRORS,
+                    item -> maxSubmitted.accumulateAndGet(priority.getQueuedCount() + priority.getRunningCount(), Math::max))
+                    .join();
+            log.info("服务流式批量汇总: {}, 执行器中最多任务数: {}", summary, maxSubmitted.get());
+            assertEquals(196, summary.getSucceeded());
+            assertEquals(4, summary.getFailed());
+            // 窗口为并行度的 2 倍；已完成 Future 的任务在线程退出前仍计入 running，最多多出并行度个
+            assertTrue(maxSubmitted.get() <= 4 + blocking.getParallelism(), "窗口为并行度的 2 倍: " + maxSubmitted.get());
+
+            CompletionException error = assertThrows(CompletionException.class, () -> service.streamBatchTasks(
+                    requests.iterator(), BatchErrorPolicy.FAIL_FAST, item -> { }).join());
+            assertTrue(error.getCause() instanceof BatchAbortedException);
+        }
+    }
+
+    @Test
+    @DisplayName("服务批量 FAIL_FAST：中止时取消 TaskRuntime 中的执行，不再重试")
+    void testServiceFailFastCancelsExecutions() throws Exception {
+        try (BlockingTaskExecutor blocking = BlockingTaskExecutor.builder()
+                .mode(ExecutorMode.FIXED).fixedThreads(2).build();
+             PriorityTaskExecutor priority = PriorityTaskExecutor.builder()
+                .delegate(blocking).parallelism(blocking.getParallelism()).build()) {
+            AsyncTaskServiceImpl service = new AsyncTaskServiceImpl(blocking, priority);
+            try {
+                // 前 3 个任务首次失败后进入长时间退避，第 4 个任务直接失败触发中止
+                List<TaskRequest> requests = new ArrayList<>();
+                for (int i = 0; i < 3; i++) {
+                    TaskRequest retrying = TaskRequest.builder().taskName("retrying-" + i).taskType("BATCH")
+                            .retryEnabled(true).maxRetries(5).retryIntervalMs(60_000L).build();
+                    retrying.addParameter("executionTimeMs", 1);
+                    retrying.addParameter("failAttempts", 5);
+                    requests.add(retrying);
+                }
+                requests.add(request("broken", 1));
+                TaskRuntime runtime = service.getTaskRuntime();
+
+                ExecutionException error = assertThrows(ExecutionException.class, () -> service.streamBatchTasks(
+                        requests.iterator(), BatchErrorPolicy.FAIL_FAST, item -> { }).get(5, TimeUnit.SECONDS));
+                assertTrue(error.getCause() instanceof BatchAbortedException);
+                long deadline = System.currentTimeMillis() + 5_000;
+                while (runtime.getInFlightCount() > 0 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(10);
+                }
+                assertEquals(0, runtime.getInFlightCount(), "中止后 TaskRuntime 中不应再有执行");
+                assertEquals(0, runtime.getTimer().getPendingCount(), "退避定时应被取消");
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    private CompletableFuture<Integer> completeLater(int value, long delayMs) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        scheduler.schedule(() -> future.complete(value), delayMs, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    private static TaskRequest request(String name, int failAttempts) {
+        TaskRequest request = TaskRequest.builder().taskName(name).taskType("BATCH").build();
+        request.addParameter("executionTimeMs", 1);
+        request.addParameter("failAttempts", failAttempts);
+        return request;
+    }
+
+    /**
+     * 按需生成 0..total-1，并记录已读取的数量
+     */
+    /**
+     * 读取到第 failAt 个元素（从 0 开始）时抛出异常的输入
+     */
+    private static final class FailingIterator implements Iterator<Integer> {
+        private final int failAt;
+        private int next;
+
+        FailingIterator(int failAt) {
+            this.failAt = failAt;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return true;
+        }
+
+        @Override
+        public Integer next() {
+            if (next == failAt) {
+                throw new IllegalStateException("第 " + failAt + " 个输入读取失败");
+            }
+            return next++;
+        }
+    }
+
+    private static final class CountingIterator implements Iterator<Integer> {
+        private final int total;
+        private int next;
+        AtomicInteger pulled = new AtomicInteger();
+
+        CountingIterator(int total) {
+            this.total = total;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < total;
+        }
+
+        @Override
+        public Integer next() {
+            pulled.incrementAndGet();
+            return next++;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.treaconcurrent.executor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HashedTimerWheel 功能测试类
+ * 验证到期顺序、跨圈任务、取消与关闭行为
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+class HashedTimerWheelTest {
+
+    @Test
+    @DisplayName("任务不早于到期时间执行，按到期时间先后触发")
+    void testExpiryOrder() throws Exception {
+        try (HashedTimerWheel timer = HashedTimerWheel.builder().tickDuration(Duration.ofMillis(5)).build()) {
+            List<Integer> order = new CopyOnWriteArrayList<>();
+            CountDownLatch done = new CountDownLatch(3);
+            long start = System.nanoTime();
+            long[] firedAt = new long[3];
+            int[] delays = {120, 40, 80};
+            for (int i = 0; i < delays.length; i++) {
+                int index = i;
+                timer.schedule(() -> {
+                    firedAt[index] = System.nanoTime() - start;
+                    order.add(delays[index]);
+                    done.countDown();
+                }, delays[i], TimeUnit.MILLISECONDS);
+            }
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(40, 80, 120), order);
+            for (int i = 0; i < delays.length; i++) {
+                assertTrue(firedAt[i] >= TimeUnit.MILLISECONDS.toNanos(delays[i]),
+                        "提前触发: " + delays[i] + "ms -> " + firedAt[i] / 1_000_000 + "ms");
+            }
+            assertEquals(0, timer.getPendingCount());
+        }
+    }
+
+    @Test
+    @DisplayName("超过一圈的任务按剩余圈数等待")
+    void testMultipleRounds() throws Exception {
+        // 8 个槽 × 5ms = 一圈 40ms，150ms 需要转 3 圈多
+        try (HashedTimerWheel timer = HashedTimerWheel.builder()
+                .tickDuration(Duration.ofMillis(5)).wheelSize(8).build()) {
+            CountDownLatch fired = new CountDownLatch(1);
+            long start = System.nanoTime();
+            timer.schedule(fired::countDown, 150, TimeUnit.MILLISECONDS);
+            assertTrue(fired.await(5, TimeUnit.SECONDS));
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            log.info("跨圈任务实际延迟: {}ms", elapsedMs);
+            assertTrue(elapsedMs >= 150, "延迟: " + elapsedMs);
+        }
+    }
+
+    @Test
+    @DisplayName("取消的任务不执行，关闭后拒绝新任务")
+    void testCancelAndClose() throws Exception {
+        HashedTimerWheel timer = HashedTimerWheel.builder().tickDuration(Duration.ofMillis(5)).build();
+        AtomicInteger fired = new AtomicInteger();
+        HashedTimerWheel.Timeout cancelled = null;
+        for (int i = 0; i < 1000; i++) {
+            HashedTimerWheel.Timeout timeout = timer.schedule(fired::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+            if (i % 2 == 0) {
+                assertTrue(timeout.cancel());
+                cancelled = timeout;
+            }
+        }
+        assertEquals(500, timer.getPendingCount());
+        Thread.sleep(200);
+        assertEquals(500, fired.get());
+        assertEquals(0, timer.getPendingCount());
+        assertTrue(cancelled.isCancelled());
+        assertFalse(cancelled.cancel());
+
+        timer.close();
+        assertThrows(RejectedExecutionException.class, () -> timer.schedule(() -> { }, 1, TimeUnit.MILLISECONDS));
+        assertThrows(IllegalArgumentException.class, () -> HashedTimerWheel.builder().wheelSize(1));
+    }
+
+    @Test
+    @DisplayName("关闭时排空未到期任务：带回调的任务收到拒绝，不带回调的不再执行")
+    void testCloseRejectsPending() throws Exception {
+        HashedTimerWheel timer = HashedTimerWheel.builder().tickDuration(Duration.ofMillis(5)).wheelSize(8).build();
+        List<RejectedExecutionException> rejections = new CopyOnWriteArrayList<>();
+        AtomicInteger fired = new AtomicInteger();
+        // 已进入槽中的任务（含多圈）与仍在提交队列中的任务
+        timer.schedule(fired::incrementAndGet, 1, TimeUnit.HOURS, rejections::add);
+        timer.schedule(fired::incrementAndGet, 100, TimeUnit.MILLISECONDS, rejections::add);
+        HashedTimerWheel.Timeout cancelled = timer.schedule(fired::incrementAndGet, 1, TimeUnit.HOURS, rejections::add);
+        timer.schedule(fired::incrementAndGet, 1, TimeUnit.HOURS);
+        Thread.sleep(30);
+        cancelled.cancel();
+        timer.schedule(fired::incrementAndGet, 1, TimeUnit.HOURS, rejections::add);
+
+        timer.close();
+        assertEquals(3, rejections.size());
+        assertEquals(0, timer.getPendingCount());
+        assertEquals(0, fired.get());
+        assertThrows(RejectedExecutionException.class,
+                () -> timer.schedule(() -> { }, 1, TimeUnit.MILLISECONDS, rejections::add));
+        assertEquals(3, rejections.size(), "提交时已关闭只抛异常，不调用回调");
+    }
+}
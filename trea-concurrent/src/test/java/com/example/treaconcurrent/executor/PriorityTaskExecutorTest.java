@@ -0,0 +1,280 @@
+package com.example.treaconcurrent.executor;
+
+import com.example.treaconcurrent.async.AsyncTaskServiceImpl;
+import com.example.treaconcurrent.model.TaskRequest;
+import com.example.treaconcurrent.model.TaskResult;
+import com.example.treaconcurrent.model.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PriorityTaskExecutor 功能测试类
+ * 验证优先级顺序、老化防饥饿、有界队列与指标，以及 AsyncTaskServiceImpl 的路由
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+class PriorityTaskExecutorTest {
+
+    private ExecutorService workers;
+
+    @BeforeEach
+    void setUp() {
+        workers = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("高优先级先执行，同优先级先进先出")
+    void testPriorityOrder() throws Exception {
+        try (PriorityTaskExecutor executor = PriorityTaskExecutor.builder()
+                .delegate(workers).parallelism(1).build()) {
+            CountDownLatch release = blockSingleSlot(executor);
+            List<String> order = new CopyOnWriteArrayList<>();
+            executor.execute(() -> order.add("p3-a"), 3);
+            executor.execute(() -> order.add("p9"), 9);
+            executor.execute(() -> order.add("p3-b"), 3);
+            executor.execute(() -> order.add("p5"));
+            executor.execute(() -> order.add("p10"), 10);
+
+            assertEquals(5, executor.getQueuedCount());
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList("p10", "p9", "p5", "p3-a", "p3-b"), order);
+        }
+    }
+
+    @Test
+    @DisplayName("等待足够久的低优先级任务通过老化排到新任务之前")
+    void testAgingPreventsStarvation() throws Exception {
+        try (PriorityTaskExecutor executor = PriorityTaskExecutor.builder()
+                .delegate(workers).parallelism(1).agingInterval(Duration.ofMillis(20)).build()) {
+            CountDownLatch release = blockSingleSlot(executor);
+            List<String> order = new CopyOnWriteArrayList<>();
+            executor.execute(() -> order.add("low"), 1);
+            // 等待超过 (10 - 1) × 20ms，low 的有效优先级已到 10，且比新任务先入队
+            Thread.sleep(300);
+            executor.execute(() -> order.add("urgent"), 10);
+            executor.execute(() -> order.add("high"), 8);
+
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList("low", "urgent", "high"), order);
+
+            PriorityTaskExecutor.PriorityStats low = executor.snapshot(1);
+            log.info("老化后的低优先级指标: {}", low);
+            assertEquals(1, low.getPromoted());
+            assertTrue(low.getMaxWaitMs() >= 180, "等待时间: " + low.getMaxWaitMs());
+            assertEquals(0, executor.snapshot(10).getPromoted());
+        }
+    }
+
+    @Test
+    @DisplayName("队列满时拒绝新任务，关闭后不再接收任务")
+    void testBoundedQueue() throws Exception {
+        PriorityTaskExecutor executor = PriorityTaskExecutor.builder()
+                .delegate(workers).parallelism(1).capacity(2).build();
+        CountDownLatch release = blockSingleSlot(executor);
+        executor.execute(() -> { }, 2);
+        executor.execute(() -> { }, 7);
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }, 7));
+        assertEquals(1, executor.snapshot(7).getRejected());
+        assertThrows(IllegalArgumentException.class, () -> executor.execute(() -> { }, 11));
+
+        release.countDown();
+        executor.close();
+        assertEquals(0, executor.getQueuedCount());
+        assertEquals(0, executor.getRunningCount());
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+
+        assertThrows(IllegalStateException.class, () -> PriorityTaskExecutor.builder().build());
+        assertThrows(IllegalArgumentException.class, () -> PriorityTaskExecutor.builder().parallelism(0));
+        assertThrows(IllegalArgumentException.class, () -> PriorityTaskExecutor.builder().agingInterval(Duration.ZERO));
+        assertEquals(PriorityTaskExecutor.DEFAULT_PRIORITY, PriorityTaskExecutor.normalize(null));
+        assertEquals(PriorityTaskExecutor.MAX_PRIORITY, PriorityTaskExecutor.normalize(99));
+    }
+
+    @Test
+    @DisplayName("按优先级统计队列深度与等待时间")
+    void testMetrics() throws Exception {
+        try (PriorityTaskExecutor executor = PriorityTaskExecutor.builder()
+                .delegate(workers).parallelism(1).build()) {
+            CountDownLatch release = blockSingleSlot(executor);
+            for (int i = 0; i < 3; i++) {
+                executor.execute(() -> { }, 9);
+            }
+            executor.execute(() -> { }, 2);
+
+            assertEquals(3, executor.snapshot(9).getQueueDepth());
+            assertEquals(1, executor.snapshot(2).getQueueDepth());
+            assertEquals(0, executor.snapshot(5).getQueueDepth());
+            Thread.sleep(50);
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+            List<PriorityTaskExecutor.PriorityStats> stats = executor.snapshot();
+            stats.forEach(s -> log.info("{}", s));
+            assertEquals(10, stats.size());
+            assertEquals(10, stats.get(0).getPriority());
+            PriorityTaskExecutor.PriorityStats p9 = executor.snapshot(9);
+            assertEquals(0, p9.getQueueDepth());
+            assertEquals(3, p9.getSubmitted());
+            assertEquals(3, p9.getDispatched());
+            assertTrue(p9.getAvgWaitMs() >= 40, "平均等待: " + p9.getAvgWaitMs());
+            assertTrue(executor.snapshot(2).getMaxWaitMs() >= 40);
+        }
+    }
+
+    @Test
+    @DisplayName("processBatchTasksAsync 按请求优先级执行")
+    void testServiceRoutesByPriority() {
+        try (BlockingTaskExecutor blocking = BlockingTaskExecutor.builder()
+                .mode(ExecutorMode.FIXED).fixedThreads(1).build();
+             PriorityTaskExecutor priority = PriorityTaskExecutor.builder()
+                .delegate(blocking).parallelism(blocking.getParallelism()).build()) {
+            AsyncTaskServiceImpl service = new AsyncTaskServiceImpl(blocking, priority);
+            // 先占住唯一的执行槽，让后续任务都在优先级队列中排队
+            CompletableFuture<?> first = service.processTaskAsync(request("warmup", 5, 200));
+
+            List<String> order = new CopyOnWriteArrayList<>();
+            List<TaskRequest> batch = new ArrayList<>();
+            batch.add(request("bulk-1", 1, 5));
+            batch.add(request("bulk-2", null, 5));
+            batch.add(request("urgent", 10, 5));
+            batch.add(request("normal", 6, 5));
+            List<CompletableFuture<?>> futures = new ArrayList<>();
+            for (TaskRequest r : batch) {
+                futures.add(service.processTaskAsync(r).thenAccept(result -> order.add(result.getTaskName())));
+            }
+            first.join();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+            assertEquals(Arrays.asList("urgent", "normal", "bulk-2", "bulk-1"), order);
+            assertEquals(2, priority.snapshot(5).getDispatched());
+            assertEquals(4, service.processBatchTasksAsync(batch).join().size());
+            assertEquals(2, priority.snapshot(10).getDispatched());
+        }
+    }
+
+    @Test
+    @DisplayName("下游拒绝已入队的任务时，调用方的 Future 仍会结束")
+    void testDelegateRejection() throws Exception {
+        AtomicBoolean delegateOpen = new AtomicBoolean(true);
+        Executor delegate = command -> {
+            if (!delegateOpen.get()) {
+                throw new RejectedExecutionException("下游已关闭");
+            }
+            workers.execute(command);
+        };
+        try (PriorityTaskExecutor executor = PriorityTaskExecutor.builder()
+                .delegate(delegate).parallelism(1).build()) {
+            // 任务先在优先级队列中排队，下游关闭后才被派发
+            CountDownLatch release = blockSingleSlot(executor);
+            CompletableFuture<String> rejectable = executor.supplyAsync(() -> "不应执行", 5);
+            CompletableFuture<String> plain = CompletableFuture.supplyAsync(() -> "inline", executor.forPriority(5));
+            assertEquals(2, executor.getQueuedCount());
+            delegateOpen.set(false);
+            release.countDown();
+
+            ExecutionException error = assertThrows(ExecutionException.class,
+                    () -> rejectable.get(5, TimeUnit.SECONDS));
+            assertTrue(error.getCause() instanceof RejectedExecutionException);
+            // 普通任务无法感知拒绝，在派发线程中直接执行
+            assertEquals("inline", plain.get(5, TimeUnit.SECONDS));
+            assertEquals(2, executor.snapshot(5).getRejected());
+            assertEquals(0, executor.getRunningCount());
+        }
+    }
+
+    @Test
+    @DisplayName("下游执行器已关闭时，processTaskAsync 以 FAILED 结束而不是挂起")
+    void testServiceWithClosedDelegate() throws Exception {
+        BlockingTaskExecutor blocking = BlockingTaskExecutor.builder().mode(ExecutorMode.FIXED).fixedThreads(1).build();
+        blocking.close();
+        try (PriorityTaskExecutor priority = PriorityTaskExecutor.builder().delegate(blocking).parallelism(1).build()) {
+            AsyncTaskServiceImpl service = new AsyncTaskServiceImpl(blocking, priority);
+            try {
+                TaskResult result = service.processTaskAsync(request("closed", 5, 5)).get(5, TimeUnit.SECONDS);
+                assertEquals(TaskStatus.FAILED, result.getStatus());
+                assertTrue(result.getErrorMessage().contains("拒绝"), result.getErrorMessage());
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("服务关闭时先排空优先级队列，排队中带超时的任务正常完成")
+    void testServiceShutdownDrainsQueue() throws Exception {
+        try (BlockingTaskExecutor blocking = BlockingTaskExecutor.builder()
+                .mode(ExecutorMode.FIXED).fixedThreads(1).build();
+             PriorityTaskExecutor priority = PriorityTaskExecutor.builder()
+                .delegate(blocking).parallelism(blocking.getParallelism()).build()) {
+            AsyncTaskServiceImpl service = new AsyncTaskServiceImpl(blocking, priority);
+            CompletableFuture<TaskResult> first = service.processTaskAsync(request("running", 5, 200));
+            TaskRequest queuedRequest = request("queued", 5, 5);
+            queuedRequest.setTimeoutMs(5_000L);
+            CompletableFuture<TaskResult> queued = service.processTaskAsync(queuedRequest);
+            assertEquals(1, priority.getQueuedCount());
+
+            service.shutdown();
+
+            assertEquals(TaskStatus.COMPLETED, first.get(5, TimeUnit.SECONDS).getStatus());
+            TaskResult result = queued.get(5, TimeUnit.SECONDS);
+            assertEquals(TaskStatus.COMPLETED, result.getStatus(), result.getErrorMessage());
+            assertEquals(0, service.getTaskRuntime().getInFlightCount());
+        }
+    }
+
+    /**
+     * 提交一个阻塞任务占住唯一的执行槽，返回用于放行的门闩
+     */
+    private static CountDownLatch blockSingleSlot(PriorityTaskExecutor executor) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, PriorityTaskExecutor.MAX_PRIORITY);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+
+    private static TaskRequest request(String name, Integer priority, int executionTimeMs) {
+        TaskRequest request = TaskRequest.builder().taskName(name).taskType("PRIORITY").priority(priority).build();
+        request.addParameter("executionTimeMs", executionTimeMs);
+        return request;
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.treaconcurrent.executor;
+
+import com.example.treaconcurrent.async.AsyncTaskServiceImpl;
+import com.example.treaconcurrent.model.TaskAttempt;
+import com.example.treaconcurrent.model.TaskRequest;
+import com.example.treaconcurrent.model.TaskResult;
+import com.example.treaconcurrent.model.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TaskRuntime 功能测试类
+ * 验证延迟启动、执行超时、指数退避重试与尝试记录
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+class TaskRuntimeTest {
+
+    private ExecutorService worker;
+    private TaskRuntime runtime;
+
+    @BeforeEach
+    void setUp() {
+        // 只有一个工作线程：延迟与退避期间若占用线程，其他任务就无法执行
+        worker = Executors.newSingleThreadExecutor();
+        runtime = TaskRuntime.builder().jitter(0).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        runtime.close();
+        worker.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("延迟启动不占用工作线程")
+    void testDelayedStart() {
+        long start = System.nanoTime();
+        CompletableFuture<TaskResult> delayed = runtime.submit(request("delayed").delayMs(200L).build(),
+                worker, (req, attempt) -> System.nanoTime());
+        TaskResult immediate = runtime.submit(request("immediate").build(), worker, (req, attempt) -> "ok").join();
+        long immediateMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        TaskResult result = delayed.join();
+        long delayedMs = TimeUnit.NANOSECONDS.toMillis((Long) result.getData() - start);
+        log.info("立即任务完成: {}ms, 延迟任务开始: {}ms", immediateMs, delayedMs);
+        assertEquals(TaskStatus.COMPLETED, immediate.getStatus());
+        assertTrue(immediateMs < 200, "立即任务被延迟任务阻塞: " + immediateMs);
+        assertTrue(delayedMs >= 200, "延迟不足: " + delayedMs);
+        assertEquals(1, result.getAttempts().size());
+        assertEquals(0, result.getRetryCount());
+    }
+
+    @Test
+    @DisplayName("超时中断执行线程，结果为 CANCELLED 并记录尝试")
+    void testTimeoutCancelsAttempt() {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        TaskResult result = runtime.submit(request("slow").timeoutMs(100L).build(), worker, (req, attempt) -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                throw e;
+            }
+            return "never";
+        }).join();
+
+        log.info("超时任务结果: {}, 尝试: {}", result, result.getAttempts());
+        assertEquals(TaskStatus.CANCELLED, result.getStatus());
+        assertTrue(result.getDuration() < 2_000);
+        TaskAttempt attempt = result.getAttempts().get(0);
+        assertTrue(attempt.getTimedOut());
+        assertEquals(TaskStatus.CANCELLED, attempt.getStatus());
+        assertEquals(1, runtime.getTimeoutCount());
+
+        // 超时产生的中断不会遗留到工作线程的下一个任务
+        assertEquals(Boolean.FALSE, runtime.submit(request("next").build(), worker,
+                (req, attempt2) -> Thread.currentThread().isInterrupted()).join().getData());
+        assertTrue(interrupted.get());
+    }
+
+    @Test
+    @DisplayName("失败后按指数退避重试，退避期间工作线程可执行其他任务")
+    void testRetryWithBackoff() {
+        TaskRequest request = request("flaky").retryEnabled(true).maxRetries(3).retryIntervalMs(50L).build();
+        CompletableFuture<TaskResult> flaky = runtime.submit(request, worker, (req, attempt) -> {
+            if (attempt < 3) {
+                throw new IllegalStateException("第 " + attempt + " 次失败");
+            }
+            return "第 " + attempt + " 次成功";
+        });
+        // 退避等待期间，单线程执行器仍可处理其他任务
+        assertEquals("ok", runtime.submit(request("other").build(), worker, (req, attempt) -> "ok").join().getData());
+
+        TaskResult result = flaky.join();
+        List<TaskAttempt> attempts = result.getAttempts();
+        attempts.forEach(a -> log.info("尝试记录: {}", a));
+        assertEquals(TaskStatus.COMPLETED, result.getStatus());
+        assertEquals("第 3 次成功", result.getData());
+        assertEquals(2, result.getRetryCount());
+        assertEquals(3, attempts.size());
+        assertEquals(TaskStatus.FAILED, attempts.get(0).getStatus());
+        assertEquals("第 1 次失败", attempts.get(0).getErrorMessage());
+        assertEquals(50L, attempts.get(0).getNextRetryDelayMs());
+        assertEquals(100L, attempts.get(1).getNextRetryDelayMs());
+        assertNull(attempts.get(2).getNextRetryDelayMs());
+        assertEquals(2, runtime.getRetryCount());
+        assertEquals(0, runtime.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("重试次数用尽后返回 FAILED")
+    void testRetriesExhausted() {
+        TaskRequest request = request("broken").retryEnabled(true).maxRetries(2).retryIntervalMs(10L).build();
+        TaskResult result = runtime.submit(request, worker, (req, attempt) -> {
+            throw new IllegalStateException("总是失败");
+        }).join();
+        assertEquals(TaskStatus.FAILED, result.getStatus());
+        assertEquals("总是失败", result.getErrorMessage());
+        assertEquals(3, result.getAttempts().size());
+        assertEquals(2, result.getRetryCount());
+    }
+
+    @Test
+    @DisplayName("退避时间按指数增长，不超过上限，抖动只会缩短等待")
+    void testBackoff() {
+        try (TaskRuntime jittered = TaskRuntime.builder().maxBackoff(Duration.ofMillis(1_000)).jitter(0.5).build()) {
+            for (int i = 0; i < 100; i++) {
+                long third = jittered.backoffMillis(100, 3);
+                assertTrue(third >= 200 && third <= 400, "第3次重试: " + third);
+                long capped = jittered.backoffMillis(100, 40);
+                assertTrue(capped >= 500 && capped <= 1_000, "超过上限: " + capped);
+            }
+            assertEquals(0, jittered.backoffMillis(0, 3));
+        }
+        assertEquals(800, runtime.backoffMillis(100, 4));
+        assertThrows(IllegalArgumentException.class, () -> TaskRuntime.builder().jitter(1.5));
+    }
+
+    @Test
+    @DisplayName("取消 future 会中断正在执行的尝试")
+    void testCancel() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<TaskResult> future = runtime.submit(request("cancel").build(), worker, (req, attempt) -> {
+            started.countDown();
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        future.cancel(true);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertEquals(0, runtime.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("时间轮关闭后，需要定时的任务以 FAILED 结束而不是永远挂起")
+    void testClosedTimer() {
+        AtomicBoolean executed = new AtomicBoolean();
+        runtime.close();
+
+        // 超时定时被拒绝：不执行任务体，记录一次失败尝试
+        TaskResult timed = runtime.submit(request("timed").timeoutMs(100L).build(), worker, (req, attempt) -> {
+            executed.set(true);
+            return "never";
+        }).orTimeout(5, TimeUnit.SECONDS).join();
+        assertEquals(TaskStatus.FAILED, timed.getStatus());
+        assertTrue(timed.getErrorMessage().contains("时间轮已关闭"), timed.getErrorMessage());
+        assertTrue(timed.getStackTrace().contains("RejectedExecutionException"));
+        assertEquals(1, timed.getAttempts().size());
+        assertEquals(TaskStatus.FAILED, timed.getAttempts().get(0).getStatus());
+        assertFalse(executed.get());
+
+        // 退避重试的定时被拒绝
+        TaskRequest flaky = request("flaky").retryEnabled(true).maxRetries(3).retryIntervalMs(50L).build();
+        TaskResult retried = runtime.submit(flaky, worker, (req, attempt) -> {
+            throw new IllegalStateException("第 " + attempt + " 次失败");
+        }).orTimeout(5, TimeUnit.SECONDS).join();
+        assertEquals(TaskStatus.FAILED, retried.getStatus());
+        assertTrue(retried.getErrorMessage().contains("时间轮已关闭"), retried.getErrorMessage());
+        assertEquals(1, retried.getAttempts().size());
+
+        // 延迟启动的定时被拒绝
+        TaskResult delayed = runtime.submit(request("delayed").delayMs(100L).build(), worker, (req, attempt) -> "never")
+                .orTimeout(5, TimeUnit.SECONDS).join();
+        assertEquals(TaskStatus.FAILED, delayed.getStatus());
+        assertTrue(delayed.getAttempts().isEmpty());
+        assertEquals(0, runtime.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("关闭时仍在延迟、退避或执行中的任务以 FAILED 结束")
+    void testCloseWithPendingTasks() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<TaskResult> delayed = runtime.submit(request("delayed").delayMs(60_000L).build(),
+                    pool, (req, attempt) -> "never");
+            TaskRequest flaky = request("backoff").retryEnabled(true).maxRetries(3).retryIntervalMs(60_000L).build();
+            CompletableFuture<TaskResult> backoff = runtime.submit(flaky, pool, (req, attempt) -> {
+                throw new IllegalStateException("失败后等待重试");
+            });
+            CountDownLatch started = new CountDownLatch(1);
+            CompletableFuture<TaskResult> running = runtime.submit(request("running").timeoutMs(60_000L).build(),
+                    pool, (req, attempt) -> {
+                        started.countDown();
+                        Thread.sleep(60_000);
+                        return "never";
+                    });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            while (runtime.getTimer().getPendingCount() < 3) {
+                Thread.sleep(5);
+            }
+
+            runtime.close();
+            TaskResult delayedResult = delayed.get(5, TimeUnit.SECONDS);
+            assertEquals(TaskStatus.FAILED, delayedResult.getStatus());
+            assertTrue(delayedResult.getErrorMessage().contains("时间轮已关闭"), delayedResult.getErrorMessage());
+            assertTrue(delayedResult.getAttempts().isEmpty());
+
+            TaskResult backoffResult = backoff.get(5, TimeUnit.SECONDS);
+            assertEquals(TaskStatus.FAILED, backoffResult.getStatus());
+            assertEquals(1, backoffResult.getAttempts().size());
+
+            TaskResult runningResult = running.get(5, TimeUnit.SECONDS);
+            assertEquals(TaskStatus.FAILED, runningResult.getStatus());
+            assertEquals(1, runningResult.getAttempts().size());
+            assertEquals(0, runtime.getInFlightCount());
+            assertEquals(0, runtime.getTimer().getPendingCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("processTaskAsync 按请求配置重试并记录每次尝试")
+    void testServiceRetries() {
+        try (BlockingTaskExecutor blocking = BlockingTaskExecutor.builder().mode(ExecutorMode.ELASTIC).build()) {
+            AsyncTaskServiceImpl service = new AsyncTaskServiceImpl(blocking,
+                    PriorityTaskExecutor.builder().delegate(blocking).build());
+            TaskRequest request = request("service").retryEnabled(true).maxRetries(3).retryIntervalMs(20L)
+                    .timeoutMs(2_000L).build();
+            request.addParameter("executionTimeMs", 10);
+            request.addParameter("failAttempts", 2);
+
+            TaskResult result = service.processTaskAsync(request).join();
+            log.info("服务任务结果: {}", result.getSummary());
+            assertEquals(TaskStatus.COMPLETED, result.getStatus());
+            assertEquals(2, result.getRetryCount());
+            assertEquals(3, result.getAttempts().size());
+            assertEquals(7, result.getPriority());
+            service.shutdown();
+        }
+    }
+
+    private static TaskRequest.TaskRequestBuilder request(String name) {
+        return TaskRequest.builder().taskName(name).taskType("RUNTIME").priority(7);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.treaconcurrent.executor;
+
+import com.example.treaconcurrent.executor.ThreadPoolTelemetry.PoolSample;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ThreadPoolTelemetry 功能测试类
+ * 验证排队 / 执行时间、队列积压、拒绝次数的采样以及样本历史
+ *
+ * @author 系统
+ * @since 1.0
+ */
+@Slf4j
+class ThreadPoolTelemetryTest {
+
+    @Test
+    @DisplayName("采样排队时间、执行时间、队列深度与拒绝次数")
+    void testSampleMetrics() throws Exception {
+        ThreadPoolTelemetry telemetry = ThreadPoolTelemetry.builder()
+                .name("test")
+                .sampleInterval(Duration.ofHours(1))
+                .cpuUsage(() -> 0.3)
+                .build();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1),
+                telemetry.countRejections(new ThreadPoolExecutor.AbortPolicy()));
+        try {
+            telemetry.monitor(pool);
+            assertThrows(IllegalStateException.class, () -> telemetry.monitor(pool));
+
+            CountDownLatch release = new CountDownLatch(1);
+            pool.execute(telemetry.decorate(() -> await(release)));
+            pool.execute(telemetry.decorate(() -> sleep(20)));
+            assertThrows(RejectedExecutionException.class, () -> pool.execute(telemetry.decorate(() -> { })));
+            Thread.sleep(100);
+
+            PoolSample backlog = telemetry.sample();
+            log.info("积压样本: {}", backlog);
+            assertEquals(1, backlog.getActiveCount());
+            assertEquals(1, backlog.getQueueDepth());
+            assertTrue(backlog.getHeadWaitMs() >= 90, "队首等待时间: " + backlog.getHeadWaitMs());
+            assertEquals(1, backlog.getRejected());
+            assertEquals(2, backlog.getSubmitted());
+            assertEquals(0.3, backlog.getCpuUsage());
+
+            release.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+            PoolSample drained = telemetry.sample();
+            log.info("排空样本: {}", drained);
+            assertEquals(0, drained.getQueueDepth());
+            assertEquals(0, drained.getRejected());
+            assertEquals(2, drained.getCompleted());
+            assertTrue(drained.getMaxWaitMs() >= 90, "最大排队时间: " + drained.getMaxWaitMs());
+            assertTrue(drained.getMaxRunMs() >= 100, "最大执行时间: " + drained.getMaxRunMs());
+            assertTrue(drained.getAvgRunMs() >= 20);
+            assertEquals(1, telemetry.getRejectedCount());
+            assertEquals(2, telemetry.getSamples().size());
+            assertSame(drained, telemetry.getLatest());
+        } finally {
+            telemetry.close();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("定时采样只保留最近 historySize 个样本，并通知监听器")
+    void testHistoryAndListeners() throws Exception {
+        ThreadPoolTelemetry telemetry = ThreadPoolTelemetry.builder()
+                .sampleInterval(Duration.ofMillis(10))
+                .historySize(5)
+                .build();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(2, 2, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(10));
+        List<PoolSample> received = new ArrayList<>();
+        try {
+            assertThrows(IllegalStateException.class, telemetry::sample);
+            telemetry.addListener(sample -> {
+                synchronized (received) {
+                    received.add(sample);
+                }
+            });
+            telemetry.addListener(sample -> {
+                throw new IllegalStateException("监听器异常不影响采样");
+            });
+            telemetry.monitor(pool);
+            Thread.sleep(200);
+
+            assertEquals(5, telemetry.getSamples().size());
+            synchronized (received) {
+                assertTrue(received.size() >= 5, "监听器收到的样本数: " + received.size());
+            }
+        } finally {
+            telemetry.close();
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}